@@ -0,0 +1,112 @@
+#!/usr/bin/env bash
+# ================================================================
+# Test de fumée de l'image native (profil perf-inmemory, sans Cassandra)
+# ================================================================
+# Build Maven : ./mvnw -Pnative,native-smoke -DskipTests verify   (construit le binaire puis lance ce script)
+# Construction : ./mvnw -Pnative native:compile -DskipTests -Dspring-boot.aot.jvmArguments=-Dspring.profiles.active=perf-inmemory
+# Usage        : scripts/native-smoke-test.sh [COMMANDE]     (défaut : target/rental-api)
+#
+# Avec AOT, les beans sont figés pour le profil choisi à la construction : le binaire doit avoir été
+# construit pour perf-inmemory. La même vérification s'applique au jar AOT :
+#   scripts/native-smoke-test.sh "java -Dspring.aot.enabled=true -jar target/rental-api-0.0.1-SNAPSHOT.jar"
+#
+# Vérifie : connexion (JJWT), contrôle des permissions (@PreAuthorize, aspects), tunnel d'onboarding
+# complet (DTO Jackson/Smile, entités copiées par les repositories en mémoire), connexion du propriétaire.
+set -euo pipefail
+
+COMMAND="${1:-target/rental-api}"
+PORT="${SMOKE_PORT:-8097}"
+BASE="http://localhost:${PORT}/api/v1/api/v1"
+LOG="${SMOKE_LOG:-target/native-smoke-test.log}"
+
+fail() {
+    echo "FAIL: $*" >&2
+    echo "Application log: $LOG" >&2
+    exit 1
+}
+
+json() {
+    python3 -c "import sys, json; data = json.load(sys.stdin); print(eval('data' + sys.argv[1]))" "$1"
+}
+
+# Appel HTTP : méthode, chemin, jeton (ou -), corps (optionnel) ; affiche "code corps"
+call() {
+    local method="$1" path="$2" token="$3" body="${4:-}"
+    local args=(-s -X "$method" -w '\n%{http_code}' -H 'Content-Type: application/json')
+    if [ "$token" != "-" ]; then
+        args+=(-H "Authorization: Bearer $token")
+    fi
+    if [ -n "$body" ]; then
+        args+=(-d "$body")
+    fi
+    curl "${args[@]}" "$BASE$path"
+}
+
+expect() {
+    local expected="$1" description="$2" response="$3" status
+    status=$(tail -n 1 <<< "$response")
+    if [ "$status" != "$expected" ]; then
+        fail "$description: expected HTTP $expected, got $status: $(head -n -1 <<< "$response" | head -c 500)"
+    fi
+    echo "ok   $description ($status)"
+    RESPONSE_BODY=$(head -n -1 <<< "$response")
+}
+
+mkdir -p "$(dirname "$LOG")"
+start=$(date +%s%N)
+setsid sh -c "$COMMAND --spring.profiles.active=perf-inmemory --server.port=$PORT" > "$LOG" 2>&1 &
+PID=$!
+trap 'kill -TERM -- "-$PID" 2> /dev/null || true' EXIT
+
+# Prêt quand le super admin créé par les jeux de démarrage peut se connecter
+ADMIN_LOGIN='{"email":"admin@rental-api.com","password":"Admin123!"}'
+for attempt in $(seq 1 600); do
+    if curl -sf -o /dev/null -X POST -H 'Content-Type: application/json' -d "$ADMIN_LOGIN" "$BASE/auth/login"; then
+        break
+    fi
+    kill -0 "$PID" 2> /dev/null || fail "application exited during startup"
+    [ "$attempt" -lt 600 ] || fail "application not ready after 60s"
+    sleep 0.1
+done
+echo "ok   ready in $(( ($(date +%s%N) - start) / 1000000 )) ms"
+
+# Connexion et permissions
+expect 200 "admin login" "$(call POST /auth/login - "$ADMIN_LOGIN")"
+ADMIN_TOKEN=$(json "['data']['accessToken']" <<< "$RESPONSE_BODY")
+expect 403 "anonymous call to a protected endpoint" "$(call GET /roles/permissions -)"
+expect 403 "forged token rejected" "$(call GET /roles/permissions "${ADMIN_TOKEN}x")"
+
+# Tunnel d'onboarding
+EMAIL="smoke-$(date +%s)@rental-api.com"
+expect 200 "list plans" "$(call GET /onboarding/plans -)"
+PLAN_ID=$(json "['data'][0]['id']" <<< "$RESPONSE_BODY")
+expect 201 "create onboarding session" "$(call POST /onboarding/session -)"
+SESSION_ID=$(json "['data']['id']" <<< "$RESPONSE_BODY")
+expect 200 "save owner info" "$(call PUT "/onboarding/session/$SESSION_ID/owner-info" - \
+    "{\"firstName\":\"Smoke\",\"lastName\":\"Test\",\"email\":\"$EMAIL\",\"phone\":\"+237600000000\",\"address\":\"Rue 1\",\"city\":\"Douala\",\"country\":\"CM\",\"idCardNumber\":\"123456789\"}")"
+expect 200 "save organization info" "$(call PUT "/onboarding/session/$SESSION_ID/organization-info" - \
+    '{"organizationName":"Smoke Rentals","organizationType":"SMALL_BUSINESS","description":"Smoke test","address":"Rue 1","city":"Douala","country":"CM","policies":{}}')"
+expect 202 "start onboarding completion" "$(call POST "/onboarding/session/$SESSION_ID/complete" - \
+    "{\"subscriptionPlanId\":\"$PLAN_ID\",\"paymentMethod\":\"MOMO\",\"paymentReference\":\"smoke\",\"acceptTerms\":true,\"acceptPrivacyPolicy\":true}")"
+
+for attempt in $(seq 1 100); do
+    expect 200 "completion status" "$(call GET "/onboarding/session/$SESSION_ID/completion" -)" > /dev/null
+    STATUS=$(json "['data']['status']" <<< "$RESPONSE_BODY")
+    [ "$STATUS" = "RUNNING" ] || break
+    sleep 0.1
+done
+[ "$STATUS" = "COMPLETED" ] || fail "onboarding completion ended with $STATUS: $RESPONSE_BODY"
+echo "ok   onboarding completed"
+
+# Le propriétaire créé se connecte avec son mot de passe temporaire, journalisé tant que l'envoi par e-mail n'existe pas
+OWNER_PASSWORD=$(sed -n "s/.*Temporary password for $EMAIL: \([^ ]*\) .*/\1/p" "$LOG" | tail -n 1)
+[ -n "$OWNER_PASSWORD" ] || fail "temporary password of $EMAIL not found in the application log"
+expect 200 "owner login" "$(call POST /auth/login - "{\"email\":\"$EMAIL\",\"password\":\"$OWNER_PASSWORD\"}")"
+OWNER_TOKEN=$(json "['data']['accessToken']" <<< "$RESPONSE_BODY")
+OWNER_ID=$(json "['data']['userId']" <<< "$RESPONSE_BODY")
+ORGANIZATION_ID=$(json "['data']['organizationId']" <<< "$RESPONSE_BODY")
+expect 200 "owner reads own permissions" \
+    "$(call GET "/roles/user/$OWNER_ID/permissions?organizationId=$ORGANIZATION_ID" "$OWNER_TOKEN")"
+expect 403 "owner denied system maintenance" "$(call POST /roles/cleanup-expired "$OWNER_TOKEN")"
+
+echo "Native smoke test passed"
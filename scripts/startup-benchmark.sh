@@ -0,0 +1,110 @@
+#!/usr/bin/env bash
+# ================================================================
+# Temps de démarrage : délai entre le lancement et la première réponse 200 de /actuator/health
+# ================================================================
+# Usage : scripts/startup-benchmark.sh [-n RUNS] [-u URL] [-t TIMEOUT_S] NOM=COMMANDE [NOM=COMMANDE ...]
+#
+# Chaque commande est lancée RUNS fois (arrêtée dès la première réponse 200) ; le résultat de
+# chaque variante est comparé à la première (référence).
+#
+# Images Docker (Scylla joignable sur le réseau du compose : docker compose up -d scylla) :
+#   docker build -t rental-api:jit .
+#   docker build --build-arg AOT=true -t rental-api:aot-cds .
+#   scripts/startup-benchmark.sh -n 5 \
+#     "jit=docker run --rm -p 8080:8080 --network rental-api_scylla-net -e SPRING_CASSANDRA_CONTACT_POINTS=scylla rental-api:jit" \
+#     "aot-cds=docker run --rm -p 8080:8080 --network rental-api_scylla-net -e SPRING_CASSANDRA_CONTACT_POINTS=scylla rental-api:aot-cds"
+#
+# Jar local sans Cassandra (profil perf-inmemory, jar AOT construit pour ce profil) :
+#   ./mvnw -Paot package -DskipTests -Dspring-boot.aot.jvmArguments=-Dspring.profiles.active=perf-inmemory
+#   scripts/startup-benchmark.sh \
+#     "jit=java -jar target/rental-api-0.0.1-SNAPSHOT.jar --spring.profiles.active=perf-inmemory" \
+#     "aot=java -Dspring.aot.enabled=true -jar target/rental-api-0.0.1-SNAPSHOT.jar --spring.profiles.active=perf-inmemory"
+set -euo pipefail
+
+RUNS=5
+URL="http://localhost:8080/api/v1/actuator/health"
+TIMEOUT=180
+
+while getopts "n:u:t:" option; do
+    case "$option" in
+        n) RUNS="$OPTARG" ;;
+        u) URL="$OPTARG" ;;
+        t) TIMEOUT="$OPTARG" ;;
+        *) sed -n '5,7p' "$0"; exit 2 ;;
+    esac
+done
+shift $((OPTIND - 1))
+
+if [ "$#" -eq 0 ]; then
+    sed -n '5,7p' "$0"
+    exit 2
+fi
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Lance la commande dans son propre groupe de processus et mesure le délai jusqu'au premier 200
+measure() {
+    local command="$1" start pid elapsed
+    if curl -sf -o /dev/null "$URL"; then
+        echo "Port already serving $URL, stop the running instance first" >&2
+        exit 1
+    fi
+
+    start=$(now_ms)
+    setsid sh -c "$command" > /dev/null 2>&1 &
+    pid=$!
+
+    elapsed=""
+    while [ $(( $(now_ms) - start )) -lt $(( TIMEOUT * 1000 )) ]; do
+        if curl -sf -o /dev/null --max-time 1 "$URL"; then
+            elapsed=$(( $(now_ms) - start ))
+            break
+        fi
+        if ! kill -0 "$pid" 2> /dev/null; then
+            break
+        fi
+        sleep 0.05
+    done
+
+    kill -TERM -- "-$pid" 2> /dev/null || true
+    wait "$pid" 2> /dev/null || true
+    # Attendre la libération du port avant l'essai suivant
+    while curl -s -o /dev/null --max-time 1 "$URL"; do
+        sleep 0.2
+    done
+
+    if [ -z "$elapsed" ]; then
+        echo "Startup failed or timed out after ${TIMEOUT}s: $command" >&2
+        exit 1
+    fi
+    echo "$elapsed"
+}
+
+declare -a NAMES MEDIANS
+printf "%-12s %6s %8s %8s %8s %8s %9s\n" "variant" "runs" "min" "median" "mean" "max" "vs first"
+
+for variant in "$@"; do
+    name="${variant%%=*}"
+    command="${variant#*=}"
+    samples=()
+    for run in $(seq 1 "$RUNS"); do
+        samples+=("$(measure "$command")")
+    done
+
+    read -r min median mean max < <(printf "%s\n" "${samples[@]}" | sort -n | awk '
+        { values[NR] = $1; sum += $1 }
+        END {
+            median = NR % 2 ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2
+            printf "%d %d %d %d\n", values[1], median, sum / NR, values[NR]
+        }')
+
+    NAMES+=("$name")
+    MEDIANS+=("$median")
+    change="-"
+    if [ "${#MEDIANS[@]}" -gt 1 ]; then
+        change=$(awk -v base="${MEDIANS[0]}" -v value="$median" 'BEGIN { printf "%+.1f%%", (value - base) * 100 / base }')
+    fi
+    printf "%-12s %6d %6dms %6dms %6dms %6dms %9s\n" "$name" "$RUNS" "$min" "$median" "$mean" "$max" "$change"
+done
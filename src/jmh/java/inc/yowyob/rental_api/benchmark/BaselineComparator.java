@@ -0,0 +1,104 @@
+package inc.yowyob.rental_api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Compare les résultats JMH (JSON) à une référence et échoue en cas de régression.
+ * <p>
+ * Usage : {@code BaselineComparator <résultats.json> <référence.json> <seuil %> [record]}.
+ * Une régression est une baisse de débit ({@code thrpt}) ou une hausse de temps
+ * (autres modes) supérieure au seuil. Une référence absente fait échouer la comparaison ;
+ * avec {@code record = true}, les résultats deviennent la nouvelle référence.
+ */
+public final class BaselineComparator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private record Score(String mode, double value, String unit) {
+    }
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException(
+                "Usage: BaselineComparator <result.json> <baseline.json> <threshold%> [record]");
+        }
+        Path resultFile = Path.of(args[0]);
+        Path baselineFile = Path.of(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+        boolean record = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        if (!Files.exists(resultFile)) {
+            throw new IllegalStateException("Benchmark result file not found: " + resultFile);
+        }
+        Map<String, Score> results = read(resultFile);
+
+        if (record) {
+            Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+            Files.copy(resultFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+            System.out.printf("Benchmark baseline recorded at %s (%d results)%n", baselineFile, results.size());
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            throw new IllegalStateException("No benchmark baseline at " + baselineFile
+                + ": run with -Dbenchmarks.record=true to record one");
+        }
+        Map<String, Score> baseline = read(baselineFile);
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            Score current = entry.getValue();
+            Score reference = baseline.get(entry.getKey());
+            if (reference == null || !reference.mode().equals(current.mode()) || !reference.unit().equals(current.unit())) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", current.value(), "new");
+                continue;
+            }
+
+            double change = (current.value() - reference.value()) / reference.value() * 100.0;
+            // En débit une baisse est une régression, en temps une hausse
+            double degradation = "thrpt".equals(current.mode()) ? -change : change;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%n", entry.getKey(), reference.value(), current.value(), change);
+
+            if (degradation > threshold) {
+                regressions.add(String.format("%s: %.3f -> %.3f %s (%+.1f%%)",
+                    entry.getKey(), reference.value(), current.value(), current.unit(), change));
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException("Benchmark regressions beyond " + threshold + "%:\n  "
+                + String.join("\n  ", regressions));
+        }
+        System.out.printf("No benchmark regression beyond %.1f%%%n", threshold);
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode run : MAPPER.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            if (params.isObject()) {
+                SortedSet<String> names = new TreeSet<>();
+                params.fieldNames().forEachRemaining(names::add);
+                names.forEach(name -> key.append(' ').append(name).append('=').append(params.get(name).asText()));
+            }
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key.toString(), new Score(
+                run.path("mode").asText(),
+                metric.path("score").asDouble(),
+                metric.path("scoreUnit").asText()
+            ));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,39 @@
+package inc.yowyob.rental_api.benchmark;
+
+import inc.yowyob.rental_api.security.jwt.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Génération et validation des tokens JWT (exécutées à chaque connexion et à chaque requête authentifiée)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private SecurityFixture fixture;
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        fixture = new SecurityFixture();
+        jwtTokenProvider = new JwtTokenProvider(fixture.appProperties);
+        token = jwtTokenProvider.generateToken(fixture.user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(fixture.user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+}
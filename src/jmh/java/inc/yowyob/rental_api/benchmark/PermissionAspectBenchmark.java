@@ -0,0 +1,74 @@
+package inc.yowyob.rental_api.benchmark;
+
+import inc.yowyob.rental_api.security.annotations.RequirePermission;
+import inc.yowyob.rental_api.security.aspect.PermissionAspect;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Surcoût de l'advice {@link PermissionAspect} par rapport à un appel direct de la même méthode
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PermissionAspectBenchmark {
+
+    /**
+     * Opérations protégées, sur le modèle des méthodes de contrôleur annotées
+     */
+    public static class GuardedOperations {
+
+        @RequirePermission(value = "vehicle_read", checkOrganization = false)
+        public int read(int value) {
+            return value + 1;
+        }
+
+        @RequirePermission(value = "vehicle_read")
+        public int readInOrganization(UUID organizationId, int value) {
+            return value + 1;
+        }
+    }
+
+    private SecurityFixture fixture;
+    private GuardedOperations direct;
+    private GuardedOperations advised;
+    private int value;
+
+    @Setup
+    public void setUp() {
+        fixture = new SecurityFixture();
+        fixture.authenticate();
+
+        direct = new GuardedOperations();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new GuardedOperations());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new PermissionAspect(fixture.permissionEvaluationService));
+        advised = proxyFactory.getProxy();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.clearAuthentication();
+    }
+
+    @Benchmark
+    public int direct() {
+        return direct.read(value++);
+    }
+
+    @Benchmark
+    public int advised() {
+        return advised.read(value++);
+    }
+
+    @Benchmark
+    public int advisedInOrganization() {
+        return advised.readInOrganization(fixture.organizationId, value++);
+    }
+}
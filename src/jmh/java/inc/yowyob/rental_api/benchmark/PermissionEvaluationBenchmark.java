@@ -0,0 +1,61 @@
+package inc.yowyob.rental_api.benchmark;
+
+import inc.yowyob.rental_api.core.enums.Permission;
+import inc.yowyob.rental_api.security.service.PermissionEvaluationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Évaluation des permissions de l'utilisateur connecté, permissions effectives en cache
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PermissionEvaluationBenchmark {
+
+    private static final String GRANTED = Permission.VEHICLE_READ.getCode();
+    private static final String DENIED = Permission.SYSTEM_ADMIN.getCode();
+
+    private SecurityFixture fixture;
+    private PermissionEvaluationService permissionEvaluationService;
+    private String andExpression;
+    private String orExpression;
+
+    @Setup
+    public void setUp() {
+        fixture = new SecurityFixture();
+        fixture.authenticate();
+        permissionEvaluationService = fixture.permissionEvaluationService;
+        andExpression = GRANTED + " AND " + fixture.roles.get(1).getPermissions().iterator().next();
+        orExpression = DENIED + " OR " + GRANTED;
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.clearAuthentication();
+    }
+
+    @Benchmark
+    public boolean hasPermissionGranted() {
+        return permissionEvaluationService.hasPermission(GRANTED);
+    }
+
+    @Benchmark
+    public boolean hasPermissionDenied() {
+        return permissionEvaluationService.hasPermission(DENIED);
+    }
+
+    @Benchmark
+    public boolean evaluateAndExpression() {
+        return permissionEvaluationService.evaluatePermissionExpression(andExpression);
+    }
+
+    @Benchmark
+    public boolean evaluateOrExpression() {
+        return permissionEvaluationService.evaluatePermissionExpression(orExpression);
+    }
+}
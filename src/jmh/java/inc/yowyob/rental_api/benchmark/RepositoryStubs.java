@@ -0,0 +1,40 @@
+package inc.yowyob.rental_api.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Substituts en mémoire des interfaces de repository.
+ * <p>
+ * Seules les méthodes fournies sont implémentées ; les méthodes par défaut de l'interface
+ * sont exécutées normalement et tout autre appel échoue, ce qui signale immédiatement un
+ * accès à la base imprévu sur le chemin mesuré.
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> methods) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            Function<Object[], Object> implementation = methods.get(method.getName());
+            if (implementation != null) {
+                return implementation.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> repositoryType.getSimpleName() + "Stub";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(
+                    repositoryType.getSimpleName() + "." + method.getName() + " is not stubbed");
+            };
+        };
+        return repositoryType.cast(Proxy.newProxyInstance(
+            repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, handler));
+    }
+}
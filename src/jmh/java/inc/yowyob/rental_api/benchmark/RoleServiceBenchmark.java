@@ -0,0 +1,37 @@
+package inc.yowyob.rental_api.benchmark;
+
+import inc.yowyob.rental_api.role.dto.UserPermissionsDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calcul des permissions effectives : servi par le cache, puis recalculé à chaque appel
+ * (le recalcul inclut l'invalidation de l'entrée en cache)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoleServiceBenchmark {
+
+    private SecurityFixture fixture;
+
+    @Setup
+    public void setUp() {
+        fixture = new SecurityFixture();
+    }
+
+    @Benchmark
+    public UserPermissionsDto effectivePermissionsCached() {
+        return fixture.roleService.getUserEffectivePermissions(fixture.userId, fixture.organizationId);
+    }
+
+    @Benchmark
+    public UserPermissionsDto effectivePermissionsComputed() {
+        fixture.userPermissionCache.invalidateUser(fixture.userId);
+        return fixture.roleService.getUserEffectivePermissions(fixture.userId, fixture.organizationId);
+    }
+}
@@ -0,0 +1,126 @@
+package inc.yowyob.rental_api.benchmark;
+
+import inc.yowyob.rental_api.common.cache.invalidation.InMemoryInvalidationTransport;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationBus;
+import inc.yowyob.rental_api.common.cache.repository.CacheVersionRepository;
+import inc.yowyob.rental_api.common.degraded.DegradedModeMonitor;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.core.enums.Permission;
+import inc.yowyob.rental_api.core.enums.RoleType;
+import inc.yowyob.rental_api.core.enums.UserStatus;
+import inc.yowyob.rental_api.core.enums.UserType;
+import inc.yowyob.rental_api.role.entities.Role;
+import inc.yowyob.rental_api.role.entities.UserRole;
+import inc.yowyob.rental_api.role.repository.RoleRepository;
+import inc.yowyob.rental_api.role.repository.UserRoleRepository;
+import inc.yowyob.rental_api.role.service.RoleCatalogCache;
+import inc.yowyob.rental_api.role.service.RoleService;
+import inc.yowyob.rental_api.role.service.UserPermissionCache;
+import inc.yowyob.rental_api.security.model.UserPrincipal;
+import inc.yowyob.rental_api.security.service.PermissionEvaluationService;
+import inc.yowyob.rental_api.user.entities.User;
+import inc.yowyob.rental_api.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Graphe d'objets du chemin de sécurité, câblé à la main sur des repositories en mémoire.
+ * <p>
+ * Une organisation de {@link #ROLE_COUNT} rôles ; l'utilisateur courant en détient
+ * {@link #ASSIGNED_ROLE_COUNT}, dont les permissions de lecture des véhicules.
+ */
+final class SecurityFixture {
+
+    static final int ROLE_COUNT = 8;
+    static final int ASSIGNED_ROLE_COUNT = 3;
+
+    final AppProperties appProperties = new AppProperties();
+    final UUID organizationId = UUID.randomUUID();
+    final UUID userId = UUID.randomUUID();
+    final User user;
+    final UserPrincipal principal;
+
+    final List<Role> roles = new ArrayList<>();
+    final List<UserRole> assignments = new ArrayList<>();
+
+    final RoleRepository roleRepository;
+    final UserRoleRepository userRoleRepository;
+    final UserPermissionCache userPermissionCache;
+    final RoleService roleService;
+    final PermissionEvaluationService permissionEvaluationService;
+
+    SecurityFixture() {
+        appProperties.getJwt().setSecret("benchmark-secret-key-with-at-least-256-bits-for-hs256");
+        appProperties.getJwt().setExpiration(86_400_000L);
+        appProperties.getJwt().setRefreshExpiration(604_800_000L);
+
+        List<Permission> permissions = Arrays.asList(Permission.values());
+        for (int i = 0; i < ROLE_COUNT; i++) {
+            Role role = new Role("Role " + i, "Benchmark role " + i, organizationId, RoleType.RENTAL_AGENT);
+            // Chaque rôle couvre une tranche glissante du catalogue de permissions
+            role.setPermissions(permissions.stream()
+                .skip((long) i * 5)
+                .limit(12)
+                .map(Permission::getCode)
+                .collect(Collectors.toCollection(HashSet::new)));
+            roles.add(role);
+        }
+        roles.get(0).getPermissions().add(Permission.VEHICLE_READ.getCode());
+
+        for (int i = 0; i < ASSIGNED_ROLE_COUNT; i++) {
+            UserRole assignment = new UserRole(userId, roles.get(i).getId(), organizationId);
+            assignments.add(assignment);
+        }
+
+        Map<UUID, Role> rolesById = roles.stream().collect(Collectors.toMap(Role::getId, role -> role));
+
+        roleRepository = RepositoryStubs.stub(RoleRepository.class, Map.of(
+            "findByOrganizationId", args -> organizationId.equals(args[0]) ? List.copyOf(roles) : List.of(),
+            "findById", args -> Optional.ofNullable(rolesById.get((UUID) args[0]))
+        ));
+        userRoleRepository = RepositoryStubs.stub(UserRoleRepository.class, Map.of(
+            "findValidByUserId", args -> userId.equals(args[0]) ? List.copyOf(assignments) : List.of(),
+            "countActiveByRoleId", args -> assignments.stream().filter(a -> a.getRoleId().equals(args[0])).count()
+        ));
+        CacheVersionRepository cacheVersionRepository = RepositoryStubs.stub(CacheVersionRepository.class, Map.of(
+            "findById", args -> Optional.empty()
+        ));
+        UserRepository userRepository = RepositoryStubs.stub(UserRepository.class, Map.of());
+
+        InvalidationBus invalidationBus = new InvalidationBus(new InMemoryInvalidationTransport());
+        invalidationBus.start();
+
+        RoleCatalogCache roleCatalogCache =
+            new RoleCatalogCache(roleRepository, cacheVersionRepository, appProperties, invalidationBus);
+        userPermissionCache = new UserPermissionCache(appProperties, invalidationBus,
+            new DegradedModeMonitor(appProperties, new SimpleMeterRegistry()));
+        roleService = new RoleService(roleRepository, userRoleRepository, userRepository,
+            roleCatalogCache, userPermissionCache, invalidationBus);
+        permissionEvaluationService = new PermissionEvaluationService(roleService, userRoleRepository);
+
+        user = new User("bench@yowyob.com", "hashed", "Bench", "User", UserType.STAFF);
+        user.setId(userId);
+        user.setOrganizationId(organizationId);
+        user.setStatus(UserStatus.ACTIVE);
+        principal = UserPrincipal.create(user);
+    }
+
+    /**
+     * Installe l'utilisateur de test comme utilisateur connecté, visible par tous les threads JMH
+     */
+    void authenticate() {
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            principal, null, List.of(new SimpleGrantedAuthority("ROLE_STAFF"))));
+    }
+
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+}
@@ -0,0 +1,79 @@
+package inc.yowyob.rental_api.common.actuator;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Session;
+import com.datastax.oss.driver.internal.core.pool.ChannelPool;
+import com.datastax.oss.driver.internal.core.session.DefaultSession;
+import com.datastax.oss.driver.internal.core.session.SessionWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Endpoint Actuator {@code /actuator/cassandrapool} : état des nœuds et des pools de connexions du driver.
+ * <p>
+ * Les requêtes en vol par nœud proviennent des pools internes du driver ; si l'implémentation
+ * de session n'est pas celle attendue, seules les informations publiques sont retournées.
+ */
+@Component
+@Endpoint(id = "cassandrapool")
+@RequiredArgsConstructor
+public class CassandraPoolEndpoint {
+
+    private final ObjectProvider<CqlSession> cqlSession;
+
+    @ReadOperation
+    public Map<String, Object> pool() {
+        CqlSession session = cqlSession.getIfAvailable();
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (session == null) {
+            result.put("available", false);
+            return result;
+        }
+
+        Map<Node, ChannelPool> pools = poolsOf(session);
+        List<Map<String, Object>> nodes = new ArrayList<>();
+        int totalInFlight = 0;
+
+        for (Node node : session.getMetadata().getNodes().values()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("endpoint", String.valueOf(node.getEndPoint()));
+            details.put("datacenter", node.getDatacenter());
+            details.put("rack", node.getRack());
+            details.put("state", node.getState().name());
+            details.put("distance", node.getDistance().name());
+            details.put("openConnections", node.getOpenConnections());
+            details.put("reconnecting", node.isReconnecting());
+
+            ChannelPool pool = pools.get(node);
+            if (pool != null) {
+                details.put("poolSize", pool.size());
+                details.put("inFlight", pool.getInFlight());
+                details.put("availableStreamIds", pool.getAvailableIds());
+                details.put("orphanedStreamIds", pool.getOrphanedIds());
+                totalInFlight += pool.getInFlight();
+            }
+            nodes.add(details);
+        }
+        nodes.sort(Comparator.comparing(node -> (String) node.get("endpoint")));
+
+        result.put("available", true);
+        result.put("sessionName", session.getName());
+        result.put("keyspace", session.getKeyspace().map(Object::toString).orElse(null));
+        result.put("inFlight", totalInFlight);
+        result.put("nodes", nodes);
+        return result;
+    }
+
+    private static Map<Node, ChannelPool> poolsOf(Session session) {
+        while (session instanceof SessionWrapper wrapper) {
+            session = wrapper.getDelegate();
+        }
+        return session instanceof DefaultSession defaultSession ? defaultSession.getPools() : Map.of();
+    }
+}
@@ -0,0 +1,84 @@
+package inc.yowyob.rental_api.common.actuator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suivi des pools de threads de l'application.
+ * <p>
+ * Les exécuteurs Spring sont découverts au démarrage ; les composants qui créent leur
+ * propre pool l'enregistrent via {@link #register(String, ThreadPoolExecutor)}. Le
+ * gestionnaire de rejet de chaque pool est enveloppé pour compter les rejets.
+ */
+@Slf4j
+@Component
+public class ExecutorMonitor implements SmartInitializingSingleton {
+
+    /**
+     * Pool suivi et son compteur de rejets
+     */
+    public record MonitoredExecutor(ThreadPoolExecutor executor, LongAdder rejections) {
+    }
+
+    private final ListableBeanFactory beanFactory;
+    private final Map<String, MonitoredExecutor> executors = Collections.synchronizedMap(new TreeMap<>());
+
+    public ExecutorMonitor(ListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        beanFactory.getBeansOfType(ThreadPoolTaskExecutor.class, false, false).forEach((name, executor) -> {
+            if (executor.getThreadPoolExecutor() != null) {
+                register(name, executor.getThreadPoolExecutor());
+            }
+        });
+        beanFactory.getBeansOfType(ThreadPoolTaskScheduler.class, false, false).forEach((name, scheduler) -> {
+            if (scheduler.getScheduledThreadPoolExecutor() != null) {
+                register(name, scheduler.getScheduledThreadPoolExecutor());
+            }
+        });
+    }
+
+    /**
+     * Enregistre un pool sous un nom
+     */
+    public void register(String name, ThreadPoolExecutor executor) {
+        LongAdder rejections = new LongAdder();
+        RejectedExecutionHandler delegate = executor.getRejectedExecutionHandler();
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejections.increment();
+            delegate.rejectedExecution(task, pool);
+        });
+        executors.put(name, new MonitoredExecutor(executor, rejections));
+        log.debug("Monitoring executor {}", name);
+    }
+
+    /**
+     * Retire un pool arrêté
+     */
+    public void unregister(String name) {
+        executors.remove(name);
+    }
+
+    /**
+     * Pools suivis, par nom
+     */
+    public Map<String, MonitoredExecutor> getExecutors() {
+        synchronized (executors) {
+            return Map.copyOf(executors);
+        }
+    }
+}
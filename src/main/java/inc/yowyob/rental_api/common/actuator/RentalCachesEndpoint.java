@@ -0,0 +1,128 @@
+package inc.yowyob.rental_api.common.actuator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import inc.yowyob.rental_api.common.cache.ManagedCache;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationBus;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Endpoint Actuator {@code /actuator/rentalcaches} : statistiques des caches locaux et éviction ciblée.
+ * <p>
+ * {@code DELETE /actuator/rentalcaches?organizationId=...} ou {@code ?userId=...} évince les entrées
+ * concernées sur ce nœud ; avec {@code broadcast=true}, l'invalidation est diffusée à tous les nœuds.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "rentalcaches")
+@RequiredArgsConstructor
+public class RentalCachesEndpoint {
+
+    private final List<ManagedCache> caches;
+    private final InvalidationBus invalidationBus;
+
+    @ReadOperation
+    public Map<String, Object> caches() {
+        Map<String, Object> result = new TreeMap<>();
+        for (ManagedCache cache : caches) {
+            result.put(cache.getCacheName(), describe(cache.getNativeCache()));
+        }
+        return result;
+    }
+
+    @ReadOperation
+    public Map<String, Object> cache(@Selector String name) {
+        return describe(find(name).getNativeCache());
+    }
+
+    /**
+     * Évince les entrées d'une organisation et/ou d'un utilisateur
+     */
+    @DeleteOperation
+    public Map<String, Object> evict(@Nullable String organizationId, @Nullable String userId, @Nullable Boolean broadcast) {
+        UUID organization = organizationId != null ? UUID.fromString(organizationId) : null;
+        UUID user = userId != null ? UUID.fromString(userId) : null;
+        if (organization == null && user == null) {
+            throw new IllegalArgumentException("organizationId or userId is required");
+        }
+
+        log.info("Cache eviction requested (organization: {}, user: {}, broadcast: {})", organization, user, broadcast);
+
+        if (Boolean.TRUE.equals(broadcast)) {
+            // Le bus applique aussi l'invalidation localement
+            if (organization != null) {
+                invalidationBus.publish(InvalidationType.ROLE_CATALOG, organization);
+                invalidationBus.publish(InvalidationType.ORGANIZATION_ENTITLEMENT, organization);
+            }
+            if (user != null) {
+                invalidationBus.publish(InvalidationType.USER_PERMISSIONS, user);
+            }
+        }
+
+        List<String> evicted = new ArrayList<>();
+        for (ManagedCache cache : caches) {
+            boolean done = false;
+            if (organization != null) {
+                done = cache.evictOrganization(organization);
+            }
+            if (user != null) {
+                done |= cache.evictUser(user);
+            }
+            if (done) {
+                evicted.add(cache.getCacheName());
+            }
+        }
+        Collections.sort(evicted);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("evictedFrom", evicted);
+        result.put("broadcast", Boolean.TRUE.equals(broadcast));
+        return result;
+    }
+
+    /**
+     * Vide entièrement un cache sur ce nœud
+     */
+    @DeleteOperation
+    public Map<String, Object> clear(@Selector String name) {
+        ManagedCache cache = find(name);
+        long size = cache.getNativeCache().estimatedSize();
+        cache.getNativeCache().invalidateAll();
+        log.info("Cache {} cleared ({} entries)", name, size);
+        return Map.of("cache", name, "clearedEntries", size);
+    }
+
+    private ManagedCache find(String name) {
+        return caches.stream()
+            .filter(cache -> cache.getCacheName().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown cache: " + name));
+    }
+
+    private static Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("size", cache.estimatedSize());
+        cache.policy().eviction().ifPresent(eviction -> details.put("maximumSize", eviction.getMaximum()));
+        details.put("hitRatio", stats.hitRate());
+        details.put("hits", stats.hitCount());
+        details.put("misses", stats.missCount());
+        details.put("evictions", stats.evictionCount());
+        details.put("loads", stats.loadCount());
+        details.put("loadFailures", stats.loadFailureCount());
+        details.put("averageLoadTime", Duration.ofNanos((long) stats.averageLoadPenalty()).toString());
+        details.put("totalLoadTime", Duration.ofNanos(stats.totalLoadTime()).toString());
+        return details;
+    }
+}
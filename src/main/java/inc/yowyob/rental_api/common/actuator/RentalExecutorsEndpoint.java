@@ -0,0 +1,45 @@
+package inc.yowyob.rental_api.common.actuator;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Endpoint Actuator {@code /actuator/rentalexecutors} : taille, activité, file d'attente et rejets par pool
+ */
+@Component
+@Endpoint(id = "rentalexecutors")
+@RequiredArgsConstructor
+public class RentalExecutorsEndpoint {
+
+    private final ExecutorMonitor executorMonitor;
+
+    @ReadOperation
+    public Map<String, Object> executors() {
+        Map<String, Object> result = new TreeMap<>();
+        executorMonitor.getExecutors().forEach((name, monitored) -> result.put(name, describe(monitored)));
+        return result;
+    }
+
+    private static Map<String, Object> describe(ExecutorMonitor.MonitoredExecutor monitored) {
+        ThreadPoolExecutor executor = monitored.executor();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("poolSize", executor.getPoolSize());
+        details.put("corePoolSize", executor.getCorePoolSize());
+        details.put("maximumPoolSize", executor.getMaximumPoolSize());
+        details.put("largestPoolSize", executor.getLargestPoolSize());
+        details.put("activeThreads", executor.getActiveCount());
+        details.put("queueDepth", executor.getQueue().size());
+        details.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        details.put("completedTasks", executor.getCompletedTaskCount());
+        details.put("rejectedTasks", monitored.rejections().sum());
+        details.put("shutdown", executor.isShutdown());
+        return details;
+    }
+}
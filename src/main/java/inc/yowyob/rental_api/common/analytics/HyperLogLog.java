@@ -0,0 +1,143 @@
+package inc.yowyob.rental_api.common.analytics;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Estimateur de cardinalité HyperLogLog.
+ * <p>
+ * Compte approximativement les valeurs distinctes avec une mémoire fixe de {@code 2^precision}
+ * octets (16 Ko en précision 14, erreur type d'environ 0,8 %). Deux sketches de même précision
+ * se fusionnent en prenant le maximum de chaque registre : la fusion est idempotente, ce qui
+ * permet à chaque nœud d'écrire son propre sketch et au lecteur de les combiner.
+ * Non thread-safe : les appelants synchronisent les accès concurrents.
+ */
+public final class HyperLogLog {
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("HyperLogLog precision must be between "
+                + MIN_PRECISION + " and " + MAX_PRECISION + ": " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    /**
+     * Ajoute une valeur
+     *
+     * @return true si l'estimation a pu changer
+     */
+    public boolean add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (64 - precision));
+        // Rang du premier bit à 1 dans les bits restants (sentinelle pour borner le rang)
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Fusionne un autre sketch dans celui-ci
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog sketches of precision "
+                + other.precision + " into " + precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Nombre estimé de valeurs distinctes
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        // Petites cardinalités : comptage linéaire sur les registres vides
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public HyperLogLog copy() {
+        return new HyperLogLog(precision, registers.clone());
+    }
+
+    /**
+     * Sérialisation : un octet de précision suivi des registres
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[registers.length + 1];
+        bytes[0] = (byte) precision;
+        System.arraycopy(registers, 0, bytes, 1, registers.length);
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        int precision = bytes.length > 0 ? bytes[0] : 0;
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION || bytes.length != (1 << precision) + 1) {
+            throw new IllegalArgumentException("Invalid HyperLogLog payload of " + bytes.length + " bytes");
+        }
+        byte[] registers = new byte[1 << precision];
+        System.arraycopy(bytes, 1, registers, 0, registers.length);
+        return new HyperLogLog(precision, registers);
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    /**
+     * FNV-1a 64 bits suivi du mélange final de MurmurHash3, pour répartir uniformément les bits de poids fort
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,35 @@
+package inc.yowyob.rental_api.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.UUID;
+
+/**
+ * Cache local exposé aux opérateurs (statistiques, métriques et éviction ciblée)
+ */
+public interface ManagedCache {
+
+    /**
+     * Nom stable du cache, utilisé par l'endpoint et comme tag des métriques
+     */
+    String getCacheName();
+
+    /**
+     * Cache Caffeine sous-jacent (statistiques activées)
+     */
+    Cache<?, ?> getNativeCache();
+
+    /**
+     * Évince les entrées d'une organisation ; false si le cache n'est pas indexé par organisation
+     */
+    default boolean evictOrganization(UUID organizationId) {
+        return false;
+    }
+
+    /**
+     * Évince les entrées d'un utilisateur ; false si le cache n'est pas indexé par utilisateur
+     */
+    default boolean evictUser(UUID userId) {
+        return false;
+    }
+}
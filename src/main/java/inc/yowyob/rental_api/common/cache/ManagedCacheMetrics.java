@@ -0,0 +1,30 @@
+package inc.yowyob.rental_api.common.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publie les statistiques des caches locaux dans Micrometer ({@code cache.gets}, {@code cache.evictions}...)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ManagedCacheMetrics implements SmartInitializingSingleton {
+
+    private final List<ManagedCache> caches;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (ManagedCache cache : caches) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache.getNativeCache(), cache.getCacheName());
+        }
+        log.info("Cache metrics bound for {} local caches", caches.size());
+    }
+}
@@ -0,0 +1,41 @@
+package inc.yowyob.rental_api.common.cache.entities;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.CassandraType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Journal des invalidations de cache, partitionné par minute et ordonné par timeuuid.
+ * Les lignes sont écrites avec un TTL court : la table ne sert qu'à la diffusion.
+ */
+@Data
+@NoArgsConstructor
+@Table("cache_invalidations")
+public class CacheInvalidation {
+
+    @PrimaryKeyColumn(name = "bucket", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private Long bucket;
+
+    @PrimaryKeyColumn(name = "event_id", ordinal = 1, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.ASCENDING)
+    @CassandraType(type = CassandraType.Name.TIMEUUID)
+    private UUID eventId;
+
+    private String type;
+
+    @Column("cache_key")
+    private String cacheKey;
+
+    @Column("origin_node")
+    private UUID originNode;
+
+    @Column("created_at")
+    private Instant createdAt;
+}
@@ -0,0 +1,26 @@
+package inc.yowyob.rental_api.common.cache.entities;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.cassandra.core.mapping.CassandraType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+/**
+ * Compteur de version d'un cache applicatif partagé entre les nœuds.
+ * Chaque écriture administrative incrémente la version correspondante,
+ * ce qui permet aux autres instances de détecter qu'elles doivent se rafraîchir.
+ */
+@Data
+@NoArgsConstructor
+@Table("cache_versions")
+public class CacheVersion {
+
+    @Id
+    @PrimaryKey
+    private String name;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long version;
+}
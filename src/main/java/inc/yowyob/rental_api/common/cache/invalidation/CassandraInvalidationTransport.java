@@ -0,0 +1,150 @@
+package inc.yowyob.rental_api.common.cache.invalidation;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+import inc.yowyob.rental_api.common.actuator.ExecutorMonitor;
+import inc.yowyob.rental_api.common.cache.entities.CacheInvalidation;
+import inc.yowyob.rental_api.common.cache.repository.CacheInvalidationRepository;
+import inc.yowyob.rental_api.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Transport des invalidations par une table Cassandra.
+ * <p>
+ * Chaque événement est inséré dans la partition de sa minute avec un TTL court.
+ * Un thread dédié interroge les partitions récentes à intervalle rapproché en
+ * partant d'un filigrane (watermark) ; une fenêtre de recouvrement absorbe les
+ * écarts d'horloge entre nœuds et les doublons sont écartés par leur ID.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cache.invalidation", name = "transport", havingValue = "cassandra", matchIfMissing = true)
+public class CassandraInvalidationTransport implements InvalidationTransport {
+
+    private static final long BUCKET_MILLIS = Duration.ofMinutes(1).toMillis();
+    private static final int MAX_SEEN_EVENTS = 10_000;
+    private static final String POLLER_NAME = "cache-invalidation-poller";
+
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final AppProperties.Cache.Invalidation properties;
+    private final ExecutorMonitor executorMonitor;
+    private final Set<UUID> seenEvents = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+            return size() > MAX_SEEN_EVENTS;
+        }
+    });
+
+    private ScheduledThreadPoolExecutor poller;
+    private Consumer<InvalidationEvent> listener;
+    private long watermarkMillis;
+
+    public CassandraInvalidationTransport(CacheInvalidationRepository cacheInvalidationRepository,
+                                          AppProperties appProperties,
+                                          ExecutorMonitor executorMonitor) {
+        this.cacheInvalidationRepository = cacheInvalidationRepository;
+        this.properties = appProperties.getCache().getInvalidation();
+        this.executorMonitor = executorMonitor;
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        CacheInvalidation invalidation = new CacheInvalidation();
+        invalidation.setBucket(bucketOf(Uuids.unixTimestamp(event.getId())));
+        invalidation.setEventId(event.getId());
+        invalidation.setType(event.getType().name());
+        invalidation.setCacheKey(event.getKey());
+        invalidation.setOriginNode(event.getOriginNode());
+        invalidation.setCreatedAt(event.getCreatedAt());
+
+        cacheInvalidationRepository.insertWithTtl(invalidation, properties.getEventTtl());
+    }
+
+    @Override
+    public synchronized void start(Consumer<InvalidationEvent> listener) {
+        this.listener = listener;
+        this.watermarkMillis = System.currentTimeMillis();
+
+        long intervalMillis = properties.getPollInterval().toMillis();
+        poller = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, POLLER_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executorMonitor.register(POLLER_NAME, poller);
+        poller.scheduleWithFixedDelay(this::poll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        log.info("Cassandra cache invalidation transport started (poll interval {} ms)", intervalMillis);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (poller != null) {
+            executorMonitor.unregister(POLLER_NAME);
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+
+    private void poll() {
+        try {
+            long now = System.currentTimeMillis();
+            long from = watermarkMillis - properties.getLookback().toMillis();
+            UUID fromEventId = Uuids.startOf(from);
+            long newWatermark = watermarkMillis;
+
+            for (long bucket = bucketOf(from); bucket <= bucketOf(now); bucket++) {
+                for (CacheInvalidation invalidation : cacheInvalidationRepository.findByBucketAfter(bucket, fromEventId)) {
+                    if (!seenEvents.add(invalidation.getEventId())) {
+                        continue;
+                    }
+                    newWatermark = Math.max(newWatermark, Uuids.unixTimestamp(invalidation.getEventId()));
+                    deliver(invalidation);
+                }
+            }
+
+            // Le filigrane avance au plus jusqu'à maintenant, même sans événement
+            watermarkMillis = Math.max(newWatermark, now - properties.getLookback().toMillis());
+        } catch (Exception e) {
+            log.warn("Cache invalidation poll failed: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(CacheInvalidation invalidation) {
+        InvalidationType type;
+        try {
+            type = InvalidationType.valueOf(invalidation.getType());
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring unknown invalidation type: {}", invalidation.getType());
+            return;
+        }
+
+        InvalidationEvent event = InvalidationEvent.builder()
+            .id(invalidation.getEventId())
+            .type(type)
+            .key(invalidation.getCacheKey())
+            .originNode(invalidation.getOriginNode())
+            .createdAt(invalidation.getCreatedAt() != null
+                ? invalidation.getCreatedAt()
+                : Instant.ofEpochMilli(Uuids.unixTimestamp(invalidation.getEventId())))
+            .build();
+
+        try {
+            listener.accept(event);
+        } catch (Exception e) {
+            log.error("Error applying invalidation {}: {}", event, e.getMessage(), e);
+        }
+    }
+
+    private static long bucketOf(long epochMillis) {
+        return epochMillis / BUCKET_MILLIS;
+    }
+}
@@ -0,0 +1,42 @@
+package inc.yowyob.rental_api.common.cache.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Transport interne à la JVM : les événements sont remis immédiatement et de façon
+ * synchrone. Destiné aux tests et aux déploiements mono-instance.
+ * <p>
+ * Chaque bus démarré sur un même transport reçoit tous les événements, ce qui permet
+ * de simuler plusieurs nœuds dans une seule JVM.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cache.invalidation", name = "transport", havingValue = "in-memory")
+public class InMemoryInvalidationTransport implements InvalidationTransport {
+
+    private final List<Consumer<InvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        for (Consumer<InvalidationEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    @Override
+    public void start(Consumer<InvalidationEvent> listener) {
+        log.info("Using in-JVM cache invalidation transport");
+        listeners.add(listener);
+    }
+
+    @Override
+    public void stop() {
+        listeners.clear();
+    }
+}
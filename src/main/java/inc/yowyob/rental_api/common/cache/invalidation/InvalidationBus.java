@@ -0,0 +1,107 @@
+package inc.yowyob.rental_api.common.cache.invalidation;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bus d'invalidation des caches locaux entre les instances de l'API.
+ * <p>
+ * Un événement publié est appliqué immédiatement sur le nœud émetteur puis diffusé
+ * par le {@link InvalidationTransport} ; les autres nœuds l'appliquent à réception.
+ * Les caches s'abonnent par type d'événement et reçoivent la clé à invalider.
+ */
+@Slf4j
+@Component
+public class InvalidationBus implements SmartLifecycle {
+
+    public static final String ALL_KEYS = "*";
+
+    @Getter
+    private final UUID nodeId = UUID.randomUUID();
+    private final InvalidationTransport transport;
+    private final Map<InvalidationType, List<Consumer<String>>> handlers = new EnumMap<>(InvalidationType.class);
+
+    private volatile boolean running;
+
+    public InvalidationBus(InvalidationTransport transport) {
+        this.transport = transport;
+        for (InvalidationType type : InvalidationType.values()) {
+            handlers.put(type, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    /**
+     * Enregistre un gestionnaire pour un type d'invalidation
+     */
+    public void subscribe(InvalidationType type, Consumer<String> handler) {
+        handlers.get(type).add(handler);
+    }
+
+    /**
+     * Publie une invalidation : application locale immédiate puis diffusion aux autres nœuds
+     */
+    public void publish(InvalidationType type, Object key) {
+        InvalidationEvent event = InvalidationEvent.builder()
+            .id(Uuids.timeBased())
+            .type(type)
+            .key(key != null ? key.toString() : ALL_KEYS)
+            .originNode(nodeId)
+            .createdAt(Instant.now())
+            .build();
+
+        dispatch(event);
+
+        try {
+            transport.publish(event);
+        } catch (Exception e) {
+            // Les autres nœuds convergeront à l'expiration de leurs entrées
+            log.warn("Unable to broadcast invalidation {} {}: {}", type, event.getKey(), e.getMessage());
+        }
+    }
+
+    private void onTransportEvent(InvalidationEvent event) {
+        if (nodeId.equals(event.getOriginNode())) {
+            return;
+        }
+        log.debug("Applying remote invalidation {} {} from node {}", event.getType(), event.getKey(), event.getOriginNode());
+        dispatch(event);
+    }
+
+    private void dispatch(InvalidationEvent event) {
+        for (Consumer<String> handler : handlers.get(event.getType())) {
+            try {
+                handler.accept(event.getKey());
+            } catch (Exception e) {
+                log.error("Invalidation handler failed for {} {}: {}", event.getType(), event.getKey(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        transport.start(this::onTransportEvent);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        transport.stop();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,23 @@
+package inc.yowyob.rental_api.common.cache.invalidation;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Événement d'invalidation de cache publié par un nœud
+ */
+@Getter
+@Builder
+@ToString
+public class InvalidationEvent {
+
+    private final UUID id;
+    private final InvalidationType type;
+    private final String key;
+    private final UUID originNode;
+    private final Instant createdAt;
+}
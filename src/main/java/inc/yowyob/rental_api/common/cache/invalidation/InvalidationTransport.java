@@ -0,0 +1,26 @@
+package inc.yowyob.rental_api.common.cache.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport des événements d'invalidation entre les nœuds.
+ * L'implémentation par défaut s'appuie sur une table Cassandra ; un transport
+ * Redis ou NATS peut être branché en fournissant un autre bean.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Diffuse un événement aux autres nœuds
+     */
+    void publish(InvalidationEvent event);
+
+    /**
+     * Démarre la réception des événements publiés (y compris ceux de ce nœud)
+     */
+    void start(Consumer<InvalidationEvent> listener);
+
+    /**
+     * Arrête la réception des événements
+     */
+    void stop();
+}
@@ -0,0 +1,18 @@
+package inc.yowyob.rental_api.common.cache.invalidation;
+
+/**
+ * Types d'invalidation diffusés entre les nœuds. La clé associée à un événement
+ * dépend du type (ID d'organisation, ID d'utilisateur, ou "*" pour tout le cache).
+ */
+public enum InvalidationType {
+    /** Catalogue des forfaits (clé "*") */
+    SUBSCRIPTION_PLANS,
+    /** Droits d'une organisation (clé : ID d'organisation) */
+    ORGANIZATION_ENTITLEMENT,
+    /** Rôles d'une organisation (clé : ID d'organisation) */
+    ROLE_CATALOG,
+    /** Assignations de rôles d'un utilisateur (clé : ID d'utilisateur) */
+    USER_PERMISSIONS,
+    /** Compte utilisateur : mot de passe, statut, verrouillage (clé : ID d'utilisateur) */
+    USER_ACCOUNT
+}
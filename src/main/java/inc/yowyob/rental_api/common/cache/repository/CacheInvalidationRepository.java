@@ -0,0 +1,21 @@
+package inc.yowyob.rental_api.common.cache.repository;
+
+import inc.yowyob.rental_api.common.cache.entities.CacheInvalidation;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CacheInvalidationRepository extends CassandraRepository<CacheInvalidation, MapId>,
+    CacheInvalidationRepositoryCustom {
+
+    /**
+     * Trouve les invalidations d'une partition postérieures à un timeuuid
+     */
+    @Query("SELECT * FROM cache_invalidations WHERE bucket = ?0 AND event_id > ?1")
+    List<CacheInvalidation> findByBucketAfter(Long bucket, UUID eventId);
+}
@@ -0,0 +1,13 @@
+package inc.yowyob.rental_api.common.cache.repository;
+
+import inc.yowyob.rental_api.common.cache.entities.CacheInvalidation;
+
+import java.time.Duration;
+
+public interface CacheInvalidationRepositoryCustom {
+
+    /**
+     * Insère une invalidation avec une durée de vie
+     */
+    void insertWithTtl(CacheInvalidation invalidation, Duration ttl);
+}
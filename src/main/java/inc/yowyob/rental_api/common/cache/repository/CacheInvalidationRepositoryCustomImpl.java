@@ -0,0 +1,19 @@
+package inc.yowyob.rental_api.common.cache.repository;
+
+import inc.yowyob.rental_api.common.cache.entities.CacheInvalidation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.InsertOptions;
+
+import java.time.Duration;
+
+@RequiredArgsConstructor
+public class CacheInvalidationRepositoryCustomImpl implements CacheInvalidationRepositoryCustom {
+
+    private final CassandraOperations cassandraOperations;
+
+    @Override
+    public void insertWithTtl(CacheInvalidation invalidation, Duration ttl) {
+        cassandraOperations.insert(invalidation, InsertOptions.builder().ttl(ttl).build());
+    }
+}
@@ -0,0 +1,18 @@
+package inc.yowyob.rental_api.common.cache.repository;
+
+import inc.yowyob.rental_api.common.cache.entities.CacheVersion;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CacheVersionRepository extends CassandraRepository<CacheVersion, String>, CacheVersionRepositoryCustom {
+
+    /**
+     * Récupère la version courante d'un cache (0 si aucune écriture n'a encore eu lieu)
+     */
+    default long getCurrentVersion(String name) {
+        return findById(name)
+            .map(CacheVersion::getVersion)
+            .orElse(0L);
+    }
+}
@@ -0,0 +1,13 @@
+package inc.yowyob.rental_api.common.cache.repository;
+
+/**
+ * Opérations sur les compteurs de version qui ne peuvent pas être exprimées
+ * par un simple save (les colonnes counter n'acceptent que des UPDATE)
+ */
+public interface CacheVersionRepositoryCustom {
+
+    /**
+     * Incrémente la version d'un cache
+     */
+    void incrementVersion(String name);
+}
@@ -0,0 +1,16 @@
+package inc.yowyob.rental_api.common.cache.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.CassandraOperations;
+
+@RequiredArgsConstructor
+public class CacheVersionRepositoryCustomImpl implements CacheVersionRepositoryCustom {
+
+    private final CassandraOperations cassandraOperations;
+
+    @Override
+    public void incrementVersion(String name) {
+        cassandraOperations.getCqlOperations()
+            .execute("UPDATE cache_versions SET version = version + 1 WHERE name = ?", name);
+    }
+}
@@ -0,0 +1,51 @@
+package inc.yowyob.rental_api.common.cache.repository;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+import inc.yowyob.rental_api.common.cache.entities.CacheInvalidation;
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.cassandra.core.mapping.BasicMapId;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Implémentation en mémoire de {@link CacheInvalidationRepository} (profil perf-inmemory).
+ * Le TTL est appliqué à l'écriture en purgeant les lignes expirées.
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemoryCacheInvalidationRepository extends InMemoryCassandraRepository<CacheInvalidation, MapId>
+    implements CacheInvalidationRepository {
+
+    private static final Comparator<UUID> TIMEUUID_ORDER =
+        Comparator.<UUID>comparingLong(Uuids::unixTimestamp).thenComparing(Comparator.naturalOrder());
+
+    public InMemoryCacheInvalidationRepository(LatencySimulator latencySimulator) {
+        super(CacheInvalidation.class,
+            invalidation -> BasicMapId.id("bucket", invalidation.getBucket()).with("eventId", invalidation.getEventId()),
+            latencySimulator);
+    }
+
+    @Override
+    public List<CacheInvalidation> findByBucketAfter(Long bucket, UUID eventId) {
+        return findWhere(invalidation -> Objects.equals(bucket, invalidation.getBucket())
+            && TIMEUUID_ORDER.compare(invalidation.getEventId(), eventId) > 0).stream()
+            .sorted(Comparator.comparing(CacheInvalidation::getEventId, TIMEUUID_ORDER))
+            .toList();
+    }
+
+    @Override
+    public void insertWithTtl(CacheInvalidation invalidation, Duration ttl) {
+        Instant expiredBefore = Instant.now().minus(ttl);
+        deleteAll(findWhere(existing -> existing.getCreatedAt() != null && existing.getCreatedAt().isBefore(expiredBefore)));
+        insert(invalidation);
+    }
+}
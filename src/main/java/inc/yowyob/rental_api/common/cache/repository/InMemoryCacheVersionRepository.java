@@ -0,0 +1,33 @@
+package inc.yowyob.rental_api.common.cache.repository;
+
+import inc.yowyob.rental_api.common.cache.entities.CacheVersion;
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Implémentation en mémoire de {@link CacheVersionRepository} (profil perf-inmemory)
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemoryCacheVersionRepository extends InMemoryCassandraRepository<CacheVersion, String>
+    implements CacheVersionRepository {
+
+    public InMemoryCacheVersionRepository(LatencySimulator latencySimulator) {
+        super(CacheVersion.class, CacheVersion::getName, latencySimulator);
+    }
+
+    @Override
+    public void incrementVersion(String name) {
+        update(name, key -> {
+            CacheVersion cacheVersion = new CacheVersion();
+            cacheVersion.setName(key);
+            cacheVersion.setVersion(0L);
+            return cacheVersion;
+        }, cacheVersion -> {
+            cacheVersion.setVersion(cacheVersion.getVersion() + 1);
+            return cacheVersion;
+        });
+    }
+}
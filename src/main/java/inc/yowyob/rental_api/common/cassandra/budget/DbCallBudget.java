@@ -0,0 +1,25 @@
+package inc.yowyob.rental_api.common.cassandra.budget;
+
+import java.lang.annotation.*;
+
+/**
+ * Budget d'instructions Cassandra d'un endpoint (méthode ou contrôleur entier).
+ * <p>
+ * Un dépassement est journalisé ; avec {@code app.db-budget.enforce=true} (tests),
+ * l'instruction qui dépasse le budget échoue.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DbCallBudget {
+
+    /**
+     * Nombre maximal d'instructions pour la requête HTTP
+     */
+    int value();
+
+    /**
+     * Nombre maximal d'exécutions d'une même requête nommée (-1 : seuil global de détection N+1)
+     */
+    int maxPerQuery() default -1;
+}
@@ -0,0 +1,11 @@
+package inc.yowyob.rental_api.common.cassandra.budget;
+
+/**
+ * Levée lorsqu'une requête dépasse son budget d'instructions et que l'application du budget est activée
+ */
+public class DbCallBudgetExceededException extends IllegalStateException {
+
+    public DbCallBudgetExceededException(String message) {
+        super(message);
+    }
+}
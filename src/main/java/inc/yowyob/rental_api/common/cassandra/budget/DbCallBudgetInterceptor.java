@@ -0,0 +1,35 @@
+package inc.yowyob.rental_api.common.cassandra.budget;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applique à la trace courante le budget déclaré par {@link DbCallBudget} sur le contrôleur
+ */
+@Component
+public class DbCallBudgetInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            DbCallBudget budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), DbCallBudget.class);
+            if (budget == null) {
+                budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), DbCallBudget.class);
+            }
+            if (budget != null) {
+                DbCallBudget declared = budget;
+                DbCallTrace.current().ifPresent(trace -> {
+                    trace.setBudget(declared.value());
+                    if (declared.maxPerQuery() >= 0) {
+                        trace.setMaxPerQuery(declared.maxPerQuery());
+                    }
+                });
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,134 @@
+package inc.yowyob.rental_api.common.cassandra.budget;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * Décompte des instructions Cassandra exécutées par le thread courant, par requête nommée.
+ * <p>
+ * Une trace est ouverte par requête HTTP ; {@link #capture(Callable)} permet de mesurer
+ * un appel de service isolé, par exemple dans un test.
+ */
+public final class DbCallTrace {
+
+    private static final ThreadLocal<DbCallTrace> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> counts = new LinkedHashMap<>();
+    private int total;
+
+    @Getter
+    @Setter
+    private int budget;
+
+    @Getter
+    @Setter
+    private int maxPerQuery;
+
+    private DbCallTrace(int budget, int maxPerQuery) {
+        this.budget = budget;
+        this.maxPerQuery = maxPerQuery;
+    }
+
+    /**
+     * Ouvre une trace sur le thread courant
+     */
+    public static DbCallTrace start(int budget, int maxPerQuery) {
+        DbCallTrace trace = new DbCallTrace(budget, maxPerQuery);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * Trace du thread courant, si elle existe
+     */
+    public static Optional<DbCallTrace> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Ferme la trace du thread courant
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Exécute un appel sous une trace dédiée et retourne la trace obtenue
+     */
+    public static <T> Result<T> capture(Callable<T> call) throws Exception {
+        DbCallTrace previous = CURRENT.get();
+        DbCallTrace trace = start(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        try {
+            T value = call.call();
+            return new Result<>(value, trace);
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Enregistre une instruction et retourne le nombre d'exécutions de cette requête
+     */
+    public int record(String query) {
+        total++;
+        return counts.merge(query, 1, Integer::sum);
+    }
+
+    /**
+     * Nombre total d'instructions
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Nombre d'instructions par requête nommée, dans l'ordre de première exécution
+     */
+    public Map<String, Integer> getCounts() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Indique si le budget global est dépassé
+     */
+    public boolean isOverBudget() {
+        return total > budget;
+    }
+
+    /**
+     * Requêtes exécutées plus souvent que le seuil par requête (suspicion de N+1)
+     */
+    public Map<String, Integer> getRepeatedQueries() {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        counts.forEach((query, count) -> {
+            if (count > maxPerQuery) {
+                repeated.put(query, count);
+            }
+        });
+        return repeated;
+    }
+
+    /**
+     * Résumé lisible, les requêtes les plus exécutées d'abord
+     */
+    public String summary() {
+        StringJoiner joiner = new StringJoiner(", ");
+        counts.entrySet().stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+            .forEach(entry -> joiner.add(entry.getKey() + "=" + entry.getValue()));
+        return joiner.toString();
+    }
+
+    /**
+     * Résultat d'un appel mesuré
+     */
+    public record Result<T>(T value, DbCallTrace trace) {
+    }
+}
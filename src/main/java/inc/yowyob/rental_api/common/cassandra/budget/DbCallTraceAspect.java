@@ -0,0 +1,53 @@
+package inc.yowyob.rental_api.common.cassandra.budget;
+
+import inc.yowyob.rental_api.common.cassandra.metrics.CassandraQueryRegistry;
+import inc.yowyob.rental_api.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Compte les appels de repository dans la trace du thread courant.
+ * <p>
+ * Chaque appel correspond à une instruction CQL (les pages suivantes d'un même résultat
+ * ne sont pas comptées). Le budget est vérifié avant l'exécution quand il est appliqué.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.db-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DbCallTraceAspect {
+
+    private final CassandraQueryRegistry queryRegistry;
+    private final AppProperties appProperties;
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        Optional<DbCallTrace> current = DbCallTrace.current();
+        if (current.isPresent()) {
+            DbCallTrace trace = current.get();
+            String query = queryRegistry.describe(joinPoint.getTarget().getClass(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod()).name();
+            int count = trace.record(query);
+
+            if (appProperties.getDbBudget().isEnforce()) {
+                if (trace.isOverBudget()) {
+                    throw new DbCallBudgetExceededException(String.format(
+                        "Database call budget exceeded: %d statements (budget %d): %s",
+                        trace.getTotal(), trace.getBudget(), trace.summary()));
+                }
+                if (count > trace.getMaxPerQuery()) {
+                    throw new DbCallBudgetExceededException(String.format(
+                        "Possible N+1: %s executed %d times (limit %d)", query, count, trace.getMaxPerQuery()));
+                }
+            }
+        }
+        return joinPoint.proceed();
+    }
+}
@@ -0,0 +1,99 @@
+package inc.yowyob.rental_api.common.cassandra.budget;
+
+import inc.yowyob.rental_api.config.AppProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Ouvre une trace des instructions Cassandra pour chaque requête HTTP.
+ * <p>
+ * En fin de requête : histogramme {@code rental.db.statements.per.request} par endpoint,
+ * journalisation des dépassements de budget et des requêtes répétées (N+1) et, hors profil
+ * {@code prod}, en-têtes {@code X-Db-Statements} et {@code X-Db-Statements-Detail}.
+ * Placé en tête de chaîne pour compter aussi les lectures de l'authentification. Les chemins exclus
+ * (réponses diffusées en continu) ne sont ni tracés ni mis en tampon.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "app.db-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DbCallTraceFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Db-Statements";
+    public static final String DETAIL_HEADER = "X-Db-Statements-Detail";
+
+    private final AppProperties.DbBudget properties;
+    private final MeterRegistry meterRegistry;
+    private final boolean debugHeaders;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public DbCallTraceFilter(AppProperties appProperties, MeterRegistry meterRegistry, Environment environment) {
+        this.properties = appProperties.getDbBudget();
+        this.meterRegistry = meterRegistry;
+        this.debugHeaders = properties.isDebugHeaders() && !environment.acceptsProfiles(Profiles.of("prod"));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return properties.getExcludedPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Les en-têtes doivent précéder le corps : la réponse est mise en tampon quand ils sont activés
+        ContentCachingResponseWrapper wrapper = debugHeaders ? new ContentCachingResponseWrapper(response) : null;
+        DbCallTrace trace = DbCallTrace.start(properties.getDefaultBudget(), properties.getRepeatedQueryThreshold());
+        try {
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            DbCallTrace.end();
+            report(request, trace);
+            if (wrapper != null) {
+                if (!wrapper.isCommitted()) {
+                    wrapper.setHeader(STATEMENTS_HEADER, String.valueOf(trace.getTotal()));
+                    wrapper.setHeader(DETAIL_HEADER, trace.summary());
+                }
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, DbCallTrace trace) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "unmapped");
+
+        DistributionSummary.builder("rental.db.statements.per.request")
+            .description("Cassandra statements issued per HTTP request")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry)
+            .record(trace.getTotal());
+
+        if (trace.isOverBudget()) {
+            log.warn("{} issued {} Cassandra statements (budget {}): {}",
+                endpoint, trace.getTotal(), trace.getBudget(), trace.summary());
+        }
+        for (Map.Entry<String, Integer> repeated : trace.getRepeatedQueries().entrySet()) {
+            log.warn("Possible N+1 in {}: {} executed {} times", endpoint, repeated.getKey(), repeated.getValue());
+        }
+    }
+}
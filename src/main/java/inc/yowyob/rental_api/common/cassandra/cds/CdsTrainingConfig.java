@@ -0,0 +1,75 @@
+package inc.yowyob.rental_api.common.cassandra.cds;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Démarrage d'entraînement de l'archive CDS ({@code -Dspring.context.exit=onRefresh}).
+ * <p>
+ * L'entraînement doit charger les mêmes classes que la production : même profil, même classpath,
+ * mêmes initialiseurs AOT. Seule la connexion au cluster est remplacée par une session inerte,
+ * car l'image est construite sans Cassandra ; le contexte s'arrête avant toute requête et toute
+ * tâche planifiée. Sans cette propriété, la configuration n'a aucun effet.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class CdsTrainingConfig {
+
+    static final String CONTEXT_EXIT_PROPERTY = "spring.context.exit";
+
+    @Bean
+    public static InstantiationAwareBeanPostProcessor cdsTrainingSessionPostProcessor(Environment environment) {
+        boolean training = "onRefresh".equals(environment.getProperty(CONTEXT_EXIT_PROPERTY));
+        return new InstantiationAwareBeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+                if (training && CqlSession.class.isAssignableFrom(beanClass)) {
+                    log.info("CDS training run: bean '{}' replaced by an unconnected Cassandra session", beanName);
+                    return trainingSession();
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Vrai pour la session inerte de l'entraînement, qui ne doit recevoir aucune instruction
+     */
+    public static boolean isTrainingSession(Object session) {
+        return session instanceof CqlSession && Proxy.isProxyClass(session.getClass())
+            && Proxy.getInvocationHandler(session) instanceof TrainingSessionHandler;
+    }
+
+    static CqlSession trainingSession() {
+        return (CqlSession) Proxy.newProxyInstance(CqlSession.class.getClassLoader(),
+            new Class<?>[]{CqlSession.class}, new TrainingSessionHandler());
+    }
+
+    private static final class TrainingSessionHandler implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "toString", "getName" -> "cds-training";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "getKeyspace", "getMetrics" -> Optional.empty();
+                case "isClosed" -> false;
+                case "close" -> null;
+                case "closeAsync", "forceCloseAsync" -> CompletableFuture.completedFuture(null);
+                default -> throw new IllegalStateException(
+                    "Cassandra is not available during the CDS training run: " + method.getName());
+            };
+        }
+    }
+}
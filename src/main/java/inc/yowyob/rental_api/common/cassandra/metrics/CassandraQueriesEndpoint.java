@@ -0,0 +1,35 @@
+package inc.yowyob.rental_api.common.cassandra.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint Actuator {@code /actuator/cassandraqueries} : requêtes déclarées par les repositories.
+ * Les mesures d'exécution sont servies par {@code /actuator/metrics/rental.cassandra.query}.
+ */
+@Component
+@Endpoint(id = "cassandraqueries")
+@RequiredArgsConstructor
+public class CassandraQueriesEndpoint {
+
+    private final CassandraQueryRegistry queryRegistry;
+    private final FilteringQueryReport filteringQueryReport;
+
+    @ReadOperation
+    public Map<String, Object> queries() {
+        List<RepositoryQuery> filtering = filteringQueryReport.getFilteringQueries();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("declaredQueries", queryRegistry.getRepositoryQueries().size());
+        result.put("filteringQueries", filtering.size());
+        result.put("filtering", filtering);
+        result.put("queries", queryRegistry.getRepositoryQueries());
+        return result;
+    }
+}
@@ -0,0 +1,28 @@
+package inc.yowyob.rental_api.common.cassandra.metrics;
+
+import inc.yowyob.rental_api.config.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.cassandra.CqlSessionBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enregistre le traceur de métriques auprès de la session CQL
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.cassandra.query-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CassandraQueryMetricsConfig {
+
+    @Bean
+    public CassandraQueryMetricsTracker cassandraQueryMetricsTracker(CassandraQueryRegistry queryRegistry,
+                                                                     MeterRegistry meterRegistry,
+                                                                     AppProperties appProperties) {
+        return new CassandraQueryMetricsTracker(queryRegistry, meterRegistry, appProperties);
+    }
+
+    @Bean
+    public CqlSessionBuilderCustomizer queryMetricsSessionCustomizer(CassandraQueryMetricsTracker tracker) {
+        return builder -> builder.addRequestTracker(tracker);
+    }
+}
@@ -0,0 +1,116 @@
+package inc.yowyob.rental_api.common.cassandra.metrics;
+
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.api.core.tracker.RequestTracker;
+import inc.yowyob.rental_api.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traceur du driver publiant les métriques de chaque requête nommée.
+ * <p>
+ * Le driver appelle le traceur une fois par page récupérée, sur ses threads d'E/S :
+ * {@code rental.cassandra.query} (latence, tags {@code query}, {@code filtering}, {@code outcome}),
+ * {@code rental.cassandra.query.pages} et {@code rental.cassandra.query.coordinator}
+ * (tag {@code coordinator}). Les requêtes lentes sont journalisées.
+ */
+@Slf4j
+public class CassandraQueryMetricsTracker implements RequestTracker {
+
+    private record MeterKey(String query, boolean filtering, String outcome) {
+    }
+
+    private final CassandraQueryRegistry queryRegistry;
+    private final MeterRegistry meterRegistry;
+    private final AppProperties.Cassandra.QueryMetrics properties;
+    private final long slowQueryThresholdNanos;
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> pages = new ConcurrentHashMap<>();
+    private final Map<List<String>, Counter> coordinators = new ConcurrentHashMap<>();
+
+    public CassandraQueryMetricsTracker(CassandraQueryRegistry queryRegistry, MeterRegistry meterRegistry,
+                                        AppProperties appProperties) {
+        this.queryRegistry = queryRegistry;
+        this.meterRegistry = meterRegistry;
+        this.properties = appProperties.getCassandra().getQueryMetrics();
+        this.slowQueryThresholdNanos = properties.getSlowQueryThreshold().toNanos();
+    }
+
+    @Override
+    public void onSuccess(Request request, long latencyNanos, DriverExecutionProfile executionProfile,
+                          Node node, String requestLogPrefix) {
+        record(request, latencyNanos, node, "success");
+    }
+
+    @Override
+    public void onError(Request request, Throwable error, long latencyNanos, DriverExecutionProfile executionProfile,
+                        Node node, String requestLogPrefix) {
+        record(request, latencyNanos, node, "error");
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private void record(Request request, long latencyNanos, Node node, String outcome) {
+        try {
+            CassandraQueryRegistry.QueryName name = nameOf(request);
+            String coordinator = node != null ? String.valueOf(node.getEndPoint()) : "none";
+
+            timer(name, outcome).record(latencyNanos, TimeUnit.NANOSECONDS);
+            pages.computeIfAbsent(name.name(), query -> Counter.builder("rental.cassandra.query.pages")
+                .description("Result pages fetched per named query")
+                .tag("query", query)
+                .register(meterRegistry)).increment();
+            coordinators.computeIfAbsent(List.of(name.name(), coordinator), key -> Counter.builder("rental.cassandra.query.coordinator")
+                .description("Requests per named query and coordinator node")
+                .tag("query", key.get(0))
+                .tag("coordinator", key.get(1))
+                .register(meterRegistry)).increment();
+
+            if (latencyNanos >= slowQueryThresholdNanos) {
+                log.warn("Slow Cassandra query {} took {} ms on {} (filtering: {}, outcome: {})",
+                    name.name(), TimeUnit.NANOSECONDS.toMillis(latencyNanos), coordinator, name.filtering(), outcome);
+            }
+        } catch (Exception e) {
+            // Le traceur ne doit jamais faire échouer une requête
+            log.debug("Unable to record Cassandra query metrics: {}", e.getMessage());
+        }
+    }
+
+    private Timer timer(CassandraQueryRegistry.QueryName name, String outcome) {
+        return timers.computeIfAbsent(new MeterKey(name.name(), name.filtering(), outcome), key -> Timer.builder("rental.cassandra.query")
+            .description("Cassandra request latency per named query, per page")
+            .tag("query", key.query())
+            .tag("filtering", String.valueOf(key.filtering()))
+            .tag("outcome", key.outcome())
+            .publishPercentileHistogram(properties.isPercentileHistogram())
+            .register(meterRegistry));
+    }
+
+    private CassandraQueryRegistry.QueryName nameOf(Request request) {
+        if (request instanceof SimpleStatement statement) {
+            return queryRegistry.resolve(statement.getQuery());
+        }
+        if (request instanceof BoundStatement statement) {
+            return queryRegistry.resolve(statement.getPreparedStatement().getQuery());
+        }
+        if (request instanceof BatchStatement batch && batch.size() > 0) {
+            // Un lot est nommé d'après sa première instruction
+            return new CassandraQueryRegistry.QueryName("batch:" + nameOf(batch.iterator().next()).name(), false);
+        }
+        return new CassandraQueryRegistry.QueryName(request.getClass().getSimpleName(), false);
+    }
+}
@@ -0,0 +1,255 @@
+package inc.yowyob.rental_api.common.cassandra.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.core.NativeDetector;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Référentiel des requêtes CQL de l'application.
+ * <p>
+ * Au démarrage, les interfaces des repositories déclarés dans le contexte sont lues pour
+ * associer chaque texte {@code @Query} à un nom stable (Repository.méthode). Le traceur du
+ * driver retrouve ainsi le nom d'une requête à partir de son texte ; les requêtes générées
+ * par Spring Data (CRUD, requêtes dérivées) sont nommées par opération et table.
+ * <p>
+ * Le nombre d'appels à chaque méthode, obtenu en parcourant le bytecode de l'application,
+ * n'est calculé qu'à la première consultation du rapport (journal de démarrage ou
+ * {@code /actuator/cassandraqueries}). Une image native n'embarque pas les fichiers
+ * {@code .class} : les appels n'y sont pas comptés.
+ */
+@Slf4j
+@Component
+public class CassandraQueryRegistry {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\?\\d*|:[A-Za-z_]\\w*");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TABLE = Pattern.compile("\\b(?:from|into|update)\\s+\"?([\\w.]+)\"?");
+    private static final int MAX_CACHED_STATEMENTS = 10_000;
+
+    /**
+     * Nom et nature d'une requête exécutée
+     */
+    public record QueryName(String name, boolean filtering) {
+    }
+
+    private final Map<String, RepositoryQuery> queriesByCql = new HashMap<>();
+    private final Map<Method, String> namesByMethod = new HashMap<>();
+    private final List<String> basePackages;
+    private final List<RepositoryQuery> declaredQueries;
+    private final Map<RepositoryQuery, String> callSiteKeys = new IdentityHashMap<>();
+    private volatile List<RepositoryQuery> repositoryQueries;
+    private final Map<String, QueryName> resolved = new ConcurrentHashMap<>();
+    private final Map<List<Object>, QueryName> describedMethods = new ConcurrentHashMap<>();
+
+    public CassandraQueryRegistry(ListableBeanFactory beanFactory) {
+        this.basePackages = AutoConfigurationPackages.get(beanFactory);
+        Set<Class<?>> repositories = repositoryInterfaces(beanFactory);
+
+        List<RepositoryQuery> queries = new ArrayList<>();
+        for (Class<?> repository : repositories) {
+            for (Method method : repository.getDeclaredMethods()) {
+                String name = repository.getSimpleName() + "." + method.getName();
+                namesByMethod.put(method, name);
+
+                Query query = method.getAnnotation(Query.class);
+                if (query == null || query.value().isBlank()) {
+                    continue;
+                }
+                RepositoryQuery repositoryQuery = new RepositoryQuery(name, query.value(), isFiltering(query.value()), 0);
+                queries.add(repositoryQuery);
+                callSiteKeys.put(repositoryQuery,
+                    Type.getInternalName(repository) + "." + method.getName() + Type.getMethodDescriptor(method));
+                queriesByCql.putIfAbsent(normalize(query.value()), repositoryQuery);
+            }
+        }
+        queries.sort(Comparator.comparing(RepositoryQuery::name));
+        this.declaredQueries = List.copyOf(queries);
+
+        log.info("Cassandra query registry: {} repositories, {} declared queries ({} with ALLOW FILTERING)",
+            repositories.size(), queries.size(), queries.stream().filter(RepositoryQuery::filtering).count());
+    }
+
+    /**
+     * Requêtes déclarées par les repositories, triées par nom, avec leur nombre d'appels
+     * (parcours du bytecode au premier appel)
+     */
+    public List<RepositoryQuery> getRepositoryQueries() {
+        List<RepositoryQuery> queries = repositoryQueries;
+        if (queries == null) {
+            synchronized (this) {
+                queries = repositoryQueries;
+                if (queries == null) {
+                    queries = withCallSites();
+                    repositoryQueries = queries;
+                }
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Nom d'une requête à partir de son texte CQL
+     */
+    public QueryName resolve(String cql) {
+        QueryName name = resolved.get(cql);
+        if (name != null) {
+            return name;
+        }
+        name = compute(cql);
+        // Les requêtes non préparées aux valeurs littérales ne doivent pas faire grossir le cache
+        if (resolved.size() < MAX_CACHED_STATEMENTS) {
+            resolved.put(cql, name);
+        }
+        return name;
+    }
+
+    /**
+     * Nom d'une méthode de repository (Repository.méthode), appelée sur un proxy Spring Data
+     * ou sur une implémentation (profil perf-inmemory, annotations portées par l'interface)
+     */
+    public QueryName describe(Class<?> targetClass, Method method) {
+        return describedMethods.computeIfAbsent(List.of(targetClass, method), key -> {
+            Class<?> repository = repositoryInterface(targetClass);
+            Method declared = ClassUtils.getMethodIfAvailable(repository, method.getName(), method.getParameterTypes());
+            Method annotated = declared != null ? declared : method;
+
+            String name = namesByMethod.get(annotated);
+            Query query = annotated.getAnnotation(Query.class);
+            return new QueryName(
+                name != null ? name : repository.getSimpleName() + "." + method.getName(),
+                query != null && isFiltering(query.value()));
+        });
+    }
+
+    static boolean isFiltering(String cql) {
+        return cql.toUpperCase(Locale.ROOT).contains("ALLOW FILTERING");
+    }
+
+    private QueryName compute(String cql) {
+        String normalized = normalize(cql);
+        RepositoryQuery query = queriesByCql.get(normalized);
+        if (query != null) {
+            return new QueryName(query.name(), query.filtering());
+        }
+
+        String operation = normalized.isEmpty() ? "unknown" : normalized.split(" ", 2)[0];
+        Matcher table = TABLE.matcher(normalized);
+        String name = table.find() ? operation + ":" + table.group(1) : operation;
+        return new QueryName(name, isFiltering(cql));
+    }
+
+    private List<RepositoryQuery> withCallSites() {
+        if (NativeDetector.inNativeImage()) {
+            return declaredQueries;
+        }
+        long start = System.currentTimeMillis();
+        Map<String, Integer> callSites = countCallSites(basePackages);
+        log.info("Repository call sites counted in {} ms", System.currentTimeMillis() - start);
+        return declaredQueries.stream()
+            .map(query -> new RepositoryQuery(query.name(), query.cql(), query.filtering(),
+                callSites.getOrDefault(callSiteKeys.get(query), 0)))
+            .toList();
+    }
+
+    /**
+     * Interfaces des repositories du contexte (proxys Spring Data ou implémentations en mémoire),
+     * lues sur les définitions sans instancier les beans
+     */
+    private static Set<Class<?>> repositoryInterfaces(ListableBeanFactory beanFactory) {
+        Set<Class<?>> repositories = new LinkedHashSet<>();
+        for (String beanName : beanFactory.getBeanNamesForType(Repository.class, true, false)) {
+            Class<?> type = beanFactory.getType(beanName, false);
+            if (type != null) {
+                Class<?> repository = repositoryInterface(type);
+                if (repository.isInterface()) {
+                    repositories.add(repository);
+                }
+            }
+        }
+        return repositories;
+    }
+
+    private static Class<?> repositoryInterface(Class<?> targetClass) {
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+            if (Repository.class.isAssignableFrom(candidate) && !candidate.getName().startsWith("org.springframework.")) {
+                return candidate;
+            }
+        }
+        return targetClass;
+    }
+
+    private static String normalize(String cql) {
+        String normalized = PLACEHOLDER.matcher(cql.trim()).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").toLowerCase(Locale.ROOT);
+        return normalized.endsWith(";") ? normalized.substring(0, normalized.length() - 1).trim() : normalized;
+    }
+
+    /**
+     * Parcourt le bytecode de l'application pour compter les appels de méthodes
+     */
+    private static Map<String, Integer> countCallSites(List<String> basePackages) {
+        Map<String, Integer> callSites = new HashMap<>();
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+        for (String basePackage : basePackages) {
+            String pattern = PathMatchingResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
+                + ClassUtils.convertClassNameToResourcePath(basePackage) + "/**/*.class";
+            try {
+                for (Resource resource : resolver.getResources(pattern)) {
+                    try (InputStream input = resource.getInputStream()) {
+                        new ClassReader(input).accept(new CallSiteCounter(callSites),
+                            ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+                    } catch (IllegalArgumentException e) {
+                        log.debug("Skipping class {}: {}", resource, e.getMessage());
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Unable to scan classes of package {}: {}", basePackage, e.getMessage());
+            }
+        }
+        return callSites;
+    }
+
+    /**
+     * Compte les instructions d'appel par méthode cible (propriétaire, nom, descripteur)
+     */
+    private static final class CallSiteCounter extends ClassVisitor {
+
+        private final Map<String, Integer> callSites;
+
+        private CallSiteCounter(Map<String, Integer> callSites) {
+            super(Opcodes.ASM9);
+            this.callSites = callSites;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            return new MethodVisitor(Opcodes.ASM9) {
+                @Override
+                public void visitMethodInsn(int opcode, String owner, String method, String methodDescriptor, boolean isInterface) {
+                    callSites.merge(owner + "." + method + methodDescriptor, 1, Integer::sum);
+                }
+            };
+        }
+    }
+}
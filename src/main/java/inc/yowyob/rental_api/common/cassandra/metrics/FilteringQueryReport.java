@@ -0,0 +1,55 @@
+package inc.yowyob.rental_api.common.cassandra.metrics;
+
+import inc.yowyob.rental_api.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Rapport de démarrage des méthodes de repository exécutant un ALLOW FILTERING,
+ * triées par nombre d'appels dans le code
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FilteringQueryReport {
+
+    private final CassandraQueryRegistry queryRegistry;
+    private final AppProperties appProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!appProperties.getCassandra().getQueryMetrics().isStartupReport()) {
+            return;
+        }
+
+        List<RepositoryQuery> filtering = getFilteringQueries();
+        if (filtering.isEmpty()) {
+            log.info("No repository query uses ALLOW FILTERING");
+            return;
+        }
+
+        StringBuilder report = new StringBuilder();
+        for (RepositoryQuery query : filtering) {
+            report.append(String.format("%n  %4d call site(s)  %s", query.callSites(), query.name()));
+        }
+        long unused = filtering.stream().filter(query -> query.callSites() == 0).count();
+        log.info("{} repository queries use ALLOW FILTERING ({} never called):{}", filtering.size(), unused, report);
+    }
+
+    /**
+     * Requêtes avec ALLOW FILTERING, les plus appelées d'abord
+     */
+    public List<RepositoryQuery> getFilteringQueries() {
+        return queryRegistry.getRepositoryQueries().stream()
+            .filter(RepositoryQuery::filtering)
+            .sorted(Comparator.comparingInt(RepositoryQuery::callSites).reversed()
+                .thenComparing(RepositoryQuery::name))
+            .toList();
+    }
+}
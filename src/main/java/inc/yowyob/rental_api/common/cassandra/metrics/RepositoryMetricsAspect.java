@@ -0,0 +1,81 @@
+package inc.yowyob.rental_api.common.cassandra.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.cassandra.core.mapping.Table;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mesure le nombre de lignes retournées par les méthodes de repository.
+ * <p>
+ * Le driver ne voit que des pages : le décompte des lignes se fait au niveau du repository,
+ * sous le même nom de requête ({@code rental.cassandra.query.rows}, tags {@code query}, {@code filtering}).
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.cassandra.query-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryMetricsAspect {
+
+    private final CassandraQueryRegistry queryRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object countRows(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long rows = rowsOf(result);
+        if (rows >= 0 && isRead(method)) {
+            summaries.computeIfAbsent(method, m -> summary(joinPoint.getTarget().getClass(), m)).record(rows);
+        }
+        return result;
+    }
+
+    private DistributionSummary summary(Class<?> targetClass, Method method) {
+        CassandraQueryRegistry.QueryName name = queryRegistry.describe(targetClass, method);
+        return DistributionSummary.builder("rental.cassandra.query.rows")
+            .description("Rows returned per repository query")
+            .tag("query", name.name())
+            .tag("filtering", String.valueOf(name.filtering()))
+            .register(meterRegistry);
+    }
+
+    private static boolean isRead(Method method) {
+        String name = method.getName();
+        return name.startsWith("find") || name.startsWith("get") || name.startsWith("read") || name.startsWith("query");
+    }
+
+    /**
+     * Nombre de lignes d'un résultat, ou -1 pour une écriture ou un agrégat
+     */
+    public static long rowsOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result != null && result.getClass().isAnnotationPresent(Table.class)) {
+            return 1;
+        }
+        return -1;
+    }
+}
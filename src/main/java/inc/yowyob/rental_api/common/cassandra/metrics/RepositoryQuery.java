@@ -0,0 +1,17 @@
+package inc.yowyob.rental_api.common.cassandra.metrics;
+
+/**
+ * Requête CQL déclarée par une méthode de repository ({@code @Query})
+ *
+ * @param name      nom de la requête (Repository.méthode), utilisé comme tag des métriques
+ * @param cql       texte CQL déclaré
+ * @param filtering la requête utilise ALLOW FILTERING
+ * @param callSites nombre d'appels à la méthode dans le code de l'application
+ */
+public record RepositoryQuery(
+    String name,
+    String cql,
+    boolean filtering,
+    int callSites
+) {
+}
@@ -0,0 +1,17 @@
+package inc.yowyob.rental_api.common.cassandra.migration;
+
+import java.util.List;
+
+/**
+ * Script de migration CQL versionné ({@code V<version>__<description>.cql})
+ *
+ * @param checksum CRC32 des instructions, commentaires et espacement exclus
+ */
+public record SchemaMigration(
+    int version,
+    String description,
+    String script,
+    List<String> statements,
+    int checksum
+) {
+}
@@ -0,0 +1,39 @@
+package inc.yowyob.rental_api.common.cassandra.migration;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import inc.yowyob.rental_api.common.cassandra.cds.CdsTrainingConfig;
+import inc.yowyob.rental_api.config.AppProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Migre le schéma dès la création de la session CQL, avant que les repositories,
+ * les initialiseurs ou les tâches planifiées ne puissent l'utiliser
+ */
+@Configuration
+@ConditionalOnClass(CqlSession.class)
+@ConditionalOnProperty(prefix = "app.cassandra.migration", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaMigrationConfig {
+
+    @Bean
+    public SchemaMigrator schemaMigrator(AppProperties appProperties) {
+        return new SchemaMigrator(appProperties.getCassandra().getMigration());
+    }
+
+    @Bean
+    public static BeanPostProcessor schemaMigrationPostProcessor(ObjectProvider<SchemaMigrator> schemaMigrator) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CqlSession session && !CdsTrainingConfig.isTrainingSession(session)) {
+                    schemaMigrator.getObject().migrate(session);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package inc.yowyob.rental_api.common.cassandra.migration;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Charge et découpe les scripts de migration CQL présents sur le classpath
+ */
+public final class SchemaMigrationLoader {
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.cql");
+
+    private SchemaMigrationLoader() {
+    }
+
+    /**
+     * Scripts trouvés sous {@code location}, triés par version
+     *
+     * @throws IllegalStateException si deux scripts portent la même version
+     */
+    public static List<SchemaMigration> load(String location) {
+        Resource[] resources;
+        try {
+            resources = new PathMatchingResourcePatternResolver()
+                .getResources(location.endsWith("/") ? location + "V*__*.cql" : location + "/V*__*.cql");
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to list schema migrations in " + location, e);
+        }
+
+        Map<Integer, SchemaMigration> migrations = new HashMap<>();
+        for (Resource resource : resources) {
+            Matcher matcher = FILE_NAME.matcher(String.valueOf(resource.getFilename()));
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Invalid schema migration file name: " + resource.getFilename());
+            }
+            SchemaMigration migration = parse(Integer.parseInt(matcher.group(1)),
+                matcher.group(2).replace('_', ' '), resource.getFilename(), read(resource));
+            SchemaMigration duplicate = migrations.put(migration.version(), migration);
+            if (duplicate != null) {
+                throw new IllegalStateException("Duplicate schema migration version " + migration.version()
+                    + ": " + duplicate.script() + " and " + migration.script());
+            }
+        }
+
+        List<SchemaMigration> sorted = new ArrayList<>(migrations.values());
+        sorted.sort(Comparator.comparingInt(SchemaMigration::version));
+        return sorted;
+    }
+
+    static SchemaMigration parse(int version, String description, String script, String content) {
+        List<String> statements = split(content);
+        CRC32 crc = new CRC32();
+        for (String statement : statements) {
+            crc.update(statement.replaceAll("\\s+", " ").getBytes(StandardCharsets.UTF_8));
+        }
+        return new SchemaMigration(version, description, script, statements, (int) crc.getValue());
+    }
+
+    /**
+     * Découpe un script en instructions sur les points-virgules hors chaînes et commentaires
+     * ({@code --}, {@code //}, {@code /* *}{@code /})
+     */
+    static List<String> split(String content) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int length = content.length();
+        int i = 0;
+        while (i < length) {
+            char c = content.charAt(i);
+            char next = i + 1 < length ? content.charAt(i + 1) : 0;
+
+            if ((c == '-' && next == '-') || (c == '/' && next == '/')) {
+                int end = content.indexOf('\n', i);
+                i = end < 0 ? length : end;
+            } else if (c == '/' && next == '*') {
+                int end = content.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (c == '\'' || (c == '$' && next == '$')) {
+                String delimiter = c == '\'' ? "'" : "$$";
+                int end = content.indexOf(delimiter, i + delimiter.length());
+                end = end < 0 ? length : end + delimiter.length();
+                current.append(content, i, end);
+                i = end;
+            } else if (c == ';') {
+                addStatement(statements, current);
+                i++;
+            } else {
+                current.append(c);
+                i++;
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().strip();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+
+    private static String read(Resource resource) {
+        try {
+            return resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read schema migration " + resource.getFilename(), e);
+        }
+    }
+}
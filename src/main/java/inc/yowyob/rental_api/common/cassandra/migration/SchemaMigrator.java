@@ -0,0 +1,285 @@
+package inc.yowyob.rental_api.common.cassandra.migration;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import inc.yowyob.rental_api.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applique les migrations CQL versionnées avant que la session ne soit utilisée.
+ * <p>
+ * Les versions appliquées sont enregistrées dans {@code schema_migrations} : quand tout est à jour,
+ * le démarrage se limite à une lecture de cette table. Sinon, un bail conditionnel (LWT) dans
+ * {@code schema_migration_leases} désigne l'unique instance qui migre ; les autres attendent que les
+ * versions manquantes soient enregistrées. Chaque instruction DDL attend l'accord de schéma entre
+ * les nœuds avant la suivante.
+ * <p>
+ * Cassandra n'a pas de DDL transactionnel : une migration interrompue est rejouée entièrement,
+ * ses instructions doivent donc être idempotentes ({@code IF NOT EXISTS}, {@code IF EXISTS}).
+ * {@code ALTER TABLE ... ADD} n'ayant pas cette clause, un ajout de colonne (une colonne par
+ * instruction) est ignoré quand la colonne figure déjà dans les métadonnées du keyspace.
+ */
+@Slf4j
+public class SchemaMigrator {
+
+    private static final String LEASE_NAME = "schema";
+
+    private static final Pattern ADD_COLUMN =
+        Pattern.compile("(?is)ALTER\\s+TABLE\\s+(?:(\\w+)\\.)?(\\w+)\\s+ADD\\s+(\\w+)\\s+[^,]+");
+
+    private static final String CREATE_MIGRATIONS_TABLE = """
+        CREATE TABLE IF NOT EXISTS schema_migrations (
+            version int PRIMARY KEY,
+            description text,
+            script text,
+            checksum int,
+            applied_at timestamp,
+            applied_by text,
+            execution_time_ms bigint
+        )""";
+
+    private static final String CREATE_LEASES_TABLE = """
+        CREATE TABLE IF NOT EXISTS schema_migration_leases (
+            name text PRIMARY KEY,
+            owner text,
+            acquired_at timestamp
+        )""";
+
+    private final AppProperties.Cassandra.Migration properties;
+    private final String owner;
+
+    public SchemaMigrator(AppProperties.Cassandra.Migration properties) {
+        this.properties = properties;
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    }
+
+    public void migrate(CqlSession session) {
+        List<SchemaMigration> migrations = SchemaMigrationLoader.load(properties.getLocation());
+        if (migrations.isEmpty()) {
+            log.warn("No schema migration found in {}", properties.getLocation());
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        createIfMissing(session, "schema_migrations", CREATE_MIGRATIONS_TABLE);
+        createIfMissing(session, "schema_migration_leases", CREATE_LEASES_TABLE);
+
+        List<SchemaMigration> pending = pending(migrations, readApplied(session));
+        if (pending.isEmpty()) {
+            log.info("Cassandra schema is up to date at version {}", migrations.getLast().version());
+            return;
+        }
+
+        Instant deadline = Instant.now().plus(properties.getLockWaitTimeout());
+        while (true) {
+            String holder = acquireLease(session);
+            if (holder == null) {
+                try {
+                    applyPending(session, migrations);
+                } finally {
+                    releaseLease(session);
+                }
+                log.info("Cassandra schema migrated to version {} in {} ms",
+                    migrations.getLast().version(), System.currentTimeMillis() - start);
+                return;
+            }
+
+            if (Instant.now().isAfter(deadline)) {
+                throw new IllegalStateException("Timed out after " + properties.getLockWaitTimeout()
+                    + " waiting for the schema migration running on " + holder);
+            }
+            log.info("Schema migration running on {}, waiting for {} pending migrations", holder, pending.size());
+            sleep(properties.getPollInterval());
+
+            pending = pending(migrations, readApplied(session));
+            if (pending.isEmpty()) {
+                awaitSchemaAgreement(session);
+                log.info("Cassandra schema migrated to version {} by another instance", migrations.getLast().version());
+                return;
+            }
+        }
+    }
+
+    // ==================== MIGRATIONS ====================
+
+    private void applyPending(CqlSession session, List<SchemaMigration> migrations) {
+        // Relu sous bail : une autre instance a pu migrer entre-temps
+        for (SchemaMigration migration : pending(migrations, readApplied(session))) {
+            log.info("Applying schema migration V{} ({}, {} statements)",
+                migration.version(), migration.description(), migration.statements().size());
+            long start = System.currentTimeMillis();
+            for (String statement : migration.statements()) {
+                if (isExistingColumn(session, statement)) {
+                    log.info("Skipping {}: column already exists", statement);
+                    continue;
+                }
+                try {
+                    executeDdl(session, statement);
+                } catch (RuntimeException e) {
+                    throw new IllegalStateException("Schema migration " + migration.script()
+                        + " failed on statement: " + statement, e);
+                }
+            }
+            long elapsed = System.currentTimeMillis() - start;
+
+            session.execute(SimpleStatement.newInstance(
+                    "INSERT INTO schema_migrations (version, description, script, checksum, applied_at, applied_by, execution_time_ms) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    migration.version(), migration.description(), migration.script(), migration.checksum(),
+                    Instant.now(), owner, elapsed)
+                .setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM));
+            renewLease(session);
+            log.info("Schema migration V{} applied in {} ms", migration.version(), elapsed);
+        }
+    }
+
+    private Map<Integer, Integer> readApplied(CqlSession session) {
+        Map<Integer, Integer> applied = new HashMap<>();
+        ResultSet rows = session.execute(SimpleStatement.newInstance("SELECT version, checksum FROM schema_migrations")
+            .setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM));
+        for (Row row : rows) {
+            applied.put(row.getInt("version"), row.getInt("checksum"));
+        }
+        return applied;
+    }
+
+    /**
+     * Migrations non appliquées, après contrôle des sommes de contrôle de celles qui le sont
+     *
+     * @throws IllegalStateException si un script déjà appliqué a été modifié
+     */
+    private List<SchemaMigration> pending(List<SchemaMigration> migrations, Map<Integer, Integer> applied) {
+        for (SchemaMigration migration : migrations) {
+            Integer checksum = applied.get(migration.version());
+            if (checksum != null && checksum != migration.checksum() && properties.isValidateChecksums()) {
+                throw new IllegalStateException("Schema migration " + migration.script()
+                    + " was modified after being applied; add a new migration instead");
+            }
+        }
+        return migrations.stream()
+            .filter(migration -> !applied.containsKey(migration.version()))
+            .toList();
+    }
+
+    /**
+     * Vrai si l'instruction ajoute une colonne déjà présente (table créée par une version plus
+     * récente d'un script antérieur, ou migration interrompue puis rejouée)
+     */
+    static boolean isExistingColumn(CqlSession session, String statement) {
+        Matcher matcher = ADD_COLUMN.matcher(statement);
+        if (!matcher.matches()) {
+            return false;
+        }
+        CqlIdentifier keyspace = matcher.group(1) != null
+            ? CqlIdentifier.fromCql(matcher.group(1))
+            : session.getKeyspace().orElse(null);
+        if (keyspace == null) {
+            return false;
+        }
+        return session.getMetadata().getKeyspace(keyspace)
+            .flatMap(metadata -> metadata.getTable(CqlIdentifier.fromCql(matcher.group(2))))
+            .flatMap(table -> table.getColumn(CqlIdentifier.fromCql(matcher.group(3))))
+            .isPresent();
+    }
+
+    /**
+     * Crée une table de suivi absente des métadonnées : une fois le schéma en place, le démarrage
+     * n'exécute plus aucun DDL
+     */
+    private void createIfMissing(CqlSession session, String table, String ddl) {
+        if (!isExistingTable(session, table)) {
+            executeDdl(session, ddl);
+        }
+    }
+
+    /**
+     * Vrai si la table figure dans les métadonnées du keyspace de la session ; sans keyspace
+     * connu, la table est considérée absente et son DDL ({@code IF NOT EXISTS}) exécuté
+     */
+    static boolean isExistingTable(CqlSession session, String table) {
+        return session.getKeyspace()
+            .flatMap(keyspace -> session.getMetadata().getKeyspace(keyspace))
+            .flatMap(metadata -> metadata.getTable(CqlIdentifier.fromCql(table)))
+            .isPresent();
+    }
+
+    private void executeDdl(CqlSession session, String cql) {
+        ResultSet result = session.execute(SimpleStatement.newInstance(cql).setTimeout(properties.getStatementTimeout()));
+        if (!result.getExecutionInfo().isSchemaInAgreement()) {
+            awaitSchemaAgreement(session);
+        }
+    }
+
+    private void awaitSchemaAgreement(CqlSession session) {
+        Instant deadline = Instant.now().plus(properties.getSchemaAgreementTimeout());
+        while (!session.checkSchemaAgreement()) {
+            if (Instant.now().isAfter(deadline)) {
+                throw new IllegalStateException("Cassandra nodes did not agree on the schema within "
+                    + properties.getSchemaAgreementTimeout());
+            }
+            sleep(Duration.ofMillis(200));
+        }
+    }
+
+    // ==================== BAIL ====================
+
+    /**
+     * @return null si le bail a été obtenu, sinon son détenteur actuel
+     */
+    private String acquireLease(CqlSession session) {
+        ResultSet result = session.execute(SimpleStatement.newInstance(
+            "INSERT INTO schema_migration_leases (name, owner, acquired_at) VALUES (?, ?, ?) IF NOT EXISTS USING TTL ?",
+            LEASE_NAME, owner, Instant.now(), leaseTtl()));
+        if (result.wasApplied()) {
+            return null;
+        }
+        Row current = result.one();
+        return current != null ? current.getString("owner") : "unknown";
+    }
+
+    private void renewLease(CqlSession session) {
+        ResultSet result = session.execute(SimpleStatement.newInstance(
+            "UPDATE schema_migration_leases USING TTL ? SET owner = ?, acquired_at = ? WHERE name = ? IF owner = ?",
+            leaseTtl(), owner, Instant.now(), LEASE_NAME, owner));
+        if (!result.wasApplied()) {
+            throw new IllegalStateException("Schema migration lease lost; increase app.cassandra.migration.lease-duration");
+        }
+    }
+
+    private void releaseLease(CqlSession session) {
+        try {
+            session.execute(SimpleStatement.newInstance(
+                "DELETE FROM schema_migration_leases WHERE name = ? IF owner = ?", LEASE_NAME, owner));
+        } catch (Exception e) {
+            log.warn("Unable to release schema migration lease, it will expire in {}: {}",
+                properties.getLeaseDuration(), e.getMessage());
+        }
+    }
+
+    private int leaseTtl() {
+        return (int) Math.max(1, properties.getLeaseDuration().toSeconds());
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while migrating the Cassandra schema", e);
+        }
+    }
+}
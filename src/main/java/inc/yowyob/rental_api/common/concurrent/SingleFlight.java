@@ -0,0 +1,24 @@
+package inc.yowyob.rental_api.common.concurrent;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation pour partager une exécution en cours entre les appels concurrents identiques.
+ * <p>
+ * Les appels simultanés d'une méthode annotée avec les mêmes arguments attendent le
+ * résultat du premier appel au lieu de relancer le calcul. Chaque appelant ayant rejoint
+ * l'exécution reçoit sa propre copie du résultat, qui doit donc être sérialisable en JSON.
+ * À réserver aux méthodes de lecture.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+
+    /**
+     * Nom utilisé dans les métriques (par défaut : Classe.méthode)
+     */
+    String value() default "";
+}
@@ -0,0 +1,135 @@
+package inc.yowyob.rental_api.common.concurrent;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aspect appliquant le regroupement des appels concurrents aux méthodes annotées {@link SingleFlight}.
+ * <p>
+ * Métriques publiées par méthode :
+ * {@code rental.singleflight.calls} (tag {@code outcome} = executed | coalesced) et
+ * {@code rental.singleflight.coalescing.ratio}, part des appels servis par une exécution partagée.
+ * <p>
+ * Les appelants qui rejoignent une exécution reçoivent une copie profonde du résultat : les listes
+ * et DTO renvoyés restent modifiables par chacun sans effet sur les autres.
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class SingleFlightAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final AppProperties appProperties;
+    private final ObjectMapper objectMapper;
+    private final Map<Method, Flight> flights = new ConcurrentHashMap<>();
+
+    @Around("@annotation(singleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, SingleFlight singleFlight) throws Throwable {
+        if (!appProperties.getSingleFlight().isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Flight flight = flights.computeIfAbsent(method, m -> new Flight(m, metricName(m, singleFlight)));
+
+        // Les arguments sont comparés par valeur (UUID, String, enums...)
+        List<Object> key = Arrays.asList(joinPoint.getArgs());
+        SingleFlightGroup.Outcome outcome = flight.group.execute(key, joinPoint::proceed);
+
+        if (!outcome.shared()) {
+            flight.executed.increment();
+            return outcome.value();
+        }
+
+        flight.coalesced.increment();
+        log.trace("Coalesced call to {} with {}", flight.name, key);
+        try {
+            return copy(outcome.value(), flight.returnType);
+        } catch (Exception e) {
+            // Résultat non copiable : l'appelant refait le calcul plutôt que de partager l'instance
+            log.warn("Unable to copy shared result of {}, executing the call again: {}", flight.name, e.getMessage());
+            return joinPoint.proceed();
+        }
+    }
+
+    /**
+     * Copie profonde d'un résultat partagé ; les valeurs immuables sont renvoyées telles quelles
+     */
+    private Object copy(Object value, JavaType type) throws Exception {
+        if (value == null || isImmutable(value)) {
+            return value;
+        }
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(value), type);
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean
+            || value instanceof UUID || value instanceof Enum<?> || value instanceof Temporal;
+    }
+
+    private static String metricName(Method method, SingleFlight singleFlight) {
+        return singleFlight.value().isEmpty()
+            ? method.getDeclaringClass().getSimpleName() + "." + method.getName()
+            : singleFlight.value();
+    }
+
+    /**
+     * Groupe et compteurs d'une méthode
+     */
+    private final class Flight {
+
+        private final String name;
+        private final JavaType returnType;
+        private final SingleFlightGroup group = new SingleFlightGroup();
+        private final Counter executed;
+        private final Counter coalesced;
+
+        private Flight(Method method, String name) {
+            this.name = name;
+            this.returnType = objectMapper.getTypeFactory().constructType(method.getGenericReturnType());
+            this.executed = Counter.builder("rental.singleflight.calls")
+                .description("Calls to single-flight methods")
+                .tag("method", name)
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+            this.coalesced = Counter.builder("rental.singleflight.calls")
+                .description("Calls to single-flight methods")
+                .tag("method", name)
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+            Gauge.builder("rental.singleflight.coalescing.ratio", this, Flight::coalescingRatio)
+                .description("Share of calls served by another caller's in-flight execution")
+                .tag("method", name)
+                .register(meterRegistry);
+            Gauge.builder("rental.singleflight.inflight", group, SingleFlightGroup::inFlightCount)
+                .description("Keys currently being computed")
+                .tag("method", name)
+                .register(meterRegistry);
+        }
+
+        private double coalescingRatio() {
+            double total = executed.count() + coalesced.count();
+            return total == 0 ? 0.0 : coalesced.count() / total;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package inc.yowyob.rental_api.common.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Regroupe les exécutions concurrentes portant sur une même clé.
+ * <p>
+ * Le premier appelant (leader) exécute le calcul ; les appelants arrivés pendant son
+ * exécution reçoivent le même résultat ou la même exception. La clé est libérée dès la
+ * fin du calcul, aucun résultat n'est conservé : ce n'est pas un cache.
+ */
+public class SingleFlightGroup {
+
+    /**
+     * Calcul pouvant lever n'importe quelle exception
+     */
+    @FunctionalInterface
+    public interface Call {
+        Object execute() throws Throwable;
+    }
+
+    /**
+     * Résultat d'une exécution et rôle de l'appelant
+     */
+    public record Outcome(Object value, boolean shared) {
+    }
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Exécute le calcul ou rejoint l'exécution déjà en cours pour la même clé
+     */
+    public Outcome execute(Object key, Call call) throws Throwable {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+
+        if (existing != null) {
+            return new Outcome(await(existing), true);
+        }
+
+        try {
+            Object value = call.execute();
+            future.complete(value);
+            return new Outcome(value, false);
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Nombre de clés en cours d'exécution
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package inc.yowyob.rental_api.common.degraded;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import inc.yowyob.rental_api.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sonde périodique de disponibilité de Cassandra.
+ * <p>
+ * En mode dégradé, les requêtes ne touchent plus la base pour l'authentification : c'est
+ * cette sonde qui détecte le retour du cluster. Elle détecte aussi une panne avant qu'une
+ * requête utilisateur n'attende l'expiration du délai du driver.
+ */
+@Slf4j
+@Component
+@Profile("!perf-inmemory")
+@RequiredArgsConstructor
+public class CassandraAvailabilityProbe {
+
+    private static final String PROBE_QUERY = "SELECT release_version FROM system.local";
+
+    private final CqlSession cqlSession;
+    private final DegradedModeMonitor monitor;
+    private final AppProperties appProperties;
+
+    @Scheduled(
+        fixedDelayString = "${app.degraded-mode.probe-interval:PT5S}",
+        initialDelayString = "${app.degraded-mode.probe-interval:PT5S}"
+    )
+    public void probe() {
+        if (!appProperties.getDegradedMode().isEnabled()) {
+            return;
+        }
+        try {
+            cqlSession.execute(SimpleStatement.newInstance(PROBE_QUERY)
+                .setTimeout(appProperties.getDegradedMode().getProbeTimeout()));
+            monitor.reportSuccess();
+        } catch (Exception e) {
+            if (!monitor.reportFailure(e)) {
+                log.warn("Cassandra availability probe failed: {}", e.getMessage());
+            }
+        }
+    }
+}
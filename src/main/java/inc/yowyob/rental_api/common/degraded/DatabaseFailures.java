@@ -0,0 +1,30 @@
+package inc.yowyob.rental_api.common.degraded;
+
+import com.datastax.oss.driver.api.core.AllNodesFailedException;
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * Classification des erreurs d'accès à la base
+ */
+public final class DatabaseFailures {
+
+    private DatabaseFailures() {
+    }
+
+    /**
+     * Indique si l'erreur traduit une base injoignable ou qui ne répond plus, plutôt qu'une erreur applicative
+     */
+    public static boolean isUnavailable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AllNodesFailedException
+                || cause instanceof DriverTimeoutException
+                || cause instanceof DataAccessResourceFailureException
+                || cause instanceof QueryTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,73 @@
+package inc.yowyob.rental_api.common.degraded;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api.common.response.ApiResponseUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import inc.yowyob.rental_api.config.AppProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Refuse immédiatement les écritures en mode dégradé.
+ * <p>
+ * Une écriture ne peut pas aboutir sans la base : plutôt que de bloquer un thread jusqu'à
+ * l'expiration du délai du driver, la requête reçoit un 503 avec {@code Retry-After}.
+ * Les lectures continuent, servies par les caches quand c'est possible. Connexion et
+ * renouvellement de jeton ne sont pas des écritures et restent ouverts : le renouvellement
+ * est servi depuis le dernier état connu de l'utilisateur.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 6)
+public class DegradedModeFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of(
+        HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name()
+    );
+
+    private final DegradedModeMonitor monitor;
+    private final ObjectMapper objectMapper;
+    private final List<String> exemptPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public DegradedModeFilter(DegradedModeMonitor monitor, ObjectMapper objectMapper, AppProperties appProperties) {
+        this.monitor = monitor;
+        this.objectMapper = objectMapper;
+        this.exemptPaths = appProperties.getDegradedMode().getExemptPaths();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (SAFE_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/actuator") || exemptPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!monitor.isDegraded()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(monitor.getRetryAfterSeconds()));
+        ApiResponseUtil.writeError(response, objectMapper,
+            "Base de données indisponible : service en lecture seule, veuillez réessayer",
+            HttpStatus.SERVICE_UNAVAILABLE.value(), request.getRequestURI());
+    }
+}
@@ -0,0 +1,29 @@
+package inc.yowyob.rental_api.common.degraded;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expose le mode dégradé dans {@code /actuator/health} (statut DEGRADED, servi en HTTP 200)
+ */
+@Component("degradedMode")
+@RequiredArgsConstructor
+public class DegradedModeHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "Database unreachable, serving cached authorization");
+
+    private final DegradedModeMonitor monitor;
+
+    @Override
+    public Health health() {
+        return monitor.getDegradedSince()
+            .map(since -> Health.status(DEGRADED)
+                .withDetail("since", since.toString())
+                .withDetail("maxStaleness", monitor.getMaxStaleness().toString()))
+            .orElseGet(Health::up)
+            .build();
+    }
+}
@@ -0,0 +1,109 @@
+package inc.yowyob.rental_api.common.degraded;
+
+import inc.yowyob.rental_api.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * État du mode dégradé : base injoignable, autorisations servies depuis les derniers instantanés connus.
+ * <p>
+ * Le mode est activé dès qu'une erreur d'indisponibilité est signalée et levé au premier
+ * accès réussi (sonde ou chargement). Pendant ce temps, les écritures sont refusées
+ * immédiatement et les lectures s'appuient sur les caches, dans la limite de fraîcheur configurée.
+ */
+@Slf4j
+@Component
+public class DegradedModeMonitor {
+
+    private final AppProperties.DegradedMode properties;
+    private final MeterRegistry meterRegistry;
+    private final AtomicReference<Instant> degradedSince = new AtomicReference<>();
+    private final Map<String, Counter> staleReads = new ConcurrentHashMap<>();
+    private final Counter transitions;
+
+    public DegradedModeMonitor(AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.properties = appProperties.getDegradedMode();
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("rental.degraded.active", this, monitor -> monitor.isDegraded() ? 1 : 0)
+            .description("1 while the database is unreachable and authorization is served from snapshots")
+            .register(meterRegistry);
+        this.transitions = Counter.builder("rental.degraded.transitions")
+            .description("Number of times degraded mode was entered")
+            .register(meterRegistry);
+    }
+
+    public boolean isDegraded() {
+        return degradedSince.get() != null;
+    }
+
+    /**
+     * Début du mode dégradé en cours, le cas échéant
+     */
+    public Optional<Instant> getDegradedSince() {
+        return Optional.ofNullable(degradedSince.get());
+    }
+
+    /**
+     * Signale une erreur d'accès à la base ; seules les indisponibilités activent le mode dégradé
+     *
+     * @return true si l'erreur est une indisponibilité et que le mode dégradé est (ou reste) actif
+     */
+    public boolean reportFailure(Throwable error) {
+        if (!properties.isEnabled() || !DatabaseFailures.isUnavailable(error)) {
+            return false;
+        }
+        if (degradedSince.compareAndSet(null, Instant.now())) {
+            transitions.increment();
+            log.warn("Database unreachable, entering degraded mode (max staleness {}): {}",
+                properties.getMaxStaleness(), error.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Signale un accès réussi à la base
+     */
+    public void reportSuccess() {
+        if (degradedSince.get() == null) {
+            return;
+        }
+        Instant since = degradedSince.getAndSet(null);
+        if (since != null) {
+            log.info("Database reachable again, leaving degraded mode after {} s",
+                Duration.between(since, Instant.now()).toSeconds());
+        }
+    }
+
+    /**
+     * Compte une décision servie depuis un instantané faute de base disponible
+     */
+    public void recordStaleRead(String source) {
+        staleReads.computeIfAbsent(source, key -> Counter.builder("rental.degraded.stale-reads")
+                .description("Authorization data served from last known snapshots")
+                .tag("source", key)
+                .register(meterRegistry))
+            .increment();
+    }
+
+    /**
+     * Délai conseillé au client avant de réessayer une écriture, en secondes
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, properties.getRetryAfter().toSeconds());
+    }
+
+    public Duration getMaxStaleness() {
+        return properties.getMaxStaleness();
+    }
+}
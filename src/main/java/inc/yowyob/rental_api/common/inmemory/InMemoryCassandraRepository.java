@@ -0,0 +1,270 @@
+package inc.yowyob.rental_api.common.inmemory;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Base des repositories en mémoire du profil {@code perf-inmemory}.
+ * <p>
+ * Les entités sont conservées dans une map concurrente indexée par clé primaire et
+ * copiées à l'écriture comme à la lecture : comme avec Cassandra, modifier une entité
+ * lue n'a aucun effet tant qu'elle n'est pas sauvegardée. Les requêtes {@code @Query}
+ * des sous-classes sont réécrites en filtres sur l'ensemble des entités, ce qui
+ * correspond au coût d'un ALLOW FILTERING.
+ */
+public abstract class InMemoryCassandraRepository<T, ID> implements CassandraRepository<T, ID> {
+
+    private final ConcurrentMap<ID, T> store = new ConcurrentHashMap<>();
+    private final Class<T> entityType;
+    private final Function<T, ID> idExtractor;
+    private final LatencySimulator latencySimulator;
+    private final List<Field> collectionFields = new ArrayList<>();
+
+    protected InMemoryCassandraRepository(Class<T> entityType, Function<T, ID> idExtractor,
+                                          LatencySimulator latencySimulator) {
+        this.entityType = entityType;
+        this.idExtractor = idExtractor;
+        this.latencySimulator = latencySimulator;
+
+        ReflectionUtils.doWithFields(entityType, field -> {
+            ReflectionUtils.makeAccessible(field);
+            collectionFields.add(field);
+        }, field -> !Modifier.isStatic(field.getModifiers())
+            && (Collection.class.isAssignableFrom(field.getType()) || Map.class.isAssignableFrom(field.getType())));
+    }
+
+    // ==================== CRUD ====================
+
+    @Override
+    public <S extends T> S save(S entity) {
+        latencySimulator.write();
+        store.put(idOf(entity), copy(entity));
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        latencySimulator.read();
+        return Optional.ofNullable(store.get(id)).map(this::copy);
+    }
+
+    @Override
+    public boolean existsById(ID id) {
+        latencySimulator.read();
+        return store.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return findWhere(entity -> true);
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        latencySimulator.read();
+        List<T> found = new ArrayList<>();
+        for (ID id : ids) {
+            T entity = store.get(id);
+            if (entity != null) {
+                found.add(copy(entity));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public Slice<T> findAll(Pageable pageable) {
+        return findSliceWhere(entity -> true, pageable);
+    }
+
+    @Override
+    public long count() {
+        latencySimulator.read();
+        return store.size();
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        latencySimulator.write();
+        store.remove(id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends ID> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        latencySimulator.write();
+        store.clear();
+    }
+
+    // ==================== REQUÊTES ====================
+
+    /**
+     * Entités satisfaisant un filtre (équivalent d'un SELECT ... ALLOW FILTERING)
+     */
+    protected List<T> findWhere(Predicate<T> filter) {
+        latencySimulator.read();
+        return copyAll(store.values().stream().filter(filter));
+    }
+
+    /**
+     * Page d'entités satisfaisant un filtre (équivalent d'un SELECT ... ALLOW FILTERING paginé).
+     * La page suivante est repérée par son décalage : une {@code CassandraPageRequest} sans état de
+     * pagination est ramenée à une {@link PageRequest} pour que {@code nextPageable()} reste utilisable.
+     */
+    protected Slice<T> findSliceWhere(Predicate<T> filter, Pageable pageable) {
+        latencySimulator.read();
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(copyAll(store.values().stream().filter(filter)));
+        }
+        Pageable current = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        List<T> page = store.values().stream()
+            .filter(filter)
+            .skip(current.getOffset())
+            .limit(current.getPageSize() + 1L)
+            .map(this::copy)
+            .toList();
+        boolean hasNext = page.size() > current.getPageSize();
+        return new SliceImpl<>(hasNext ? page.subList(0, current.getPageSize()) : page, current, hasNext);
+    }
+
+    /**
+     * Première entité satisfaisant un filtre
+     */
+    protected Optional<T> findFirstWhere(Predicate<T> filter) {
+        latencySimulator.read();
+        return store.values().stream().filter(filter).findFirst().map(this::copy);
+    }
+
+    /**
+     * Nombre d'entités satisfaisant un filtre (équivalent d'un SELECT COUNT(*))
+     */
+    protected long countWhere(Predicate<T> filter) {
+        latencySimulator.read();
+        return store.values().stream().filter(filter).count();
+    }
+
+    /**
+     * Mise à jour atomique d'une ligne, créée si absente (équivalent d'un UPDATE de compteur)
+     */
+    protected void update(ID id, Function<ID, T> factory, UnaryOperator<T> update) {
+        latencySimulator.write();
+        store.compute(id, (key, current) -> update.apply(current != null ? copy(current) : factory.apply(key)));
+    }
+
+    // ==================== PRÉDICATS ====================
+
+    protected static boolean isTrue(Boolean value) {
+        return Boolean.TRUE.equals(value);
+    }
+
+    protected static boolean isFalse(Boolean value) {
+        return Boolean.FALSE.equals(value);
+    }
+
+    /**
+     * {@code value > bound} ; une colonne nulle ne satisfait jamais une comparaison
+     */
+    protected static <C extends Comparable<? super C>> boolean gt(C value, C bound) {
+        return value != null && value.compareTo(bound) > 0;
+    }
+
+    protected static <C extends Comparable<? super C>> boolean ge(C value, C bound) {
+        return value != null && value.compareTo(bound) >= 0;
+    }
+
+    protected static <C extends Comparable<? super C>> boolean lt(C value, C bound) {
+        return value != null && value.compareTo(bound) < 0;
+    }
+
+    protected static <C extends Comparable<? super C>> boolean le(C value, C bound) {
+        return value != null && value.compareTo(bound) <= 0;
+    }
+
+    /**
+     * {@code value >= from AND value <= to}
+     */
+    protected static <C extends Comparable<? super C>> boolean between(C value, C from, C to) {
+        return ge(value, from) && le(value, to);
+    }
+
+    private ID idOf(T entity) {
+        ID id = idExtractor.apply(entity);
+        if (id == null) {
+            throw new IllegalArgumentException("Primary key of " + entityType.getSimpleName() + " must not be null");
+        }
+        return id;
+    }
+
+    private List<T> copyAll(Stream<T> entities) {
+        return entities.map(this::copy).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Copie superficielle de l'entité, collections comprises
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected T copy(T source) {
+        T target = BeanUtils.instantiateClass(entityType);
+        ReflectionUtils.shallowCopyFieldState(source, target);
+        for (Field field : collectionFields) {
+            Object value = ReflectionUtils.getField(field, target);
+            if (value instanceof SortedSet sortedSet) {
+                ReflectionUtils.setField(field, target, new TreeSet(sortedSet));
+            } else if (value instanceof Set set) {
+                ReflectionUtils.setField(field, target, new HashSet(set));
+            } else if (value instanceof List list) {
+                ReflectionUtils.setField(field, target, new ArrayList(list));
+            } else if (value instanceof Map map) {
+                ReflectionUtils.setField(field, target, new HashMap(map));
+            }
+        }
+        return target;
+    }
+}
@@ -0,0 +1,91 @@
+package inc.yowyob.rental_api.common.inmemory;
+
+import inc.yowyob.rental_api.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latence artificielle des repositories en mémoire, pour approcher le comportement
+ * d'un appel réseau à la base (lectures et écritures configurées séparément).
+ * <p>
+ * La distribution log-normale est paramétrée par sa médiane et son 99e percentile.
+ */
+@Slf4j
+@Component
+@Profile("perf-inmemory")
+public class LatencySimulator {
+
+    /**
+     * Quantile de la loi normale centrée réduite à 99 %
+     */
+    private static final double Z_99 = 2.326;
+
+    private final Sampler readSampler;
+    private final Sampler writeSampler;
+
+    public LatencySimulator(AppProperties appProperties) {
+        AppProperties.Perf.InMemory properties = appProperties.getPerf().getInMemory();
+        this.readSampler = Sampler.of(properties.getReadLatency());
+        this.writeSampler = Sampler.of(properties.getWriteLatency());
+        log.info("In-memory repositories latency: reads {}, writes {}",
+            describe(properties.getReadLatency()), describe(properties.getWriteLatency()));
+    }
+
+    /**
+     * Simule la latence d'une lecture
+     */
+    public void read() {
+        pause(readSampler.sampleNanos());
+    }
+
+    /**
+     * Simule la latence d'une écriture
+     */
+    public void write() {
+        pause(writeSampler.sampleNanos());
+    }
+
+    private static void pause(long nanos) {
+        if (nanos > 0) {
+            LockSupport.parkNanos(nanos);
+        }
+    }
+
+    private static String describe(AppProperties.Perf.Latency latency) {
+        return switch (latency.getDistribution()) {
+            case NONE -> "none";
+            case FIXED -> "fixed " + latency.getMedian().toMillis() + " ms";
+            case LOG_NORMAL -> "log-normal median " + latency.getMedian().toMillis()
+                + " ms, p99 " + latency.getP99().toMillis() + " ms";
+        };
+    }
+
+    /**
+     * Tirage d'une durée selon la distribution configurée
+     */
+    private interface Sampler {
+
+        long sampleNanos();
+
+        static Sampler of(AppProperties.Perf.Latency latency) {
+            long medianNanos = latency.getMedian().toNanos();
+            return switch (latency.getDistribution()) {
+                case NONE -> () -> 0L;
+                case FIXED -> () -> medianNanos;
+                case LOG_NORMAL -> {
+                    long p99Nanos = Math.max(latency.getP99().toNanos(), medianNanos);
+                    if (medianNanos <= 0) {
+                        throw new IllegalStateException("Log-normal latency requires a positive median");
+                    }
+                    double mu = Math.log(medianNanos);
+                    double sigma = Math.log((double) p99Nanos / medianNanos) / Z_99;
+                    yield () -> (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package inc.yowyob.rental_api.common.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Événement JFR d'une décision d'autorisation ({@code PermissionAspect}).
+ * <p>
+ * Les événements de l'application sont actifs par défaut et sans coût tant qu'aucun
+ * enregistrement n'est en cours. Enregistrement continu :
+ * {@code -XX:StartFlightRecording:settings=default,maxage=6h,inc.yowyob.rental.Authorization#threshold=1ms}
+ */
+@Name("inc.yowyob.rental.Authorization")
+@Label("Authorization Check")
+@Category({"Rental API", "Security"})
+@Description("Permission, role or access check performed by the permission aspect")
+@StackTrace(false)
+public class AuthorizationEvent extends Event {
+
+    @Label("Annotation")
+    public String annotation;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Requirement")
+    public String requirement;
+
+    @Label("Granted")
+    public boolean granted;
+
+    @Label("Permission Cache Hit")
+    @Description("No effective permission set had to be computed for this decision")
+    public boolean cacheHit;
+}
@@ -0,0 +1,24 @@
+package inc.yowyob.rental_api.common.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Événement JFR d'une opération sur un token JWT (signature, lecture ou vérification)
+ */
+@Name("inc.yowyob.rental.JwtToken")
+@Label("JWT Token Operation")
+@Category({"Rental API", "Security"})
+@Description("JWT signing, parsing or verification")
+@StackTrace(false)
+public class JwtTokenEvent extends Event {
+
+    public static final String SIGN = "sign";
+    public static final String PARSE = "parse";
+    public static final String VERIFY = "verify";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,24 @@
+package inc.yowyob.rental_api.common.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Événement JFR d'un calcul de hash de mot de passe (BCrypt)
+ */
+@Name("inc.yowyob.rental.PasswordHash")
+@Label("Password Hash")
+@Category({"Rental API", "Security"})
+@Description("Password encoding or verification, including authentication through the authentication manager")
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+
+    public static final String ENCODE = "encode";
+    public static final String VERIFY = "verify";
+    public static final String AUTHENTICATE = "authenticate";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Matched")
+    public boolean matched;
+}
@@ -0,0 +1,50 @@
+package inc.yowyob.rental_api.common.jfr;
+
+import inc.yowyob.rental_api.common.cassandra.metrics.CassandraQueryRegistry;
+import inc.yowyob.rental_api.common.cassandra.metrics.RepositoryMetricsAspect;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+/**
+ * Émet un {@link RepositoryQueryEvent} par appel de repository pendant un enregistrement JFR.
+ * Sans enregistrement actif, seul le test {@code isEnabled()} est exécuté.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryEventAspect {
+
+    private final CassandraQueryRegistry queryRegistry;
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                CassandraQueryRegistry.QueryName name = queryRegistry.describe(
+                    joinPoint.getTarget().getClass(), ((MethodSignature) joinPoint.getSignature()).getMethod());
+                event.query = name.name();
+                event.filtering = name.filtering();
+                event.rows = failed ? -1 : RepositoryMetricsAspect.rowsOf(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+}
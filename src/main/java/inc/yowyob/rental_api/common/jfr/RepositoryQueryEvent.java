@@ -0,0 +1,28 @@
+package inc.yowyob.rental_api.common.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Événement JFR d'un appel de repository, nommé comme les métriques Cassandra
+ */
+@Name("inc.yowyob.rental.RepositoryQuery")
+@Label("Repository Query")
+@Category({"Rental API", "Database"})
+@Description("Repository method call, with the query name used by the Cassandra metrics")
+@StackTrace(false)
+public class RepositoryQueryEvent extends Event {
+
+    @Label("Query")
+    public String query;
+
+    @Label("Filtering")
+    @Description("The query uses ALLOW FILTERING")
+    public boolean filtering;
+
+    @Label("Rows")
+    @Description("Rows returned, -1 for writes and aggregates")
+    public long rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,115 @@
+package inc.yowyob.rental_api.common.overload;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limite de concurrence adaptative pilotée par la latence des unités admises.
+ * <p>
+ * Une latence de référence est suivie par moyenne mobile exponentielle lente pour chaque clé
+ * (endpoint, ou méthode de repository pour les accès hors requête) : une lecture par clé et une
+ * requête avec ALLOW FILTERING ne sont jamais comparées à la même référence. Chaque échantillon
+ * donne un gradient {@code référence × tolérance / latence}, borné à [0.5, 1].
+ * <p>
+ * À gradient 1, la limite croît d'environ {@code √limite} par fenêtre ({@code +√limite/limite} par
+ * échantillon), à condition d'être réellement utilisée. Un gradient inférieur la réduit dans la même
+ * proportion, sans descendre sous le facteur de repli ; un délai dépassé applique le facteur de repli.
+ * Une réduction a lieu au plus une fois par fenêtre : seuls les appels démarrés après la dernière
+ * réduction en déclenchent une nouvelle, pour qu'une rafale d'appels lents ne fasse pas s'effondrer
+ * la limite.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final double baselineSmoothing;
+    private final Map<String, Double> baselines = new HashMap<>();
+
+    private volatile double limit;
+    private boolean decreased;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                    double latencyTolerance, double baselineSmoothing) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit bounds: [" + minLimit + ", " + maxLimit + "]");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be in ]0, 1[: " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.baselineSmoothing = baselineSmoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Limite courante, arrondie à l'entier inférieur
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Latence de référence d'une clé en millisecondes (0 tant qu'aucun échantillon n'a été reçu)
+     */
+    public synchronized double getBaselineMillis(String key) {
+        return baselines.getOrDefault(key, 0d) / 1_000_000d;
+    }
+
+    /**
+     * Nombre de clés suivies
+     */
+    public synchronized int getBaselineCount() {
+        return baselines.size();
+    }
+
+    /**
+     * Intègre la mesure d'une unité admise terminée
+     *
+     * @param key        unité mesurée, comparée uniquement à sa propre référence
+     * @param startNanos instant de début ({@link System#nanoTime()})
+     * @param endNanos   instant de fin
+     * @param inFlight   nombre d'unités en cours pendant la mesure
+     * @param dropped    l'unité a rencontré une surcharge (délai dépassé, nœud saturé)
+     */
+    public synchronized void onSample(String key, long startNanos, long endNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            decrease(startNanos, endNanos, backoffRatio);
+            return;
+        }
+
+        long latency = Math.max(1, endNanos - startNanos);
+        Double baseline = baselines.get(key);
+        // Référence lente : une dégradation brutale ressort, une nouvelle latence durable finit par être absorbée
+        baselines.put(key, baseline == null ? latency : baseline + baselineSmoothing * (latency - baseline));
+        if (baseline == null) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1, baseline * latencyTolerance / latency));
+        if (gradient < 1) {
+            decrease(startNanos, endNanos, Math.max(backoffRatio, gradient));
+            return;
+        }
+
+        // Sans pression réelle, la limite n'a pas de raison de croître
+        if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + Math.sqrt(limit) / limit);
+        }
+    }
+
+    private void decrease(long startNanos, long endNanos, double ratio) {
+        if (!decreased || startNanos - lastDecreaseNanos > 0) {
+            limit = Math.max(minLimit, limit * ratio);
+            lastDecreaseNanos = endNanos;
+            decreased = true;
+        }
+    }
+}
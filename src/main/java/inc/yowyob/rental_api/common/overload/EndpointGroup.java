@@ -0,0 +1,34 @@
+package inc.yowyob.rental_api.common.overload;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Groupes d'admission du délestage
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EndpointGroup {
+
+    /**
+     * Connexion et renouvellement de jeton : seul groupe autorisé à puiser dans la part réservée
+     */
+    AUTH("auth"),
+
+    /**
+     * Routes publiques (onboarding, forfaits), plafonnées pour ne pas évincer les utilisateurs connectés
+     */
+    PUBLIC("public"),
+
+    /**
+     * Reste de l'API authentifiée
+     */
+    API("api"),
+
+    /**
+     * Accès aux repositories hors requête HTTP (tâches planifiées, transports d'invalidation)
+     */
+    BACKGROUND("background");
+
+    private final String code;
+}
@@ -0,0 +1,201 @@
+package inc.yowyob.rental_api.common.overload;
+
+import inc.yowyob.rental_api.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contrôle d'admission partagé entre les groupes d'endpoints.
+ * <p>
+ * Une seule limite adaptative borne le nombre de requêtes en cours ; elle est pilotée par la
+ * latence de ces mêmes requêtes, chacune comparée à la référence de son endpoint, et par les
+ * surcharges remontées par les repositories pendant leur traitement. Chaque groupe n'en utilise qu'une fraction : la part réservée à
+ * {@link EndpointGroup#AUTH} n'est jamais accessible aux autres groupes, de sorte que connexion
+ * et renouvellement de jeton restent possibles pendant une surcharge, et les routes publiques
+ * sont en plus plafonnées par groupe.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.load-shedding", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LoadShedder {
+
+    private static final ThreadLocal<Permit> CURRENT = new ThreadLocal<>();
+
+    private final AppProperties.LoadShedding properties;
+    private final AdaptiveConcurrencyLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<EndpointGroup, AtomicInteger> groupInFlight = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, Counter> rejections = new EnumMap<>(EndpointGroup.class);
+
+    public LoadShedder(AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.properties = appProperties.getLoadShedding();
+        if (properties.getAuthReservedShare() < 0 || properties.getAuthReservedShare() >= 1) {
+            throw new IllegalArgumentException("Auth reserved share must be in [0, 1[: " + properties.getAuthReservedShare());
+        }
+        this.limit = new AdaptiveConcurrencyLimit(
+            properties.getInitialLimit(),
+            properties.getMinLimit(),
+            properties.getMaxLimit(),
+            properties.getBackoffRatio(),
+            properties.getLatencyTolerance(),
+            properties.getBaselineSmoothing()
+        );
+
+        Gauge.builder("rental.load-shedding.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+            .description("Current adaptive concurrency limit")
+            .register(meterRegistry);
+        Gauge.builder("rental.load-shedding.baselines", limit, AdaptiveConcurrencyLimit::getBaselineCount)
+            .description("Endpoints and background queries with their own baseline latency")
+            .register(meterRegistry);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            AtomicInteger counter = new AtomicInteger();
+            groupInFlight.put(group, counter);
+            Gauge.builder("rental.load-shedding.in-flight", counter, AtomicInteger::get)
+                .description("Admitted requests in flight")
+                .tag("group", group.getCode())
+                .register(meterRegistry);
+            rejections.put(group, Counter.builder("rental.load-shedding.rejected")
+                .description("Requests rejected by load shedding")
+                .tag("group", group.getCode())
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Tente d'admettre une requête du groupe ; le permis doit être fermé en fin de traitement
+     */
+    public Optional<Permit> tryAcquire(EndpointGroup group) {
+        int current = limit.getLimit();
+        int groupCeiling = (int) Math.max(1, current * groupShare(group));
+        int totalCeiling = group == EndpointGroup.AUTH
+            ? current
+            : (int) Math.max(1, current * (1 - properties.getAuthReservedShare()));
+
+        AtomicInteger groupCounter = groupInFlight.get(group);
+        if (!increment(inFlight, totalCeiling)) {
+            return reject(group, current);
+        }
+        if (!increment(groupCounter, groupCeiling)) {
+            inFlight.decrementAndGet();
+            return reject(group, current);
+        }
+
+        Permit permit = new Permit(group, System.nanoTime(), inFlight.get());
+        CURRENT.set(permit);
+        return Optional.of(permit);
+    }
+
+    /**
+     * Indique si le thread courant détient déjà un permis (requête HTTP admise)
+     */
+    public boolean isAdmitted() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Signale une surcharge de la base (délai dépassé, nœud saturé) rencontrée par le thread courant :
+     * la requête admise sera comptée comme rejetée à sa libération
+     */
+    public void onOverloadSignal() {
+        Permit permit = CURRENT.get();
+        if (permit != null) {
+            permit.dropped = true;
+        }
+    }
+
+    /**
+     * Délai conseillé au client avant de réessayer, en secondes
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, properties.getRetryAfter().toSeconds());
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private double groupShare(EndpointGroup group) {
+        return switch (group) {
+            case AUTH -> 1;
+            case PUBLIC -> properties.getPublicMaxShare();
+            case API, BACKGROUND -> 1 - properties.getAuthReservedShare();
+        };
+    }
+
+    private Optional<Permit> reject(EndpointGroup group, int current) {
+        rejections.get(group).increment();
+        log.debug("Shedding {} request: {} in flight, limit {}", group.getCode(), inFlight.get(), current);
+        return Optional.empty();
+    }
+
+    private static boolean increment(AtomicInteger counter, int ceiling) {
+        while (true) {
+            int value = counter.get();
+            if (value >= ceiling) {
+                return false;
+            }
+            if (counter.compareAndSet(value, value + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Place occupée par une requête admise
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final EndpointGroup group;
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private volatile boolean dropped;
+        private boolean released;
+
+        private Permit(EndpointGroup group, long startNanos, int inFlightAtStart) {
+            this.group = group;
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Libère la place et transmet la durée de l'unité admise à la limite adaptative
+         *
+         * @param key unité mesurée (endpoint et classe de statut, ou requête nommée)
+         */
+        public void release(String key) {
+            if (released) {
+                return;
+            }
+            limit.onSample(key, startNanos, System.nanoTime(), Math.max(inFlightAtStart, inFlight.get()), dropped);
+            close();
+        }
+
+        /**
+         * Libère la place sans mesure
+         */
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                groupInFlight.get(group).decrementAndGet();
+                inFlight.decrementAndGet();
+                if (CURRENT.get() == this) {
+                    CURRENT.remove();
+                }
+            }
+        }
+    }
+}
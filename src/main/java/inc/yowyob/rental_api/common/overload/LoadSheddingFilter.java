@@ -0,0 +1,106 @@
+package inc.yowyob.rental_api.common.overload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api.common.response.ApiResponseUtil;
+import inc.yowyob.rental_api.config.AppProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Délestage des requêtes HTTP en amont de la sécurité.
+ * <p>
+ * Placé avant le filtre JWT pour qu'une requête refusée ne coûte ni vérification de jeton
+ * ni lecture des permissions : la réponse 503 est immédiate et porte {@code Retry-After}.
+ * La durée de chaque requête admise alimente la limite, rapportée à la référence de son endpoint.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(prefix = "app.load-shedding", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final LoadShedder loadShedder;
+    private final ObjectMapper objectMapper;
+    private final AppProperties.LoadShedding properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public LoadSheddingFilter(LoadShedder loadShedder, ObjectMapper objectMapper, AppProperties appProperties) {
+        this.loadShedder = loadShedder;
+        this.objectMapper = objectMapper;
+        this.properties = appProperties.getLoadShedding();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return matches(properties.getExcludedPaths(), pathOf(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        EndpointGroup group = groupOf(pathOf(request));
+        Optional<LoadShedder.Permit> permit = loadShedder.tryAcquire(group);
+        if (permit.isEmpty()) {
+            reject(request, response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permit.get().release(endpointOf(request, response));
+        }
+    }
+
+    /**
+     * Endpoint et classe de statut : un refus d'accès rapide ne fausse pas la référence des réponses servies
+     */
+    private static String endpointOf(HttpServletRequest request, HttpServletResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "unmapped") + " " + response.getStatus() / 100 + "xx";
+    }
+
+    private EndpointGroup groupOf(String path) {
+        if (matches(properties.getAuthPaths(), path)) {
+            return EndpointGroup.AUTH;
+        }
+        if (matches(properties.getPublicPaths(), path)) {
+            return EndpointGroup.PUBLIC;
+        }
+        return EndpointGroup.API;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(loadShedder.getRetryAfterSeconds()));
+        ApiResponseUtil.writeError(response, objectMapper,
+            "Service temporairement surchargé, veuillez réessayer",
+            HttpStatus.SERVICE_UNAVAILABLE.value(), request.getRequestURI());
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,79 @@
+package inc.yowyob.rental_api.common.overload;
+
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
+import com.datastax.oss.driver.api.core.servererrors.OverloadedException;
+import com.datastax.oss.driver.api.core.servererrors.QueryConsistencyException;
+import com.datastax.oss.driver.api.core.servererrors.UnavailableException;
+import inc.yowyob.rental_api.common.cassandra.metrics.CassandraQueryRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Remonte à la limite adaptative les surcharges rencontrées par les repositories.
+ * <p>
+ * Dans une requête admise, seul le signal de surcharge est transmis : la latence mesurée est
+ * celle de la requête, unité admise par la limite. Les appels faits hors d'une requête admise
+ * (tâches planifiées, transports) occupent une place du groupe {@link EndpointGroup#BACKGROUND},
+ * mesurée par requête nommée, et échouent immédiatement quand la limite est atteinte, au lieu
+ * d'attendre l'expiration du délai du driver.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.load-shedding", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryConcurrencyAspect {
+
+    private final LoadShedder loadShedder;
+    private final CassandraQueryRegistry queryRegistry;
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        LoadShedder.Permit backgroundPermit = null;
+        if (!loadShedder.isAdmitted()) {
+            Optional<LoadShedder.Permit> permit = loadShedder.tryAcquire(EndpointGroup.BACKGROUND);
+            if (permit.isEmpty()) {
+                throw new ServiceOverloadedException("Repository access rejected: concurrency limit "
+                    + loadShedder.getLimit() + " reached");
+            }
+            backgroundPermit = permit.get();
+        }
+
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            if (isOverloadSignal(e)) {
+                loadShedder.onOverloadSignal();
+            }
+            throw e;
+        } finally {
+            if (backgroundPermit != null) {
+                backgroundPermit.release(queryRegistry.describe(joinPoint.getTarget().getClass(),
+                    ((MethodSignature) joinPoint.getSignature()).getMethod()).name());
+            }
+        }
+    }
+
+    /**
+     * Délais dépassés et refus du cluster signalent une surcharge ; les autres erreurs sont ignorées
+     */
+    private static boolean isOverloadSignal(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DriverTimeoutException
+                || cause instanceof QueryConsistencyException
+                || cause instanceof OverloadedException
+                || cause instanceof UnavailableException
+                || cause instanceof TransientDataAccessException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,11 @@
+package inc.yowyob.rental_api.common.overload;
+
+/**
+ * Levée lorsqu'un accès aux repositories est refusé faute de capacité disponible
+ */
+public class ServiceOverloadedException extends IllegalStateException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
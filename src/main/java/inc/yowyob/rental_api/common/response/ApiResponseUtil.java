@@ -1,8 +1,14 @@
 package inc.yowyob.rental_api.common.response;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
+
 /**
  * Utilitaire pour créer des réponses API standardisées
  */
@@ -39,6 +45,26 @@ public class ApiResponseUtil {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Crée une réponse de succès cacheable avec ETag (200, ou 304 si le client possède déjà cette version)
+     */
+    public static <T> ResponseEntity<ApiResponse<T>> cacheable(T data, String message, Object metadata,
+                                                               CacheControl cacheControl, String eTag) {
+        ApiResponse<T> response = ApiResponse.<T>builder()
+            .success(true)
+            .message(message)
+            .data(data)
+            .metadata(metadata)
+            .statusCode(200)
+            .timestamp(java.time.LocalDateTime.now())
+            .build();
+
+        return ResponseEntity.ok()
+            .cacheControl(cacheControl)
+            .eTag(eTag)
+            .body(response);
+    }
+
     /**
      * Crée une réponse de création (201)
      */
@@ -70,6 +96,21 @@ public class ApiResponseUtil {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Crée une réponse de traitement accepté (202), suivi à l'adresse indiquée
+     */
+    public static <T> ResponseEntity<ApiResponse<T>> accepted(T data, String message, java.net.URI location) {
+        ApiResponse<T> response = ApiResponse.<T>builder()
+            .success(true)
+            .message(message)
+            .data(data)
+            .statusCode(202)
+            .timestamp(java.time.LocalDateTime.now())
+            .build();
+
+        return ResponseEntity.accepted().location(location).body(response);
+    }
+
     /**
      * Crée une réponse de succès sans contenu (204)
      */
@@ -175,4 +216,24 @@ public class ApiResponseUtil {
 
         return ResponseEntity.status(statusCode).body(response);
     }
+
+    /**
+     * Écrit une réponse d'erreur directement dans la réponse HTTP, pour les filtres situés en amont de Spring MVC
+     * et les réponses diffusées en continu
+     */
+    public static void writeError(HttpServletResponse response, ObjectMapper objectMapper,
+                                  String message, int statusCode, String path) throws IOException {
+        ApiResponse<Void> body = ApiResponse.<Void>builder()
+            .success(false)
+            .message(message)
+            .statusCode(statusCode)
+            .path(path)
+            .timestamp(java.time.LocalDateTime.now())
+            .build();
+
+        response.setStatus(statusCode);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
 }
@@ -0,0 +1,98 @@
+package inc.yowyob.rental_api.common.seed;
+
+import inc.yowyob.rental_api.common.seed.entities.SeedVersion;
+import inc.yowyob.rental_api.common.seed.repository.SeedVersionRepository;
+import inc.yowyob.rental_api.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applique les jeux de données de démarrage ({@link SeedTask}) en parallèle.
+ * <p>
+ * Pour chaque jeu, la version enregistrée est lue par clé ; s'il est à jour, rien d'autre n'est
+ * lu ni écrit, quelle que soit la taille des tables. Un jeu en échec n'enregistre pas sa version
+ * et sera retenté au prochain démarrage, sans empêcher l'application de démarrer.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // Avant les autres runners, qui peuvent dépendre des données de référence
+public class SeedRunner implements CommandLineRunner {
+
+    private final List<SeedTask> tasks;
+    private final SeedVersionRepository seedVersionRepository;
+    private final AppProperties.Seed properties;
+
+    public SeedRunner(List<SeedTask> tasks, SeedVersionRepository seedVersionRepository, AppProperties appProperties) {
+        this.tasks = tasks;
+        this.seedVersionRepository = seedVersionRepository;
+        this.properties = appProperties.getSeed();
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!properties.isEnabled() || tasks.isEmpty()) {
+            log.info("Startup seeding disabled or nothing to seed");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(tasks.size(), properties.getThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "seed-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<CompletableFuture<Boolean>> results = tasks.stream()
+                .map(task -> CompletableFuture.supplyAsync(() -> seed(task), executor))
+                .toList();
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+
+            long applied = results.stream().filter(CompletableFuture::join).count();
+            log.info("Startup seeding completed in {} ms: {} of {} seed sets applied, others up to date or failed",
+                System.currentTimeMillis() - start, applied, tasks.size());
+        } catch (TimeoutException e) {
+            log.warn("Startup seeding still running after {}, continuing startup", properties.getTimeout());
+        } catch (ExecutionException e) {
+            log.error("Startup seeding failed: {}", e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @return true si le jeu a été appliqué par ce démarrage
+     */
+    private boolean seed(SeedTask task) {
+        try {
+            int appliedVersion = seedVersionRepository.getAppliedVersion(task.getName());
+            if (appliedVersion >= task.getVersion()) {
+                log.debug("Seed set {} already at version {}, skipping", task.getName(), appliedVersion);
+                return false;
+            }
+
+            log.info("Applying seed set {} (version {} -> {})", task.getName(), appliedVersion, task.getVersion());
+            task.apply();
+            seedVersionRepository.save(new SeedVersion(task.getName(), task.getVersion(), LocalDateTime.now()));
+            return true;
+        } catch (Exception e) {
+            log.error("Seed set {} failed, it will be retried on next startup: {}", task.getName(), e.getMessage(), e);
+            return false;
+        }
+    }
+}
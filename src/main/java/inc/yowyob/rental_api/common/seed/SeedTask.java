@@ -0,0 +1,21 @@
+package inc.yowyob.rental_api.common.seed;
+
+/**
+ * Jeu de données de référence appliqué au démarrage.
+ * <p>
+ * La version appliquée est enregistrée dans {@code seed_versions} : tant qu'elle est à jour,
+ * {@link #apply()} n'est pas appelé et le démarrage se limite à une lecture par clé.
+ * Incrémenter {@link #getVersion()} quand le contenu du jeu de données change.
+ * {@link #apply()} doit rester idempotent : deux nœuds qui démarrent en même temps peuvent l'exécuter.
+ */
+public interface SeedTask {
+
+    /**
+     * Nom stable du jeu de données, clé de sa ligne dans {@code seed_versions}
+     */
+    String getName();
+
+    int getVersion();
+
+    void apply();
+}
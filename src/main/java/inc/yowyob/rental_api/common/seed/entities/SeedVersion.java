@@ -0,0 +1,30 @@
+package inc.yowyob.rental_api.common.seed.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dernière version appliquée d'un jeu de données de démarrage
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("seed_versions")
+public class SeedVersion {
+
+    @Id
+    @PrimaryKey
+    private String name;
+
+    private Integer version;
+
+    @Column("applied_at")
+    private LocalDateTime appliedAt;
+}
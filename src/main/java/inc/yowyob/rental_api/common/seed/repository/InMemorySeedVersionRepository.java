@@ -0,0 +1,20 @@
+package inc.yowyob.rental_api.common.seed.repository;
+
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import inc.yowyob.rental_api.common.seed.entities.SeedVersion;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Implémentation en mémoire de {@link SeedVersionRepository} (profil perf-inmemory)
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemorySeedVersionRepository extends InMemoryCassandraRepository<SeedVersion, String>
+    implements SeedVersionRepository {
+
+    public InMemorySeedVersionRepository(LatencySimulator latencySimulator) {
+        super(SeedVersion.class, SeedVersion::getName, latencySimulator);
+    }
+}
@@ -0,0 +1,18 @@
+package inc.yowyob.rental_api.common.seed.repository;
+
+import inc.yowyob.rental_api.common.seed.entities.SeedVersion;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SeedVersionRepository extends CassandraRepository<SeedVersion, String> {
+
+    /**
+     * Version appliquée d'un jeu de données (0 s'il n'a jamais été appliqué)
+     */
+    default int getAppliedVersion(String name) {
+        return findById(name)
+            .map(SeedVersion::getVersion)
+            .orElse(0);
+    }
+}
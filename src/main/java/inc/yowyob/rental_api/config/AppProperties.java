@@ -4,6 +4,10 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
 @Data
 @Component
 @ConfigurationProperties(prefix = "app")
@@ -13,6 +17,20 @@ public class AppProperties {
     private Cors cors = new Cors();
     private Subscription subscription = new Subscription();
     private File file = new File();
+    private Usage usage = new Usage();
+    private Role role = new Role();
+    private Cache cache = new Cache();
+    private SingleFlight singleFlight = new SingleFlight();
+    private Cassandra cassandra = new Cassandra();
+    private DbBudget dbBudget = new DbBudget();
+    private LoadShedding loadShedding = new LoadShedding();
+    private DegradedMode degradedMode = new DegradedMode();
+    private Onboarding onboarding = new Onboarding();
+    private Seed seed = new Seed();
+    private Export export = new Export();
+    private UserImport userImport = new UserImport();
+    private Perf perf = new Perf();
+    private Dataset dataset = new Dataset();
 
     @Data
     public static class Jwt {
@@ -32,6 +50,216 @@ public class AppProperties {
     @Data
     public static class Subscription {
         private int trialDurationDays;
+        private Duration catalogRefreshInterval = Duration.ofSeconds(30);
+        private Duration plansCacheMaxAge = Duration.ofMinutes(5);
+        private long entitlementCacheMaxSize = 10_000;
+        private Duration entitlementCacheTtl = Duration.ofMinutes(10);
+        private Duration entitlementNegativeCacheTtl = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Usage {
+        private long cacheMaxSize = 10_000;
+        private Duration cacheTtl = Duration.ofMinutes(1);
+        private boolean reconciliationEnabled = true;
+        private int reconciliationPageSize = 1000;
+    }
+
+    @Data
+    public static class Role {
+        private long catalogCacheMaxSize = 5_000;
+        private Duration catalogCacheTtl = Duration.ofMinutes(30);
+        private long permissionCacheMaxSize = 50_000;
+        private Duration permissionCacheTtl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Cache {
+        private Invalidation invalidation = new Invalidation();
+
+        @Data
+        public static class Invalidation {
+            private String transport = "cassandra";
+            private Duration pollInterval = Duration.ofMillis(250);
+            private Duration lookback = Duration.ofSeconds(2);
+            private Duration eventTtl = Duration.ofMinutes(10);
+        }
+    }
+
+    @Data
+    public static class SingleFlight {
+        private boolean enabled = true;
+    }
+
+    @Data
+    public static class Cassandra {
+        private QueryMetrics queryMetrics = new QueryMetrics();
+        private Migration migration = new Migration();
+
+        @Data
+        public static class QueryMetrics {
+            private boolean enabled = true;
+            private boolean percentileHistogram = true;
+            private Duration slowQueryThreshold = Duration.ofMillis(500);
+            private boolean startupReport = true;
+        }
+
+        @Data
+        public static class Migration {
+            private boolean enabled = true;
+            private String location = "classpath*:db/cassandra";
+            private Duration leaseDuration = Duration.ofMinutes(2);
+            private Duration lockWaitTimeout = Duration.ofMinutes(10);
+            private Duration pollInterval = Duration.ofSeconds(2);
+            private Duration statementTimeout = Duration.ofSeconds(30);
+            private Duration schemaAgreementTimeout = Duration.ofSeconds(30);
+            private boolean validateChecksums = true;
+        }
+    }
+
+    @Data
+    public static class DbBudget {
+        private boolean enabled = true;
+        private int defaultBudget = 20;
+        private int repeatedQueryThreshold = 5;
+        private boolean debugHeaders = true;
+        private boolean enforce = false;
+        private List<String> excludedPaths = List.of("/api/v1/organizations/*/export/**",
+            "/api/v1/organizations/*/users/import");
+    }
+
+    @Data
+    public static class LoadShedding {
+        private boolean enabled = true;
+        private int initialLimit = 40;
+        private int minLimit = 8;
+        private int maxLimit = 160;
+        private double backoffRatio = 0.9;
+        private double latencyTolerance = 2.0;
+        private double baselineSmoothing = 0.01;
+        private double authReservedShare = 0.2;
+        private double publicMaxShare = 0.4;
+        private Duration retryAfter = Duration.ofSeconds(2);
+        private List<String> authPaths = List.of("/api/v1/auth/login", "/api/v1/auth/refresh");
+        private List<String> publicPaths = List.of("/api/v1/onboarding/**", "/api/v1/subscription/plans/**");
+        private List<String> excludedPaths = List.of("/actuator/**", "/v3/api-docs/**", "/swagger-ui/**",
+            "/api/v1/organizations/*/export/**", "/api/v1/organizations/*/users/import");
+    }
+
+    @Data
+    public static class DegradedMode {
+        private boolean enabled = true;
+        private Duration maxStaleness = Duration.ofMinutes(15);
+        private long principalCacheMaxSize = 50_000;
+        private Duration probeInterval = Duration.ofSeconds(5);
+        private Duration probeTimeout = Duration.ofSeconds(2);
+        private Duration retryAfter = Duration.ofSeconds(5);
+        private List<String> exemptPaths = List.of("/api/v1/auth/login", "/api/v1/auth/refresh");
+    }
+
+    @Data
+    public static class Seed {
+        private boolean enabled = true;
+        private int threads = 4;
+        private Duration timeout = Duration.ofMinutes(2);
+    }
+
+    @Data
+    public static class Export {
+        private int pageSize = 500;
+        private int maxConcurrent = 2;
+        private Duration retryAfter = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class UserImport {
+        private int maxConcurrent = 2;
+        private int maxInFlight = 64;
+        private int hashThreads = Runtime.getRuntime().availableProcessors();
+        private int writeThreads = 8;
+        private int overloadRetries = 10;
+        private Duration overloadBackoff = Duration.ofMillis(50);
+        private int maxLineLength = 8192;
+        private int maxReportedErrors = 100;
+        private int progressInterval = 1000;
+        private Duration retention = Duration.ofHours(1);
+        private Duration retryAfter = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Onboarding {
+        private Drafts drafts = new Drafts();
+        private Saga saga = new Saga();
+        private Analytics analytics = new Analytics();
+
+        @Data
+        public static class Drafts {
+            private boolean enabled = true;
+            private int maxPending = 10_000;
+            private Duration flushDelay = Duration.ofMillis(200);
+            private Duration retryDelay = Duration.ofSeconds(5);
+            private int flushThreads = 2;
+            private Duration remoteFlushWait = Duration.ofSeconds(1);
+        }
+
+        @Data
+        public static class Saga {
+            private int threads = 4;
+            private int queueCapacity = 200;
+            private int prepareThreads = 4;
+            private Duration leaseDuration = Duration.ofMinutes(1);
+            private int maxAttempts = 5;
+            private Duration recoveryInterval = Duration.ofSeconds(30);
+            private Duration retention = Duration.ofDays(7);
+        }
+
+        @Data
+        public static class Analytics {
+            private boolean enabled = true;
+            private Duration flushInterval = Duration.ofSeconds(5);
+            private int sketchPrecision = 14;
+            private int maxRangeDays = 366;
+        }
+    }
+
+    @Data
+    public static class Perf {
+        private InMemory inMemory = new InMemory();
+
+        @Data
+        public static class InMemory {
+            private Latency readLatency = new Latency();
+            private Latency writeLatency = new Latency();
+        }
+
+        @Data
+        public static class Latency {
+            private LatencyDistribution distribution = LatencyDistribution.NONE;
+            private Duration median = Duration.ZERO;
+            private Duration p99 = Duration.ZERO;
+        }
+
+        public enum LatencyDistribution {
+            NONE, FIXED, LOG_NORMAL
+        }
+    }
+
+    @Data
+    public static class Dataset {
+        private long seed = 42L;
+        private LocalDate referenceDate;
+        private int organizations = 1000;
+        private int usersPerOrganization = 100;
+        private int maxRolesPerUser = 3;
+        private double expiringAssignmentRatio = 0.2;
+        private int onboardingSessionsPerOrganization = 3;
+        private String password = "LoadTest123!";
+        private String emailDomain = "dataset.yowyob.test";
+        private String target = "cassandra";
+        private String outputDirectory = "target/dataset";
+        private int maxInFlight = 256;
+        private int requestMixSize = 10_000;
+        private boolean reconcileUsage = true;
     }
 
     @Data
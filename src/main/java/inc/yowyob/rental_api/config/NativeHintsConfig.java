@@ -0,0 +1,108 @@
+package inc.yowyob.rental_api.config;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.RegexPatternTypeFilter;
+import org.springframework.data.cassandra.core.mapping.Table;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Indications de réflexion pour l'image native GraalVM (mvn -Pnative native:compile).
+ * <p>
+ * Spring AOT couvre les beans, les proxies et les types des contrôleurs ; restent les accès
+ * réflexifs qu'il ne voit pas : copie des entités par les repositories en mémoire, DTO sérialisés
+ * en Smile dans les sessions d'onboarding, annotations lues par les aspects, et les classes que
+ * JJWT instancie par leur nom. Les classes de l'application sont découvertes à la construction
+ * de l'image, aucun parcours du classpath n'a lieu à l'exécution.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.RentalRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class RentalRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final String BASE_PACKAGE = "inc.yowyob.rental_api";
+
+        private static final Pattern DATA_PACKAGES =
+            Pattern.compile("inc\\.yowyob\\.rental_api\\..*\\.(dto|entities|model|enums|response)\\..*");
+
+        private static final MemberCategory[] DATA_MEMBERS = {
+            MemberCategory.DECLARED_FIELDS,
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_DECLARED_METHODS
+        };
+
+        /**
+         * Classes chargées par nom par l'API JJWT (Jwts, Classes.newInstance) et ses services Jackson
+         */
+        private static final List<String> JJWT_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        );
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Entités Cassandra et DTO (dont les builders Lombok) : copie par champs, Jackson et Smile
+            ClassPathScanningCandidateComponentProvider dataTypes = scanner();
+            dataTypes.addIncludeFilter(new AnnotationTypeFilter(Table.class));
+            dataTypes.addIncludeFilter(new RegexPatternTypeFilter(DATA_PACKAGES));
+            register(hints, dataTypes, DATA_MEMBERS);
+
+            // Aspects (méthodes d'advice invoquées par réflexion) et annotations lues par les aspects
+            ClassPathScanningCandidateComponentProvider aspects = scanner();
+            aspects.addIncludeFilter(new AnnotationTypeFilter(Aspect.class));
+            aspects.addIncludeFilter((reader, factory) -> reader.getClassMetadata().isAnnotation());
+            register(hints, aspects, new MemberCategory[]{MemberCategory.INVOKE_DECLARED_METHODS});
+
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // Migrations CQL lues au démarrage
+            hints.resources().registerPattern("db/cassandra/*.cql");
+        }
+
+        private static ClassPathScanningCandidateComponentProvider scanner() {
+            return new ClassPathScanningCandidateComponentProvider(false) {
+                @Override
+                protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                    // Classes imbriquées, abstraites, enums, records et annotations compris
+                    return beanDefinition.getMetadata().isIndependent();
+                }
+            };
+        }
+
+        private static void register(RuntimeHints hints, ClassPathScanningCandidateComponentProvider scanner,
+                                     MemberCategory[] categories) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(BASE_PACKAGE)) {
+                String className = candidate.getBeanClassName();
+                if (className != null && ClassUtils.isPresent(className, null)) {
+                    hints.reflection().registerType(TypeReference.of(className), categories);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package inc.yowyob.rental_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active les tâches planifiées (rafraîchissement des caches, maintenance)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
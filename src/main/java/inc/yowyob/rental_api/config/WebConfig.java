@@ -1,13 +1,19 @@
 package inc.yowyob.rental_api.config;
 
+import inc.yowyob.rental_api.common.cassandra.budget.DbCallBudgetInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final DbCallBudgetInterceptor dbCallBudgetInterceptor;
+
     @Value("${app.cors.allowed-origins}")
     private String[] allowedOrigins;
 
@@ -29,4 +35,9 @@ public class WebConfig implements WebMvcConfigurer {
             .allowCredentials(allowCredentials)
             .maxAge(3600);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(dbCallBudgetInterceptor);
+    }
 }
@@ -0,0 +1,22 @@
+package inc.yowyob.rental_api.core.enums;
+
+import lombok.Getter;
+
+/**
+ * Ressources comptabilisées pour l'application des limites des forfaits
+ */
+@Getter
+public enum MeteredResource {
+    AGENCIES("agencies", "Agences"),
+    VEHICLES("vehicles", "Véhicules"),
+    DRIVERS("drivers", "Chauffeurs"),
+    USERS("users", "Utilisateurs");
+
+    private final String code;
+    private final String description;
+
+    MeteredResource(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+}
@@ -0,0 +1,36 @@
+package inc.yowyob.rental_api.core.enums;
+
+import lombok.Getter;
+
+/**
+ * Compteurs du tunnel d'onboarding, incrémentés à chaque transition de session
+ */
+@Getter
+public enum OnboardingFunnelMetric {
+    SESSIONS_STARTED("sessions_started", "Sessions démarrées"),
+    OWNER_INFO_SAVED("owner_info_saved", "Informations du propriétaire renseignées"),
+    ORGANIZATION_INFO_SAVED("organization_info_saved", "Informations de l'organisation renseignées"),
+    COMPLETED("completed", "Sessions terminées"),
+    CANCELLED("cancelled", "Sessions annulées"),
+    EXPIRED("expired", "Sessions expirées"),
+    FAILED("failed", "Finalisations échouées");
+
+    private final String code;
+    private final String description;
+
+    OnboardingFunnelMetric(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * Compteur des sessions ayant franchi une étape du formulaire
+     */
+    public static OnboardingFunnelMetric forStep(OnboardingStep step) {
+        return switch (step) {
+            case OWNER_INFO -> OWNER_INFO_SAVED;
+            case ORGANIZATION_INFO -> ORGANIZATION_INFO_SAVED;
+            case SUBSCRIPTION_PAYMENT -> COMPLETED;
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package inc.yowyob.rental_api.core.enums;
+
+import lombok.Getter;
+
+/**
+ * Énumération des statuts de la finalisation asynchrone d'un onboarding
+ */
+@Getter
+public enum OnboardingSagaStatus {
+    RUNNING("running", "En cours"),
+    COMPLETED("completed", "Terminée"),
+    FAILED("failed", "Échouée");
+
+    private final String code;
+    private final String description;
+
+    OnboardingSagaStatus(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
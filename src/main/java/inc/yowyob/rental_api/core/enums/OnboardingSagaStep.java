@@ -0,0 +1,22 @@
+package inc.yowyob.rental_api.core.enums;
+
+import lombok.Getter;
+
+/**
+ * Énumération des étapes de la finalisation d'un onboarding, dans leur ordre d'exécution
+ */
+@Getter
+public enum OnboardingSagaStep {
+    PREPARE("prepare", "Réservation de l'email, vérification du forfait et hash du mot de passe"),
+    CREATE_OWNER("create_owner", "Création du compte propriétaire"),
+    CREATE_SUBSCRIPTION("create_subscription", "Création de l'abonnement"),
+    COMPLETE_SESSION("complete_session", "Clôture de la session d'onboarding");
+
+    private final String code;
+    private final String description;
+
+    OnboardingSagaStep(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+}
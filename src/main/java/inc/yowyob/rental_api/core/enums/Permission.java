@@ -2,6 +2,13 @@ package inc.yowyob.rental_api.core.enums;
 
 import lombok.Getter;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * Énumération des permissions granulaires du système
  */
@@ -83,6 +90,17 @@ public enum Permission {
     SYSTEM_LOGS("system_logs", "Accéder aux logs système", "SYSTEM"),
     SYSTEM_MONITORING("system_monitoring", "Accéder au monitoring", "SYSTEM");
 
+    private static final Map<String, Permission> BY_CODE = new HashMap<>();
+
+    static {
+        if (values().length > Long.SIZE) {
+            throw new IllegalStateException("Permission masks are limited to " + Long.SIZE + " permissions");
+        }
+        for (Permission permission : values()) {
+            BY_CODE.put(permission.code, permission);
+        }
+    }
+
     private final String code;
     private final String description;
     private final String resource;
@@ -118,4 +136,47 @@ public enum Permission {
             .distinct()
             .toArray(String[]::new);
     }
+
+    /**
+     * Bit représentant la permission dans un masque de permissions
+     */
+    public long mask() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Trouve une permission par son code
+     */
+    public static Optional<Permission> fromCode(String code) {
+        return Optional.ofNullable(code != null ? BY_CODE.get(code) : null);
+    }
+
+    /**
+     * Compile un ensemble de codes de permission en masque (les codes inconnus sont ignorés)
+     */
+    public static long maskOf(Collection<String> codes) {
+        long mask = 0L;
+        if (codes != null) {
+            for (String code : codes) {
+                Permission permission = BY_CODE.get(code);
+                if (permission != null) {
+                    mask |= permission.mask();
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Décompile un masque en codes de permission
+     */
+    public static Set<String> codesOf(long mask) {
+        Set<String> codes = new LinkedHashSet<>();
+        for (Permission permission : values()) {
+            if ((mask & permission.mask()) != 0) {
+                codes.add(permission.code);
+            }
+        }
+        return codes;
+    }
 }
@@ -2,6 +2,9 @@ package inc.yowyob.rental_api.core.enums;
 
 import lombok.Getter;
 
+import java.util.Collection;
+import java.util.Optional;
+
 @Getter
 public enum SubscriptionFeature {
     BASIC_VEHICLE_MANAGEMENT("basic_vehicle", "Gestion basique des véhicules"),
@@ -32,4 +35,44 @@ public enum SubscriptionFeature {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Bit représentant la fonctionnalité dans un masque de fonctionnalités
+     */
+    public long mask() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Vérifie si la fonctionnalité est présente dans un masque
+     */
+    public boolean isIn(long featureMask) {
+        return (featureMask & mask()) != 0;
+    }
+
+    /**
+     * Construit le masque d'un ensemble de fonctionnalités
+     */
+    public static long maskOf(Collection<SubscriptionFeature> features) {
+        long mask = 0L;
+        for (SubscriptionFeature feature : features) {
+            mask |= feature.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * Trouve une fonctionnalité par son code
+     */
+    public static Optional<SubscriptionFeature> fromCode(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+        for (SubscriptionFeature feature : values()) {
+            if (feature.code.equalsIgnoreCase(code)) {
+                return Optional.of(feature);
+            }
+        }
+        return Optional.empty();
+    }
 }
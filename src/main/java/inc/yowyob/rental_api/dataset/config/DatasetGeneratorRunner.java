@@ -0,0 +1,168 @@
+package inc.yowyob.rental_api.dataset.config;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.dataset.model.TenantData;
+import inc.yowyob.rental_api.dataset.service.DatasetGenerator;
+import inc.yowyob.rental_api.dataset.service.RequestMixGenerator;
+import inc.yowyob.rental_api.dataset.sink.CassandraDatasetSink;
+import inc.yowyob.rental_api.dataset.sink.DatasetSink;
+import inc.yowyob.rental_api.dataset.sink.FileDatasetSink;
+import inc.yowyob.rental_api.onboarding.service.OnboardingPayloadCodec;
+import inc.yowyob.rental_api.role.service.RoleService;
+import inc.yowyob.rental_api.subscription.entities.SubscriptionPlan;
+import inc.yowyob.rental_api.subscription.service.SubscriptionPlanCatalog;
+import inc.yowyob.rental_api.subscription.service.UsageReconciliationJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.cassandra.core.convert.CassandraConverter;
+import org.springframework.data.cassandra.core.convert.MappingCassandraConverter;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Génère le jeu de données de test de capacité puis arrête l'application.
+ * <p>
+ * Lancement : {@code java -jar rental-api.jar --spring.profiles.active=dataset --app.dataset.organizations=1000}.
+ * Avec {@code app.dataset.target=files}, les données sont écrites en NDJSON dans
+ * {@code app.dataset.output-directory} ; le scénario de charge et le manifeste y sont toujours écrits.
+ */
+@Slf4j
+@Component
+@Profile("dataset")
+@Order(Ordered.LOWEST_PRECEDENCE) // Après les initialiseurs de données
+@RequiredArgsConstructor
+public class DatasetGeneratorRunner implements CommandLineRunner {
+
+    private static final int BCRYPT_STRENGTH = 12;
+    private static final int PROGRESS_INTERVAL = 100;
+
+    private final AppProperties appProperties;
+    private final SubscriptionPlanCatalog subscriptionPlanCatalog;
+    private final RoleService roleService;
+    private final OnboardingPayloadCodec payloadCodec;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<CqlSession> cqlSession;
+    private final ObjectProvider<CassandraConverter> cassandraConverter;
+    private final ObjectProvider<UsageReconciliationJob> usageReconciliationJob;
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(String... args) throws Exception {
+        int exitCode = 0;
+        try {
+            generate();
+        } catch (Exception e) {
+            log.error("Dataset generation failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        final int code = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+
+    private void generate() throws Exception {
+        AppProperties.Dataset properties = appProperties.getDataset();
+        Path outputDirectory = Files.createDirectories(Path.of(properties.getOutputDirectory()));
+        List<SubscriptionPlan> plans = subscriptionPlanCatalog.getActivePlans();
+
+        DatasetGenerator generator = new DatasetGenerator(
+            properties, plans, roleService.getDefaultRoleTemplates(), passwordHash(properties), payloadCodec);
+        RequestMixGenerator requestMix = new RequestMixGenerator(properties.getSeed(), properties.getPassword());
+
+        log.info("Generating dataset: {} organizations x {} users (seed {}, target {})",
+            properties.getOrganizations(), properties.getUsersPerOrganization(), properties.getSeed(), properties.getTarget());
+        long start = System.currentTimeMillis();
+
+        try (DatasetSink sink = createSink(properties, outputDirectory)) {
+            for (int index = 0; index < properties.getOrganizations(); index++) {
+                TenantData tenant = generator.generateTenant(index);
+                sink.write(tenant);
+                requestMix.accept(tenant);
+
+                if ((index + 1) % PROGRESS_INTERVAL == 0) {
+                    log.info("Dataset progress: {}/{} organizations, {} rows written",
+                        index + 1, properties.getOrganizations(), sink.getWrittenRows());
+                }
+            }
+            sink.close();
+
+            long elapsed = Math.max(1, System.currentTimeMillis() - start);
+            log.info("Dataset written: {} rows in {} ms ({} rows/s)",
+                sink.getWrittenRows(), elapsed, sink.getWrittenRows() * 1000 / elapsed);
+        }
+
+        requestMix.write(outputDirectory.resolve("request-mix.ndjson"), properties.getRequestMixSize(), objectMapper);
+        writeManifest(properties, outputDirectory, plans);
+
+        if (properties.isReconcileUsage() && "cassandra".equals(properties.getTarget())) {
+            // Les insertions directes ne passent pas par les compteurs d'utilisation
+            usageReconciliationJob.ifAvailable(UsageReconciliationJob::reconcile);
+        }
+        log.info("Dataset generation completed, request mix and manifest written to {}", outputDirectory.toAbsolutePath());
+    }
+
+    private DatasetSink createSink(AppProperties.Dataset properties, Path outputDirectory) throws Exception {
+        return switch (properties.getTarget()) {
+            case "cassandra" -> {
+                CqlSession session = cqlSession.getIfAvailable();
+                if (session == null) {
+                    throw new IllegalStateException("No Cassandra session available, use app.dataset.target=files");
+                }
+                yield new CassandraDatasetSink(session, cassandraConverter.getObject(), properties.getMaxInFlight());
+            }
+            case "files" -> new FileDatasetSink(outputDirectory, converter(), objectMapper);
+            default -> throw new IllegalArgumentException("Unknown dataset target: " + properties.getTarget());
+        };
+    }
+
+    private CassandraConverter converter() {
+        return cassandraConverter.getIfAvailable(() -> {
+            MappingCassandraConverter converter = new MappingCassandraConverter();
+            converter.afterPropertiesSet();
+            return converter;
+        });
+    }
+
+    /**
+     * Hash BCrypt unique, au sel dérivé de la graine pour que les fichiers soient reproductibles
+     */
+    private static String passwordHash(AppProperties.Dataset properties) throws NoSuchAlgorithmException {
+        SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+        random.setSeed(properties.getSeed());
+        return new BCryptPasswordEncoder(BCRYPT_STRENGTH, random).encode(properties.getPassword());
+    }
+
+    private void writeManifest(AppProperties.Dataset properties, Path outputDirectory,
+                               List<SubscriptionPlan> plans) throws Exception {
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("seed", properties.getSeed());
+        manifest.put("referenceDate", properties.getReferenceDate() != null
+            ? properties.getReferenceDate() : LocalDate.now());
+        manifest.put("organizations", properties.getOrganizations());
+        manifest.put("usersPerOrganization", properties.getUsersPerOrganization());
+        manifest.put("plans", plans.stream().map(SubscriptionPlan::getName).toList());
+        manifest.put("password", properties.getPassword());
+        manifest.put("contextPath", applicationContext.getEnvironment().getProperty("server.servlet.context-path", ""));
+        manifest.put("requestMixSize", properties.getRequestMixSize());
+
+        objectMapper.writerWithDefaultPrettyPrinter()
+            .writeValue(outputDirectory.resolve("manifest.json").toFile(), manifest);
+    }
+}
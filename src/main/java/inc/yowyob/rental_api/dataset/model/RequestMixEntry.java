@@ -0,0 +1,14 @@
+package inc.yowyob.rental_api.dataset.model;
+
+/**
+ * Requête du scénario de charge rejouable.
+ * {@code asUser} est l'email du compte à authentifier (null pour une requête anonyme).
+ */
+public record RequestMixEntry(
+    String name,
+    String method,
+    String path,
+    String asUser,
+    Object body
+) {
+}
@@ -0,0 +1,43 @@
+package inc.yowyob.rental_api.dataset.model;
+
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSession;
+import inc.yowyob.rental_api.role.entities.Role;
+import inc.yowyob.rental_api.role.entities.UserRole;
+import inc.yowyob.rental_api.subscription.entities.OrganizationSubscription;
+import inc.yowyob.rental_api.user.entities.User;
+import inc.yowyob.rental_api.user.entities.UserEmail;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Données générées pour une organisation du jeu de données synthétique
+ */
+public record TenantData(
+    int index,
+    UUID organizationId,
+    User owner,
+    List<User> users,
+    List<Role> roles,
+    List<UserRole> userRoles,
+    List<OrganizationSubscription> subscriptions,
+    List<OnboardingSession> onboardingSessions
+) {
+
+    /**
+     * Réservation de l'email de chaque utilisateur généré : la reprise {@code user-email-lookup}
+     * ne s'exécute qu'une fois et ne couvre pas les chargements postérieurs
+     */
+    public List<UserEmail> userEmails() {
+        return users.stream()
+            .map(user -> new UserEmail(user.getEmail(), user.getId(), user.getCreatedAt()))
+            .toList();
+    }
+
+    /**
+     * Nombre total de lignes à écrire pour cette organisation
+     */
+    public int rowCount() {
+        return 2 * users.size() + roles.size() + userRoles.size() + subscriptions.size() + onboardingSessions.size();
+    }
+}
@@ -0,0 +1,308 @@
+package inc.yowyob.rental_api.dataset.service;
+
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.core.enums.*;
+import inc.yowyob.rental_api.dataset.model.TenantData;
+import inc.yowyob.rental_api.onboarding.dto.OrganizationInfoDto;
+import inc.yowyob.rental_api.onboarding.dto.OwnerInfoDto;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSession;
+import inc.yowyob.rental_api.onboarding.service.OnboardingPayloadCodec;
+import inc.yowyob.rental_api.role.dto.RoleTemplateDto;
+import inc.yowyob.rental_api.role.entities.Role;
+import inc.yowyob.rental_api.role.entities.UserRole;
+import inc.yowyob.rental_api.subscription.entities.OrganizationSubscription;
+import inc.yowyob.rental_api.subscription.entities.SubscriptionPlan;
+import inc.yowyob.rental_api.user.entities.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Générateur déterministe du jeu de données multi-organisations.
+ * <p>
+ * Chaque organisation est produite par un générateur pseudo-aléatoire dérivé de la graine
+ * et de son index : à graine, date de référence et forfaits identiques, l'organisation n
+ * est toujours la même, quel que soit l'ordre ou le nombre d'organisations générées
+ * (les souscriptions référencent les IDs des forfaits existants).
+ * Les identifiants et dates sont donc fixés ici et jamais laissés aux constructeurs des entités.
+ */
+public class DatasetGenerator {
+
+    private static final String[] FIRST_NAMES = {
+        "Amina", "Boris", "Carine", "Daniel", "Estelle", "Fabrice", "Grace", "Hervé",
+        "Inès", "Joël", "Karine", "Landry", "Mireille", "Nadège", "Olivier", "Pascaline"
+    };
+    private static final String[] LAST_NAMES = {
+        "Mbarga", "Nkoulou", "Essomba", "Fotso", "Tchoupo", "Ngono", "Atangana", "Kamga",
+        "Biyong", "Owona", "Manga", "Ekotto", "Nana", "Eto'o", "Abena", "Djoumessi"
+    };
+    private static final String[] CITIES = {"Douala", "Yaoundé", "Bafoussam", "Garoua", "Kribi", "Limbé"};
+    private static final String[] PAYMENT_METHODS = {"MOBILE_MONEY", "ORANGE_MONEY", "CARD", "BANK_TRANSFER"};
+
+    private final AppProperties.Dataset properties;
+    private final List<SubscriptionPlan> plans;
+    private final List<RoleTemplateDto> roleTemplates;
+    private final String passwordHash;
+    private final OnboardingPayloadCodec payloadCodec;
+    private final LocalDateTime referenceTime;
+
+    public DatasetGenerator(AppProperties.Dataset properties, List<SubscriptionPlan> plans,
+                            List<RoleTemplateDto> roleTemplates, String passwordHash,
+                            OnboardingPayloadCodec payloadCodec) {
+        if (plans.isEmpty()) {
+            throw new IllegalStateException("No subscription plan available to build the dataset");
+        }
+        if (roleTemplates.isEmpty()) {
+            throw new IllegalStateException("No default role template available to build the dataset");
+        }
+        this.properties = properties;
+        this.plans = plans.stream().sorted(Comparator.comparing(SubscriptionPlan::getName)).toList();
+        this.roleTemplates = List.copyOf(roleTemplates);
+        this.passwordHash = passwordHash;
+        this.payloadCodec = payloadCodec;
+        LocalDate referenceDate = properties.getReferenceDate() != null ? properties.getReferenceDate() : LocalDate.now();
+        this.referenceTime = referenceDate.atStartOfDay();
+    }
+
+    /**
+     * Génère l'organisation d'index donné
+     */
+    public TenantData generateTenant(int index) {
+        Random random = randomFor(index);
+        UUID organizationId = uuid(random);
+        LocalDateTime organizationCreatedAt = referenceTime.minusDays(30 + random.nextInt(700));
+
+        User owner = user(random, index, -1, organizationId, UserType.OWNER, organizationCreatedAt);
+        List<User> users = new ArrayList<>();
+        users.add(owner);
+        for (int i = 0; i < properties.getUsersPerOrganization(); i++) {
+            users.add(user(random, index, i, organizationId, UserType.STAFF,
+                organizationCreatedAt.plusDays(random.nextInt(30)).plusMinutes(random.nextInt(1440))));
+        }
+
+        List<Role> roles = roles(random, organizationId, owner.getId(), organizationCreatedAt);
+        List<UserRole> userRoles = userRoles(random, organizationId, owner, users, roles);
+        List<OrganizationSubscription> subscriptions = subscriptions(random, index, organizationId, organizationCreatedAt);
+        List<OnboardingSession> sessions = onboardingSessions(random, index, organizationId, owner, organizationCreatedAt);
+
+        return new TenantData(index, organizationId, owner, users, roles, userRoles, subscriptions, sessions);
+    }
+
+    /**
+     * Email du propriétaire d'une organisation
+     */
+    public String ownerEmail(int index) {
+        return "owner" + index + "@" + properties.getEmailDomain();
+    }
+
+    /**
+     * Email d'un membre du personnel d'une organisation
+     */
+    public String staffEmail(int index, int staffIndex) {
+        return "user" + index + "." + staffIndex + "@" + properties.getEmailDomain();
+    }
+
+    private User user(Random random, int index, int staffIndex, UUID organizationId,
+                      UserType userType, LocalDateTime createdAt) {
+        String email = staffIndex < 0 ? ownerEmail(index) : staffEmail(index, staffIndex);
+        User user = new User(email, passwordHash, pick(random, FIRST_NAMES), pick(random, LAST_NAMES), userType);
+        user.setId(uuid(random));
+        user.setOrganizationId(organizationId);
+        // Numéro unique : index d'organisation et rang dans l'organisation
+        user.setPhone(String.format("+2376%04d%04d", index % 10_000, staffIndex + 1));
+        user.setCity(pick(random, CITIES));
+        user.setCountry("Cameroun");
+        user.setEmailVerified(true);
+        user.setStatus(userType == UserType.OWNER ? UserStatus.ACTIVE : staffStatus(random));
+        user.setCreatedAt(createdAt);
+        user.setUpdatedAt(createdAt);
+        if (random.nextInt(4) > 0) {
+            user.setLastLoginAt(referenceTime.minusMinutes(random.nextInt(60 * 24 * 30)));
+        }
+        return user;
+    }
+
+    private static UserStatus staffStatus(Random random) {
+        int draw = random.nextInt(100);
+        if (draw < 90) {
+            return UserStatus.ACTIVE;
+        }
+        return draw < 96 ? UserStatus.PENDING_VERIFICATION : UserStatus.SUSPENDED;
+    }
+
+    private List<Role> roles(Random random, UUID organizationId, UUID ownerId, LocalDateTime createdAt) {
+        List<Role> roles = new ArrayList<>();
+        for (RoleTemplateDto template : roleTemplates) {
+            Role role = new Role(template.getName(), template.getDescription(), organizationId, template.getRoleType());
+            role.setId(uuid(random));
+            role.setPermissions(new TreeSet<>(template.getDefaultPermissions()));
+            role.setPriority(template.getDefaultPriority());
+            role.setColor(template.getDefaultColor());
+            role.setIcon(template.getDefaultIcon());
+            role.setIsDefaultRole(true);
+            role.setCreatedBy(ownerId);
+            role.setUpdatedBy(ownerId);
+            role.setCreatedAt(createdAt);
+            role.setUpdatedAt(createdAt);
+            roles.add(role);
+        }
+        return roles;
+    }
+
+    private List<UserRole> userRoles(Random random, UUID organizationId, User owner, List<User> users, List<Role> roles) {
+        Role ownerRole = roles.stream()
+            .filter(role -> role.getRoleType() == RoleType.ORGANIZATION_OWNER)
+            .findFirst()
+            .orElse(roles.get(0));
+        List<Role> staffRoles = roles.stream().filter(role -> role != ownerRole).toList();
+
+        List<UserRole> userRoles = new ArrayList<>();
+        userRoles.add(userRole(random, owner, ownerRole, owner.getId(), false));
+
+        for (User user : users) {
+            if (user == owner || staffRoles.isEmpty()) {
+                continue;
+            }
+            int count = 1 + random.nextInt(Math.min(properties.getMaxRolesPerUser(), staffRoles.size()));
+            List<Role> candidates = new ArrayList<>(staffRoles);
+            Collections.shuffle(candidates, random);
+            for (Role role : candidates.subList(0, count)) {
+                boolean expiring = random.nextDouble() < properties.getExpiringAssignmentRatio();
+                userRoles.add(userRole(random, user, role, owner.getId(), expiring));
+            }
+        }
+        return userRoles;
+    }
+
+    private UserRole userRole(Random random, User user, Role role, UUID assignedBy, boolean expiring) {
+        UserRole userRole = new UserRole(user.getId(), role.getId(), role.getOrganizationId());
+        userRole.setId(uuid(random));
+        LocalDateTime assignedAt = user.getCreatedAt().plusHours(1 + random.nextInt(72));
+        userRole.setAssignedAt(assignedAt);
+        userRole.setAssignedBy(assignedBy);
+        userRole.setAssignmentReason("dataset");
+        userRole.setCreatedAt(assignedAt);
+        userRole.setUpdatedAt(assignedAt);
+        if (expiring) {
+            // Un quart des assignations temporaires est déjà échu mais pas encore révoqué
+            userRole.setExpiresAt(referenceTime.plusDays(random.nextInt(80) - 20L));
+        }
+        return userRole;
+    }
+
+    private List<OrganizationSubscription> subscriptions(Random random, int index, UUID organizationId,
+                                                         LocalDateTime organizationCreatedAt) {
+        // L'index garantit que chaque forfait est représenté
+        SubscriptionPlan plan = plans.get(index % plans.size());
+        int duration = plan.getDurationDays() != null ? plan.getDurationDays() : 30;
+
+        List<OrganizationSubscription> subscriptions = new ArrayList<>();
+        LocalDateTime currentStart = referenceTime.minusDays(random.nextInt(duration));
+
+        if (random.nextInt(2) == 0) {
+            SubscriptionPlan previousPlan = plans.get(random.nextInt(plans.size()));
+            int previousDuration = previousPlan.getDurationDays() != null ? previousPlan.getDurationDays() : 30;
+            LocalDateTime previousStart = currentStart.minusDays(previousDuration);
+            SubscriptionStatus previousStatus = random.nextInt(5) == 0 ? SubscriptionStatus.CANCELLED : SubscriptionStatus.EXPIRED;
+            subscriptions.add(subscription(random, organizationId, previousPlan, previousStart, previousDuration, previousStatus));
+        }
+        subscriptions.add(subscription(random, organizationId, plan, currentStart, duration, SubscriptionStatus.ACTIVE));
+        return subscriptions;
+    }
+
+    private OrganizationSubscription subscription(Random random, UUID organizationId, SubscriptionPlan plan,
+                                                  LocalDateTime start, int duration, SubscriptionStatus status) {
+        OrganizationSubscription subscription =
+            new OrganizationSubscription(organizationId, plan.getId(), start, start.plusDays(duration));
+        subscription.setId(uuid(random));
+        subscription.setStatus(status);
+        subscription.setAmountPaid(plan.getPrice() != null ? plan.getPrice() : BigDecimal.ZERO);
+        subscription.setPaymentMethod(pick(random, PAYMENT_METHODS));
+        subscription.setPaymentTransactionId("TX-" + Long.toHexString(random.nextLong()));
+        subscription.setAutoRenewal(random.nextBoolean());
+        subscription.setCreatedAt(start);
+        subscription.setUpdatedAt(start);
+        if (plan.isTrialPlan()) {
+            subscription.setIsTrial(true);
+            subscription.setTrialStartDate(start);
+            subscription.setTrialEndDate(start.plusDays(duration));
+        }
+        return subscription;
+    }
+
+    private List<OnboardingSession> onboardingSessions(Random random, int index, UUID organizationId, User owner,
+                                                       LocalDateTime organizationCreatedAt) {
+        List<OnboardingSession> sessions = new ArrayList<>();
+
+        OnboardingSession completed = session(random, organizationCreatedAt.minusHours(2), OnboardingStatus.COMPLETED);
+        completed.setUserId(owner.getId());
+        completed.setCreatedOrganizationId(organizationId);
+        completed.setCompletedAt(organizationCreatedAt);
+        sessions.add(completed);
+
+        // Les autres sessions parcourent tous les statuts, décalés d'une organisation à l'autre
+        OnboardingStatus[] statuses = OnboardingStatus.values();
+        for (int i = 1; i < properties.getOnboardingSessionsPerOrganization(); i++) {
+            OnboardingStatus status = statuses[(index + i) % statuses.length];
+            LocalDateTime createdAt = status == OnboardingStatus.IN_PROGRESS
+                ? referenceTime.minusMinutes(random.nextInt(60 * 20))
+                : referenceTime.minusDays(1 + random.nextInt(60));
+            OnboardingSession session = session(random, createdAt, status);
+            if (status == OnboardingStatus.COMPLETED) {
+                session.setCompletedAt(createdAt.plusMinutes(20));
+            }
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    private OnboardingSession session(Random random, LocalDateTime createdAt, OnboardingStatus status) {
+        OnboardingSession session = new OnboardingSession(false);
+        session.setId(uuid(random));
+        session.setStatus(status);
+        session.setCreatedAt(createdAt);
+        LocalDateTime updatedAt = createdAt.plusMinutes(random.nextInt(30));
+        session.setUpdatedAt(updatedAt);
+        session.setExpiresAt(createdAt.plusHours(24));
+
+        OnboardingStep[] steps = OnboardingStep.values();
+        OnboardingStep step = status == OnboardingStatus.COMPLETED
+            ? steps[steps.length - 1]
+            : steps[random.nextInt(steps.length)];
+        session.setCurrentStep(step);
+        session.setCompletedSteps(0);
+        if (step.ordinal() > 0) {
+            OwnerInfoDto ownerInfo = new OwnerInfoDto();
+            ownerInfo.setFirstName(pick(random, FIRST_NAMES));
+            session.updateOwnerInfo(payloadCodec.encode(ownerInfo));
+        }
+        if (step.ordinal() > 1) {
+            OrganizationInfoDto organizationInfo = new OrganizationInfoDto();
+            organizationInfo.setCity(pick(random, CITIES));
+            session.updateOrganizationInfo(payloadCodec.encode(organizationInfo));
+        }
+        session.setCurrentStep(step);
+        session.setUpdatedAt(updatedAt);
+        return session;
+    }
+
+    private Random randomFor(int index) {
+        // Mélange de la graine et de l'index (constante de Fibonacci 64 bits)
+        return new Random(properties.getSeed() * 0x9E3779B97F4A7C15L + index);
+    }
+
+    /**
+     * UUID de version 4 tiré du générateur
+     */
+    private static UUID uuid(Random random) {
+        long mostSignificant = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,153 @@
+package inc.yowyob.rental_api.dataset.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api.core.enums.UserStatus;
+import inc.yowyob.rental_api.dataset.model.RequestMixEntry;
+import inc.yowyob.rental_api.dataset.model.TenantData;
+import inc.yowyob.rental_api.user.entities.User;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Construit le scénario de charge rejouable associé au jeu de données.
+ * <p>
+ * Un échantillon borné de comptes actifs est retenu pendant la génération (échantillonnage
+ * par réservoir), puis les requêtes sont tirées selon une pondération proche du trafic
+ * observé : majoritairement des lectures de rôles et de permissions. Les chemins sont
+ * relatifs au context path du serveur.
+ */
+public class RequestMixGenerator {
+
+    private static final int MAX_PRINCIPALS = 5_000;
+    private static final int STAFF_SAMPLED_PER_TENANT = 2;
+
+    /**
+     * Type de requête et poids relatif dans le scénario
+     */
+    private enum RequestKind {
+        LOGIN(5),
+        USER_PERMISSIONS(30),
+        USER_ROLES(20),
+        ORGANIZATION_ROLES(15),
+        ROLE_STATS(5),
+        SUBSCRIPTION_PLANS(15),
+        ONBOARDING_PLANS(5),
+        PERMISSIONS_CATALOG(5);
+
+        private final int weight;
+
+        RequestKind(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Compte utilisable par le scénario, avec le propriétaire de son organisation
+     */
+    private record Principal(String email, UUID userId, UUID organizationId, String ownerEmail) {
+    }
+
+    private final Random random;
+    private final String password;
+    private final List<Principal> principals = new ArrayList<>();
+    private long seen;
+
+    public RequestMixGenerator(long seed, String password) {
+        this.random = new Random(seed);
+        this.password = password;
+    }
+
+    /**
+     * Retient des comptes de l'organisation pour le scénario
+     */
+    public void accept(TenantData tenant) {
+        String ownerEmail = tenant.owner().getEmail();
+        offer(new Principal(ownerEmail, tenant.owner().getId(), tenant.organizationId(), ownerEmail));
+
+        int sampled = 0;
+        for (User user : tenant.users()) {
+            if (sampled == STAFF_SAMPLED_PER_TENANT) {
+                break;
+            }
+            if (user != tenant.owner() && user.getStatus() == UserStatus.ACTIVE) {
+                offer(new Principal(user.getEmail(), user.getId(), tenant.organizationId(), ownerEmail));
+                sampled++;
+            }
+        }
+    }
+
+    /**
+     * Écrit le scénario au format NDJSON (une requête par ligne)
+     */
+    public void write(Path file, int size, ObjectMapper objectMapper) throws IOException {
+        if (principals.isEmpty()) {
+            throw new IllegalStateException("No active account sampled, cannot build the request mix");
+        }
+
+        int totalWeight = Arrays.stream(RequestKind.values()).mapToInt(kind -> kind.weight).sum();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < size; i++) {
+                Principal principal = principals.get(random.nextInt(principals.size()));
+                RequestMixEntry entry = entry(pick(totalWeight), principal);
+                writer.write(objectMapper.writeValueAsString(entry));
+                writer.newLine();
+            }
+        }
+    }
+
+    private RequestMixEntry entry(RequestKind kind, Principal principal) {
+        return switch (kind) {
+            case LOGIN -> new RequestMixEntry("login", "POST", "/api/v1/auth/login", null,
+                loginBody(principal.email()));
+            case USER_PERMISSIONS -> new RequestMixEntry("user-permissions", "GET",
+                "/api/v1/roles/user/" + principal.userId() + "/permissions", principal.email(), null);
+            case USER_ROLES -> new RequestMixEntry("user-roles", "GET",
+                "/api/v1/roles/user/" + principal.userId(), principal.email(), null);
+            case ORGANIZATION_ROLES -> new RequestMixEntry("organization-roles", "GET",
+                "/api/v1/roles/organization/" + principal.organizationId(), principal.ownerEmail(), null);
+            case ROLE_STATS -> new RequestMixEntry("role-stats", "GET",
+                "/api/v1/roles/stats/" + principal.organizationId(), principal.ownerEmail(), null);
+            case SUBSCRIPTION_PLANS -> new RequestMixEntry("subscription-plans", "GET",
+                "/api/v1/subscription/plans", principal.email(), null);
+            case ONBOARDING_PLANS -> new RequestMixEntry("onboarding-plans", "GET",
+                "/api/v1/onboarding/plans", null, null);
+            case PERMISSIONS_CATALOG -> new RequestMixEntry("permissions-catalog", "GET",
+                "/api/v1/roles/permissions", principal.ownerEmail(), null);
+        };
+    }
+
+    private Map<String, String> loginBody(String email) {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("email", email);
+        body.put("password", password);
+        return body;
+    }
+
+    private RequestKind pick(int totalWeight) {
+        int draw = random.nextInt(totalWeight);
+        for (RequestKind kind : RequestKind.values()) {
+            draw -= kind.weight;
+            if (draw < 0) {
+                return kind;
+            }
+        }
+        throw new IllegalStateException("Unreachable request weight");
+    }
+
+    private void offer(Principal principal) {
+        seen++;
+        if (principals.size() < MAX_PRINCIPALS) {
+            principals.add(principal);
+            return;
+        }
+        long slot = (long) (random.nextDouble() * seen);
+        if (slot < MAX_PRINCIPALS) {
+            principals.set((int) slot, principal);
+        }
+    }
+}
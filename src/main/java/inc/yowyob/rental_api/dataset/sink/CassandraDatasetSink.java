@@ -0,0 +1,81 @@
+package inc.yowyob.rental_api.dataset.sink;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import inc.yowyob.rental_api.dataset.model.TenantData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.cassandra.core.AsyncCassandraTemplate;
+import org.springframework.data.cassandra.core.convert.CassandraConverter;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Chargement direct par le driver : insertions asynchrones avec un nombre borné de requêtes en vol.
+ * <p>
+ * Le sémaphore maintient le pipeline plein sans saturer les files de requêtes des nœuds ;
+ * la première erreur interrompt le chargement.
+ */
+@Slf4j
+public class CassandraDatasetSink implements DatasetSink {
+
+    private final AsyncCassandraTemplate template;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final AtomicLong writtenRows = new AtomicLong();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    public CassandraDatasetSink(CqlSession session, CassandraConverter converter, int maxInFlight) {
+        this.template = new AsyncCassandraTemplate(session, converter);
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    @Override
+    public void write(TenantData tenant) throws InterruptedException {
+        insertAll(tenant.users());
+        insertAll(tenant.userEmails());
+        insertAll(tenant.roles());
+        insertAll(tenant.userRoles());
+        insertAll(tenant.subscriptions());
+        insertAll(tenant.onboardingSessions());
+    }
+
+    @Override
+    public long getWrittenRows() {
+        return writtenRows.get();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        // Tous les permis récupérés : plus aucune requête en vol
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        checkFailure();
+    }
+
+    private void insertAll(List<?> entities) throws InterruptedException {
+        for (Object entity : entities) {
+            checkFailure();
+            inFlight.acquire();
+            template.insert(entity).whenComplete((result, error) -> {
+                inFlight.release();
+                if (error != null) {
+                    if (failure.compareAndSet(null, error)) {
+                        log.error("Dataset insert failed for {}: {}", entity.getClass().getSimpleName(), error.getMessage());
+                    }
+                } else {
+                    writtenRows.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    private void checkFailure() {
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new IllegalStateException("Dataset load aborted after a failed insert", error);
+        }
+    }
+}
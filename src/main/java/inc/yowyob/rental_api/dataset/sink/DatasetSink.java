@@ -0,0 +1,25 @@
+package inc.yowyob.rental_api.dataset.sink;
+
+import inc.yowyob.rental_api.dataset.model.TenantData;
+
+/**
+ * Destination des données générées
+ */
+public interface DatasetSink extends AutoCloseable {
+
+    /**
+     * Écrit toutes les lignes d'une organisation
+     */
+    void write(TenantData tenant) throws Exception;
+
+    /**
+     * Nombre de lignes écrites
+     */
+    long getWrittenRows();
+
+    /**
+     * Attend la fin des écritures en cours et libère les ressources
+     */
+    @Override
+    void close() throws Exception;
+}
@@ -0,0 +1,95 @@
+package inc.yowyob.rental_api.dataset.sink;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api.dataset.model.TenantData;
+import org.springframework.data.cassandra.core.convert.CassandraConverter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Export en fichiers pour un chargement hors ligne (dsbulk ou équivalent).
+ * <p>
+ * Un fichier NDJSON par table, dont les clés sont les noms de colonnes Cassandra
+ * produits par le convertisseur de mapping : {@code dsbulk load -c json -t <table> -url <fichier>}.
+ */
+public class FileDatasetSink implements DatasetSink {
+
+    private final Path directory;
+    private final CassandraConverter converter;
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, BufferedWriter> writers = new HashMap<>();
+    private long writtenRows;
+
+    public FileDatasetSink(Path directory, CassandraConverter converter, ObjectMapper objectMapper) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.converter = converter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void write(TenantData tenant) throws IOException {
+        writeAll(tenant.users());
+        writeAll(tenant.userEmails());
+        writeAll(tenant.roles());
+        writeAll(tenant.userRoles());
+        writeAll(tenant.subscriptions());
+        writeAll(tenant.onboardingSessions());
+    }
+
+    @Override
+    public long getWrittenRows() {
+        return writtenRows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (BufferedWriter writer : writers.values()) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        writers.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void writeAll(List<?> entities) throws IOException {
+        for (Object entity : entities) {
+            Map<CqlIdentifier, Object> columns = new LinkedHashMap<>();
+            converter.write(entity, columns);
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            columns.forEach((column, value) -> row.put(column.asInternal(), value));
+
+            BufferedWriter writer = writerFor(entity.getClass());
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.newLine();
+            writtenRows++;
+        }
+    }
+
+    private BufferedWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(type, key -> {
+            String table = converter.getMappingContext().getRequiredPersistentEntity(key).getTableName().asInternal();
+            try {
+                return Files.newBufferedWriter(directory.resolve(table + ".ndjson"), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
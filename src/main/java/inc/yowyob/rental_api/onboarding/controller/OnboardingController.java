@@ -10,13 +10,16 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,6 +30,8 @@ import java.util.UUID;
 @Tag(name = "Onboarding", description = "APIs pour le processus d'inscription d'organisation")
 public class OnboardingController {
 
+    private static final int DEFAULT_STATS_DAYS = 30;
+
     private final OnboardingService onboardingService;
     private final SubscriptionService subscriptionService;
 
@@ -35,17 +40,20 @@ public class OnboardingController {
         description = "Retourne la liste des forfaits d'abonnement disponibles pour l'inscription"
     )
     @GetMapping("/plans")
-    public ResponseEntity<ApiResponse<List<SubscriptionPlan>>> getAvailablePlans() {
+    public ResponseEntity<ApiResponse<List<SubscriptionPlan>>> getAvailablePlans(HttpServletRequest request) {
         log.info("GET /onboarding/plans - Fetching available subscription plans");
+        onboardingService.recordVisitor(getVisitorKey(request));
 
         try {
             List<SubscriptionPlan> plans = subscriptionService.getAllActivePlans();
             log.info("Successfully fetched {} subscription plans for onboarding", plans.size());
 
-            return ApiResponseUtil.success(
+            return ApiResponseUtil.cacheable(
                 plans,
                 "Forfaits d'abonnement disponibles récupérés avec succès",
-                plans.size()
+                plans.size(),
+                subscriptionService.getPlanCatalogCacheControl(),
+                subscriptionService.getPlanCatalogETag()
             );
         } catch (Exception e) {
             log.error("Error fetching subscription plans for onboarding", e);
@@ -71,8 +79,9 @@ public class OnboardingController {
         )
     })
     @PostMapping("/session")
-    public ResponseEntity<ApiResponse<OnboardingSessionDto>> createSession() {
+    public ResponseEntity<ApiResponse<OnboardingSessionDto>> createSession(HttpServletRequest request) {
         log.info("POST /onboarding/session - Creating new onboarding session");
+        onboardingService.recordVisitor(getVisitorKey(request));
 
         try {
             OnboardingSessionDto session = onboardingService.createOnboardingSession();
@@ -200,10 +209,11 @@ public class OnboardingController {
 
     @Operation(
         summary = "Finaliser l'onboarding (Étape 3)",
-        description = "Termine le processus d'inscription avec création du compte OWNER, de l'organisation et de l'abonnement"
+        description = "Démarre la création du compte OWNER, de l'organisation et de l'abonnement. "
+            + "Le traitement est asynchrone : la réponse 202 indique l'adresse de suivi de la finalisation"
     )
     @PostMapping("/session/{sessionId}/complete")
-    public ResponseEntity<ApiResponse<OnboardingCompletedDto>> completeOnboarding(
+    public ResponseEntity<ApiResponse<OnboardingCompletionStatusDto>> completeOnboarding(
         @Parameter(description = "ID de la session d'onboarding")
         @PathVariable UUID sessionId,
         @Parameter(description = "Informations de souscription et paiement")
@@ -212,14 +222,20 @@ public class OnboardingController {
         log.info("POST /onboarding/session/{}/complete - Completing onboarding", sessionId);
 
         try {
-            OnboardingCompletedDto result = onboardingService.completeOnboarding(sessionId, subscriptionInfo);
-            log.info("Successfully completed onboarding for session: {}", sessionId);
-
-            return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponseUtil.success(
-                    result,
-                    "Processus d'inscription terminé avec succès. Compte propriétaire et organisation créés."
-                ).getBody());
+            OnboardingCompletionStatusDto status = onboardingService.startCompletion(sessionId, subscriptionInfo);
+            log.info("Onboarding completion accepted for session: {} ({})", sessionId, status.getStatus());
+
+            if (status.getStatus().isFinished()) {
+                return ApiResponseUtil.success(status, "Finalisation du processus d'inscription déjà traitée");
+            }
+            return ApiResponseUtil.accepted(
+                status,
+                "Finalisation du processus d'inscription en cours",
+                ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/api/v1/onboarding/session/{sessionId}/completion")
+                    .buildAndExpand(sessionId)
+                    .toUri()
+            );
         } catch (IllegalArgumentException e) {
             log.warn("Invalid session ID or data for completing onboarding: {}", sessionId, e);
             return ApiResponseUtil.badRequest(e.getMessage());
@@ -235,6 +251,30 @@ public class OnboardingController {
         }
     }
 
+    @Operation(
+        summary = "Suivre la finalisation de l'onboarding",
+        description = "Retourne l'avancement de la finalisation et, une fois terminée, l'organisation et l'abonnement créés"
+    )
+    @GetMapping("/session/{sessionId}/completion")
+    public ResponseEntity<ApiResponse<OnboardingCompletionStatusDto>> getCompletionStatus(
+        @Parameter(description = "ID de la session d'onboarding")
+        @PathVariable UUID sessionId
+    ) {
+        log.debug("GET /onboarding/session/{}/completion - Fetching completion status", sessionId);
+
+        try {
+            return onboardingService.getCompletionStatus(sessionId)
+                .map(status -> ApiResponseUtil.success(status, "Avancement de la finalisation récupéré avec succès"))
+                .orElse(ApiResponseUtil.notFound("Aucune finalisation démarrée pour cette session"));
+        } catch (Exception e) {
+            log.error("Error fetching completion status for session: {}", sessionId, e);
+            return ApiResponseUtil.error(
+                "Erreur lors de la récupération de l'avancement de la finalisation",
+                500
+            );
+        }
+    }
+
     @Operation(
         summary = "Récupérer les informations du propriétaire",
         description = "Retourne les informations du propriétaire pour une session donnée"
@@ -361,6 +401,71 @@ public class OnboardingController {
         }
     }
 
+    @Operation(
+        summary = "Statistiques quotidiennes d'onboarding",
+        description = "Retourne, jour par jour, les visiteurs distincts et les transitions du tunnel d'inscription (30 derniers jours par défaut). Réservé au super administrateur"
+    )
+    @GetMapping("/stats/daily")
+    public ResponseEntity<ApiResponse<List<OnboardingDailyStatsDto>>> getDailyStats(
+        @Parameter(description = "Premier jour inclus (AAAA-MM-JJ)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "Dernier jour inclus (AAAA-MM-JJ)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_STATS_DAYS - 1);
+        log.info("GET /onboarding/stats/daily - Fetching daily onboarding statistics from {} to {}", start, end);
+
+        try {
+            List<OnboardingDailyStatsDto> stats = onboardingService.getDailyStats(start, end);
+            return ApiResponseUtil.success(
+                stats,
+                "Statistiques quotidiennes d'onboarding récupérées avec succès",
+                stats.size()
+            );
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid daily onboarding statistics range: {}", e.getMessage());
+            return ApiResponseUtil.badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error fetching daily onboarding statistics", e);
+            return ApiResponseUtil.error(
+                "Erreur lors de la récupération des statistiques quotidiennes d'onboarding",
+                500
+            );
+        }
+    }
+
+    @Operation(
+        summary = "Tunnel de conversion de l'onboarding",
+        description = "Retourne, pour chaque étape, le nombre de sessions, le taux de conversion et le taux d'abandon sur la période (30 derniers jours par défaut). Réservé au super administrateur"
+    )
+    @GetMapping("/stats/funnel")
+    public ResponseEntity<ApiResponse<OnboardingFunnelDto>> getFunnel(
+        @Parameter(description = "Premier jour inclus (AAAA-MM-JJ)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "Dernier jour inclus (AAAA-MM-JJ)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_STATS_DAYS - 1);
+        log.info("GET /onboarding/stats/funnel - Fetching onboarding funnel from {} to {}", start, end);
+
+        try {
+            OnboardingFunnelDto funnel = onboardingService.getFunnel(start, end);
+            return ApiResponseUtil.success(
+                funnel,
+                "Tunnel d'onboarding récupéré avec succès"
+            );
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid onboarding funnel range: {}", e.getMessage());
+            return ApiResponseUtil.badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error fetching onboarding funnel", e);
+            return ApiResponseUtil.error(
+                "Erreur lors de la récupération du tunnel d'onboarding",
+                500
+            );
+        }
+    }
+
     @Operation(
         summary = "Étendre la durée d'une session",
         description = "Prolonge la durée de vie d'une session d'onboarding active"
@@ -375,11 +480,19 @@ public class OnboardingController {
         log.info("PATCH /onboarding/session/{}/extend - Extending session by {} hours", sessionId, additionalHours);
 
         try {
-            // TODO: Implémenter la méthode extendSession dans le service
+            OnboardingSessionDto extended = onboardingService.extendSession(sessionId, additionalHours);
+            log.info("Successfully extended onboarding session: {}", sessionId);
+
             return ApiResponseUtil.success(
-                null,
-                "Fonctionnalité d'extension de session à implémenter"
+                extended,
+                "Session d'onboarding prolongée avec succès"
             );
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid session ID or duration for extending session: {}", sessionId, e);
+            return ApiResponseUtil.badRequest(e.getMessage());
+        } catch (IllegalStateException e) {
+            log.warn("Invalid session state for extending session: {}", sessionId, e);
+            return ApiResponseUtil.badRequest(e.getMessage());
         } catch (Exception e) {
             log.error("Error extending onboarding session: {}", sessionId, e);
             return ApiResponseUtil.error(
@@ -436,4 +549,20 @@ public class OnboardingController {
             );
         }
     }
+
+    /**
+     * Identifie un visiteur : identifiant fourni par le client, sinon adresse IP et navigateur
+     */
+    private String getVisitorKey(HttpServletRequest request) {
+        String visitorId = request.getHeader("X-Visitor-Id");
+        if (visitorId != null && !visitorId.isBlank()) {
+            return visitorId.trim();
+        }
+
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        String ip = xForwardedFor != null && !xForwardedFor.isEmpty()
+            ? xForwardedFor.split(",")[0].trim()
+            : request.getRemoteAddr();
+        return ip + "|" + request.getHeader("User-Agent");
+    }
 }
@@ -0,0 +1,33 @@
+package inc.yowyob.rental_api.onboarding.dto;
+
+import inc.yowyob.rental_api.core.enums.OnboardingSagaStatus;
+import inc.yowyob.rental_api.core.enums.OnboardingSagaStep;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO d'avancement de la finalisation asynchrone d'un onboarding
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnboardingCompletionStatusDto {
+
+    private UUID sessionId;
+    private OnboardingSagaStatus status;
+    private List<OnboardingSagaStep> completedSteps;
+    private Integer attempts;
+    private String error; // Renseigné si la finalisation a échoué
+
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    private OnboardingCompletedDto result; // Renseigné une fois la finalisation terminée
+}
@@ -0,0 +1,28 @@
+package inc.yowyob.rental_api.onboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO des compteurs du tunnel d'onboarding pour une journée
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnboardingDailyStatsDto {
+
+    private LocalDate date;
+    private Long visitors; // Visiteurs distincts (estimation HyperLogLog)
+    private Long sessionsStarted;
+    private Long ownerInfoSaved;
+    private Long organizationInfoSaved;
+    private Long completed;
+    private Long cancelled;
+    private Long expired;
+    private Long failed;
+}
@@ -0,0 +1,30 @@
+package inc.yowyob.rental_api.onboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO du tunnel de conversion de l'onboarding sur une période
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnboardingFunnelDto {
+
+    private LocalDate from;
+    private LocalDate to;
+
+    private Long visitors; // Visiteurs distincts sur la période (estimation HyperLogLog)
+    private Long sessionsStarted;
+    private Double visitorConversionRate; // Pourcentage de visiteurs ayant démarré une session
+
+    private List<OnboardingFunnelStepDto> steps;
+
+    private Double completionRate; // Pourcentage des sessions démarrées arrivées au bout
+}
@@ -0,0 +1,22 @@
+package inc.yowyob.rental_api.onboarding.dto;
+
+import inc.yowyob.rental_api.core.enums.OnboardingStep;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de conversion d'une étape du tunnel d'onboarding
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnboardingFunnelStepDto {
+
+    private OnboardingStep step;
+    private Long sessions; // Sessions ayant franchi l'étape
+    private Double conversionRate; // Pourcentage des sessions de l'étape précédente
+    private Double dropOffRate; // Pourcentage perdu depuis l'étape précédente
+}
@@ -0,0 +1,84 @@
+package inc.yowyob.rental_api.onboarding.entities;
+
+import inc.yowyob.rental_api.core.enums.OnboardingFunnelMetric;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.cassandra.core.mapping.CassandraType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+/**
+ * Compteurs du tunnel d'onboarding d'une période (colonnes counter Cassandra).
+ * Une ligne par jour (date ISO) et une ligne {@link #ALL_TIME} pour les totaux.
+ */
+@Data
+@NoArgsConstructor
+@Table("onboarding_daily_stats")
+public class OnboardingDailyStats {
+
+    /**
+     * Période des totaux depuis la mise en service des compteurs
+     */
+    public static final String ALL_TIME = "all";
+
+    @Id
+    @PrimaryKey
+    private String period;
+
+    @Column("sessions_started")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long sessionsStarted;
+
+    @Column("owner_info_saved")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long ownerInfoSaved;
+
+    @Column("organization_info_saved")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long organizationInfoSaved;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long completed;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long cancelled;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long expired;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long failed;
+
+    /**
+     * Valeur d'un compteur
+     */
+    public long getCount(OnboardingFunnelMetric metric) {
+        Long value = switch (metric) {
+            case SESSIONS_STARTED -> sessionsStarted;
+            case OWNER_INFO_SAVED -> ownerInfoSaved;
+            case ORGANIZATION_INFO_SAVED -> organizationInfoSaved;
+            case COMPLETED -> completed;
+            case CANCELLED -> cancelled;
+            case EXPIRED -> expired;
+            case FAILED -> failed;
+        };
+        return value != null ? value : 0L;
+    }
+
+    /**
+     * Modifie la valeur d'un compteur (implémentation en mémoire uniquement)
+     */
+    public void setCount(OnboardingFunnelMetric metric, long value) {
+        switch (metric) {
+            case SESSIONS_STARTED -> sessionsStarted = value;
+            case OWNER_INFO_SAVED -> ownerInfoSaved = value;
+            case ORGANIZATION_INFO_SAVED -> organizationInfoSaved = value;
+            case COMPLETED -> completed = value;
+            case CANCELLED -> cancelled = value;
+            case EXPIRED -> expired = value;
+            case FAILED -> failed = value;
+        }
+    }
+}
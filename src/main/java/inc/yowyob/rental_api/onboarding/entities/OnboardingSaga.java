@@ -0,0 +1,145 @@
+package inc.yowyob.rental_api.onboarding.entities;
+
+import inc.yowyob.rental_api.core.enums.OnboardingSagaStatus;
+import inc.yowyob.rental_api.core.enums.OnboardingSagaStep;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Finalisation d'une session d'onboarding, persistée étape par étape.
+ * <p>
+ * Les identifiants du propriétaire et de l'organisation sont tirés dès le démarrage : rejouer
+ * une étape réécrit les mêmes lignes au lieu d'en créer de nouvelles. Le bail (lease) désigne
+ * le nœud qui exécute la saga ; une saga encore en cours dont le bail a expiré est reprise
+ * par un autre nœud.
+ */
+@Data
+@NoArgsConstructor
+@Table("onboarding_sagas")
+public class OnboardingSaga {
+
+    @Id
+    @PrimaryKey("session_id")
+    private UUID sessionId;
+
+    private OnboardingSagaStatus status;
+
+    // Étapes exécutées, un bit par étape (1 << ordinal)
+    @Column("completed_steps")
+    private Integer completedSteps;
+
+    private Integer attempts;
+
+    @Column("owner_user_id")
+    private UUID ownerUserId;
+
+    @Column("owner_email")
+    private String ownerEmail;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    @Column("organization_name")
+    private String organizationName;
+
+    @Column("subscription_plan_id")
+    private UUID subscriptionPlanId;
+
+    @Column("plan_name")
+    private String planName;
+
+    @Column("subscription_id")
+    private UUID subscriptionId;
+
+    // SubscriptionInfoDto encodé par OnboardingPayloadCodec
+    @Column("subscription_info")
+    private ByteBuffer subscriptionInfo;
+
+    @Column("owner_password_hash")
+    private String ownerPasswordHash;
+
+    @Column("last_error")
+    private String lastError;
+
+    @Column("lease_owner")
+    private UUID leaseOwner;
+
+    @Column("lease_until")
+    private Instant leaseUntil;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column("completed_at")
+    private LocalDateTime completedAt;
+
+    /**
+     * Nouvelle saga pour une session, détenue par le nœud qui la démarre
+     */
+    public OnboardingSaga(UUID sessionId, String ownerEmail, ByteBuffer subscriptionInfo, UUID subscriptionPlanId,
+                          UUID leaseOwner, Instant leaseUntil) {
+        this.sessionId = sessionId;
+        this.ownerEmail = ownerEmail;
+        this.status = OnboardingSagaStatus.RUNNING;
+        this.completedSteps = 0;
+        this.attempts = 1;
+        this.ownerUserId = UUID.randomUUID();
+        this.organizationId = UUID.randomUUID();
+        this.subscriptionPlanId = subscriptionPlanId;
+        this.subscriptionInfo = subscriptionInfo;
+        this.leaseOwner = leaseOwner;
+        this.leaseUntil = leaseUntil;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    // ==================== MÉTHODES MÉTIER ====================
+
+    public boolean hasCompletedStep(OnboardingSagaStep step) {
+        return completedSteps != null && (completedSteps & (1 << step.ordinal())) != 0;
+    }
+
+    public void markStepCompleted(OnboardingSagaStep step) {
+        this.completedSteps = (completedSteps != null ? completedSteps : 0) | (1 << step.ordinal());
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public boolean isRunning() {
+        return status == OnboardingSagaStatus.RUNNING;
+    }
+
+    /**
+     * Marque la saga comme terminée et libère le bail
+     */
+    public void complete() {
+        this.status = OnboardingSagaStatus.COMPLETED;
+        this.completedAt = LocalDateTime.now();
+        this.updatedAt = this.completedAt;
+        this.ownerPasswordHash = null;
+        this.lastError = null;
+        this.leaseOwner = null;
+    }
+
+    /**
+     * Marque la saga comme échouée (après compensation) et libère le bail
+     */
+    public void fail(String error) {
+        this.status = OnboardingSagaStatus.FAILED;
+        this.lastError = error;
+        this.updatedAt = LocalDateTime.now();
+        this.ownerPasswordHash = null;
+        this.leaseOwner = null;
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.data.cassandra.core.mapping.PrimaryKey;
 import org.springframework.data.cassandra.core.mapping.Table;
 
 import jakarta.validation.constraints.NotNull;
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -33,7 +34,15 @@ public class OnboardingSession {
     @NotNull(message = "Status is required")
     private OnboardingStatus status;
 
-    // JSON string contenant les données de chaque étape
+    // Données de chaque étape, encodées par OnboardingPayloadCodec (octet de version + Smile)
+    private ByteBuffer ownerInfo;
+    private ByteBuffer organizationInfo;
+    private ByteBuffer subscriptionInfo;
+
+    // Étapes renseignées, un bit par étape (1 << ordinal) : l'avancement se lit sans décoder les données
+    private Integer completedSteps;
+
+    // Ancien format JSON texte, relu uniquement pour les sessions enregistrées avant l'encodage binaire
     private String ownerInfoData;
     private String organizationInfoData;
     private String subscriptionInfoData;
@@ -55,6 +64,7 @@ public class OnboardingSession {
             this.userId = null; // Pas d'utilisateur au début
             this.currentStep = OnboardingStep.OWNER_INFO;
             this.status = OnboardingStatus.IN_PROGRESS;
+            this.completedSteps = 0;
             this.createdAt = LocalDateTime.now();
             this.updatedAt = LocalDateTime.now();
             this.expiresAt = LocalDateTime.now().plusHours(24); // Session expire après 24h
@@ -91,12 +101,43 @@ public class OnboardingSession {
         return switch (step) {
             case OWNER_INFO -> true; // Toujours possible
             case ORGANIZATION_INFO -> currentStep.ordinal() >= OnboardingStep.OWNER_INFO.ordinal()
-                && ownerInfoData != null && !ownerInfoData.trim().isEmpty();
+                && hasCompletedStep(OnboardingStep.OWNER_INFO);
             case SUBSCRIPTION_PAYMENT -> currentStep.ordinal() >= OnboardingStep.ORGANIZATION_INFO.ordinal()
-                && organizationInfoData != null && !organizationInfoData.trim().isEmpty();
+                && hasCompletedStep(OnboardingStep.ORGANIZATION_INFO);
         };
     }
 
+    /**
+     * Vérifie si les données d'une étape ont été renseignées
+     */
+    public boolean hasCompletedStep(OnboardingStep step) {
+        return (completedStepsMask() & (1 << step.ordinal())) != 0;
+    }
+
+    /**
+     * Masque des étapes renseignées, reconstitué depuis l'ancien format si la colonne est absente
+     */
+    private int completedStepsMask() {
+        if (completedSteps != null) {
+            return completedSteps;
+        }
+        int mask = 0;
+        if (ownerInfoData != null && !ownerInfoData.isBlank()) {
+            mask |= 1 << OnboardingStep.OWNER_INFO.ordinal();
+        }
+        if (organizationInfoData != null && !organizationInfoData.isBlank()) {
+            mask |= 1 << OnboardingStep.ORGANIZATION_INFO.ordinal();
+        }
+        if (subscriptionInfoData != null && !subscriptionInfoData.isBlank()) {
+            mask |= 1 << OnboardingStep.SUBSCRIPTION_PAYMENT.ordinal();
+        }
+        return mask;
+    }
+
+    private void markStepCompleted(OnboardingStep step) {
+        this.completedSteps = completedStepsMask() | (1 << step.ordinal());
+    }
+
     /**
      * Passe à l'étape suivante
      */
@@ -112,8 +153,10 @@ public class OnboardingSession {
     /**
      * Met à jour les informations du propriétaire et passe à l'étape suivante
      */
-    public void updateOwnerInfo(String ownerInfoJson) {
-        this.ownerInfoData = ownerInfoJson;
+    public void updateOwnerInfo(ByteBuffer ownerInfo) {
+        markStepCompleted(OnboardingStep.OWNER_INFO);
+        this.ownerInfo = ownerInfo;
+        this.ownerInfoData = null;
         this.updatedAt = LocalDateTime.now();
 
         // Passer à l'étape suivante si on est encore à la première étape
@@ -125,8 +168,10 @@ public class OnboardingSession {
     /**
      * Met à jour les informations de l'organisation et passe à l'étape suivante
      */
-    public void updateOrganizationInfo(String organizationInfoJson) {
-        this.organizationInfoData = organizationInfoJson;
+    public void updateOrganizationInfo(ByteBuffer organizationInfo) {
+        markStepCompleted(OnboardingStep.ORGANIZATION_INFO);
+        this.organizationInfo = organizationInfo;
+        this.organizationInfoData = null;
         this.updatedAt = LocalDateTime.now();
 
         // Passer à l'étape suivante si on est à l'étape organisation
@@ -138,8 +183,10 @@ public class OnboardingSession {
     /**
      * Met à jour les informations de souscription
      */
-    public void updateSubscriptionInfo(String subscriptionInfoJson) {
-        this.subscriptionInfoData = subscriptionInfoJson;
+    public void updateSubscriptionInfo(ByteBuffer subscriptionInfo) {
+        markStepCompleted(OnboardingStep.SUBSCRIPTION_PAYMENT);
+        this.subscriptionInfo = subscriptionInfo;
+        this.subscriptionInfoData = null;
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -186,20 +233,7 @@ public class OnboardingSession {
         }
 
         int totalSteps = OnboardingStep.values().length;
-        int completedSteps = 0;
-
-        // Compter les étapes complétées
-        if (ownerInfoData != null && !ownerInfoData.trim().isEmpty()) {
-            completedSteps++;
-        }
-        if (organizationInfoData != null && !organizationInfoData.trim().isEmpty()) {
-            completedSteps++;
-        }
-        if (subscriptionInfoData != null && !subscriptionInfoData.trim().isEmpty()) {
-            completedSteps++;
-        }
-
-        return (double) completedSteps / totalSteps * 100.0;
+        return (double) Integer.bitCount(completedStepsMask()) / totalSteps * 100.0;
     }
 
     /**
@@ -225,6 +259,10 @@ public class OnboardingSession {
     public void reset() {
         this.currentStep = OnboardingStep.OWNER_INFO;
         this.status = OnboardingStatus.IN_PROGRESS;
+        this.ownerInfo = null;
+        this.organizationInfo = null;
+        this.subscriptionInfo = null;
+        this.completedSteps = 0;
         this.ownerInfoData = null;
         this.organizationInfoData = null;
         this.subscriptionInfoData = null;
@@ -234,6 +272,16 @@ public class OnboardingSession {
         this.expiresAt = LocalDateTime.now().plusHours(24);
     }
 
+    /**
+     * Copie de la session ; les données d'étape sont remplacées à chaque mise à jour, jamais modifiées
+     */
+    public OnboardingSession copy() {
+        return new OnboardingSession(id, userId, currentStep, status,
+            ownerInfo, organizationInfo, subscriptionInfo, completedSteps,
+            ownerInfoData, organizationInfoData, subscriptionInfoData,
+            createdAt, updatedAt, expiresAt, completedAt, createdOrganizationId);
+    }
+
     /**
      * Obtient un résumé du statut de la session
      */
@@ -0,0 +1,35 @@
+package inc.yowyob.rental_api.onboarding.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Sketch HyperLogLog des visiteurs distincts d'une journée, écrit par chaque nœud.
+ * Chaque nœud réécrit sa propre ligne ; la lecture fusionne les lignes de la journée.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("onboarding_daily_visitors")
+public class OnboardingVisitorSketch {
+
+    @PrimaryKeyColumn(name = "day", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private String day;
+
+    @PrimaryKeyColumn(name = "node_id", ordinal = 1, type = PrimaryKeyType.CLUSTERED)
+    private UUID nodeId;
+
+    private ByteBuffer registers;
+
+    @Column("updated_at")
+    private Instant updatedAt;
+}
@@ -0,0 +1,33 @@
+package inc.yowyob.rental_api.onboarding.repository;
+
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import inc.yowyob.rental_api.core.enums.OnboardingFunnelMetric;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingDailyStats;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Implémentation en mémoire de {@link OnboardingDailyStatsRepository} (profil perf-inmemory)
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemoryOnboardingDailyStatsRepository extends InMemoryCassandraRepository<OnboardingDailyStats, String>
+    implements OnboardingDailyStatsRepository {
+
+    public InMemoryOnboardingDailyStatsRepository(LatencySimulator latencySimulator) {
+        super(OnboardingDailyStats.class, OnboardingDailyStats::getPeriod, latencySimulator);
+    }
+
+    @Override
+    public void increment(String period, OnboardingFunnelMetric metric, long delta) {
+        update(period, key -> {
+            OnboardingDailyStats stats = new OnboardingDailyStats();
+            stats.setPeriod(key);
+            return stats;
+        }, stats -> {
+            stats.setCount(metric, stats.getCount(metric) + delta);
+            return stats;
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package inc.yowyob.rental_api.onboarding.repository;
+
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSaga;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implémentation en mémoire de {@link OnboardingSagaRepository} (profil perf-inmemory).
+ * Les durées de conservation sont ignorées.
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemoryOnboardingSagaRepository extends InMemoryCassandraRepository<OnboardingSaga, UUID>
+    implements OnboardingSagaRepository {
+
+    public InMemoryOnboardingSagaRepository(LatencySimulator latencySimulator) {
+        super(OnboardingSaga.class, OnboardingSaga::getSessionId, latencySimulator);
+    }
+
+    @Override
+    public List<OnboardingSaga> findRecoverable(Instant now) {
+        return findWhere(saga -> saga.isRunning() && lt(saga.getLeaseUntil(), now));
+    }
+
+    @Override
+    public boolean insertIfAbsent(OnboardingSaga saga, Duration ttl) {
+        AtomicBoolean inserted = new AtomicBoolean();
+        update(saga.getSessionId(), key -> {
+            inserted.set(true);
+            return copy(saga);
+        }, current -> current);
+        return inserted.get();
+    }
+
+    @Override
+    public boolean updateIfLeaseOwner(OnboardingSaga saga, UUID owner, Instant leaseUntil, Duration ttl) {
+        AtomicBoolean applied = new AtomicBoolean();
+        update(saga.getSessionId(), key -> null, current -> {
+            if (current == null || !owner.equals(current.getLeaseOwner())) {
+                return current;
+            }
+            current.setStatus(saga.getStatus());
+            current.setCompletedSteps(saga.getCompletedSteps());
+            current.setAttempts(saga.getAttempts());
+            current.setOrganizationName(saga.getOrganizationName());
+            current.setPlanName(saga.getPlanName());
+            current.setSubscriptionId(saga.getSubscriptionId());
+            current.setOwnerPasswordHash(saga.getOwnerPasswordHash());
+            current.setLastError(saga.getLastError());
+            current.setUpdatedAt(saga.getUpdatedAt());
+            current.setCompletedAt(saga.getCompletedAt());
+            current.setLeaseOwner(saga.isRunning() ? owner : null);
+            current.setLeaseUntil(leaseUntil);
+            applied.set(true);
+            return current;
+        });
+        return applied.get();
+    }
+
+    @Override
+    public boolean acquireLease(UUID sessionId, UUID owner, Instant now, Instant until, Duration ttl) {
+        AtomicBoolean acquired = new AtomicBoolean();
+        update(sessionId, key -> null, saga -> {
+            if (saga != null && saga.isRunning() && lt(saga.getLeaseUntil(), now)) {
+                saga.setLeaseOwner(owner);
+                saga.setLeaseUntil(until);
+                acquired.set(true);
+            }
+            return saga;
+        });
+        return acquired.get();
+    }
+}
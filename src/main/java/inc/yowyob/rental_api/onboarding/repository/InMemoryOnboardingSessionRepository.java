@@ -0,0 +1,139 @@
+package inc.yowyob.rental_api.onboarding.repository;
+
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import inc.yowyob.rental_api.core.enums.OnboardingStatus;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSession;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implémentation en mémoire de {@link OnboardingSessionRepository} (profil perf-inmemory)
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemoryOnboardingSessionRepository extends InMemoryCassandraRepository<OnboardingSession, UUID>
+    implements OnboardingSessionRepository {
+
+    public InMemoryOnboardingSessionRepository(LatencySimulator latencySimulator) {
+        super(OnboardingSession.class, OnboardingSession::getId, latencySimulator);
+    }
+
+    @Override
+    public Optional<OnboardingSession> findActiveByUserId(UUID userId) {
+        return findFirstWhere(session -> Objects.equals(userId, session.getUserId()) && inProgress(session));
+    }
+
+    @Override
+    public List<OnboardingSession> findAllByUserId(UUID userId) {
+        return findWhere(session -> Objects.equals(userId, session.getUserId()));
+    }
+
+    @Override
+    public List<OnboardingSession> findAllByStatus(OnboardingStatus status) {
+        return findWhere(session -> session.getStatus() == status);
+    }
+
+    @Override
+    public List<OnboardingSession> findExpiredSessions(LocalDateTime now) {
+        return findWhere(session -> lt(session.getExpiresAt(), now) && inProgress(session));
+    }
+
+    @Override
+    public List<OnboardingSession> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return findWhere(session -> between(session.getCreatedAt(), startDate, endDate));
+    }
+
+    @Override
+    public List<OnboardingSession> findCompletedSessions() {
+        return findAllByStatus(OnboardingStatus.COMPLETED);
+    }
+
+    @Override
+    public List<OnboardingSession> findCompletedBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return findWhere(session -> session.getStatus() == OnboardingStatus.COMPLETED
+            && between(session.getCompletedAt(), startDate, endDate));
+    }
+
+    @Override
+    public Long countByStatus(OnboardingStatus status) {
+        return countWhere(session -> session.getStatus() == status);
+    }
+
+    @Override
+    public List<OnboardingSession> findStaleInProgressSessions(LocalDateTime cutoffTime) {
+        return findWhere(session -> inProgress(session) && lt(session.getCreatedAt(), cutoffTime));
+    }
+
+    @Override
+    public List<OnboardingSession> findByCreatedOrganizationId(UUID organizationId) {
+        return findWhere(session -> Objects.equals(organizationId, session.getCreatedOrganizationId()));
+    }
+
+    @Override
+    public List<OnboardingSession> findSessionsWithoutUser() {
+        return findWhere(session -> session.getUserId() == null && inProgress(session));
+    }
+
+    @Override
+    public List<OnboardingSession> findByCurrentStepAndInProgress(String currentStep) {
+        return findWhere(session -> session.getCurrentStep() != null
+            && session.getCurrentStep().name().equals(currentStep) && inProgress(session));
+    }
+
+    @Override
+    public List<OnboardingSession> findCreatedSince(LocalDateTime since) {
+        return findWhere(session -> ge(session.getCreatedAt(), since));
+    }
+
+    @Override
+    public List<OnboardingSession> findExpiringSoon(LocalDateTime expirationThreshold, LocalDateTime now) {
+        return findWhere(session -> inProgress(session)
+            && le(session.getExpiresAt(), expirationThreshold) && gt(session.getExpiresAt(), now));
+    }
+
+    @Override
+    public Long countTotal() {
+        return count();
+    }
+
+    @Override
+    public List<OnboardingSession> findByStatusAndPeriod(OnboardingStatus status, LocalDateTime startDate,
+                                                         LocalDateTime endDate) {
+        return findWhere(session -> session.getStatus() == status
+            && between(session.getCreatedAt(), startDate, endDate));
+    }
+
+    @Override
+    public boolean updateChanged(OnboardingSession previous, OnboardingSession current) {
+        List<Field> changed = new ArrayList<>();
+        ReflectionUtils.doWithFields(OnboardingSession.class, field -> {
+            ReflectionUtils.makeAccessible(field);
+            if (!Objects.equals(field.get(previous), field.get(current))) {
+                changed.add(field);
+            }
+        }, field -> !Modifier.isStatic(field.getModifiers()));
+        if (changed.isEmpty()) {
+            return false;
+        }
+        update(current.getId(), key -> copy(previous), stored -> {
+            changed.forEach(field -> ReflectionUtils.setField(field, stored, ReflectionUtils.getField(field, current)));
+            return stored;
+        });
+        return true;
+    }
+
+    private static boolean inProgress(OnboardingSession session) {
+        return session.getStatus() == OnboardingStatus.IN_PROGRESS;
+    }
+}
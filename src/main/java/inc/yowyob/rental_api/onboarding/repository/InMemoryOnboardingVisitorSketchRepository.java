@@ -0,0 +1,32 @@
+package inc.yowyob.rental_api.onboarding.repository;
+
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingVisitorSketch;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.cassandra.core.mapping.BasicMapId;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Implémentation en mémoire de {@link OnboardingVisitorSketchRepository} (profil perf-inmemory)
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemoryOnboardingVisitorSketchRepository extends InMemoryCassandraRepository<OnboardingVisitorSketch, MapId>
+    implements OnboardingVisitorSketchRepository {
+
+    public InMemoryOnboardingVisitorSketchRepository(LatencySimulator latencySimulator) {
+        super(OnboardingVisitorSketch.class,
+            sketch -> BasicMapId.id("day", sketch.getDay()).with("nodeId", sketch.getNodeId()),
+            latencySimulator);
+    }
+
+    @Override
+    public List<OnboardingVisitorSketch> findByDay(String day) {
+        return findWhere(sketch -> Objects.equals(day, sketch.getDay()));
+    }
+}
@@ -0,0 +1,10 @@
+package inc.yowyob.rental_api.onboarding.repository;
+
+import inc.yowyob.rental_api.onboarding.entities.OnboardingDailyStats;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OnboardingDailyStatsRepository extends CassandraRepository<OnboardingDailyStats, String>,
+    OnboardingDailyStatsRepositoryCustom {
+}
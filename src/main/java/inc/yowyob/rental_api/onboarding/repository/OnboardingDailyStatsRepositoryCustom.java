@@ -0,0 +1,14 @@
+package inc.yowyob.rental_api.onboarding.repository;
+
+import inc.yowyob.rental_api.core.enums.OnboardingFunnelMetric;
+
+/**
+ * Mises à jour des compteurs du tunnel d'onboarding (les colonnes counter n'acceptent que des incréments)
+ */
+public interface OnboardingDailyStatsRepositoryCustom {
+
+    /**
+     * Ajoute un delta au compteur d'une période
+     */
+    void increment(String period, OnboardingFunnelMetric metric, long delta);
+}
@@ -0,0 +1,20 @@
+package inc.yowyob.rental_api.onboarding.repository;
+
+import inc.yowyob.rental_api.core.enums.OnboardingFunnelMetric;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.CassandraOperations;
+
+@RequiredArgsConstructor
+public class OnboardingDailyStatsRepositoryCustomImpl implements OnboardingDailyStatsRepositoryCustom {
+
+    private final CassandraOperations cassandraOperations;
+
+    @Override
+    public void increment(String period, OnboardingFunnelMetric metric, long delta) {
+        String column = metric.getCode();
+        cassandraOperations.getCqlOperations().execute(
+            "UPDATE onboarding_daily_stats SET " + column + " = " + column + " + ? WHERE period = ?",
+            delta, period
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package inc.yowyob.rental_api.onboarding.repository;
+
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSaga;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OnboardingSagaRepository extends CassandraRepository<OnboardingSaga, UUID>,
+    OnboardingSagaRepositoryCustom {
+
+    /**
+     * Trouve les sagas en cours dont le bail a expiré (nœud arrêté ou bloqué)
+     */
+    @Query("SELECT * FROM onboarding_sagas WHERE status = 'RUNNING' AND lease_until < ?0 ALLOW FILTERING")
+    List<OnboardingSaga> findRecoverable(Instant now);
+}
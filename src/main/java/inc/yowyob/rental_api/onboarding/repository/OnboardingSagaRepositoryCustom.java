@@ -0,0 +1,36 @@
+package inc.yowyob.rental_api.onboarding.repository;
+
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSaga;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Écritures des sagas d'onboarding : durée de conservation et bail conditionnel (LWT)
+ */
+public interface OnboardingSagaRepositoryCustom {
+
+    /**
+     * Crée la saga d'une session si aucune n'existe encore
+     *
+     * @return false si une saga existe déjà pour cette session
+     */
+    boolean insertIfAbsent(OnboardingSaga saga, Duration ttl);
+
+    /**
+     * Enregistre l'état de la saga (statut, étapes, résultats) si {@code owner} détient toujours le bail.
+     * Le bail est prolongé jusqu'à {@code leaseUntil} ; il est libéré si la saga n'est plus en cours.
+     * Les colonnes du bail ne sont jamais reprises de l'entité, qui peut être une copie périmée.
+     *
+     * @return false si le bail a été repris par un autre nœud : rien n'est écrit
+     */
+    boolean updateIfLeaseOwner(OnboardingSaga saga, UUID owner, Instant leaseUntil, Duration ttl);
+
+    /**
+     * Prend le bail d'une saga en cours dont le bail précédent a expiré
+     *
+     * @return true si le bail a été obtenu
+     */
+    boolean acquireLease(UUID sessionId, UUID owner, Instant now, Instant until, Duration ttl);
+}
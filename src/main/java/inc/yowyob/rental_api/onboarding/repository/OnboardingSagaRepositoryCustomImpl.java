@@ -0,0 +1,56 @@
+package inc.yowyob.rental_api.onboarding.repository;
+
+import inc.yowyob.rental_api.core.enums.OnboardingSagaStatus;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSaga;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.UpdateOptions;
+import org.springframework.data.cassandra.core.query.Criteria;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.cassandra.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class OnboardingSagaRepositoryCustomImpl implements OnboardingSagaRepositoryCustom {
+
+    private final CassandraOperations cassandraOperations;
+
+    @Override
+    public boolean insertIfAbsent(OnboardingSaga saga, Duration ttl) {
+        return cassandraOperations.insert(saga, InsertOptions.builder().ttl(ttl).withIfNotExists().build())
+            .wasApplied();
+    }
+
+    @Override
+    public boolean updateIfLeaseOwner(OnboardingSaga saga, UUID owner, Instant leaseUntil, Duration ttl) {
+        Query query = Query.query(Criteria.where("sessionId").is(saga.getSessionId()))
+            .queryOptions(UpdateOptions.builder().ttl(ttl).ifCondition(Criteria.where("leaseOwner").is(owner)).build());
+        Update update = Update.empty()
+            .set("status", saga.getStatus())
+            .set("completedSteps", saga.getCompletedSteps())
+            .set("attempts", saga.getAttempts())
+            .set("organizationName", saga.getOrganizationName())
+            .set("planName", saga.getPlanName())
+            .set("subscriptionId", saga.getSubscriptionId())
+            .set("ownerPasswordHash", saga.getOwnerPasswordHash())
+            .set("lastError", saga.getLastError())
+            .set("updatedAt", saga.getUpdatedAt())
+            .set("completedAt", saga.getCompletedAt())
+            .set("leaseOwner", saga.isRunning() ? owner : null)
+            .set("leaseUntil", leaseUntil);
+        return cassandraOperations.update(query, update, OnboardingSaga.class);
+    }
+
+    @Override
+    public boolean acquireLease(UUID sessionId, UUID owner, Instant now, Instant until, Duration ttl) {
+        return cassandraOperations.getCqlOperations().execute(
+            "UPDATE onboarding_sagas USING TTL ? SET lease_owner = ?, lease_until = ?"
+                + " WHERE session_id = ? IF status = ? AND lease_until < ?",
+            (int) ttl.toSeconds(), owner, until, sessionId, OnboardingSagaStatus.RUNNING.name(), now
+        );
+    }
+}
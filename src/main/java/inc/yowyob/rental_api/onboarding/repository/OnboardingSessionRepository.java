@@ -12,7 +12,8 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface OnboardingSessionRepository extends CassandraRepository<OnboardingSession, UUID> {
+public interface OnboardingSessionRepository extends CassandraRepository<OnboardingSession, UUID>,
+    OnboardingSessionRepositoryCustom {
 
     /**
      * Trouve la session active d'un utilisateur (si elle existe)
@@ -81,18 +82,6 @@ public interface OnboardingSessionRepository extends CassandraRepository<Onboard
     @Query("SELECT * FROM onboarding_sessions WHERE user_id IS NULL AND status = 'IN_PROGRESS' ALLOW FILTERING")
     List<OnboardingSession> findSessionsWithoutUser();
 
-    /**
-     * Trouve les sessions qui ont des informations propriétaire mais pas d'utilisateur créé
-     */
-    @Query("SELECT * FROM onboarding_sessions WHERE user_id IS NULL AND owner_info_data IS NOT NULL ALLOW FILTERING")
-    List<OnboardingSession> findSessionsWithOwnerInfoButNoUser();
-
-    /**
-     * Trouve les sessions abandonnées (créées mais jamais mises à jour)
-     */
-    @Query("SELECT * FROM onboarding_sessions WHERE status = 'IN_PROGRESS' AND owner_info_data IS NULL AND created_at < ?0 ALLOW FILTERING")
-    List<OnboardingSession> findAbandonedSessions(LocalDateTime cutoffTime);
-
     /**
      * Trouve les sessions en cours d'une étape spécifique
      */
@@ -117,12 +106,6 @@ public interface OnboardingSessionRepository extends CassandraRepository<Onboard
     @Query("SELECT COUNT(*) FROM onboarding_sessions")
     Long countTotal();
 
-    /**
-     * Trouve les sessions avec des données d'organisation mais pas encore terminées
-     */
-    @Query("SELECT * FROM onboarding_sessions WHERE organization_info_data IS NOT NULL AND status = 'IN_PROGRESS' ALLOW FILTERING")
-    List<OnboardingSession> findSessionsWithOrganizationInfo();
-
     /**
      * Trouve les sessions par période et statut pour les statistiques
      */
@@ -0,0 +1,17 @@
+package inc.yowyob.rental_api.onboarding.repository;
+
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSession;
+
+/**
+ * Écritures partielles des sessions d'onboarding
+ */
+public interface OnboardingSessionRepositoryCustom {
+
+    /**
+     * Écrit uniquement les colonnes dont la valeur diffère entre {@code previous} (dernier état lu ou
+     * écrit par ce nœud) et {@code current} : les colonnes modifiées ailleurs entre-temps ne sont pas écrasées
+     *
+     * @return false si aucune colonne n'a changé (rien n'est écrit)
+     */
+    boolean updateChanged(OnboardingSession previous, OnboardingSession current);
+}
@@ -0,0 +1,45 @@
+package inc.yowyob.rental_api.onboarding.repository;
+
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.mapping.CassandraPersistentEntity;
+import org.springframework.data.cassandra.core.mapping.CassandraPersistentProperty;
+import org.springframework.data.cassandra.core.query.Criteria;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.cassandra.core.query.Update;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+
+import java.util.Objects;
+
+@RequiredArgsConstructor
+public class OnboardingSessionRepositoryCustomImpl implements OnboardingSessionRepositoryCustom {
+
+    private final CassandraOperations cassandraOperations;
+
+    @Override
+    public boolean updateChanged(OnboardingSession previous, OnboardingSession current) {
+        CassandraPersistentEntity<?> entity = cassandraOperations.getConverter().getMappingContext()
+            .getRequiredPersistentEntity(OnboardingSession.class);
+        PersistentPropertyAccessor<OnboardingSession> before = entity.getPropertyAccessor(previous);
+        PersistentPropertyAccessor<OnboardingSession> after = entity.getPropertyAccessor(current);
+
+        Update update = Update.empty();
+        boolean changed = false;
+        for (CassandraPersistentProperty property : entity) {
+            if (property.isIdProperty()) {
+                continue;
+            }
+            Object value = after.getProperty(property);
+            if (!Objects.equals(before.getProperty(property), value)) {
+                update = update.set(property.getName(), value);
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return false;
+        }
+        return cassandraOperations.update(Query.query(Criteria.where("id").is(current.getId())), update,
+            OnboardingSession.class);
+    }
+}
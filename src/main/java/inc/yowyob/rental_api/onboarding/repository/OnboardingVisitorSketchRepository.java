@@ -0,0 +1,19 @@
+package inc.yowyob.rental_api.onboarding.repository;
+
+import inc.yowyob.rental_api.onboarding.entities.OnboardingVisitorSketch;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OnboardingVisitorSketchRepository extends CassandraRepository<OnboardingVisitorSketch, MapId> {
+
+    /**
+     * Trouve les sketches de visiteurs d'une journée, un par nœud
+     */
+    @Query("SELECT * FROM onboarding_daily_visitors WHERE day = ?0")
+    List<OnboardingVisitorSketch> findByDay(String day);
+}
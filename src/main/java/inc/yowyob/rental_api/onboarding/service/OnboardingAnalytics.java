@@ -0,0 +1,342 @@
+package inc.yowyob.rental_api.onboarding.service;
+
+import inc.yowyob.rental_api.common.analytics.HyperLogLog;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.core.enums.OnboardingFunnelMetric;
+import inc.yowyob.rental_api.core.enums.OnboardingStep;
+import inc.yowyob.rental_api.onboarding.dto.OnboardingDailyStatsDto;
+import inc.yowyob.rental_api.onboarding.dto.OnboardingFunnelDto;
+import inc.yowyob.rental_api.onboarding.dto.OnboardingFunnelStepDto;
+import inc.yowyob.rental_api.onboarding.dto.OnboardingStatsDto;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingDailyStats;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingVisitorSketch;
+import inc.yowyob.rental_api.onboarding.repository.OnboardingDailyStatsRepository;
+import inc.yowyob.rental_api.onboarding.repository.OnboardingVisitorSketchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Statistiques du tunnel d'onboarding, tenues à jour à chaque transition de session.
+ * <p>
+ * Les transitions incrémentent des compteurs locaux (jour courant et total) écrits
+ * périodiquement dans les colonnes counter de {@code onboarding_daily_stats}. Les visiteurs
+ * distincts sont comptés par un sketch HyperLogLog journalier que chaque nœud écrit dans sa
+ * propre ligne. La lecture ne dépend que du nombre de jours demandés, jamais du nombre de
+ * sessions. Les compteurs démarrent à la mise en service : les sessions antérieures ne sont pas comptées.
+ */
+@Slf4j
+@Component
+public class OnboardingAnalytics {
+
+    private static final OnboardingFunnelMetric[] METRICS = OnboardingFunnelMetric.values();
+
+    /**
+     * Sketch local d'une journée ; accès sous son propre verrou
+     */
+    private static final class LocalSketch {
+        private final HyperLogLog hyperLogLog;
+        private boolean dirty;
+
+        private LocalSketch(int precision) {
+            this.hyperLogLog = new HyperLogLog(precision);
+        }
+    }
+
+    private final OnboardingDailyStatsRepository statsRepository;
+    private final OnboardingVisitorSketchRepository sketchRepository;
+    private final AppProperties.Onboarding.Analytics properties;
+    private final UUID nodeId = UUID.randomUUID();
+
+    // Incréments pas encore écrits, par période (jour ISO ou total)
+    private final Map<String, LongAdder[]> pending = new ConcurrentHashMap<>();
+    private final Map<LocalDate, LocalSketch> sketches = new ConcurrentHashMap<>();
+
+    public OnboardingAnalytics(OnboardingDailyStatsRepository statsRepository,
+                               OnboardingVisitorSketchRepository sketchRepository,
+                               AppProperties appProperties) {
+        this.statsRepository = statsRepository;
+        this.sketchRepository = sketchRepository;
+        this.properties = appProperties.getOnboarding().getAnalytics();
+    }
+
+    // ==================== ENREGISTREMENT ====================
+
+    /**
+     * Compte une transition de session pour aujourd'hui
+     */
+    public void record(OnboardingFunnelMetric metric) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        adders(LocalDate.now().toString())[metric.ordinal()].increment();
+        adders(OnboardingDailyStats.ALL_TIME)[metric.ordinal()].increment();
+    }
+
+    /**
+     * Compte un visiteur du tunnel pour aujourd'hui
+     */
+    public void recordVisitor(String visitorKey) {
+        if (!properties.isEnabled() || visitorKey == null) {
+            return;
+        }
+        LocalSketch sketch = sketches.computeIfAbsent(LocalDate.now(), day -> new LocalSketch(properties.getSketchPrecision()));
+        synchronized (sketch) {
+            if (sketch.hyperLogLog.add(visitorKey)) {
+                sketch.dirty = true;
+            }
+        }
+    }
+
+    // ==================== LECTURE ====================
+
+    /**
+     * Totaux depuis la mise en service des compteurs
+     */
+    public OnboardingStatsDto getTotals() {
+        Map<OnboardingFunnelMetric, Long> totals = counts(OnboardingDailyStats.ALL_TIME,
+            statsRepository.findById(OnboardingDailyStats.ALL_TIME).orElse(null));
+
+        long started = totals.get(OnboardingFunnelMetric.SESSIONS_STARTED);
+        long completed = totals.get(OnboardingFunnelMetric.COMPLETED);
+        long cancelled = totals.get(OnboardingFunnelMetric.CANCELLED);
+        long expired = totals.get(OnboardingFunnelMetric.EXPIRED);
+
+        return OnboardingStatsDto.builder()
+            .totalSessions(started)
+            .completedSessions(completed)
+            .inProgressSessions(Math.max(0, started - completed - cancelled - expired))
+            .expiredSessions(expired)
+            .cancelledSessions(cancelled)
+            .failedSessions(totals.get(OnboardingFunnelMetric.FAILED))
+            .completionRate(percentage(completed, started))
+            .abandonmentRate(percentage(cancelled + expired, started))
+            .build();
+    }
+
+    /**
+     * Compteurs jour par jour sur une période
+     */
+    public List<OnboardingDailyStatsDto> getDailyStats(LocalDate from, LocalDate to) {
+        List<LocalDate> days = days(from, to);
+        Map<String, OnboardingDailyStats> stored = statsRepository.findAllById(days.stream().map(LocalDate::toString).toList())
+            .stream()
+            .collect(Collectors.toMap(OnboardingDailyStats::getPeriod, Function.identity()));
+
+        List<OnboardingDailyStatsDto> series = new ArrayList<>(days.size());
+        for (LocalDate day : days) {
+            Map<OnboardingFunnelMetric, Long> counts = counts(day.toString(), stored.get(day.toString()));
+            series.add(OnboardingDailyStatsDto.builder()
+                .date(day)
+                .visitors(visitors(day).estimate())
+                .sessionsStarted(counts.get(OnboardingFunnelMetric.SESSIONS_STARTED))
+                .ownerInfoSaved(counts.get(OnboardingFunnelMetric.OWNER_INFO_SAVED))
+                .organizationInfoSaved(counts.get(OnboardingFunnelMetric.ORGANIZATION_INFO_SAVED))
+                .completed(counts.get(OnboardingFunnelMetric.COMPLETED))
+                .cancelled(counts.get(OnboardingFunnelMetric.CANCELLED))
+                .expired(counts.get(OnboardingFunnelMetric.EXPIRED))
+                .failed(counts.get(OnboardingFunnelMetric.FAILED))
+                .build());
+        }
+        return series;
+    }
+
+    /**
+     * Conversion et abandon par étape sur une période ; les visiteurs distincts de la période
+     * sont obtenus en fusionnant les sketches journaliers
+     */
+    public OnboardingFunnelDto getFunnel(LocalDate from, LocalDate to) {
+        List<OnboardingDailyStatsDto> series = getDailyStats(from, to);
+        Map<OnboardingFunnelMetric, Long> totals = new EnumMap<>(OnboardingFunnelMetric.class);
+        for (OnboardingDailyStatsDto day : series) {
+            totals.merge(OnboardingFunnelMetric.SESSIONS_STARTED, day.getSessionsStarted(), Long::sum);
+            totals.merge(OnboardingFunnelMetric.OWNER_INFO_SAVED, day.getOwnerInfoSaved(), Long::sum);
+            totals.merge(OnboardingFunnelMetric.ORGANIZATION_INFO_SAVED, day.getOrganizationInfoSaved(), Long::sum);
+            totals.merge(OnboardingFunnelMetric.COMPLETED, day.getCompleted(), Long::sum);
+        }
+
+        HyperLogLog visitors = new HyperLogLog(properties.getSketchPrecision());
+        for (LocalDate day : days(from, to)) {
+            visitors.merge(visitors(day));
+        }
+
+        long started = totals.getOrDefault(OnboardingFunnelMetric.SESSIONS_STARTED, 0L);
+        long previous = started;
+        List<OnboardingFunnelStepDto> steps = new ArrayList<>();
+        for (OnboardingStep step : OnboardingStep.values()) {
+            long sessions = totals.getOrDefault(OnboardingFunnelMetric.forStep(step), 0L);
+            double conversion = percentage(sessions, previous);
+            steps.add(OnboardingFunnelStepDto.builder()
+                .step(step)
+                .sessions(sessions)
+                .conversionRate(conversion)
+                .dropOffRate(previous > 0 ? Math.max(0.0, 100.0 - conversion) : 0.0)
+                .build());
+            previous = sessions;
+        }
+
+        long distinctVisitors = visitors.estimate();
+        return OnboardingFunnelDto.builder()
+            .from(from)
+            .to(to)
+            .visitors(distinctVisitors)
+            .sessionsStarted(started)
+            .visitorConversionRate(percentage(started, distinctVisitors))
+            .steps(steps)
+            .completionRate(percentage(totals.getOrDefault(OnboardingFunnelMetric.COMPLETED, 0L), started))
+            .build();
+    }
+
+    // ==================== ÉCRITURE ====================
+
+    @Scheduled(
+        fixedDelayString = "${app.onboarding.analytics.flush-interval:PT5S}",
+        initialDelayString = "${app.onboarding.analytics.flush-interval:PT5S}"
+    )
+    public void flush() {
+        flushCounters();
+        flushSketches();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void flushCounters() {
+        String today = LocalDate.now().toString();
+        for (Map.Entry<String, LongAdder[]> entry : pending.entrySet()) {
+            String period = entry.getKey();
+            LongAdder[] adders = entry.getValue();
+            boolean empty = true;
+            for (OnboardingFunnelMetric metric : METRICS) {
+                long delta = adders[metric.ordinal()].sumThenReset();
+                if (delta == 0) {
+                    continue;
+                }
+                try {
+                    statsRepository.increment(period, metric, delta);
+                } catch (Exception e) {
+                    adders[metric.ordinal()].add(delta);
+                    empty = false;
+                    log.warn("Unable to flush onboarding counter {} for {}: {}", metric, period, e.getMessage());
+                }
+            }
+            // Les jours passés ne reçoivent plus d'incréments : leurs compteurs locaux peuvent être libérés
+            if (empty && !period.equals(today) && !period.equals(OnboardingDailyStats.ALL_TIME)) {
+                pending.remove(period, adders);
+            }
+        }
+    }
+
+    private void flushSketches() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        for (Map.Entry<LocalDate, LocalSketch> entry : sketches.entrySet()) {
+            LocalDate day = entry.getKey();
+            LocalSketch sketch = entry.getValue();
+            byte[] registers;
+            synchronized (sketch) {
+                if (!sketch.dirty) {
+                    if (day.isBefore(yesterday)) {
+                        sketches.remove(day, sketch);
+                    }
+                    continue;
+                }
+                registers = sketch.hyperLogLog.toBytes();
+                sketch.dirty = false;
+            }
+            try {
+                sketchRepository.save(new OnboardingVisitorSketch(day.toString(), nodeId, ByteBuffer.wrap(registers), Instant.now()));
+            } catch (Exception e) {
+                synchronized (sketch) {
+                    sketch.dirty = true;
+                }
+                log.warn("Unable to flush onboarding visitor sketch for {}: {}", day, e.getMessage());
+            }
+        }
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    private LongAdder[] adders(String period) {
+        return pending.computeIfAbsent(period, key -> {
+            LongAdder[] adders = new LongAdder[METRICS.length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        });
+    }
+
+    /**
+     * Compteurs d'une période : valeurs écrites plus incréments locaux pas encore écrits
+     */
+    private Map<OnboardingFunnelMetric, Long> counts(String period, OnboardingDailyStats stored) {
+        LongAdder[] local = pending.get(period);
+        Map<OnboardingFunnelMetric, Long> counts = new EnumMap<>(OnboardingFunnelMetric.class);
+        for (OnboardingFunnelMetric metric : METRICS) {
+            long value = stored != null ? stored.getCount(metric) : 0L;
+            if (local != null) {
+                value += local[metric.ordinal()].sum();
+            }
+            counts.put(metric, value);
+        }
+        return counts;
+    }
+
+    /**
+     * Visiteurs d'une journée : sketches écrits par tous les nœuds fusionnés avec le sketch local
+     */
+    private HyperLogLog visitors(LocalDate day) {
+        HyperLogLog merged = new HyperLogLog(properties.getSketchPrecision());
+        for (OnboardingVisitorSketch stored : sketchRepository.findByDay(day.toString())) {
+            if (stored.getRegisters() == null) {
+                continue;
+            }
+            ByteBuffer buffer = stored.getRegisters().duplicate();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            HyperLogLog sketch = HyperLogLog.fromBytes(bytes);
+            if (sketch.getPrecision() == merged.getPrecision()) {
+                merged.merge(sketch);
+            }
+        }
+        LocalSketch local = sketches.get(day);
+        if (local != null) {
+            synchronized (local) {
+                merged.merge(local.hyperLogLog);
+            }
+        }
+        return merged;
+    }
+
+    private List<LocalDate> days(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("La date de fin doit être postérieure à la date de début");
+        }
+        long length = ChronoUnit.DAYS.between(from, to) + 1;
+        if (length > properties.getMaxRangeDays()) {
+            throw new IllegalArgumentException("La période ne peut pas dépasser " + properties.getMaxRangeDays() + " jours");
+        }
+        return from.datesUntil(to.plusDays(1)).toList();
+    }
+
+    private static double percentage(long value, long total) {
+        return total > 0 ? (double) value / total * 100 : 0.0;
+    }
+}
@@ -0,0 +1,306 @@
+package inc.yowyob.rental_api.onboarding.service;
+
+import inc.yowyob.rental_api.common.actuator.ExecutorMonitor;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSession;
+import inc.yowyob.rental_api.onboarding.repository.OnboardingSessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Tampon d'écriture différée (write-behind) des sessions d'onboarding en cours de saisie.
+ * <p>
+ * Chaque étape du formulaire modifie le brouillon en mémoire et répond aussitôt ; l'écriture
+ * Cassandra est planifiée après un court délai, de sorte que des saisies rapprochées sur une
+ * même session sont regroupées en une seule écriture. Seules les colonnes modifiées depuis la
+ * dernière lecture ou écriture du brouillon sont écrites : un autre nœud qui modifie d'autres
+ * champs de la même session n'est pas écrasé. Les modifications d'une session sont
+ * séquencées par un verrou propre à la session, et une seule écriture par session est en vol
+ * à un instant donné : la dernière version gagne toujours.
+ * <p>
+ * Le tampon est borné : au-delà du nombre de brouillons configuré, les nouvelles sessions sont
+ * écrites de façon synchrone. Une écriture en échec est retentée ; les brouillons non écrits
+ * sont vidés à l'arrêt de l'application.
+ * <p>
+ * Les brouillons sont propres au nœud : une étape n'est visible des autres nœuds qu'une fois
+ * écrite, soit après le délai d'écriture. L'affinité de session au niveau du répartiteur évite
+ * ce décalage ; sans elle, la finalisation relit la session jusqu'à ce que les étapes saisies
+ * ailleurs y figurent ({@link #awaitPersisted}).
+ */
+@Slf4j
+@Component
+public class OnboardingDraftStore {
+
+    private static final String FLUSHER_NAME = "onboarding-draft-flusher";
+
+    /**
+     * Brouillon d'une session ; toutes les lectures et écritures des champs se font sous son verrou
+     */
+    private static final class Draft {
+        private OnboardingSession session;
+        // Dernier état lu ou écrit par ce nœud : référence des colonnes à écrire
+        private OnboardingSession persisted;
+        private long sequence;
+        private long flushedSequence;
+        private boolean flushScheduled;
+        private boolean flushing;
+        private boolean retired;
+
+        private boolean isDirty() {
+            return sequence != flushedSequence;
+        }
+    }
+
+    private final OnboardingSessionRepository sessionRepository;
+    private final ExecutorMonitor executorMonitor;
+    private final AppProperties.Onboarding.Drafts properties;
+    private final Map<UUID, Draft> drafts = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor flusher;
+    private final Counter flushes;
+    private final Counter flushFailures;
+    private final Counter coalescedWrites;
+    private final Counter writeThroughs;
+
+    public OnboardingDraftStore(OnboardingSessionRepository sessionRepository, ExecutorMonitor executorMonitor,
+                                AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.sessionRepository = sessionRepository;
+        this.executorMonitor = executorMonitor;
+        this.properties = appProperties.getOnboarding().getDrafts();
+
+        AtomicInteger counter = new AtomicInteger();
+        this.flusher = new ScheduledThreadPoolExecutor(properties.getFlushThreads(), runnable -> {
+            Thread thread = new Thread(runnable, FLUSHER_NAME + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executorMonitor.register(FLUSHER_NAME, flusher);
+
+        Gauge.builder("rental.onboarding.drafts.pending", drafts, Map::size)
+            .description("Onboarding sessions buffered in memory")
+            .register(meterRegistry);
+        this.flushes = Counter.builder("rental.onboarding.drafts.flushes")
+            .description("Onboarding session rows written by the write-behind buffer")
+            .register(meterRegistry);
+        this.flushFailures = Counter.builder("rental.onboarding.drafts.flush-failures")
+            .description("Failed write-behind flushes, retried later")
+            .register(meterRegistry);
+        this.coalescedWrites = Counter.builder("rental.onboarding.drafts.coalesced")
+            .description("Step saves merged into an already pending write")
+            .register(meterRegistry);
+        this.writeThroughs = Counter.builder("rental.onboarding.drafts.write-through")
+            .description("Step saves written synchronously because the buffer was disabled or full")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Dernière version connue d'une session, brouillon compris
+     */
+    public Optional<OnboardingSession> find(UUID sessionId) {
+        Draft draft = drafts.get(sessionId);
+        if (draft != null) {
+            synchronized (draft) {
+                if (!draft.retired && draft.session != null) {
+                    return Optional.of(draft.session.copy());
+                }
+            }
+        }
+        return sessionRepository.findById(sessionId);
+    }
+
+    /**
+     * Applique une modification à une session et planifie son écriture.
+     * La fonction s'exécute sous le verrou de la session : elle peut valider l'état, modifier
+     * la session et construire la réponse ; une exception annule la modification.
+     *
+     * @throws IllegalArgumentException si la session n'existe pas
+     */
+    public <T> T update(UUID sessionId, Function<OnboardingSession, T> mutation) {
+        if (!properties.isEnabled() || (!drafts.containsKey(sessionId) && drafts.size() >= properties.getMaxPending())) {
+            return writeThrough(sessionId, mutation);
+        }
+
+        while (true) {
+            Draft draft = drafts.computeIfAbsent(sessionId, key -> new Draft());
+            synchronized (draft) {
+                if (draft.retired) {
+                    continue; // Brouillon écrit et retiré entre-temps : repartir d'un nouveau
+                }
+                if (draft.session == null) {
+                    Optional<OnboardingSession> loaded = sessionRepository.findById(sessionId);
+                    if (loaded.isEmpty()) {
+                        retire(sessionId, draft);
+                        throw new IllegalArgumentException("Onboarding session not found: " + sessionId);
+                    }
+                    draft.session = loaded.get();
+                    draft.persisted = draft.session;
+                }
+
+                OnboardingSession working = draft.session.copy();
+                T result;
+                try {
+                    result = mutation.apply(working);
+                } catch (RuntimeException e) {
+                    if (!draft.isDirty() && !draft.flushScheduled && !draft.flushing) {
+                        retire(sessionId, draft);
+                    }
+                    throw e;
+                }
+                draft.session = working;
+                draft.sequence++;
+
+                if (draft.flushScheduled || draft.flushing) {
+                    coalescedWrites.increment();
+                } else {
+                    scheduleFlush(sessionId, draft, properties.getFlushDelay());
+                }
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Relit une session en base jusqu'à ce qu'elle vérifie la condition, le temps que le brouillon
+     * d'un autre nœud y soit écrit ; au-delà de l'attente configurée, retourne la dernière lecture
+     */
+    public Optional<OnboardingSession> awaitPersisted(UUID sessionId, Predicate<OnboardingSession> condition) {
+        long deadline = System.nanoTime() + properties.getRemoteFlushWait().toNanos();
+        long pauseMillis = Math.clamp(properties.getFlushDelay().toMillis() / 4, 10, 100);
+        while (true) {
+            Optional<OnboardingSession> session = sessionRepository.findById(sessionId);
+            if (session.isEmpty() || condition.test(session.get()) || System.nanoTime() >= deadline) {
+                return session;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return session;
+            }
+        }
+    }
+
+    /**
+     * Écrit immédiatement le brouillon d'une session, en attendant une éventuelle écriture en cours
+     */
+    public void flush(UUID sessionId) {
+        Draft draft = drafts.get(sessionId);
+        if (draft != null && !write(sessionId, draft, true)) {
+            throw new IllegalStateException("Unable to save onboarding session " + sessionId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorMonitor.unregister(FLUSHER_NAME);
+        flusher.shutdownNow();
+        int pending = drafts.size();
+        for (UUID sessionId : drafts.keySet()) {
+            try {
+                flush(sessionId);
+            } catch (Exception e) {
+                log.error("Onboarding session {} could not be saved on shutdown: {}", sessionId, e.getMessage());
+            }
+        }
+        if (pending > 0) {
+            log.info("Flushed {} buffered onboarding sessions on shutdown", pending);
+        }
+    }
+
+    // ==================== ÉCRITURE ====================
+
+    private <T> T writeThrough(UUID sessionId, Function<OnboardingSession, T> mutation) {
+        writeThroughs.increment();
+        OnboardingSession loaded = sessionRepository.findById(sessionId)
+            .orElseThrow(() -> new IllegalArgumentException("Onboarding session not found: " + sessionId));
+        OnboardingSession session = loaded.copy();
+        T result = mutation.apply(session);
+        sessionRepository.updateChanged(loaded, session);
+        return result;
+    }
+
+    private void scheduleFlush(UUID sessionId, Draft draft, Duration delay) {
+        draft.flushScheduled = true;
+        flusher.schedule(() -> write(sessionId, draft, false), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Écrit la dernière version du brouillon ; retire le brouillon s'il n'a pas changé pendant l'écriture
+     *
+     * @param awaitInFlight attendre la fin d'une écriture en cours plutôt que de lui laisser la main
+     * @return false si l'écriture a échoué (une nouvelle tentative est alors planifiée)
+     */
+    private boolean write(UUID sessionId, Draft draft, boolean awaitInFlight) {
+        OnboardingSession persisted;
+        OnboardingSession snapshot;
+        long sequence;
+        synchronized (draft) {
+            while (awaitInFlight && draft.flushing) {
+                try {
+                    draft.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while flushing onboarding session " + sessionId, e);
+                }
+            }
+            if (draft.retired || draft.flushing) {
+                // L'écriture en cours replanifiera la suite si le brouillon a encore changé
+                return true;
+            }
+            draft.flushScheduled = false;
+            if (!draft.isDirty()) {
+                retire(sessionId, draft);
+                return true;
+            }
+            persisted = draft.persisted;
+            snapshot = draft.session.copy();
+            sequence = draft.sequence;
+            draft.flushing = true;
+        }
+
+        boolean written = false;
+        try {
+            sessionRepository.updateChanged(persisted, snapshot);
+            flushes.increment();
+            written = true;
+        } catch (Exception e) {
+            flushFailures.increment();
+            log.warn("Unable to flush onboarding session {}, retrying in {}: {}",
+                sessionId, properties.getRetryDelay(), e.getMessage());
+        }
+
+        synchronized (draft) {
+            draft.flushing = false;
+            if (written) {
+                draft.flushedSequence = Math.max(draft.flushedSequence, sequence);
+                draft.persisted = snapshot;
+            }
+            if (!draft.isDirty()) {
+                retire(sessionId, draft);
+            } else if (!draft.flushScheduled && !flusher.isShutdown()) {
+                scheduleFlush(sessionId, draft, written ? properties.getFlushDelay() : properties.getRetryDelay());
+            }
+            draft.notifyAll();
+        }
+        return written;
+    }
+
+    private void retire(UUID sessionId, Draft draft) {
+        draft.retired = true;
+        drafts.remove(sessionId, draft);
+    }
+}
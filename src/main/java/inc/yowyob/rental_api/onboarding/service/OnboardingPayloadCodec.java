@@ -0,0 +1,87 @@
+package inc.yowyob.rental_api.onboarding.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * Encodage des données d'étape des sessions d'onboarding.
+ * <p>
+ * Chaque donnée est stockée en blob : un octet de version de format suivi du DTO encodé en
+ * Smile (JSON binaire, sans en-tête puisque la version le remplace). Les DTO ne sont décodés
+ * qu'à la demande, étape par étape ; l'avancement de la session se lit dans son masque
+ * d'étapes sans toucher aux données. Les sessions enregistrées avant ce format conservent
+ * leurs données en JSON texte et sont relues telles quelles.
+ */
+@Component
+public class OnboardingPayloadCodec {
+
+    /**
+     * Version 1 : Smile sans en-tête
+     */
+    static final byte FORMAT_VERSION = 1;
+
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper jsonMapper;
+
+    public OnboardingPayloadCodec(ObjectMapper objectMapper) {
+        SmileFactory smileFactory = SmileFactory.builder()
+            .disable(SmileGenerator.Feature.WRITE_HEADER)
+            .disable(SmileParser.Feature.REQUIRE_HEADER)
+            .build();
+        // Mêmes modules et options que l'API (dates, propriétés inconnues ignorées)
+        this.smileMapper = objectMapper.copyWith(smileFactory);
+        this.jsonMapper = objectMapper;
+    }
+
+    /**
+     * Encode un DTO d'étape
+     */
+    public ByteBuffer encode(Object payload) {
+        try {
+            byte[] body = smileMapper.writeValueAsBytes(payload);
+            ByteBuffer buffer = ByteBuffer.allocate(body.length + 1);
+            buffer.put(FORMAT_VERSION).put(body).flip();
+            return buffer;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode onboarding payload " + payload.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Décode une donnée d'étape, depuis le blob ou à défaut depuis l'ancien JSON texte
+     */
+    public <T> Optional<T> decode(ByteBuffer payload, String legacyJson, Class<T> type) {
+        try {
+            if (payload != null && payload.hasRemaining()) {
+                return Optional.of(decodeBinary(payload, type));
+            }
+            if (legacyJson != null && !legacyJson.isBlank()) {
+                return Optional.of(jsonMapper.readValue(legacyJson, type));
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to decode onboarding payload " + type.getSimpleName(), e);
+        }
+    }
+
+    private <T> T decodeBinary(ByteBuffer payload, Class<T> type) throws IOException {
+        ByteBuffer buffer = payload.duplicate();
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported onboarding payload format version: " + version);
+        }
+        if (buffer.hasArray()) {
+            return smileMapper.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), type);
+        }
+        byte[] body = new byte[buffer.remaining()];
+        buffer.get(body);
+        return smileMapper.readValue(body, type);
+    }
+}
@@ -0,0 +1,463 @@
+package inc.yowyob.rental_api.onboarding.service;
+
+import inc.yowyob.rental_api.common.actuator.ExecutorMonitor;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.core.enums.MeteredResource;
+import inc.yowyob.rental_api.core.enums.OnboardingFunnelMetric;
+import inc.yowyob.rental_api.core.enums.OnboardingSagaStep;
+import inc.yowyob.rental_api.core.enums.UserStatus;
+import inc.yowyob.rental_api.core.enums.UserType;
+import inc.yowyob.rental_api.onboarding.dto.OrganizationInfoDto;
+import inc.yowyob.rental_api.onboarding.dto.OwnerInfoDto;
+import inc.yowyob.rental_api.onboarding.dto.SubscriptionInfoDto;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSaga;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSession;
+import inc.yowyob.rental_api.onboarding.repository.OnboardingSagaRepository;
+import inc.yowyob.rental_api.onboarding.repository.OnboardingSessionRepository;
+import inc.yowyob.rental_api.subscription.entities.OrganizationSubscription;
+import inc.yowyob.rental_api.subscription.entities.SubscriptionPlan;
+import inc.yowyob.rental_api.subscription.service.SubscriptionService;
+import inc.yowyob.rental_api.subscription.service.UsageMeterService;
+import inc.yowyob.rental_api.user.entities.User;
+import inc.yowyob.rental_api.user.repository.UserEmailRepository;
+import inc.yowyob.rental_api.user.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécution des sagas de finalisation d'onboarding.
+ * <p>
+ * Chaque étape est idempotente (identifiants tirés au démarrage, réservation d'email
+ * conditionnelle, abonnement actif réutilisé) et l'état est persisté après chaque étape :
+ * une saga interrompue reprend à la première étape non terminée. Une erreur métier
+ * (email déjà pris, forfait inconnu) fait échouer la saga et annule ce qui a été créé ;
+ * les autres erreurs sont retentées via l'expiration du bail jusqu'au nombre maximal de tentatives.
+ * <p>
+ * Chaque écriture de l'état est conditionnée au bail ({@code IF lease_owner = ?}) : un nœud dont
+ * le bail a expiré et a été repris s'arrête à sa prochaine écriture au lieu d'écraser la progression
+ * du nouveau détenteur.
+ */
+@Slf4j
+@Component
+public class OnboardingSagaRunner {
+
+    private static final String SAGA_EXECUTOR = "onboarding-saga";
+    private static final String PREPARE_EXECUTOR = "onboarding-prepare";
+
+    private final OnboardingSagaRepository sagaRepository;
+    private final OnboardingSessionRepository sessionRepository;
+    private final UserRepository userRepository;
+    private final UserEmailRepository userEmailRepository;
+    private final SubscriptionService subscriptionService;
+    private final UsageMeterService usageMeterService;
+    private final PasswordEncoder passwordEncoder;
+    private final OnboardingPayloadCodec payloadCodec;
+    private final OnboardingAnalytics analytics;
+    private final ExecutorMonitor executorMonitor;
+    private final AppProperties.Onboarding.Saga properties;
+
+    private final UUID nodeId = UUID.randomUUID();
+    private final ThreadPoolExecutor sagaExecutor;
+    private final ThreadPoolExecutor prepareExecutor;
+
+    public OnboardingSagaRunner(OnboardingSagaRepository sagaRepository,
+                                OnboardingSessionRepository sessionRepository,
+                                UserRepository userRepository,
+                                UserEmailRepository userEmailRepository,
+                                SubscriptionService subscriptionService,
+                                UsageMeterService usageMeterService,
+                                PasswordEncoder passwordEncoder,
+                                OnboardingPayloadCodec payloadCodec,
+                                OnboardingAnalytics analytics,
+                                ExecutorMonitor executorMonitor,
+                                AppProperties appProperties) {
+        this.sagaRepository = sagaRepository;
+        this.sessionRepository = sessionRepository;
+        this.userRepository = userRepository;
+        this.userEmailRepository = userEmailRepository;
+        this.subscriptionService = subscriptionService;
+        this.usageMeterService = usageMeterService;
+        this.passwordEncoder = passwordEncoder;
+        this.payloadCodec = payloadCodec;
+        this.analytics = analytics;
+        this.executorMonitor = executorMonitor;
+        this.properties = appProperties.getOnboarding().getSaga();
+
+        this.sagaExecutor = newExecutor(SAGA_EXECUTOR, properties.getThreads(), properties.getQueueCapacity());
+        // Les tâches de préparation sont courtes : en cas de saturation, le thread de la saga les exécute lui-même
+        this.prepareExecutor = newExecutor(PREPARE_EXECUTOR, properties.getPrepareThreads(), properties.getQueueCapacity());
+        this.prepareExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executorMonitor.register(SAGA_EXECUTOR, sagaExecutor);
+        executorMonitor.register(PREPARE_EXECUTOR, prepareExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorMonitor.unregister(SAGA_EXECUTOR);
+        executorMonitor.unregister(PREPARE_EXECUTOR);
+        // Les sagas interrompues seront reprises par un autre nœud à l'expiration de leur bail
+        sagaExecutor.shutdownNow();
+        prepareExecutor.shutdownNow();
+    }
+
+    /**
+     * Identifiant de ce nœud, utilisé comme détenteur de bail
+     */
+    public UUID getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Fin du bail pour une saga prise maintenant
+     */
+    public Instant leaseUntil() {
+        return Instant.now().plus(properties.getLeaseDuration());
+    }
+
+    /**
+     * Planifie l'exécution d'une saga dont ce nœud détient le bail
+     */
+    public void submit(UUID sessionId) {
+        try {
+            sagaExecutor.execute(() -> run(sessionId));
+        } catch (RejectedExecutionException e) {
+            log.warn("Onboarding saga queue full, saga {} will be resumed after its lease expires", sessionId);
+        }
+    }
+
+    /**
+     * Reprend une saga abandonnée si son bail peut être obtenu
+     *
+     * @return true si la saga a été reprise par ce nœud
+     */
+    public boolean resume(OnboardingSaga saga) {
+        Instant now = Instant.now();
+        if (!sagaRepository.acquireLease(saga.getSessionId(), nodeId, now, leaseUntil(), properties.getRetention())) {
+            return false;
+        }
+        OnboardingSaga current = sagaRepository.findById(saga.getSessionId()).orElse(null);
+        if (current == null) {
+            return false;
+        }
+        current.setAttempts(current.getAttempts() + 1);
+        if (!sagaRepository.updateIfLeaseOwner(current, nodeId, leaseUntil(), properties.getRetention())) {
+            return false;
+        }
+        log.info("Resuming onboarding saga {} (attempt {})", current.getSessionId(), current.getAttempts());
+        submit(saga.getSessionId());
+        return true;
+    }
+
+    // ==================== EXÉCUTION ====================
+
+    private void run(UUID sessionId) {
+        OnboardingSaga saga = sagaRepository.findById(sessionId).orElse(null);
+        if (saga == null || !saga.isRunning() || !nodeId.equals(saga.getLeaseOwner())) {
+            log.debug("Onboarding saga {} is not owned by this node anymore, skipping", sessionId);
+            return;
+        }
+
+        try {
+            OnboardingSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Onboarding session not found: " + sessionId));
+            OwnerInfoDto ownerInfo = payloadCodec.decode(session.getOwnerInfo(), session.getOwnerInfoData(), OwnerInfoDto.class)
+                .orElseThrow(() -> new IllegalArgumentException("Owner info missing for session: " + sessionId));
+
+            if (!saga.hasCompletedStep(OnboardingSagaStep.PREPARE)) {
+                prepare(saga, session);
+                persist(saga, OnboardingSagaStep.PREPARE);
+            }
+            if (!saga.hasCompletedStep(OnboardingSagaStep.CREATE_OWNER)) {
+                createOwner(saga, ownerInfo);
+                persist(saga, OnboardingSagaStep.CREATE_OWNER);
+            }
+            if (!saga.hasCompletedStep(OnboardingSagaStep.CREATE_SUBSCRIPTION)) {
+                createSubscription(saga);
+                persist(saga, OnboardingSagaStep.CREATE_SUBSCRIPTION);
+            }
+            if (!saga.hasCompletedStep(OnboardingSagaStep.COMPLETE_SESSION)) {
+                completeSession(saga, session);
+                persist(saga, OnboardingSagaStep.COMPLETE_SESSION);
+            }
+
+            saga.complete();
+            write(saga, Instant.now());
+            log.info("Onboarding completed successfully for session: {}", sessionId);
+        } catch (LeaseLostException e) {
+            log.warn("Onboarding saga {} lease taken over by another node, stopping", sessionId);
+        } catch (IllegalArgumentException e) {
+            log.warn("Onboarding saga {} rejected: {}", sessionId, e.getMessage());
+            compensate(saga, e.getMessage());
+        } catch (Exception e) {
+            retryLater(saga, e);
+        }
+    }
+
+    /**
+     * Étape PREPARE : réservation de l'email, lecture du forfait et hash du
+     * mot de passe temporaire, en parallèle
+     */
+    private void prepare(OnboardingSaga saga, OnboardingSession session) {
+        SubscriptionInfoDto subscriptionInfo = payloadCodec.decode(saga.getSubscriptionInfo(), null, SubscriptionInfoDto.class)
+            .orElseThrow(() -> new IllegalStateException("Subscription info missing for saga: " + saga.getSessionId()));
+
+        CompletableFuture<Void> emailClaim = CompletableFuture.runAsync(() -> {
+            if (!userEmailRepository.claim(saga.getOwnerEmail(), saga.getOwnerUserId())) {
+                throw new IllegalArgumentException("Un utilisateur avec cet email existe déjà");
+            }
+        }, prepareExecutor);
+
+        CompletableFuture<SubscriptionPlan> plan = CompletableFuture.supplyAsync(() ->
+            subscriptionService.getPlanById(subscriptionInfo.getSubscriptionPlanId())
+                .orElseThrow(() -> new IllegalArgumentException("Plan d'abonnement non trouvé")), prepareExecutor);
+
+        CompletableFuture<String> passwordHash = CompletableFuture.supplyAsync(() -> {
+            String temporaryPassword = generateSecureTemporaryPassword();
+            // TODO: Envoyer email avec mot de passe temporaire
+            log.info("Temporary password for {}: {} (TODO: Send via email)", saga.getOwnerEmail(), temporaryPassword);
+            return passwordEncoder.encode(temporaryPassword);
+        }, prepareExecutor);
+
+        try {
+            CompletableFuture.allOf(emailClaim, plan, passwordHash).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        OrganizationInfoDto organizationInfo = payloadCodec.decode(session.getOrganizationInfo(),
+                session.getOrganizationInfoData(), OrganizationInfoDto.class)
+            .orElseThrow(() -> new IllegalArgumentException("Organization info missing for session: " + session.getId()));
+
+        saga.setOwnerPasswordHash(passwordHash.join());
+        saga.setPlanName(plan.join().getName());
+        saga.setOrganizationName(organizationInfo.getOrganizationName());
+    }
+
+    /**
+     * Étape CREATE_OWNER : le compte est écrit avec son identifiant et son organisation
+     * définitifs, une réexécution réécrit la même ligne
+     */
+    private void createOwner(OnboardingSaga saga, OwnerInfoDto ownerInfo) {
+        log.info("Creating owner user for email: {}", ownerInfo.getEmail());
+        boolean alreadyCreated = userRepository.existsById(saga.getOwnerUserId());
+
+        User owner = new User(
+            ownerInfo.getEmail(),
+            saga.getOwnerPasswordHash(),
+            ownerInfo.getFirstName(),
+            ownerInfo.getLastName(),
+            UserType.OWNER
+        );
+        owner.setId(saga.getOwnerUserId());
+        owner.setOrganizationId(saga.getOrganizationId());
+        owner.setPhone(ownerInfo.getPhone());
+        owner.setAddress(ownerInfo.getAddress());
+        owner.setCity(ownerInfo.getCity());
+        owner.setCountry(ownerInfo.getCountry());
+        owner.setStatus(UserStatus.ACTIVE); // Directement actif pour les propriétaires après onboarding
+        owner.setEmailVerified(false); // Sera vérifié par email
+        owner.setPhoneVerified(false);
+
+        userRepository.save(owner);
+        if (!alreadyCreated) {
+            usageMeterService.recordCreated(saga.getOrganizationId(), MeteredResource.USERS);
+        }
+
+        // TODO: Implémenter la création réelle de l'organisation en Phase 5
+        log.info("Owner user {} created for organization {} (simulated)", owner.getId(), saga.getOrganizationId());
+    }
+
+    /**
+     * Étape CREATE_SUBSCRIPTION : un abonnement actif déjà créé par une exécution précédente est réutilisé
+     */
+    private void createSubscription(OnboardingSaga saga) {
+        OrganizationSubscription existing = subscriptionService.getActiveSubscription(saga.getOrganizationId()).orElse(null);
+        if (existing != null) {
+            saga.setSubscriptionId(existing.getId());
+            return;
+        }
+
+        SubscriptionInfoDto subscriptionInfo = payloadCodec.decode(saga.getSubscriptionInfo(), null, SubscriptionInfoDto.class)
+            .orElseThrow(() -> new IllegalStateException("Subscription info missing for saga: " + saga.getSessionId()));
+        SubscriptionPlan plan = subscriptionService.getPlanById(saga.getSubscriptionPlanId())
+            .orElseThrow(() -> new IllegalArgumentException("Plan d'abonnement non trouvé"));
+
+        OrganizationSubscription subscription = subscriptionService.createSubscription(
+            saga.getOrganizationId(),
+            saga.getSubscriptionPlanId(),
+            subscriptionInfo.getPaymentMethod(),
+            subscriptionInfo.getPaymentReference(),
+            plan.getPrice()
+        );
+        saga.setSubscriptionId(subscription.getId());
+    }
+
+    /**
+     * Étape COMPLETE_SESSION : enregistre la souscription et clôt la session
+     */
+    private void completeSession(OnboardingSaga saga, OnboardingSession session) {
+        boolean alreadyCompleted = session.isCompleted();
+        OnboardingSession completed = session.copy();
+        completed.updateSubscriptionInfo(saga.getSubscriptionInfo().duplicate());
+        completed.complete(saga.getOrganizationId());
+        completed.setUserId(saga.getOwnerUserId());
+        sessionRepository.updateChanged(session, completed);
+        if (!alreadyCompleted) {
+            analytics.record(OnboardingFunnelMetric.COMPLETED);
+        }
+    }
+
+    // ==================== ÉCHECS ====================
+
+    /**
+     * Annule ce qui a été créé puis marque la saga comme échouée ; la session reste en cours
+     * pour permettre une nouvelle tentative
+     */
+    private void compensate(OnboardingSaga saga, String error) {
+        UUID sessionId = saga.getSessionId();
+        saga.setLastError(error);
+        try {
+            // Le bail est vérifié et prolongé avant d'annuler quoi que ce soit
+            write(saga, leaseUntil());
+        } catch (LeaseLostException e) {
+            log.warn("Onboarding saga {} lease taken over by another node, compensation skipped", sessionId);
+            return;
+        }
+
+        try {
+            if (saga.getSubscriptionId() != null) {
+                subscriptionService.cancelSubscription(saga.getSubscriptionId());
+            }
+            if (userRepository.existsById(saga.getOwnerUserId())) {
+                userRepository.deleteById(saga.getOwnerUserId());
+                if (saga.hasCompletedStep(OnboardingSagaStep.CREATE_OWNER)) {
+                    usageMeterService.recordDeleted(saga.getOrganizationId(), MeteredResource.USERS);
+                }
+            }
+            userEmailRepository.release(saga.getOwnerEmail(), saga.getOwnerUserId());
+        } catch (Exception e) {
+            log.error("Compensation of onboarding saga {} failed, manual cleanup may be required", sessionId, e);
+        }
+
+        saga.fail(error);
+        try {
+            write(saga, Instant.now());
+            analytics.record(OnboardingFunnelMetric.FAILED);
+        } catch (LeaseLostException e) {
+            log.warn("Onboarding saga {} lease taken over by another node before it was marked as failed", sessionId);
+        }
+    }
+
+    /**
+     * Erreur technique : le bail est libéré pour que la saga soit reprise au prochain passage
+     * du worker, ou annulée si le nombre maximal de tentatives est atteint
+     */
+    private void retryLater(OnboardingSaga saga, Exception error) {
+        UUID sessionId = saga.getSessionId();
+        if (saga.getAttempts() >= properties.getMaxAttempts()) {
+            log.error("Onboarding saga {} failed after {} attempts", sessionId, saga.getAttempts(), error);
+            compensate(saga, "Erreur lors de la finalisation du processus d'inscription");
+            return;
+        }
+
+        log.warn("Onboarding saga {} interrupted (attempt {}), will be retried: {}",
+            sessionId, saga.getAttempts(), error.getMessage());
+        try {
+            saga.setLastError(error.getMessage());
+            write(saga, Instant.now());
+        } catch (LeaseLostException e) {
+            log.debug("Onboarding saga {} lease already taken over by another node", sessionId);
+        } catch (Exception e) {
+            log.warn("Unable to release lease of onboarding saga {}, it will be resumed after expiry", sessionId);
+        }
+    }
+
+    private void persist(OnboardingSaga saga, OnboardingSagaStep step) {
+        saga.markStepCompleted(step);
+        write(saga, leaseUntil());
+        log.debug("Onboarding saga {} step {} completed", saga.getSessionId(), step);
+    }
+
+    /**
+     * Écrit l'état de la saga si ce nœud détient toujours le bail, prolongé ou libéré jusqu'à {@code leaseUntil}
+     *
+     * @throws LeaseLostException si le bail a été repris : la saga doit s'arrêter sans rien écrire d'autre
+     */
+    private void write(OnboardingSaga saga, Instant leaseUntil) {
+        if (!sagaRepository.updateIfLeaseOwner(saga, nodeId, leaseUntil, properties.getRetention())) {
+            throw new LeaseLostException(saga.getSessionId());
+        }
+        saga.setLeaseUntil(leaseUntil);
+    }
+
+    /**
+     * Génère un mot de passe temporaire sécurisé
+     */
+    private String generateSecureTemporaryPassword() {
+        String upperCase = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+        String lowerCase = "abcdefghijklmnopqrstuvwxyz";
+        String digits = "0123456789";
+        String specialChars = "!@#$%&*";
+        String allChars = upperCase + lowerCase + digits + specialChars;
+
+        SecureRandom random = new SecureRandom();
+        StringBuilder password = new StringBuilder(12);
+
+        // Garantir au moins un caractère de chaque type
+        password.append(upperCase.charAt(random.nextInt(upperCase.length())));
+        password.append(lowerCase.charAt(random.nextInt(lowerCase.length())));
+        password.append(digits.charAt(random.nextInt(digits.length())));
+        password.append(specialChars.charAt(random.nextInt(specialChars.length())));
+
+        // Compléter avec des caractères aléatoires
+        for (int i = 4; i < 12; i++) {
+            password.append(allChars.charAt(random.nextInt(allChars.length())));
+        }
+
+        // Mélanger les caractères
+        for (int i = 0; i < password.length(); i++) {
+            int randomIndex = random.nextInt(password.length());
+            char temp = password.charAt(i);
+            password.setCharAt(i, password.charAt(randomIndex));
+            password.setCharAt(randomIndex, temp);
+        }
+
+        return password.toString();
+    }
+
+    /**
+     * Bail de la saga repris par un autre nœud
+     */
+    private static final class LeaseLostException extends IllegalStateException {
+
+        LeaseLostException(UUID sessionId) {
+            super("Lease of onboarding saga " + sessionId + " lost");
+        }
+    }
+
+    private static ThreadPoolExecutor newExecutor(String name, int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+}
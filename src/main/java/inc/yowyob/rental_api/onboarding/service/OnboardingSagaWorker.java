@@ -0,0 +1,45 @@
+package inc.yowyob.rental_api.onboarding.service;
+
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSaga;
+import inc.yowyob.rental_api.onboarding.repository.OnboardingSagaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reprise des sagas d'onboarding interrompues (arrêt ou plantage d'un nœud, erreur technique).
+ * Une saga en cours dont le bail a expiré est reprise par le premier nœud qui obtient son bail.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OnboardingSagaWorker {
+
+    private final OnboardingSagaRepository sagaRepository;
+    private final OnboardingSagaRunner sagaRunner;
+
+    @Scheduled(
+        fixedDelayString = "${app.onboarding.saga.recovery-interval:PT30S}",
+        initialDelayString = "${app.onboarding.saga.recovery-interval:PT30S}"
+    )
+    public void resumeInterruptedSagas() {
+        try {
+            List<OnboardingSaga> recoverable = sagaRepository.findRecoverable(Instant.now());
+            int resumed = 0;
+            for (OnboardingSaga saga : recoverable) {
+                if (sagaRunner.resume(saga)) {
+                    resumed++;
+                }
+            }
+            if (resumed > 0) {
+                log.info("Resumed {} interrupted onboarding sagas", resumed);
+            }
+        } catch (Exception e) {
+            log.warn("Unable to resume interrupted onboarding sagas: {}", e.getMessage());
+        }
+    }
+}
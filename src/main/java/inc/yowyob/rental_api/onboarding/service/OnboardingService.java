@@ -1,41 +1,64 @@
 package inc.yowyob.rental_api.onboarding.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.core.enums.OnboardingFunnelMetric;
+import inc.yowyob.rental_api.core.enums.OnboardingSagaStatus;
+import inc.yowyob.rental_api.core.enums.OnboardingSagaStep;
 import inc.yowyob.rental_api.core.enums.OnboardingStatus;
 import inc.yowyob.rental_api.core.enums.OnboardingStep;
-import inc.yowyob.rental_api.core.enums.UserStatus;
-import inc.yowyob.rental_api.core.enums.UserType;
 import inc.yowyob.rental_api.onboarding.dto.*;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSaga;
 import inc.yowyob.rental_api.onboarding.entities.OnboardingSession;
+import inc.yowyob.rental_api.onboarding.repository.OnboardingSagaRepository;
 import inc.yowyob.rental_api.onboarding.repository.OnboardingSessionRepository;
-import inc.yowyob.rental_api.subscription.entities.OrganizationSubscription;
-import inc.yowyob.rental_api.subscription.entities.SubscriptionPlan;
-import inc.yowyob.rental_api.subscription.service.SubscriptionService;
-import inc.yowyob.rental_api.user.entities.User;
-import inc.yowyob.rental_api.user.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import inc.yowyob.rental_api.user.repository.UserEmailRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.security.SecureRandom;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class OnboardingService {
 
+    /**
+     * Prolongation maximale accordée en une fois
+     */
+    private static final int MAX_EXTENSION_HOURS = 72;
+
     private final OnboardingSessionRepository onboardingSessionRepository;
-    private final SubscriptionService subscriptionService;
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final ObjectMapper objectMapper;
+    private final OnboardingDraftStore draftStore;
+    private final OnboardingAnalytics analytics;
+    private final OnboardingSagaRepository onboardingSagaRepository;
+    private final OnboardingSagaRunner sagaRunner;
+    private final UserEmailRepository userEmailRepository;
+    private final OnboardingPayloadCodec payloadCodec;
+    private final AppProperties.Onboarding.Saga sagaProperties;
+
+    public OnboardingService(OnboardingSessionRepository onboardingSessionRepository,
+                             OnboardingDraftStore draftStore,
+                             OnboardingAnalytics analytics,
+                             OnboardingSagaRepository onboardingSagaRepository,
+                             OnboardingSagaRunner sagaRunner,
+                             UserEmailRepository userEmailRepository,
+                             OnboardingPayloadCodec payloadCodec,
+                             AppProperties appProperties) {
+        this.onboardingSessionRepository = onboardingSessionRepository;
+        this.draftStore = draftStore;
+        this.analytics = analytics;
+        this.onboardingSagaRepository = onboardingSagaRepository;
+        this.sagaRunner = sagaRunner;
+        this.userEmailRepository = userEmailRepository;
+        this.payloadCodec = payloadCodec;
+        this.sagaProperties = appProperties.getOnboarding().getSaga();
+    }
 
     /**
      * Crée une nouvelle session d'onboarding pour un futur propriétaire
@@ -47,6 +70,7 @@ public class OnboardingService {
         // Créer une session sans userId car l'utilisateur n'existe pas encore
         OnboardingSession session = new OnboardingSession();
         OnboardingSession saved = onboardingSessionRepository.save(session);
+        analytics.record(OnboardingFunnelMetric.SESSIONS_STARTED);
 
         log.info("Created new onboarding session: {}", saved.getId());
         return mapToDto(saved);
@@ -57,141 +81,132 @@ public class OnboardingService {
      */
     public Optional<OnboardingSessionDto> getOnboardingSession(UUID sessionId) {
         log.debug("Fetching onboarding session: {}", sessionId);
-        return onboardingSessionRepository.findById(sessionId)
+        return draftStore.find(sessionId)
             .map(this::mapToDto);
     }
 
     /**
      * Sauvegarde les informations du futur propriétaire (Étape 1)
+     * L'écriture en base est différée (voir {@link OnboardingDraftStore})
      */
-    @Transactional
     public OnboardingSessionDto saveOwnerInfo(UUID sessionId, OwnerInfoDto ownerInfo) {
         log.info("Saving owner info for session: {}", sessionId);
 
-        OnboardingSession session = getSessionOrThrow(sessionId);
-        validateSessionActive(session);
-
-        // Vérifier que l'email n'existe pas déjà
-        if (userRepository.existsByEmail(ownerInfo.getEmail())) {
+        // Vérifier que l'email n'existe pas déjà (lecture par clé de user_emails, hors verrou de la session)
+        if (userEmailRepository.existsById(ownerInfo.getEmail())) {
             throw new IllegalArgumentException("Un utilisateur avec cet email existe déjà. Veuillez vous connecter ou utiliser un autre email.");
         }
 
-        try {
-            String ownerInfoJson = objectMapper.writeValueAsString(ownerInfo);
-            session.updateOwnerInfo(ownerInfoJson);
-
-            OnboardingSession updated = onboardingSessionRepository.save(session);
-            log.info("Owner info saved for session: {}", sessionId);
+        ByteBuffer payload = payloadCodec.encode(ownerInfo);
+        OnboardingSessionDto updated = draftStore.update(sessionId, session -> {
+            validateSessionActive(session);
+            recordStepIfFirst(session, OnboardingStep.OWNER_INFO);
+            session.updateOwnerInfo(payload);
+            return mapToDto(session);
+        });
+        log.info("Owner info saved for session: {}", sessionId);
 
-            return mapToDto(updated);
-        } catch (JsonProcessingException e) {
-            log.error("Error serializing owner info for session: {}", sessionId, e);
-            throw new RuntimeException("Error saving owner information", e);
-        }
+        return updated;
     }
 
     /**
      * Sauvegarde les informations de l'organisation (Étape 2)
+     * L'écriture en base est différée (voir {@link OnboardingDraftStore})
      */
-    @Transactional
     public OnboardingSessionDto saveOrganizationInfo(UUID sessionId, OrganizationInfoDto organizationInfo) {
         log.info("Saving organization info for session: {}", sessionId);
 
-        OnboardingSession session = getSessionOrThrow(sessionId);
-        validateSessionActive(session);
-
-        if (!session.canProceedToStep(OnboardingStep.ORGANIZATION_INFO)) {
-            throw new IllegalStateException("Cannot proceed to organization info step. Complete previous steps first.");
-        }
+        ByteBuffer payload = payloadCodec.encode(organizationInfo);
+        OnboardingSessionDto updated = draftStore.update(sessionId, session -> {
+            validateSessionActive(session);
+            if (!session.canProceedToStep(OnboardingStep.ORGANIZATION_INFO)) {
+                throw new IllegalStateException("Cannot proceed to organization info step. Complete previous steps first.");
+            }
+            recordStepIfFirst(session, OnboardingStep.ORGANIZATION_INFO);
+            session.updateOrganizationInfo(payload);
+            return mapToDto(session);
+        });
+        log.info("Organization info saved for session: {}", sessionId);
 
-        try {
-            String organizationInfoJson = objectMapper.writeValueAsString(organizationInfo);
-            session.updateOrganizationInfo(organizationInfoJson);
+        return updated;
+    }
 
-            OnboardingSession updated = onboardingSessionRepository.save(session);
-            log.info("Organization info saved for session: {}", sessionId);
+    /**
+     * Prolonge la durée de vie d'une session active
+     */
+    public OnboardingSessionDto extendSession(UUID sessionId, int additionalHours) {
+        log.info("Extending onboarding session {} by {} hours", sessionId, additionalHours);
 
-            return mapToDto(updated);
-        } catch (JsonProcessingException e) {
-            log.error("Error serializing organization info for session: {}", sessionId, e);
-            throw new RuntimeException("Error saving organization information", e);
+        if (additionalHours <= 0 || additionalHours > MAX_EXTENSION_HOURS) {
+            throw new IllegalArgumentException("Additional hours must be between 1 and " + MAX_EXTENSION_HOURS);
         }
+
+        return draftStore.update(sessionId, session -> {
+            validateSessionActive(session);
+            session.extendExpiry(additionalHours);
+            return mapToDto(session);
+        });
     }
 
     /**
-     * Finalise le processus d'onboarding (Étape 3)
-     * CRÉATION EFFECTIVE DE L'UTILISATEUR OWNER ET DE L'ORGANISATION
+     * Démarre la finalisation du processus d'onboarding (Étape 3)
+     * La création du compte OWNER, de l'organisation et de l'abonnement est exécutée en
+     * arrière-plan par une saga ; son avancement se suit via {@link #getCompletionStatus(UUID)}.
+     * Un nouvel appel pour une finalisation déjà en cours ou terminée retourne son état.
      */
-    @Transactional
-    public OnboardingCompletedDto completeOnboarding(UUID sessionId, SubscriptionInfoDto subscriptionInfo) {
-        log.info("Completing onboarding for session: {}", sessionId);
+    public OnboardingCompletionStatusDto startCompletion(UUID sessionId, SubscriptionInfoDto subscriptionInfo) {
+        log.info("Starting onboarding completion for session: {}", sessionId);
+
+        Optional<OnboardingSaga> existing = onboardingSagaRepository.findById(sessionId);
+        if (existing.isPresent() && existing.get().getStatus() != OnboardingSagaStatus.FAILED) {
+            log.info("Onboarding completion already started for session: {}", sessionId);
+            return mapToStatusDto(existing.get());
+        }
+
+        // La saga relit la session en base : le brouillon doit y être écrit avant de démarrer
+        draftStore.flush(sessionId);
 
-        OnboardingSession session = getSessionOrThrow(sessionId);
+        // Étapes saisies sur un autre nœud : leur brouillon n'y est écrit qu'après le délai d'écriture
+        OnboardingSession session = draftStore.awaitPersisted(sessionId,
+                current -> current.canProceedToStep(OnboardingStep.SUBSCRIPTION_PAYMENT))
+            .orElseThrow(() -> new IllegalArgumentException("Onboarding session not found: " + sessionId));
         validateSessionActive(session);
 
         if (!session.canProceedToStep(OnboardingStep.SUBSCRIPTION_PAYMENT)) {
             throw new IllegalStateException("Cannot proceed to subscription step. Complete previous steps first.");
         }
 
-        try {
-            // Récupérer les données des étapes précédentes
-            OwnerInfoDto ownerInfo = objectMapper.readValue(session.getOwnerInfoData(), OwnerInfoDto.class);
-            OrganizationInfoDto organizationInfo = objectMapper.readValue(session.getOrganizationInfoData(), OrganizationInfoDto.class);
-
-            // Vérifier encore une fois que l'email n'existe pas
-            if (userRepository.existsByEmail(ownerInfo.getEmail())) {
-                throw new IllegalArgumentException("Un utilisateur avec cet email existe déjà");
-            }
-
-            // 1. CRÉER L'UTILISATEUR OWNER
-            User owner = createOwnerUser(ownerInfo);
-            log.info("Owner user created with ID: {}", owner.getId());
-
-            // 2. CRÉER L'ORGANISATION (simulation pour l'instant)
-            UUID organizationId = createOrganization(organizationInfo, owner.getId());
-            log.info("Organization created with ID: {}", organizationId);
-
-            // 3. LIER L'UTILISATEUR À L'ORGANISATION
-            owner.setOrganizationId(organizationId);
-            userRepository.save(owner);
-
-            // 4. CRÉER L'ABONNEMENT
-            SubscriptionPlan plan = subscriptionService.getPlanById(subscriptionInfo.getSubscriptionPlanId())
-                .orElseThrow(() -> new IllegalArgumentException("Plan d'abonnement non trouvé"));
-
-            OrganizationSubscription subscription = subscriptionService.createSubscription(
-                organizationId,
-                subscriptionInfo.getSubscriptionPlanId(),
-                subscriptionInfo.getPaymentMethod(),
-                subscriptionInfo.getPaymentReference(),
-                plan.getPrice()
-            );
-
-            // 5. SAUVEGARDER LES INFOS DE SOUSCRIPTION
-            String subscriptionInfoJson = objectMapper.writeValueAsString(subscriptionInfo);
-            session.updateSubscriptionInfo(subscriptionInfoJson);
-
-            // 6. MARQUER LA SESSION COMME TERMINÉE
-            session.complete(organizationId);
-            session.setUserId(owner.getId()); // Maintenant on peut lier l'utilisateur
-            onboardingSessionRepository.save(session);
+        OwnerInfoDto ownerInfo = payloadCodec.decode(session.getOwnerInfo(), session.getOwnerInfoData(), OwnerInfoDto.class)
+            .orElseThrow(() -> new IllegalStateException("Owner info missing for session: " + sessionId));
 
-            log.info("Onboarding completed successfully for session: {}", sessionId);
+        // Une saga échouée est remplacée : la session est restée en cours et peut être finalisée à nouveau
+        existing.ifPresent(failed -> onboardingSagaRepository.deleteById(sessionId));
 
-            // 7. TODO: Envoyer email de bienvenue avec mot de passe temporaire
-            // sendWelcomeEmail(owner, temporaryPassword);
+        OnboardingSaga saga = new OnboardingSaga(
+            sessionId,
+            ownerInfo.getEmail(),
+            payloadCodec.encode(subscriptionInfo),
+            subscriptionInfo.getSubscriptionPlanId(),
+            sagaRunner.getNodeId(),
+            sagaRunner.leaseUntil()
+        );
+        if (!onboardingSagaRepository.insertIfAbsent(saga, sagaProperties.getRetention())) {
+            // Requête concurrente pour la même session : une seule saga est démarrée
+            return getCompletionStatus(sessionId)
+                .orElseThrow(() -> new IllegalStateException("Onboarding completion could not be started"));
+        }
 
-            return new OnboardingCompletedDto(
-                organizationId,
-                organizationInfo.getOrganizationName(),
-                subscription.getId(),
-                plan.getName()
-            );
+        sagaRunner.submit(sessionId);
+        return mapToStatusDto(saga);
+    }
 
-        } catch (JsonProcessingException e) {
-            log.error("Error processing onboarding completion for session: {}", sessionId, e);
-            throw new RuntimeException("Error completing onboarding", e);
-        }
+    /**
+     * Récupère l'avancement de la finalisation d'une session
+     */
+    public Optional<OnboardingCompletionStatusDto> getCompletionStatus(UUID sessionId) {
+        log.debug("Fetching onboarding completion status for session: {}", sessionId);
+        return onboardingSagaRepository.findById(sessionId)
+            .map(this::mapToStatusDto);
     }
 
     /**
@@ -200,16 +215,10 @@ public class OnboardingService {
     public Optional<OwnerInfoDto> getOwnerInfo(UUID sessionId) {
         log.debug("Fetching owner info for session: {}", sessionId);
 
-        return onboardingSessionRepository.findById(sessionId)
-            .filter(session -> session.getOwnerInfoData() != null)
-            .map(session -> {
-                try {
-                    return objectMapper.readValue(session.getOwnerInfoData(), OwnerInfoDto.class);
-                } catch (JsonProcessingException e) {
-                    log.error("Error deserializing owner info for session: {}", sessionId, e);
-                    return null;
-                }
-            });
+        return draftStore.find(sessionId)
+            .filter(session -> session.hasCompletedStep(OnboardingStep.OWNER_INFO))
+            .flatMap(session -> payloadCodec.decode(
+                session.getOwnerInfo(), session.getOwnerInfoData(), OwnerInfoDto.class));
     }
 
     /**
@@ -218,30 +227,28 @@ public class OnboardingService {
     public Optional<OrganizationInfoDto> getOrganizationInfo(UUID sessionId) {
         log.debug("Fetching organization info for session: {}", sessionId);
 
-        return onboardingSessionRepository.findById(sessionId)
-            .filter(session -> session.getOrganizationInfoData() != null)
-            .map(session -> {
-                try {
-                    return objectMapper.readValue(session.getOrganizationInfoData(), OrganizationInfoDto.class);
-                } catch (JsonProcessingException e) {
-                    log.error("Error deserializing organization info for session: {}", sessionId, e);
-                    return null;
-                }
-            });
+        return draftStore.find(sessionId)
+            .filter(session -> session.hasCompletedStep(OnboardingStep.ORGANIZATION_INFO))
+            .flatMap(session -> payloadCodec.decode(
+                session.getOrganizationInfo(), session.getOrganizationInfoData(), OrganizationInfoDto.class));
     }
 
     /**
      * Annule une session d'onboarding
      */
-    @Transactional
     public void cancelOnboardingSession(UUID sessionId) {
         log.info("Cancelling onboarding session: {}", sessionId);
 
-        OnboardingSession session = getSessionOrThrow(sessionId);
-        session.setStatus(OnboardingStatus.CANCELLED);
-        session.setUpdatedAt(LocalDateTime.now());
-
-        onboardingSessionRepository.save(session);
+        draftStore.update(sessionId, session -> {
+            if (session.getStatus() != OnboardingStatus.CANCELLED) {
+                analytics.record(OnboardingFunnelMetric.CANCELLED);
+            }
+            session.setStatus(OnboardingStatus.CANCELLED);
+            session.setUpdatedAt(LocalDateTime.now());
+            return session.getId();
+        });
+        // Changement d'état définitif : écrit immédiatement
+        draftStore.flush(sessionId);
         log.info("Onboarding session cancelled: {}", sessionId);
     }
 
@@ -255,8 +262,14 @@ public class OnboardingService {
         List<OnboardingSession> expiredSessions = onboardingSessionRepository.findExpiredSessions(LocalDateTime.now());
 
         for (OnboardingSession session : expiredSessions) {
-            session.expire();
-            onboardingSessionRepository.save(session);
+            // Passer par le brouillon : une prolongation encore en mémoire l'emporte sur la ligne lue
+            draftStore.update(session.getId(), current -> {
+                if (current.getStatus() == OnboardingStatus.IN_PROGRESS && current.isExpired()) {
+                    current.expire();
+                    analytics.record(OnboardingFunnelMetric.EXPIRED);
+                }
+                return current.getStatus();
+            });
         }
 
         log.info("Updated {} expired onboarding sessions", expiredSessions.size());
@@ -264,126 +277,53 @@ public class OnboardingService {
 
     /**
      * Récupère les statistiques d'onboarding
+     * Servies depuis les compteurs du tunnel : coût constant quel que soit le nombre de sessions
      */
     public OnboardingStatsDto getOnboardingStats() {
         log.debug("Fetching onboarding statistics");
-
-        Long totalSessions = onboardingSessionRepository.count();
-        Long completedSessions = onboardingSessionRepository.countByStatus(OnboardingStatus.COMPLETED);
-        Long inProgressSessions = onboardingSessionRepository.countByStatus(OnboardingStatus.IN_PROGRESS);
-        Long expiredSessions = onboardingSessionRepository.countByStatus(OnboardingStatus.EXPIRED);
-        Long cancelledSessions = onboardingSessionRepository.countByStatus(OnboardingStatus.CANCELLED);
-
-        double completionRate = totalSessions > 0 ? (double) completedSessions / totalSessions * 100 : 0.0;
-
-        return OnboardingStatsDto.builder()
-            .totalSessions(totalSessions)
-            .completedSessions(completedSessions)
-            .inProgressSessions(inProgressSessions)
-            .expiredSessions(expiredSessions)
-            .cancelledSessions(cancelledSessions)
-            .completionRate(completionRate)
-            .build();
+        return analytics.getTotals();
     }
 
     /**
-     * Trouve les sessions inactives depuis longtemps
+     * Récupère les compteurs du tunnel jour par jour
      */
-    public List<OnboardingSession> findStaleSessions(int hoursThreshold) {
-        LocalDateTime cutoffTime = LocalDateTime.now().minusHours(hoursThreshold);
-        return onboardingSessionRepository.findStaleInProgressSessions(cutoffTime);
+    public List<OnboardingDailyStatsDto> getDailyStats(LocalDate from, LocalDate to) {
+        log.debug("Fetching daily onboarding statistics from {} to {}", from, to);
+        return analytics.getDailyStats(from, to);
     }
 
-    // ==================== MÉTHODES PRIVÉES ====================
-
     /**
-     * Crée l'utilisateur propriétaire à partir des informations d'onboarding
+     * Récupère la conversion et l'abandon par étape sur une période
      */
-    private User createOwnerUser(OwnerInfoDto ownerInfo) {
-        log.info("Creating owner user for email: {}", ownerInfo.getEmail());
-
-        // Générer un mot de passe temporaire sécurisé
-        String temporaryPassword = generateSecureTemporaryPassword();
-
-        User owner = new User(
-            ownerInfo.getEmail(),
-            passwordEncoder.encode(temporaryPassword),
-            ownerInfo.getFirstName(),
-            ownerInfo.getLastName(),
-            UserType.OWNER
-        );
-
-        owner.setPhone(ownerInfo.getPhone());
-        owner.setAddress(ownerInfo.getAddress());
-        owner.setCity(ownerInfo.getCity());
-        owner.setCountry(ownerInfo.getCountry());
-        owner.setStatus(UserStatus.ACTIVE); // Directement actif pour les propriétaires après onboarding
-        owner.setEmailVerified(false); // Sera vérifié par email
-        owner.setPhoneVerified(false);
-
-        User savedOwner = userRepository.save(owner);
-
-        // TODO: Envoyer email avec mot de passe temporaire
-        log.info("Temporary password for {}: {} (TODO: Send via email)", ownerInfo.getEmail(), temporaryPassword);
-
-        return savedOwner;
+    public OnboardingFunnelDto getFunnel(LocalDate from, LocalDate to) {
+        log.debug("Fetching onboarding funnel from {} to {}", from, to);
+        return analytics.getFunnel(from, to);
     }
 
     /**
-     * Crée l'organisation (simulation pour l'instant - sera implémenté en Phase 5)
+     * Compte un visiteur du tunnel d'onboarding
      */
-    private UUID createOrganization(OrganizationInfoDto organizationInfo, UUID ownerId) {
-        log.info("Creating organization: {} for owner: {}", organizationInfo.getOrganizationName(), ownerId);
-
-        // TODO: Implémenter la création réelle de l'organisation en Phase 5
-        // Pour l'instant, retourner un UUID simulé
-        UUID organizationId = UUID.randomUUID();
-
-        log.info("Organization created (simulated) with ID: {} - will be implemented in Phase 5", organizationId);
-        return organizationId;
+    public void recordVisitor(String visitorKey) {
+        analytics.recordVisitor(visitorKey);
     }
 
     /**
-     * Génère un mot de passe temporaire sécurisé
+     * Trouve les sessions inactives depuis longtemps
      */
-    private String generateSecureTemporaryPassword() {
-        String upperCase = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-        String lowerCase = "abcdefghijklmnopqrstuvwxyz";
-        String digits = "0123456789";
-        String specialChars = "!@#$%&*";
-        String allChars = upperCase + lowerCase + digits + specialChars;
-
-        SecureRandom random = new SecureRandom();
-        StringBuilder password = new StringBuilder(12);
-
-        // Garantir au moins un caractère de chaque type
-        password.append(upperCase.charAt(random.nextInt(upperCase.length())));
-        password.append(lowerCase.charAt(random.nextInt(lowerCase.length())));
-        password.append(digits.charAt(random.nextInt(digits.length())));
-        password.append(specialChars.charAt(random.nextInt(specialChars.length())));
-
-        // Compléter avec des caractères aléatoires
-        for (int i = 4; i < 12; i++) {
-            password.append(allChars.charAt(random.nextInt(allChars.length())));
-        }
-
-        // Mélanger les caractères
-        for (int i = 0; i < password.length(); i++) {
-            int randomIndex = random.nextInt(password.length());
-            char temp = password.charAt(i);
-            password.setCharAt(i, password.charAt(randomIndex));
-            password.setCharAt(randomIndex, temp);
-        }
-
-        return password.toString();
+    public List<OnboardingSession> findStaleSessions(int hoursThreshold) {
+        LocalDateTime cutoffTime = LocalDateTime.now().minusHours(hoursThreshold);
+        return onboardingSessionRepository.findStaleInProgressSessions(cutoffTime);
     }
 
+    // ==================== MÉTHODES PRIVÉES ====================
+
     /**
-     * Récupère une session ou lance une exception
+     * Compte le franchissement d'une étape la première fois qu'elle est renseignée
      */
-    private OnboardingSession getSessionOrThrow(UUID sessionId) {
-        return onboardingSessionRepository.findById(sessionId)
-            .orElseThrow(() -> new IllegalArgumentException("Onboarding session not found: " + sessionId));
+    private void recordStepIfFirst(OnboardingSession session, OnboardingStep step) {
+        if (!session.hasCompletedStep(step)) {
+            analytics.record(OnboardingFunnelMetric.forStep(step));
+        }
     }
 
     /**
@@ -416,14 +356,41 @@ public class OnboardingService {
         dto.setExpiresAt(session.getExpiresAt());
         dto.setCompletionPercentage(session.getCompletionPercentage());
 
-        // Indiquer quelles étapes sont complétées
-        dto.setOwnerInfoCompleted(session.getOwnerInfoData() != null);
-        dto.setOrganizationInfoCompleted(session.getOrganizationInfoData() != null);
-        dto.setSubscriptionInfoCompleted(session.getSubscriptionInfoData() != null);
+        // Indiquer quelles étapes sont complétées (masque d'étapes, sans décoder les données)
+        dto.setOwnerInfoCompleted(session.hasCompletedStep(OnboardingStep.OWNER_INFO));
+        dto.setOrganizationInfoCompleted(session.hasCompletedStep(OnboardingStep.ORGANIZATION_INFO));
+        dto.setSubscriptionInfoCompleted(session.hasCompletedStep(OnboardingStep.SUBSCRIPTION_PAYMENT));
 
         dto.setCreatedOrganizationId(session.getCreatedOrganizationId());
         dto.setCompletedAt(session.getCompletedAt());
 
         return dto;
     }
+
+    /**
+     * Convertit une saga de finalisation en DTO d'avancement
+     */
+    private OnboardingCompletionStatusDto mapToStatusDto(OnboardingSaga saga) {
+        OnboardingCompletedDto result = null;
+        if (saga.getStatus() == OnboardingSagaStatus.COMPLETED) {
+            result = new OnboardingCompletedDto(
+                saga.getOrganizationId(),
+                saga.getOrganizationName(),
+                saga.getSubscriptionId(),
+                saga.getPlanName()
+            );
+            result.setActivatedAt(saga.getCompletedAt());
+        }
+
+        return OnboardingCompletionStatusDto.builder()
+            .sessionId(saga.getSessionId())
+            .status(saga.getStatus())
+            .completedSteps(Arrays.stream(OnboardingSagaStep.values()).filter(saga::hasCompletedStep).toList())
+            .attempts(saga.getAttempts())
+            .error(saga.getStatus() == OnboardingSagaStatus.FAILED ? saga.getLastError() : null)
+            .startedAt(saga.getCreatedAt())
+            .completedAt(saga.getCompletedAt())
+            .result(result)
+            .build();
+    }
 }
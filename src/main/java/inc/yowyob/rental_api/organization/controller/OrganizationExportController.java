@@ -0,0 +1,172 @@
+package inc.yowyob.rental_api.organization.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api.common.response.ApiResponseUtil;
+import inc.yowyob.rental_api.organization.service.OrganizationExportService;
+import inc.yowyob.rental_api.security.annotations.RequireOrganizationAccess;
+import inc.yowyob.rental_api.security.annotations.RequirePermission;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports NDJSON des données d'une organisation, pour la BI et les audits.
+ * <p>
+ * La réponse est écrite directement sur le flux HTTP pendant la lecture des pages ; elle est
+ * compressée en gzip si le client l'accepte (en-tête Accept-Encoding).
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/organizations/{organizationId}/export")
+@RequiredArgsConstructor
+@Tag(name = "Organization Export", description = "Exports NDJSON des utilisateurs, rôles et assignations d'une organisation")
+public class OrganizationExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final OrganizationExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    @FunctionalInterface
+    private interface ExportWriter {
+        long write(OutputStream output) throws IOException;
+    }
+
+    @Operation(
+        summary = "Exporter les utilisateurs",
+        description = "Flux NDJSON des utilisateurs de l'organisation, sans données d'authentification"
+    )
+    @GetMapping("/users")
+    @RequirePermission("report_export")
+    @RequireOrganizationAccess
+    public void exportUsers(
+        @Parameter(description = "ID de l'organisation")
+        @PathVariable UUID organizationId,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        log.info("GET /organizations/{}/export/users - Exporting users", organizationId);
+        stream(OrganizationExportService.USERS, organizationId, request, response,
+            output -> exportService.exportUsers(organizationId, output));
+    }
+
+    @Operation(
+        summary = "Exporter les rôles",
+        description = "Flux NDJSON des rôles de l'organisation avec leurs permissions"
+    )
+    @GetMapping("/roles")
+    @RequirePermission("report_export")
+    @RequireOrganizationAccess
+    public void exportRoles(
+        @Parameter(description = "ID de l'organisation")
+        @PathVariable UUID organizationId,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        log.info("GET /organizations/{}/export/roles - Exporting roles", organizationId);
+        stream(OrganizationExportService.ROLES, organizationId, request, response,
+            output -> exportService.exportRoles(organizationId, output));
+    }
+
+    @Operation(
+        summary = "Exporter les assignations de rôles",
+        description = "Flux NDJSON de toutes les assignations utilisateur-rôle de l'organisation, révoquées comprises"
+    )
+    @GetMapping("/role-assignments")
+    @RequirePermission("report_export")
+    @RequireOrganizationAccess
+    public void exportRoleAssignments(
+        @Parameter(description = "ID de l'organisation")
+        @PathVariable UUID organizationId,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        log.info("GET /organizations/{}/export/role-assignments - Exporting role assignments", organizationId);
+        stream(OrganizationExportService.ROLE_ASSIGNMENTS, organizationId, request, response,
+            output -> exportService.exportRoleAssignments(organizationId, output));
+    }
+
+    private void stream(String type, UUID organizationId, HttpServletRequest request,
+                        HttpServletResponse response, ExportWriter writer) throws IOException {
+        Optional<OrganizationExportService.Permit> permit = exportService.tryAcquire();
+        if (permit.isEmpty()) {
+            log.warn("Export of {} for organization {} rejected: too many concurrent exports", type, organizationId);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(exportService.getRetryAfterSeconds()));
+            ApiResponseUtil.writeError(response, objectMapper, "Trop d'exports en cours, veuillez réessayer plus tard",
+                HttpStatus.SERVICE_UNAVAILABLE.value(), request.getRequestURI());
+            return;
+        }
+
+        boolean gzip = acceptsGzip(request);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename(type + "-" + organizationId + ".ndjson")
+            .build()
+            .toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        try (OrganizationExportService.Permit ignored = permit.get()) {
+            if (gzip) {
+                // Vidage synchronisé : chaque page compressée part aussitôt vers le client
+                GZIPOutputStream output = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE, true);
+                writer.write(output);
+                output.finish();
+            } else {
+                writer.write(response.getOutputStream());
+            }
+        } catch (IOException e) {
+            // Client déconnecté : la réponse ne peut plus porter d'erreur
+            log.info("Export of {} for organization {} interrupted: {}", type, organizationId, e.getMessage());
+        } catch (RuntimeException e) {
+            if (response.isCommitted()) {
+                // Interrompre la connexion plutôt que terminer proprement un export incomplet
+                log.error("Export of {} for organization {} failed after streaming started", type, organizationId, e);
+                throw e;
+            }
+            log.error("Error exporting {} for organization {}", type, organizationId, e);
+            response.reset();
+            ApiResponseUtil.writeError(response, objectMapper, "Erreur lors de l'export des données de l'organisation",
+                HttpStatus.INTERNAL_SERVER_ERROR.value(), request.getRequestURI());
+        }
+    }
+
+    /**
+     * Le client accepte-t-il le codage gzip (absent ou avec q=0 : non)
+     */
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
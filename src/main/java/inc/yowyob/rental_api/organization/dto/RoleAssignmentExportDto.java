@@ -0,0 +1,33 @@
+package inc.yowyob.rental_api.organization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ligne d'export d'une assignation utilisateur-rôle, révoquée ou non ; les noms se retrouvent
+ * par jointure avec les exports des utilisateurs et des rôles
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoleAssignmentExportDto {
+
+    private UUID id;
+    private UUID organizationId;
+    private UUID userId;
+    private UUID roleId;
+    private UUID agencyId;
+    private Boolean isActive;
+    private LocalDateTime assignedAt;
+    private LocalDateTime expiresAt;
+    private UUID assignedBy;
+    private String assignmentReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,36 @@
+package inc.yowyob.rental_api.organization.dto;
+
+import inc.yowyob.rental_api.core.enums.RoleType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Ligne d'export d'un rôle
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoleExportDto {
+
+    private UUID id;
+    private UUID organizationId;
+    private String name;
+    private String description;
+    private RoleType roleType;
+    private Boolean isSystemRole;
+    private Boolean isDefaultRole;
+    private Boolean isActive;
+    private Integer priority;
+    private Set<String> permissions;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private UUID createdBy;
+    private UUID updatedBy;
+}
@@ -0,0 +1,40 @@
+package inc.yowyob.rental_api.organization.dto;
+
+import inc.yowyob.rental_api.core.enums.UserStatus;
+import inc.yowyob.rental_api.core.enums.UserType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ligne d'export d'un utilisateur ; mot de passe, jetons et codes de vérification sont exclus
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserExportDto {
+
+    private UUID id;
+    private UUID organizationId;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String phone;
+    private UserType userType;
+    private UserStatus status;
+    private String city;
+    private String country;
+    private Boolean emailVerified;
+    private Boolean phoneVerified;
+    private LocalDateTime lastLoginAt;
+    private LocalDateTime lockedUntil;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private UUID createdBy;
+    private UUID updatedBy;
+}
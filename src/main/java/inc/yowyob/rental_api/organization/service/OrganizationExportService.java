@@ -0,0 +1,227 @@
+package inc.yowyob.rental_api.organization.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.organization.dto.RoleAssignmentExportDto;
+import inc.yowyob.rental_api.organization.dto.RoleExportDto;
+import inc.yowyob.rental_api.organization.dto.UserExportDto;
+import inc.yowyob.rental_api.role.entities.Role;
+import inc.yowyob.rental_api.role.entities.UserRole;
+import inc.yowyob.rental_api.role.repository.RoleRepository;
+import inc.yowyob.rental_api.role.repository.UserRoleRepository;
+import inc.yowyob.rental_api.user.entities.User;
+import inc.yowyob.rental_api.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Export NDJSON (un objet JSON par ligne) des utilisateurs, rôles et assignations d'une organisation.
+ * <p>
+ * Les lignes sont lues page par page (pagination Cassandra) et écrites au fil de l'eau : la page
+ * suivante n'est lue qu'une fois la précédente envoyée. L'écriture sur le flux de réponse étant
+ * bloquante, un client lent ralentit d'autant la lecture, et la mémoire occupée reste celle d'une
+ * page quelle que soit la taille de l'organisation. Le nombre d'exports simultanés est borné.
+ */
+@Slf4j
+@Service
+public class OrganizationExportService {
+
+    public static final String USERS = "users";
+    public static final String ROLES = "roles";
+    public static final String ROLE_ASSIGNMENTS = "role-assignments";
+
+    /**
+     * Place réservée parmi les exports simultanés, rendue à la fermeture
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final UserRoleRepository userRoleRepository;
+    private final AppProperties.Export properties;
+    private final ObjectWriter writer;
+    private final Semaphore slots;
+    private final MeterRegistry meterRegistry;
+
+    public OrganizationExportService(UserRepository userRepository, RoleRepository roleRepository,
+                                     UserRoleRepository userRoleRepository, AppProperties appProperties,
+                                     ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.userRoleRepository = userRoleRepository;
+        this.properties = appProperties.getExport();
+        // Le flux n'est vidé qu'en fin de page, pas après chaque ligne
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.slots = new Semaphore(Math.max(1, properties.getMaxConcurrent()));
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("rental.export.active", slots, semaphore -> Math.max(1, properties.getMaxConcurrent()) - semaphore.availablePermits())
+            .description("Organization exports currently streaming")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Réserve une place d'export ; vide si la limite d'exports simultanés est atteinte
+     */
+    public Optional<Permit> tryAcquire() {
+        return slots.tryAcquire() ? Optional.of(new Permit()) : Optional.empty();
+    }
+
+    public long getRetryAfterSeconds() {
+        return properties.getRetryAfter().toSeconds();
+    }
+
+    /**
+     * Écrit les utilisateurs de l'organisation
+     *
+     * @return nombre de lignes écrites
+     */
+    public long exportUsers(UUID organizationId, OutputStream output) throws IOException {
+        return export(USERS, organizationId, output,
+            pageable -> userRepository.findByOrganizationId(organizationId, pageable), this::mapToUserExportDto);
+    }
+
+    /**
+     * Écrit les rôles de l'organisation
+     *
+     * @return nombre de lignes écrites
+     */
+    public long exportRoles(UUID organizationId, OutputStream output) throws IOException {
+        return export(ROLES, organizationId, output,
+            pageable -> roleRepository.findByOrganizationId(organizationId, pageable), this::mapToRoleExportDto);
+    }
+
+    /**
+     * Écrit les assignations de rôles de l'organisation, révoquées comprises
+     *
+     * @return nombre de lignes écrites
+     */
+    public long exportRoleAssignments(UUID organizationId, OutputStream output) throws IOException {
+        return export(ROLE_ASSIGNMENTS, organizationId, output,
+            pageable -> userRoleRepository.findByOrganizationId(organizationId, pageable), this::mapToRoleAssignmentExportDto);
+    }
+
+    private <E> long export(String type, UUID organizationId, OutputStream output,
+                            Function<Pageable, Slice<E>> pages, Function<E, ?> mapper) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        Counter exported = Counter.builder("rental.export.rows")
+            .description("Rows streamed by organization exports")
+            .tag("type", type)
+            .register(meterRegistry);
+
+        try (JsonGenerator generator = writer.createGenerator(output)) {
+            // Le flux de réponse reste ouvert (compression éventuelle à terminer) ; une ligne par objet
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Pageable pageable = CassandraPageRequest.first(properties.getPageSize());
+            while (true) {
+                Slice<E> page = pages.apply(pageable);
+                for (E entity : page) {
+                    writer.writeValue(generator, mapper.apply(entity));
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+                rows += page.getNumberOfElements();
+                exported.increment(page.getNumberOfElements());
+                if (!page.hasNext()) {
+                    break;
+                }
+                pageable = page.nextPageable();
+            }
+        }
+
+        log.info("Exported {} {} of organization {} in {} ms",
+            rows, type, organizationId, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    // ==================== MAPPING ====================
+
+    private UserExportDto mapToUserExportDto(User user) {
+        return UserExportDto.builder()
+            .id(user.getId())
+            .organizationId(user.getOrganizationId())
+            .email(user.getEmail())
+            .firstName(user.getFirstName())
+            .lastName(user.getLastName())
+            .phone(user.getPhone())
+            .userType(user.getUserType())
+            .status(user.getStatus())
+            .city(user.getCity())
+            .country(user.getCountry())
+            .emailVerified(user.getEmailVerified())
+            .phoneVerified(user.getPhoneVerified())
+            .lastLoginAt(user.getLastLoginAt())
+            .lockedUntil(user.getLockedUntil())
+            .createdAt(user.getCreatedAt())
+            .updatedAt(user.getUpdatedAt())
+            .createdBy(user.getCreatedBy())
+            .updatedBy(user.getUpdatedBy())
+            .build();
+    }
+
+    private RoleExportDto mapToRoleExportDto(Role role) {
+        return RoleExportDto.builder()
+            .id(role.getId())
+            .organizationId(role.getOrganizationId())
+            .name(role.getName())
+            .description(role.getDescription())
+            .roleType(role.getRoleType())
+            .isSystemRole(role.getIsSystemRole())
+            .isDefaultRole(role.getIsDefaultRole())
+            .isActive(role.getIsActive())
+            .priority(role.getPriority())
+            .permissions(role.getPermissions())
+            .createdAt(role.getCreatedAt())
+            .updatedAt(role.getUpdatedAt())
+            .createdBy(role.getCreatedBy())
+            .updatedBy(role.getUpdatedBy())
+            .build();
+    }
+
+    private RoleAssignmentExportDto mapToRoleAssignmentExportDto(UserRole userRole) {
+        return RoleAssignmentExportDto.builder()
+            .id(userRole.getId())
+            .organizationId(userRole.getOrganizationId())
+            .userId(userRole.getUserId())
+            .roleId(userRole.getRoleId())
+            .agencyId(userRole.getAgencyId())
+            .isActive(userRole.getIsActive())
+            .assignedAt(userRole.getAssignedAt())
+            .expiresAt(userRole.getExpiresAt())
+            .assignedBy(userRole.getAssignedBy())
+            .assignmentReason(userRole.getAssignmentReason())
+            .createdAt(userRole.getCreatedAt())
+            .updatedAt(userRole.getUpdatedAt())
+            .build();
+    }
+}
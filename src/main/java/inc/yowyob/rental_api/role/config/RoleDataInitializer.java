@@ -1,13 +1,13 @@
 package inc.yowyob.rental_api.role.config;
 
+import inc.yowyob.rental_api.common.seed.SeedTask;
 import inc.yowyob.rental_api.core.enums.Permission;
 import inc.yowyob.rental_api.core.enums.RoleType;
 import inc.yowyob.rental_api.role.entities.Role;
 import inc.yowyob.rental_api.role.repository.RoleRepository;
+import inc.yowyob.rental_api.role.service.RoleCatalogCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -19,23 +19,27 @@ import java.util.UUID;
  */
 @Slf4j
 @Component
-@Order(3) // Après UserDataInitializer
 @RequiredArgsConstructor
-public class RoleDataInitializer implements CommandLineRunner {
+public class RoleDataInitializer implements SeedTask {
 
     private final RoleRepository roleRepository;
+    private final RoleCatalogCache roleCatalogCache;
 
     @Override
-    public void run(String... args) throws Exception {
-        log.info("Initializing system roles data...");
+    public String getName() {
+        return "system-roles";
+    }
 
-        try {
-            createSystemRoles();
-            log.info("System roles initialization completed successfully.");
+    @Override
+    public int getVersion() {
+        return 1;
+    }
 
-        } catch (Exception e) {
-            log.error("Error during system roles initialization: {}", e.getMessage(), e);
-        }
+    @Override
+    public void apply() {
+        log.info("Initializing system roles data...");
+        createSystemRoles();
+        log.info("System roles initialization completed successfully.");
     }
 
     private void createSystemRoles() {
@@ -164,6 +168,7 @@ public class RoleDataInitializer implements CommandLineRunner {
         superAdminRole.setUpdatedAt(LocalDateTime.now());
 
         roleRepository.save(superAdminRole);
+        roleCatalogCache.bumpVersion(superAdminRole.getOrganizationId());
         log.info("Super Admin system role created successfully with {} permissions", allPermissions.size());
     }
 }
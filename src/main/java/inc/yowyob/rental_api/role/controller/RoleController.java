@@ -1,5 +1,6 @@
 package inc.yowyob.rental_api.role.controller;
 
+import inc.yowyob.rental_api.common.cassandra.budget.DbCallBudget;
 import inc.yowyob.rental_api.common.response.ApiResponse;
 import inc.yowyob.rental_api.common.response.ApiResponseUtil;
 import inc.yowyob.rental_api.role.dto.*;
@@ -349,6 +350,7 @@ public class RoleController {
         description = "Calcule et retourne toutes les permissions qu'un utilisateur possède via ses rôles"
     )
     @GetMapping("/user/{userId}/permissions")
+    @DbCallBudget(4) // Authentification + rôles de l'utilisateur ; le catalogue vient du cache
     @PreAuthorize("hasAuthority('USER_READ') or #userId == authentication.principal.id")
     public ResponseEntity<ApiResponse<UserPermissionsDto>> getUserPermissions(
         @Parameter(description = "ID de l'utilisateur")
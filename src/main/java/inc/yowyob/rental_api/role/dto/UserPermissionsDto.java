@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -25,4 +26,8 @@ public class UserPermissionsDto {
     private List<PermissionGroupDto> permissionGroups;
     private Boolean hasFullAccess;
     private String accessLevel; // ADMIN, MANAGER, USER, LIMITED
+    /**
+     * Première expiration parmi les assignations prises en compte (null : aucune)
+     */
+    private LocalDateTime validUntil;
 }
@@ -0,0 +1,72 @@
+package inc.yowyob.rental_api.role.model;
+
+import inc.yowyob.rental_api.core.enums.Permission;
+import inc.yowyob.rental_api.role.entities.Role;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Vue immuable de tous les rôles d'une organisation à une version donnée,
+ * indexée par ID et par nom, avec les masques de permissions précompilés.
+ * <p>
+ * Les rôles sont partagés entre les lecteurs et ne doivent pas être modifiés.
+ */
+public class RoleCatalog {
+
+    @Getter
+    private final UUID organizationId;
+    @Getter
+    private final long version;
+    @Getter
+    private final List<Role> roles;
+    private final Map<UUID, Role> rolesById;
+    private final Map<String, Role> rolesByName;
+    private final Map<UUID, Long> permissionMasks;
+
+    public RoleCatalog(UUID organizationId, long version, List<Role> roles) {
+        this.organizationId = organizationId;
+        this.version = version;
+        this.roles = List.copyOf(roles);
+
+        Map<UUID, Role> byId = new HashMap<>();
+        Map<String, Role> byName = new HashMap<>();
+        Map<UUID, Long> masks = new HashMap<>();
+        for (Role role : roles) {
+            byId.put(role.getId(), role);
+            if (role.getName() != null) {
+                byName.put(role.getName(), role);
+            }
+            masks.put(role.getId(), Permission.maskOf(role.getPermissions()));
+        }
+
+        this.rolesById = Map.copyOf(byId);
+        this.rolesByName = Map.copyOf(byName);
+        this.permissionMasks = Map.copyOf(masks);
+    }
+
+    public Optional<Role> findById(UUID roleId) {
+        return Optional.ofNullable(rolesById.get(roleId));
+    }
+
+    public Optional<Role> findByName(String name) {
+        return Optional.ofNullable(name != null ? rolesByName.get(name) : null);
+    }
+
+    public boolean containsName(String name) {
+        return name != null && rolesByName.containsKey(name);
+    }
+
+    public List<Role> getActiveRoles() {
+        return roles.stream()
+            .filter(role -> Boolean.TRUE.equals(role.getIsActive()))
+            .toList();
+    }
+
+    /**
+     * Masque de permissions compilé d'un rôle du catalogue (0 si inconnu)
+     */
+    public long getPermissionMask(UUID roleId) {
+        return permissionMasks.getOrDefault(roleId, 0L);
+    }
+}
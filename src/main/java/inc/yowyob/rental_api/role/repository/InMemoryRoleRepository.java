@@ -0,0 +1,134 @@
+package inc.yowyob.rental_api.role.repository;
+
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import inc.yowyob.rental_api.role.entities.Role;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implémentation en mémoire de {@link RoleRepository} (profil perf-inmemory)
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemoryRoleRepository extends InMemoryCassandraRepository<Role, UUID> implements RoleRepository {
+
+    public InMemoryRoleRepository(LatencySimulator latencySimulator) {
+        super(Role.class, Role::getId, latencySimulator);
+    }
+
+    @Override
+    public List<Role> findByOrganizationId(UUID organizationId) {
+        return findWhere(role -> inOrganization(role, organizationId));
+    }
+
+    @Override
+    public Slice<Role> findByOrganizationId(UUID organizationId, Pageable pageable) {
+        return findSliceWhere(role -> inOrganization(role, organizationId), pageable);
+    }
+
+    @Override
+    public List<Role> findActiveByOrganizationId(UUID organizationId) {
+        return findWhere(role -> inOrganization(role, organizationId) && isTrue(role.getIsActive()));
+    }
+
+    @Override
+    public Optional<Role> findByOrganizationIdAndName(UUID organizationId, String name) {
+        return findFirstWhere(role -> inOrganization(role, organizationId) && Objects.equals(name, role.getName()));
+    }
+
+    @Override
+    public List<Role> findByRoleType(String roleType) {
+        return findWhere(role -> hasRoleType(role, roleType));
+    }
+
+    @Override
+    public List<Role> findSystemRoles() {
+        return findWhere(role -> isTrue(role.getIsSystemRole()));
+    }
+
+    @Override
+    public List<Role> findDefaultRolesByOrganizationId(UUID organizationId) {
+        return findWhere(role -> inOrganization(role, organizationId) && isTrue(role.getIsDefaultRole()));
+    }
+
+    @Override
+    public List<Role> findCustomRolesByOrganizationId(UUID organizationId) {
+        return findWhere(role -> inOrganization(role, organizationId) && isFalse(role.getIsSystemRole()));
+    }
+
+    @Override
+    public List<Role> findByCreatedBy(UUID createdBy) {
+        return findWhere(role -> Objects.equals(createdBy, role.getCreatedBy()));
+    }
+
+    @Override
+    public List<Role> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return findWhere(role -> between(role.getCreatedAt(), startDate, endDate));
+    }
+
+    @Override
+    public List<Role> findByOrganizationIdAndPriorityGreaterThanEqual(UUID organizationId, Integer priority) {
+        return findWhere(role -> inOrganization(role, organizationId) && ge(role.getPriority(), priority));
+    }
+
+    @Override
+    public List<Role> findByPermission(String permission) {
+        return findWhere(role -> hasPermission(role, permission));
+    }
+
+    @Override
+    public List<Role> findByOrganizationIdAndPermission(UUID organizationId, String permission) {
+        return findWhere(role -> inOrganization(role, organizationId) && hasPermission(role, permission));
+    }
+
+    @Override
+    public Long countActiveByOrganizationId(UUID organizationId) {
+        return countWhere(role -> inOrganization(role, organizationId) && isTrue(role.getIsActive()));
+    }
+
+    @Override
+    public Long countByRoleType(String roleType) {
+        return countWhere(role -> hasRoleType(role, roleType));
+    }
+
+    @Override
+    public List<Role> findByOrganizationIdAndColor(UUID organizationId, String color) {
+        return findWhere(role -> inOrganization(role, organizationId) && Objects.equals(color, role.getColor()));
+    }
+
+    @Override
+    public Long countByOrganizationIdAndName(UUID organizationId, String name) {
+        return countWhere(role -> inOrganization(role, organizationId) && Objects.equals(name, role.getName()));
+    }
+
+    @Override
+    public List<Role> findRecentlyUpdatedByOrganizationId(UUID organizationId, LocalDateTime since) {
+        return findWhere(role -> inOrganization(role, organizationId) && ge(role.getUpdatedAt(), since));
+    }
+
+    @Override
+    public List<Role> findInactiveByOrganizationId(UUID organizationId) {
+        return findWhere(role -> inOrganization(role, organizationId) && isFalse(role.getIsActive()));
+    }
+
+    private static boolean inOrganization(Role role, UUID organizationId) {
+        return Objects.equals(organizationId, role.getOrganizationId());
+    }
+
+    private static boolean hasRoleType(Role role, String roleType) {
+        return role.getRoleType() != null && role.getRoleType().name().equals(roleType);
+    }
+
+    private static boolean hasPermission(Role role, String permission) {
+        return role.getPermissions() != null && role.getPermissions().contains(permission);
+    }
+}
@@ -0,0 +1,179 @@
+package inc.yowyob.rental_api.role.repository;
+
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import inc.yowyob.rental_api.role.entities.UserRole;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implémentation en mémoire de {@link UserRoleRepository} (profil perf-inmemory)
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemoryUserRoleRepository extends InMemoryCassandraRepository<UserRole, UUID> implements UserRoleRepository {
+
+    public InMemoryUserRoleRepository(LatencySimulator latencySimulator) {
+        super(UserRole.class, UserRole::getId, latencySimulator);
+    }
+
+    @Override
+    public List<UserRole> findByUserId(UUID userId) {
+        return findWhere(userRole -> ofUser(userRole, userId));
+    }
+
+    @Override
+    public List<UserRole> findActiveByUserId(UUID userId) {
+        return findWhere(userRole -> ofUser(userRole, userId) && isTrue(userRole.getIsActive()));
+    }
+
+    @Override
+    public List<UserRole> findValidByUserId(UUID userId, LocalDateTime now) {
+        return findWhere(userRole -> ofUser(userRole, userId) && isTrue(userRole.getIsActive())
+            && (userRole.getExpiresAt() == null || gt(userRole.getExpiresAt(), now)));
+    }
+
+    @Override
+    public List<UserRole> findActiveByRoleId(UUID roleId) {
+        return findWhere(userRole -> ofRole(userRole, roleId) && isTrue(userRole.getIsActive()));
+    }
+
+    @Override
+    public List<UserRole> findByUserIdAndOrganizationId(UUID userId, UUID organizationId) {
+        return findWhere(userRole -> ofUser(userRole, userId) && inOrganization(userRole, organizationId));
+    }
+
+    @Override
+    public List<UserRole> findActiveByUserIdAndOrganizationId(UUID userId, UUID organizationId) {
+        return findWhere(userRole -> ofUser(userRole, userId) && inOrganization(userRole, organizationId)
+            && isTrue(userRole.getIsActive()));
+    }
+
+    @Override
+    public Optional<UserRole> findByUserIdAndRoleId(UUID userId, UUID roleId) {
+        return findFirstWhere(userRole -> ofUser(userRole, userId) && ofRole(userRole, roleId));
+    }
+
+    @Override
+    public Optional<UserRole> findActiveByUserIdAndRoleId(UUID userId, UUID roleId) {
+        return findFirstWhere(userRole -> ofUser(userRole, userId) && ofRole(userRole, roleId)
+            && isTrue(userRole.getIsActive()));
+    }
+
+    @Override
+    public List<UserRole> findActiveByUserIdAndAgencyId(UUID userId, UUID agencyId) {
+        return findWhere(userRole -> ofUser(userRole, userId) && Objects.equals(agencyId, userRole.getAgencyId())
+            && isTrue(userRole.getIsActive()));
+    }
+
+    @Override
+    public List<UserRole> findActiveByOrganizationId(UUID organizationId) {
+        return findWhere(userRole -> inOrganization(userRole, organizationId) && isTrue(userRole.getIsActive()));
+    }
+
+    @Override
+    public Slice<UserRole> findByOrganizationId(UUID organizationId, Pageable pageable) {
+        return findSliceWhere(userRole -> inOrganization(userRole, organizationId), pageable);
+    }
+
+    @Override
+    public List<UserRole> findActiveByAgencyId(UUID agencyId) {
+        return findWhere(userRole -> Objects.equals(agencyId, userRole.getAgencyId()) && isTrue(userRole.getIsActive()));
+    }
+
+    @Override
+    public List<UserRole> findExpiringSoon(LocalDateTime expirationThreshold, LocalDateTime now) {
+        return findWhere(userRole -> isTrue(userRole.getIsActive())
+            && le(userRole.getExpiresAt(), expirationThreshold) && gt(userRole.getExpiresAt(), now));
+    }
+
+    @Override
+    public List<UserRole> findExpired(LocalDateTime now) {
+        return findWhere(userRole -> isTrue(userRole.getIsActive()) && lt(userRole.getExpiresAt(), now));
+    }
+
+    @Override
+    public List<UserRole> findByAssignedBy(UUID assignedBy) {
+        return findWhere(userRole -> Objects.equals(assignedBy, userRole.getAssignedBy()));
+    }
+
+    @Override
+    public List<UserRole> findByAssignedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return findWhere(userRole -> between(userRole.getAssignedAt(), startDate, endDate));
+    }
+
+    @Override
+    public Long countActiveByRoleId(UUID roleId) {
+        return countWhere(userRole -> ofRole(userRole, roleId) && isTrue(userRole.getIsActive()));
+    }
+
+    @Override
+    public Long countActiveByUserId(UUID userId) {
+        return countWhere(userRole -> ofUser(userRole, userId) && isTrue(userRole.getIsActive()));
+    }
+
+    @Override
+    public Long countDistinctActiveUsersByOrganizationId(UUID organizationId) {
+        return findActiveByOrganizationId(organizationId).stream()
+            .map(UserRole::getUserId)
+            .distinct()
+            .count();
+    }
+
+    @Override
+    public List<UserRole> findTemporaryAssignments() {
+        return findWhere(userRole -> userRole.getExpiresAt() != null && isTrue(userRole.getIsActive()));
+    }
+
+    @Override
+    public List<UserRole> findPermanentAssignments() {
+        return findWhere(userRole -> userRole.getExpiresAt() == null && isTrue(userRole.getIsActive()));
+    }
+
+    @Override
+    public List<UserRole> findRevokedAssignments() {
+        return findWhere(userRole -> isFalse(userRole.getIsActive()));
+    }
+
+    @Override
+    public List<UserRole> findActiveByOrganizationIdAndRoleId(UUID organizationId, UUID roleId) {
+        return findWhere(userRole -> inOrganization(userRole, organizationId) && ofRole(userRole, roleId)
+            && isTrue(userRole.getIsActive()));
+    }
+
+    @Override
+    public Long countActiveByUserIdAndRoleId(UUID userId, UUID roleId) {
+        return countWhere(userRole -> ofUser(userRole, userId) && ofRole(userRole, roleId)
+            && isTrue(userRole.getIsActive()));
+    }
+
+    @Override
+    public List<UserRole> findRecentAssignments(LocalDateTime since) {
+        return findWhere(userRole -> ge(userRole.getAssignedAt(), since));
+    }
+
+    @Override
+    public List<UserRole> findByAssignmentReason(String reason) {
+        return findWhere(userRole -> Objects.equals(reason, userRole.getAssignmentReason()));
+    }
+
+    private static boolean ofUser(UserRole userRole, UUID userId) {
+        return Objects.equals(userId, userRole.getUserId());
+    }
+
+    private static boolean ofRole(UserRole userRole, UUID roleId) {
+        return Objects.equals(roleId, userRole.getRoleId());
+    }
+
+    private static boolean inOrganization(UserRole userRole, UUID organizationId) {
+        return Objects.equals(organizationId, userRole.getOrganizationId());
+    }
+}
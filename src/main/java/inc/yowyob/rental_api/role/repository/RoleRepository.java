@@ -4,6 +4,8 @@ import inc.yowyob.rental_api.core.enums.RoleType;
 import inc.yowyob.rental_api.role.entities.Role;
 import org.springframework.data.cassandra.repository.CassandraRepository;
 import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -20,6 +22,12 @@ public interface RoleRepository extends CassandraRepository<Role, UUID> {
     @Query("SELECT * FROM roles WHERE organization_id = ?0 ALLOW FILTERING")
     List<Role> findByOrganizationId(UUID organizationId);
 
+    /**
+     * Parcourt les rôles d'une organisation page par page (export)
+     */
+    @Query("SELECT * FROM roles WHERE organizationid = ?0 ALLOW FILTERING")
+    Slice<Role> findByOrganizationId(UUID organizationId, Pageable pageable);
+
     /**
      * Trouve les rôles actifs d'une organisation
      */
@@ -3,6 +3,8 @@ package inc.yowyob.rental_api.role.repository;
 import inc.yowyob.rental_api.role.entities.UserRole;
 import org.springframework.data.cassandra.repository.CassandraRepository;
 import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -73,6 +75,12 @@ public interface UserRoleRepository extends CassandraRepository<UserRole, UUID>
     @Query("SELECT * FROM user_roles WHERE organization_id = ?0 AND is_active = true ALLOW FILTERING")
     List<UserRole> findActiveByOrganizationId(UUID organizationId);
 
+    /**
+     * Parcourt toutes les assignations d'une organisation, révoquées comprises, page par page (export)
+     */
+    @Query("SELECT * FROM user_roles WHERE organizationid = ?0 ALLOW FILTERING")
+    Slice<UserRole> findByOrganizationId(UUID organizationId, Pageable pageable);
+
     /**
      * Trouve tous les utilisateurs d'une agence avec leurs rôles
      */
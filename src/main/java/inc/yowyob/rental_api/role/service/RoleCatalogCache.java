@@ -0,0 +1,114 @@
+package inc.yowyob.rental_api.role.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import inc.yowyob.rental_api.common.cache.ManagedCache;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationBus;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationType;
+import inc.yowyob.rental_api.common.cache.repository.CacheVersionRepository;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.role.model.RoleCatalog;
+import inc.yowyob.rental_api.role.repository.RoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Cache des catalogues de rôles par organisation.
+ * <p>
+ * Chaque mutation de rôle incrémente la "version des rôles" de l'organisation. À chaque
+ * lecture, la version courante est relue (lecture ponctuelle d'une ligne) et comparée à
+ * celle du catalogue en cache : le catalogue n'est rechargé que si un nœud a modifié les rôles.
+ */
+@Slf4j
+@Component
+public class RoleCatalogCache implements ManagedCache {
+
+    private static final String VERSION_PREFIX = "roles:";
+
+    private final RoleRepository roleRepository;
+    private final CacheVersionRepository cacheVersionRepository;
+    private final Cache<UUID, RoleCatalog> cache;
+
+    public RoleCatalogCache(RoleRepository roleRepository,
+                            CacheVersionRepository cacheVersionRepository,
+                            AppProperties appProperties,
+                            InvalidationBus invalidationBus) {
+        this.roleRepository = roleRepository;
+        this.cacheVersionRepository = cacheVersionRepository;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(appProperties.getRole().getCatalogCacheMaxSize())
+            .expireAfterAccess(appProperties.getRole().getCatalogCacheTtl())
+            .recordStats()
+            .build();
+
+        invalidationBus.subscribe(InvalidationType.ROLE_CATALOG, key -> {
+            if (InvalidationBus.ALL_KEYS.equals(key)) {
+                cache.invalidateAll();
+            } else {
+                invalidate(UUID.fromString(key));
+            }
+        });
+    }
+
+    /**
+     * Récupère le catalogue à jour des rôles d'une organisation
+     */
+    public RoleCatalog get(UUID organizationId) {
+        long currentVersion = cacheVersionRepository.getCurrentVersion(versionKey(organizationId));
+
+        RoleCatalog cached = cache.getIfPresent(organizationId);
+        if (cached != null && cached.getVersion() == currentVersion) {
+            return cached;
+        }
+
+        log.debug("Loading role catalog for organization {} (version {})", organizationId, currentVersion);
+        RoleCatalog loaded = new RoleCatalog(
+            organizationId,
+            currentVersion,
+            roleRepository.findByOrganizationId(organizationId)
+        );
+        cache.asMap().merge(organizationId, loaded,
+            (existing, candidate) -> existing.getVersion() > candidate.getVersion() ? existing : candidate);
+        return loaded;
+    }
+
+    /**
+     * Signale une mutation des rôles d'une organisation à tous les nœuds
+     */
+    public void bumpVersion(UUID organizationId) {
+        if (organizationId == null) {
+            return;
+        }
+        cacheVersionRepository.incrementVersion(versionKey(organizationId));
+        cache.invalidate(organizationId);
+    }
+
+    /**
+     * Retire le catalogue local d'une organisation
+     */
+    public void invalidate(UUID organizationId) {
+        cache.invalidate(organizationId);
+    }
+
+    private static String versionKey(UUID organizationId) {
+        return VERSION_PREFIX + organizationId;
+    }
+
+    @Override
+    public String getCacheName() {
+        return "role-catalogs";
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    public boolean evictOrganization(UUID organizationId) {
+        invalidate(organizationId);
+        return true;
+    }
+}
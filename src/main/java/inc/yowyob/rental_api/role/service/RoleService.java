@@ -1,10 +1,14 @@
 package inc.yowyob.rental_api.role.service;
 
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationBus;
+import inc.yowyob.rental_api.common.concurrent.SingleFlight;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationType;
 import inc.yowyob.rental_api.core.enums.Permission;
 import inc.yowyob.rental_api.core.enums.RoleType;
 import inc.yowyob.rental_api.role.dto.*;
 import inc.yowyob.rental_api.role.entities.Role;
 import inc.yowyob.rental_api.role.entities.UserRole;
+import inc.yowyob.rental_api.role.model.RoleCatalog;
 import inc.yowyob.rental_api.role.repository.RoleRepository;
 import inc.yowyob.rental_api.role.repository.UserRoleRepository;
 import inc.yowyob.rental_api.user.entities.User;
@@ -26,6 +30,9 @@ public class RoleService {
     private final RoleRepository roleRepository;
     private final UserRoleRepository userRoleRepository;
     private final UserRepository userRepository;
+    private final RoleCatalogCache roleCatalogCache;
+    private final UserPermissionCache userPermissionCache;
+    private final InvalidationBus invalidationBus;
 
     /**
      * Crée un nouveau rôle
@@ -35,10 +42,21 @@ public class RoleService {
         log.info("Creating new role: {} for organization: {}", createRoleDto.getName(), createRoleDto.getOrganizationId());
 
         // Vérifier que le nom n'existe pas déjà dans l'organisation
-        if (roleRepository.existsByOrganizationIdAndName(createRoleDto.getOrganizationId(), createRoleDto.getName())) {
+        if (roleCatalogCache.get(createRoleDto.getOrganizationId()).containsName(createRoleDto.getName())) {
             throw new IllegalArgumentException("A role with this name already exists in the organization");
         }
 
+        Role savedRole = saveNewRole(createRoleDto, createdBy);
+        onRolesChanged(savedRole.getOrganizationId());
+        log.info("Role created successfully with ID: {}", savedRole.getId());
+
+        return mapToRoleDto(savedRole, 0L);
+    }
+
+    /**
+     * Valide et enregistre un nouveau rôle, sans propager la mutation du catalogue
+     */
+    private Role saveNewRole(CreateRoleDto createRoleDto, UUID createdBy) {
         // Valider les permissions
         validatePermissions(createRoleDto.getPermissions());
 
@@ -58,10 +76,7 @@ public class RoleService {
         role.setCreatedBy(createdBy);
         role.setUpdatedBy(createdBy);
 
-        Role savedRole = roleRepository.save(role);
-        log.info("Role created successfully with ID: {}", savedRole.getId());
-
-        return mapToRoleDto(savedRole);
+        return roleRepository.save(role);
     }
 
     /**
@@ -80,7 +95,7 @@ public class RoleService {
 
         // Vérifier le nom unique si changé
         if (updateRoleDto.getName() != null && !updateRoleDto.getName().equals(role.getName())) {
-            if (roleRepository.existsByOrganizationIdAndName(role.getOrganizationId(), updateRoleDto.getName())) {
+            if (roleCatalogCache.get(role.getOrganizationId()).containsName(updateRoleDto.getName())) {
                 throw new IllegalArgumentException("A role with this name already exists in the organization");
             }
             role.setName(updateRoleDto.getName());
@@ -114,6 +129,7 @@ public class RoleService {
         role.setUpdatedAt(LocalDateTime.now());
 
         Role savedRole = roleRepository.save(role);
+        onRolesChanged(savedRole.getOrganizationId());
         log.info("Role updated successfully: {}", roleId);
 
         return mapToRoleDto(savedRole);
@@ -140,12 +156,14 @@ public class RoleService {
         }
 
         roleRepository.delete(role);
+        onRolesChanged(role.getOrganizationId());
         log.info("Role deleted successfully: {}", roleId);
     }
 
     /**
      * Récupère un rôle par ID
      */
+    @SingleFlight
     public RoleDto getRoleById(UUID roleId) {
         log.debug("Fetching role: {}", roleId);
         Role role = getRoleOrThrow(roleId);
@@ -157,10 +175,8 @@ public class RoleService {
      */
     public List<RoleDto> getRolesByOrganizationId(UUID organizationId) {
         log.debug("Fetching roles for organization: {}", organizationId);
-        List<Role> roles = roleRepository.findByOrganizationId(organizationId);
-        return roles.stream()
-            .map(this::mapToRoleDto)
-            .collect(Collectors.toList());
+        List<Role> roles = roleCatalogCache.get(organizationId).getRoles();
+        return mapToRoleDtos(organizationId, roles);
     }
 
     /**
@@ -168,10 +184,8 @@ public class RoleService {
      */
     public List<RoleDto> getActiveRolesByOrganizationId(UUID organizationId) {
         log.debug("Fetching active roles for organization: {}", organizationId);
-        List<Role> roles = roleRepository.findActiveByOrganizationId(organizationId);
-        return roles.stream()
-            .map(this::mapToRoleDto)
-            .collect(Collectors.toList());
+        List<Role> roles = roleCatalogCache.get(organizationId).getActiveRoles();
+        return mapToRoleDtos(organizationId, roles);
     }
 
     /**
@@ -212,6 +226,7 @@ public class RoleService {
         userRole.setAssignedBy(assignedBy);
 
         UserRole savedUserRole = userRoleRepository.save(userRole);
+        invalidationBus.publish(InvalidationType.USER_PERMISSIONS, savedUserRole.getUserId());
         log.info("Role assigned successfully: {}", savedUserRole.getId());
 
         return mapToUserRoleDto(savedUserRole, role, user);
@@ -229,6 +244,7 @@ public class RoleService {
 
         userRole.revoke();
         userRoleRepository.save(userRole);
+        invalidationBus.publish(InvalidationType.USER_PERMISSIONS, userId);
 
         log.info("Role revoked successfully");
     }
@@ -265,6 +281,7 @@ public class RoleService {
                     userRole.setAssignedBy(assignedBy);
 
                     UserRole savedUserRole = userRoleRepository.save(userRole);
+                    invalidationBus.publish(InvalidationType.USER_PERMISSIONS, userId);
                     results.add(mapToUserRoleDto(savedUserRole, role, user));
                 }
             } catch (Exception e) {
@@ -280,6 +297,7 @@ public class RoleService {
     /**
      * Récupère les rôles d'un utilisateur
      */
+    @SingleFlight
     public List<UserRoleDto> getUserRoles(UUID userId) {
         log.debug("Fetching roles for user: {}", userId);
 
@@ -305,25 +323,43 @@ public class RoleService {
      * Récupère les permissions effectives d'un utilisateur
      */
     public UserPermissionsDto getUserEffectivePermissions(UUID userId, UUID organizationId) {
+        return userPermissionCache.get(userId, organizationId,
+            () -> computeUserEffectivePermissions(userId, organizationId));
+    }
+
+    private UserPermissionsDto computeUserEffectivePermissions(UUID userId, UUID organizationId) {
         log.debug("Calculating effective permissions for user {} in organization {}", userId, organizationId);
 
         List<UserRole> userRoles = userRoleRepository.findValidByUserId(userId, LocalDateTime.now());
+        RoleCatalog catalog = roleCatalogCache.get(organizationId);
+        long permissionMask = 0L;
         Set<String> effectivePermissions = new HashSet<>();
         List<RoleDto> assignedRoles = new ArrayList<>();
+        LocalDateTime validUntil = null;
 
         for (UserRole userRole : userRoles) {
             if (userRole.getOrganizationId().equals(organizationId)) {
                 try {
-                    Role role = roleRepository.findById(userRole.getRoleId()).orElse(null);
+                    Optional<Role> catalogRole = catalog.findById(userRole.getRoleId());
+                    Role role = catalogRole.orElseGet(() -> roleRepository.findById(userRole.getRoleId()).orElse(null));
                     if (role != null && Boolean.TRUE.equals(role.getIsActive())) {
-                        effectivePermissions.addAll(role.getPermissions());
+                        if (catalogRole.isPresent()) {
+                            permissionMask |= catalog.getPermissionMask(role.getId());
+                        } else {
+                            effectivePermissions.addAll(role.getPermissions());
+                        }
                         assignedRoles.add(mapToRoleDto(role));
+                        if (userRole.getExpiresAt() != null
+                            && (validUntil == null || userRole.getExpiresAt().isBefore(validUntil))) {
+                            validUntil = userRole.getExpiresAt();
+                        }
                     }
                 } catch (Exception e) {
                     log.error("Error processing role {}: {}", userRole.getRoleId(), e.getMessage());
                 }
             }
         }
+        effectivePermissions.addAll(Permission.codesOf(permissionMask));
 
         // Grouper les permissions par ressource
         List<PermissionGroupDto> permissionGroups = groupPermissionsByResource(effectivePermissions);
@@ -340,6 +376,7 @@ public class RoleService {
             .permissionGroups(permissionGroups)
             .hasFullAccess(hasFullAccess)
             .accessLevel(accessLevel)
+            .validUntil(validUntil)
             .build();
     }
 
@@ -366,6 +403,7 @@ public class RoleService {
         role.setUpdatedAt(LocalDateTime.now());
 
         Role savedRole = roleRepository.save(role);
+        onRolesChanged(savedRole.getOrganizationId());
         log.info("Role permissions updated successfully");
 
         return mapToRoleDto(savedRole);
@@ -411,10 +449,11 @@ public class RoleService {
     /**
      * Récupère les statistiques des rôles pour une organisation
      */
+    @SingleFlight
     public RoleStatsDto getRoleStats(UUID organizationId) {
         log.debug("Calculating role statistics for organization: {}", organizationId);
 
-        List<Role> allRoles = roleRepository.findByOrganizationId(organizationId);
+        List<Role> allRoles = roleCatalogCache.get(organizationId).getRoles();
         List<UserRole> allUserRoles = userRoleRepository.findActiveByOrganizationId(organizationId);
 
         LocalDateTime now = LocalDateTime.now();
@@ -470,6 +509,7 @@ public class RoleService {
         for (UserRole userRole : expiredAssignments) {
             userRole.revoke();
             userRoleRepository.save(userRole);
+            invalidationBus.publish(InvalidationType.USER_PERMISSIONS, userRole.getUserId());
         }
 
         log.info("Cleaned up {} expired role assignments", expiredAssignments.size());
@@ -484,6 +524,7 @@ public class RoleService {
 
         List<RoleTemplateDto> templates = getDefaultRoleTemplates();
         List<RoleDto> createdRoles = new ArrayList<>();
+        RoleCatalog catalog = roleCatalogCache.get(organizationId);
 
         for (RoleTemplateDto template : templates) {
             try {
@@ -498,19 +539,34 @@ public class RoleService {
                 createRoleDto.setIcon(template.getDefaultIcon());
                 createRoleDto.setIsDefaultRole(true);
 
-                RoleDto createdRole = createRole(createRoleDto, createdBy);
-                createdRoles.add(createdRole);
+                if (catalog.containsName(template.getName())) {
+                    throw new IllegalArgumentException("A role with this name already exists in the organization");
+                }
+                createdRoles.add(mapToRoleDto(saveNewRole(createRoleDto, createdBy), 0L));
             } catch (Exception e) {
                 log.error("Error creating default role {}: {}", template.getName(), e.getMessage());
             }
         }
 
+        // Une seule nouvelle version du catalogue pour tout le lot
+        if (!createdRoles.isEmpty()) {
+            onRolesChanged(organizationId);
+        }
+
         log.info("Created {} default roles for organization: {}", createdRoles.size(), organizationId);
         return createdRoles;
     }
 
     // ==================== MÉTHODES PRIVÉES ====================
 
+    /**
+     * Propage une mutation des rôles d'une organisation (version du catalogue et caches des autres nœuds)
+     */
+    private void onRolesChanged(UUID organizationId) {
+        roleCatalogCache.bumpVersion(organizationId);
+        invalidationBus.publish(InvalidationType.ROLE_CATALOG, organizationId);
+    }
+
     private Role getRoleOrThrow(UUID roleId) {
         return roleRepository.findById(roleId)
             .orElseThrow(() -> new IllegalArgumentException("Role not found: " + roleId));
@@ -531,8 +587,26 @@ public class RoleService {
     }
 
     private RoleDto mapToRoleDto(Role role) {
-        Long userCount = userRoleRepository.countActiveByRoleId(role.getId());
+        return mapToRoleDto(role, userRoleRepository.countActiveByRoleId(role.getId()));
+    }
+
+    /**
+     * Mappe une liste de rôles d'une organisation en comptant les assignations en une seule requête
+     */
+    private List<RoleDto> mapToRoleDtos(UUID organizationId, List<Role> roles) {
+        if (roles.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<UUID, Long> userCounts = userRoleRepository.findActiveByOrganizationId(organizationId).stream()
+            .collect(Collectors.groupingBy(UserRole::getRoleId, Collectors.counting()));
+
+        return roles.stream()
+            .map(role -> mapToRoleDto(role, userCounts.getOrDefault(role.getId(), 0L)))
+            .collect(Collectors.toList());
+    }
 
+    private RoleDto mapToRoleDto(Role role, Long userCount) {
         return RoleDto.builder()
             .id(role.getId())
             .name(role.getName())
@@ -662,7 +736,7 @@ public class RoleService {
         };
     }
 
-    private List<RoleTemplateDto> getDefaultRoleTemplates() {
+    public List<RoleTemplateDto> getDefaultRoleTemplates() {
         return Arrays.asList(
             RoleTemplateDto.builder()
                 .roleType(RoleType.ORGANIZATION_OWNER)
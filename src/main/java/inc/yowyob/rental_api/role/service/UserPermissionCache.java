@@ -0,0 +1,187 @@
+package inc.yowyob.rental_api.role.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import inc.yowyob.rental_api.common.cache.ManagedCache;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationBus;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationType;
+import inc.yowyob.rental_api.common.degraded.DegradedModeMonitor;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.role.dto.UserPermissionsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cache des permissions effectives par utilisateur et organisation.
+ * <p>
+ * Invalidé par le bus d'invalidation lorsqu'un rôle de l'organisation change
+ * ou lorsque les assignations ou le compte de l'utilisateur sont modifiés.
+ * <p>
+ * Une entrée expire au plus tard à la première échéance des assignations de rôle prises en
+ * compte : une assignation expirée ne donne plus de permissions depuis le cache.
+ * <p>
+ * Chaque calcul est aussi conservé comme dernier état connu, pour la fraîcheur maximale
+ * du mode dégradé : si la base est injoignable, ce sont ces instantanés qui sont servis.
+ */
+@Slf4j
+@Component
+public class UserPermissionCache implements ManagedCache {
+
+    private record Key(UUID userId, UUID organizationId) {
+    }
+
+    // Nombre de calculs effectués par thread, pour attribuer les défauts de cache (événements JFR)
+    private static final ThreadLocal<long[]> LOADS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final Cache<Key, UserPermissionsDto> cache;
+    private final Cache<Key, UserPermissionsDto> lastKnown;
+    private final DegradedModeMonitor degradedModeMonitor;
+
+    public UserPermissionCache(AppProperties appProperties, InvalidationBus invalidationBus,
+                               DegradedModeMonitor degradedModeMonitor) {
+        this.degradedModeMonitor = degradedModeMonitor;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(appProperties.getRole().getPermissionCacheMaxSize())
+            .expireAfter(new PermissionsExpiry(appProperties.getRole().getPermissionCacheTtl()))
+            .recordStats()
+            .build();
+        this.lastKnown = Caffeine.newBuilder()
+            .maximumSize(appProperties.getRole().getPermissionCacheMaxSize())
+            .expireAfter(new PermissionsExpiry(appProperties.getDegradedMode().getMaxStaleness()))
+            .build();
+
+        invalidationBus.subscribe(InvalidationType.ROLE_CATALOG, key -> invalidateOrganization(parse(key)));
+        invalidationBus.subscribe(InvalidationType.USER_PERMISSIONS, key -> invalidateUser(parse(key)));
+        invalidationBus.subscribe(InvalidationType.USER_ACCOUNT, key -> invalidateUser(parse(key)));
+    }
+
+    /**
+     * Récupère les permissions en cache ou les calcule
+     */
+    public UserPermissionsDto get(UUID userId, UUID organizationId, Supplier<UserPermissionsDto> loader) {
+        Key key = new Key(userId, organizationId);
+        if (degradedModeMonitor.isDegraded()) {
+            UserPermissionsDto cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+            UserPermissionsDto snapshot = lastKnown.getIfPresent(key);
+            if (snapshot != null) {
+                degradedModeMonitor.recordStaleRead("permissions");
+                return snapshot;
+            }
+        }
+
+        try {
+            return cache.get(key, k -> {
+                LOADS.get()[0]++;
+                UserPermissionsDto permissions = loader.get();
+                lastKnown.put(k, permissions);
+                return permissions;
+            });
+        } catch (RuntimeException e) {
+            UserPermissionsDto snapshot = lastKnown.getIfPresent(key);
+            if (snapshot != null && degradedModeMonitor.reportFailure(e)) {
+                degradedModeMonitor.recordStaleRead("permissions");
+                return snapshot;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Nombre de calculs de permissions effectués par le thread courant
+     */
+    public static long loadsOnCurrentThread() {
+        return LOADS.get()[0];
+    }
+
+    /**
+     * Invalide les permissions d'un utilisateur dans toutes ses organisations (null : tout le cache)
+     */
+    public void invalidateUser(UUID userId) {
+        if (userId == null) {
+            cache.invalidateAll();
+            lastKnown.invalidateAll();
+            return;
+        }
+        cache.asMap().keySet().removeIf(key -> userId.equals(key.userId()));
+        lastKnown.asMap().keySet().removeIf(key -> userId.equals(key.userId()));
+    }
+
+    /**
+     * Invalide les permissions de tous les utilisateurs d'une organisation (null : tout le cache)
+     */
+    public void invalidateOrganization(UUID organizationId) {
+        if (organizationId == null) {
+            cache.invalidateAll();
+            lastKnown.invalidateAll();
+            return;
+        }
+        cache.asMap().keySet().removeIf(key -> organizationId.equals(key.organizationId()));
+        lastKnown.asMap().keySet().removeIf(key -> organizationId.equals(key.organizationId()));
+    }
+
+    /**
+     * Expiration après la durée configurée, avancée à la première échéance d'une assignation
+     */
+    private static final class PermissionsExpiry implements Expiry<Key, UserPermissionsDto> {
+
+        private final long ttlNanos;
+
+        private PermissionsExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Key key, UserPermissionsDto value, long currentTime) {
+            if (value.getValidUntil() == null) {
+                return ttlNanos;
+            }
+            long untilExpiry = Duration.between(LocalDateTime.now(), value.getValidUntil()).toNanos();
+            return Math.max(0L, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, UserPermissionsDto value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, UserPermissionsDto value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static UUID parse(String key) {
+        return InvalidationBus.ALL_KEYS.equals(key) ? null : UUID.fromString(key);
+    }
+
+    @Override
+    public String getCacheName() {
+        return "user-permissions";
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    public boolean evictOrganization(UUID organizationId) {
+        invalidateOrganization(organizationId);
+        return true;
+    }
+
+    @Override
+    public boolean evictUser(UUID userId) {
+        invalidateUser(userId);
+        return true;
+    }
+}
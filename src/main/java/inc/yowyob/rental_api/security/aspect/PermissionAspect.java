@@ -1,5 +1,7 @@
 package inc.yowyob.rental_api.security.aspect;
 
+import inc.yowyob.rental_api.common.jfr.AuthorizationEvent;
+import inc.yowyob.rental_api.role.service.UserPermissionCache;
 import inc.yowyob.rental_api.security.annotations.*;
 import inc.yowyob.rental_api.security.service.PermissionEvaluationService;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Component;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.UUID;
+import java.util.function.BooleanSupplier;
 
 /**
  * Aspect pour l'évaluation automatique des permissions via les annotations
@@ -43,10 +46,11 @@ public class PermissionAspect {
             UUID agencyId = requirePermission.checkAgency() ?
                 extractParameterValue(args, parameters, "agencyId", UUID.class) : null;
 
-            hasPermission = permissionEvaluationService.hasPermissionInContext(
-                requirePermission.value(), organizationId, agencyId);
+            hasPermission = evaluate(joinPoint, "RequirePermission", requirePermission.value(),
+                () -> permissionEvaluationService.hasPermissionInContext(requirePermission.value(), organizationId, agencyId));
         } else {
-            hasPermission = permissionEvaluationService.hasPermission(requirePermission.value());
+            hasPermission = evaluate(joinPoint, "RequirePermission", requirePermission.value(),
+                () -> permissionEvaluationService.hasPermission(requirePermission.value()));
         }
 
         if (!hasPermission) {
@@ -63,7 +67,8 @@ public class PermissionAspect {
         log.debug("Checking any permission: {} for method: {}",
             String.join(", ", requireAnyPermission.value()), joinPoint.getSignature().getName());
 
-        boolean hasAnyPermission = permissionEvaluationService.hasAnyPermission(requireAnyPermission.value());
+        boolean hasAnyPermission = evaluate(joinPoint, "RequireAnyPermission", String.join(",", requireAnyPermission.value()),
+            () -> permissionEvaluationService.hasAnyPermission(requireAnyPermission.value()));
 
         if (!hasAnyPermission) {
             log.warn("Access denied - Missing any required permission for method: {}",
@@ -79,7 +84,8 @@ public class PermissionAspect {
         log.debug("Checking all permissions: {} for method: {}",
             String.join(", ", requireAllPermissions.value()), joinPoint.getSignature().getName());
 
-        boolean hasAllPermissions = permissionEvaluationService.hasAllPermissions(requireAllPermissions.value());
+        boolean hasAllPermissions = evaluate(joinPoint, "RequireAllPermissions", String.join(",", requireAllPermissions.value()),
+            () -> permissionEvaluationService.hasAllPermissions(requireAllPermissions.value()));
 
         if (!hasAllPermissions) {
             log.warn("Access denied - Missing required permissions for method: {}",
@@ -95,7 +101,8 @@ public class PermissionAspect {
         log.debug("Checking role: {} for method: {}",
             requireRole.value(), joinPoint.getSignature().getName());
 
-        boolean hasRole = permissionEvaluationService.hasRole(requireRole.value());
+        boolean hasRole = evaluate(joinPoint, "RequireRole", String.valueOf(requireRole.value()),
+            () -> permissionEvaluationService.hasRole(requireRole.value()));
 
         if (!hasRole) {
             log.warn("Access denied - Missing required role: {} for method: {}",
@@ -124,8 +131,9 @@ public class PermissionAspect {
         }
 
         // Vérifier l'accès (super admin contourne si autorisé)
-        boolean hasAccess = (requireOrganizationAccess.allowSuperAdmin() && permissionEvaluationService.isSuperAdmin()) ||
-            permissionEvaluationService.hasOrganizationAccess(organizationId);
+        boolean hasAccess = evaluate(joinPoint, "RequireOrganizationAccess", organizationId.toString(),
+            () -> (requireOrganizationAccess.allowSuperAdmin() && permissionEvaluationService.isSuperAdmin()) ||
+                permissionEvaluationService.hasOrganizationAccess(organizationId));
 
         if (!hasAccess) {
             log.warn("Access denied - No access to organization: {} for method: {}",
@@ -154,8 +162,9 @@ public class PermissionAspect {
         }
 
         // Vérifier l'accès
-        boolean hasAccess = (requireAgencyAccess.allowOrganizationManager() && permissionEvaluationService.isOrganizationOwner()) ||
-            permissionEvaluationService.hasAgencyAccess(agencyId);
+        boolean hasAccess = evaluate(joinPoint, "RequireAgencyAccess", agencyId.toString(),
+            () -> (requireAgencyAccess.allowOrganizationManager() && permissionEvaluationService.isOrganizationOwner()) ||
+                permissionEvaluationService.hasAgencyAccess(agencyId));
 
         if (!hasAccess) {
             log.warn("Access denied - No access to agency: {} for method: {}",
@@ -166,6 +175,31 @@ public class PermissionAspect {
         return joinPoint.proceed();
     }
 
+    /**
+     * Évalue une décision d'autorisation et l'enregistre dans JFR si un enregistrement est actif
+     */
+    private boolean evaluate(ProceedingJoinPoint joinPoint, String annotation, String requirement, BooleanSupplier decision) {
+        AuthorizationEvent event = new AuthorizationEvent();
+        if (!event.isEnabled()) {
+            return decision.getAsBoolean();
+        }
+
+        long loadsBefore = UserPermissionCache.loadsOnCurrentThread();
+        event.begin();
+        boolean granted = decision.getAsBoolean();
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.annotation = annotation;
+            event.method = joinPoint.getSignature().toShortString();
+            event.requirement = requirement;
+            event.granted = granted;
+            event.cacheHit = UserPermissionCache.loadsOnCurrentThread() == loadsBefore;
+            event.commit();
+        }
+        return granted;
+    }
+
     /**
      * Extrait la valeur d'un paramètre par nom
      */
@@ -114,6 +114,10 @@ public class SecurityConfig {
                 // Routes publiques - Authentification
                 .requestMatchers("/api/v1/auth/**").permitAll()
 
+                // Statistiques d'onboarding (agrégats sur toute la période) : réservées à l'administration
+                .requestMatchers("/api/v1/onboarding/stats/daily", "/api/v1/onboarding/stats/funnel")
+                .hasRole("SUPER_ADMIN")
+
                 // Routes publiques - Onboarding
                 .requestMatchers("/api/v1/onboarding/**").permitAll()
 
@@ -133,6 +137,8 @@ public class SecurityConfig {
 
                 // Health checks et actuator (si activé)
                 .requestMatchers("/actuator/health").permitAll()
+                // Métriques, état des caches et des pools, éviction : réservés à l'administration
+                .requestMatchers("/actuator/**").hasRole("SUPER_ADMIN")
 
                 // Toutes les autres routes nécessitent une authentification
                 .anyRequest().authenticated()
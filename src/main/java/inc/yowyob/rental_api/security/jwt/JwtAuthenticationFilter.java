@@ -1,6 +1,9 @@
 package inc.yowyob.rental_api.security.jwt;
 
+import inc.yowyob.rental_api.common.degraded.DegradedModeMonitor;
+import inc.yowyob.rental_api.security.model.UserPrincipal;
 import inc.yowyob.rental_api.security.service.CustomUserDetailsService;
+import inc.yowyob.rental_api.security.service.LastKnownPrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +18,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -23,6 +27,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final LastKnownPrincipalCache lastKnownPrincipalCache;
+    private final DegradedModeMonitor degradedModeMonitor;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -36,7 +42,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (jwt != null && jwtTokenProvider.validateToken(jwt)) {
                 String email = jwtTokenProvider.getEmailFromToken(jwt);
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                UserDetails userDetails = loadUser(email);
 
                 UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
@@ -51,4 +57,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Charge l'utilisateur depuis la base ou, si elle est injoignable, depuis son dernier état connu
+     */
+    private UserDetails loadUser(String email) {
+        if (degradedModeMonitor.isDegraded()) {
+            Optional<UserPrincipal> snapshot = lastKnownPrincipalCache.get(email);
+            if (snapshot.isPresent()) {
+                degradedModeMonitor.recordStaleRead("principal");
+                return snapshot.get();
+            }
+        }
+
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            degradedModeMonitor.reportSuccess();
+            if (userDetails instanceof UserPrincipal principal) {
+                lastKnownPrincipalCache.put(principal);
+            }
+            return userDetails;
+        } catch (RuntimeException e) {
+            if (degradedModeMonitor.reportFailure(e)) {
+                Optional<UserPrincipal> snapshot = lastKnownPrincipalCache.get(email);
+                if (snapshot.isPresent()) {
+                    degradedModeMonitor.recordStaleRead("principal");
+                    return snapshot.get();
+                }
+            }
+            throw e;
+        }
+    }
 }
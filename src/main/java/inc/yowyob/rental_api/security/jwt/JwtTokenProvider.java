@@ -1,5 +1,6 @@
 package inc.yowyob.rental_api.security.jwt;
 
+import inc.yowyob.rental_api.common.jfr.JwtTokenEvent;
 import inc.yowyob.rental_api.config.AppProperties;
 import inc.yowyob.rental_api.user.entities.User;
 import io.jsonwebtoken.*;
@@ -57,16 +58,22 @@ public class JwtTokenProvider {
      * Crée un token JWT
      */
     private String createToken(Map<String, Object> claims, String subject, long expirationTime) {
+        JwtTokenEvent event = new JwtTokenEvent();
+        event.begin();
+
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expirationTime);
 
-        return Jwts.builder()
+        String token = Jwts.builder()
             .setClaims(claims)
             .setSubject(subject)
             .setIssuedAt(now)
             .setExpiration(expiry)
             .signWith(getSigningKey(), SignatureAlgorithm.HS256)
             .compact();
+
+        commit(event, JwtTokenEvent.SIGN, true);
+        return token;
     }
 
     /**
@@ -110,11 +117,20 @@ public class JwtTokenProvider {
      * Extrait tous les claims du token
      */
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(getSigningKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+        JwtTokenEvent event = new JwtTokenEvent();
+        event.begin();
+        boolean valid = false;
+        try {
+            Claims claims = Jwts.parserBuilder()
+                .setSigningKey(getSigningKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+            valid = true;
+            return claims;
+        } finally {
+            commit(event, JwtTokenEvent.PARSE, valid);
+        }
     }
 
     /**
@@ -129,11 +145,14 @@ public class JwtTokenProvider {
      * Valide le token JWT
      */
     public boolean validateToken(String token) {
+        JwtTokenEvent event = new JwtTokenEvent();
+        event.begin();
         try {
             Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
                 .build()
                 .parseClaimsJws(token);
+            commit(event, JwtTokenEvent.VERIFY, true);
             return true;
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
@@ -146,9 +165,22 @@ public class JwtTokenProvider {
         } catch (Exception e) {
             log.error("JWT validation error: {}", e.getMessage());
         }
+        commit(event, JwtTokenEvent.VERIFY, false);
         return false;
     }
 
+    /**
+     * Enregistre l'opération dans JFR (sans effet hors enregistrement)
+     */
+    private static void commit(JwtTokenEvent event, String operation, boolean valid) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.valid = valid;
+            event.commit();
+        }
+    }
+
     /**
      * Extrait le token du header Authorization
      */
@@ -0,0 +1,90 @@
+package inc.yowyob.rental_api.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import inc.yowyob.rental_api.common.cache.ManagedCache;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationBus;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationType;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.security.model.UserPrincipal;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Dernier état connu des utilisateurs authentifiés par jeton, utilisé uniquement en mode dégradé.
+ * <p>
+ * Alimenté à chaque chargement réussi ; une entrée n'est plus servie au-delà de la fraîcheur
+ * maximale configurée. Le hash du mot de passe n'est pas conservé. Toute modification du
+ * compte (verrouillage, changement de mot de passe) retire l'entrée.
+ */
+@Component
+public class LastKnownPrincipalCache implements ManagedCache {
+
+    private final Cache<String, UserPrincipal> cache;
+
+    public LastKnownPrincipalCache(AppProperties appProperties, InvalidationBus invalidationBus) {
+        AppProperties.DegradedMode properties = appProperties.getDegradedMode();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getPrincipalCacheMaxSize())
+            .expireAfterWrite(properties.getMaxStaleness())
+            .recordStats()
+            .build();
+
+        invalidationBus.subscribe(InvalidationType.USER_ACCOUNT, key -> {
+            if (InvalidationBus.ALL_KEYS.equals(key)) {
+                cache.invalidateAll();
+            } else {
+                evictUser(UUID.fromString(key));
+            }
+        });
+    }
+
+    /**
+     * Enregistre l'état d'un utilisateur chargé depuis la base
+     */
+    public void put(UserPrincipal principal) {
+        cache.put(principal.getEmail(), new UserPrincipal(
+            principal.getId(),
+            principal.getEmail(),
+            null,
+            principal.getFirstName(),
+            principal.getLastName(),
+            principal.getUserType(),
+            principal.getStatus(),
+            principal.getOrganizationId(),
+            principal.isAccountNonLocked(),
+            principal.getAuthorities()
+        ));
+    }
+
+    /**
+     * Dernier état connu d'un utilisateur, s'il est encore assez récent
+     */
+    public Optional<UserPrincipal> get(String email) {
+        return Optional.ofNullable(cache.getIfPresent(email));
+    }
+
+    @Override
+    public String getCacheName() {
+        return "last-known-principals";
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    public boolean evictOrganization(UUID organizationId) {
+        cache.asMap().values().removeIf(principal -> organizationId.equals(principal.getOrganizationId()));
+        return true;
+    }
+
+    @Override
+    public boolean evictUser(UUID userId) {
+        cache.asMap().values().removeIf(principal -> userId.equals(principal.getId()));
+        return true;
+    }
+}
@@ -1,10 +1,11 @@
 package inc.yowyob.rental_api.subscription.config;
 
+import inc.yowyob.rental_api.common.seed.SeedTask;
 import inc.yowyob.rental_api.subscription.entities.SubscriptionPlan;
 import inc.yowyob.rental_api.subscription.repository.SubscriptionPlanRepository;
+import inc.yowyob.rental_api.subscription.service.SubscriptionPlanCatalog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -18,28 +19,35 @@ import java.util.UUID;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class SubscriptionDataInitializer implements CommandLineRunner {
+public class SubscriptionDataInitializer implements SeedTask {
 
     private final SubscriptionPlanRepository subscriptionPlanRepository;
+    private final SubscriptionPlanCatalog subscriptionPlanCatalog;
 
     @Override
-    public void run(String... args) throws Exception {
-        log.info("Initializing subscription plans data...");
+    public String getName() {
+        return "subscription-plans";
+    }
 
-        try {
-            // Vérifier si des plans existent déjà
-            List<SubscriptionPlan> existingPlans = subscriptionPlanRepository.findAllActive();
-            if (!existingPlans.isEmpty()) {
-                log.info("Subscription plans already exist. Skipping initialization.");
-                return;
-            }
+    @Override
+    public int getVersion() {
+        return 1;
+    }
 
-            createSubscriptionPlans();
-            log.info("Subscription plans initialization completed successfully.");
+    @Override
+    public void apply() {
+        log.info("Initializing subscription plans data...");
 
-        } catch (Exception e) {
-            log.error("Error during subscription plans initialization: {}", e.getMessage(), e);
+        // Vérifier si des plans existent déjà (base initialisée avant l'enregistrement des versions)
+        List<SubscriptionPlan> existingPlans = subscriptionPlanRepository.findAllActive();
+        if (!existingPlans.isEmpty()) {
+            log.info("Subscription plans already exist. Skipping initialization.");
+            return;
         }
+
+        createSubscriptionPlans();
+        subscriptionPlanCatalog.markChanged();
+        log.info("Subscription plans initialization completed successfully.");
     }
 
     private void createSubscriptionPlans() {
@@ -1,5 +1,6 @@
 package inc.yowyob.rental_api.subscription.controller;
 
+import inc.yowyob.rental_api.core.enums.SubscriptionFeature;
 import inc.yowyob.rental_api.subscription.entities.SubscriptionPlan;
 import inc.yowyob.rental_api.subscription.service.SubscriptionService;
 import inc.yowyob.rental_api.common.response.ApiResponse;
@@ -47,10 +48,12 @@ public class SubscriptionController {
             List<SubscriptionPlan> plans = subscriptionService.getAllActivePlans();
             log.info("Successfully fetched {} subscription plans", plans.size());
 
-            return ApiResponseUtil.success(
+            return ApiResponseUtil.cacheable(
                 plans,
                 "Forfaits d'abonnement récupérés avec succès",
-                plans.size()
+                plans.size(),
+                subscriptionService.getPlanCatalogCacheControl(),
+                subscriptionService.getPlanCatalogETag()
             );
         } catch (Exception e) {
             log.error("Error fetching subscription plans", e);
@@ -90,9 +93,12 @@ public class SubscriptionController {
             return subscriptionService.getPlanById(planId)
                 .map(plan -> {
                     log.info("Successfully fetched subscription plan: {}", plan.getName());
-                    return ApiResponseUtil.success(
+                    return ApiResponseUtil.cacheable(
                         plan,
-                        "Forfait d'abonnement trouvé avec succès"
+                        "Forfait d'abonnement trouvé avec succès",
+                        null,
+                        subscriptionService.getPlanCatalogCacheControl(),
+                        subscriptionService.getPlanCatalogETag()
                     );
                 })
                 .orElseGet(() -> {
@@ -127,9 +133,12 @@ public class SubscriptionController {
             return subscriptionService.getTrialPlan()
                 .map(plan -> {
                     log.info("Successfully fetched trial subscription plan");
-                    return ApiResponseUtil.success(
+                    return ApiResponseUtil.cacheable(
                         plan,
-                        "Forfait d'essai récupéré avec succès"
+                        "Forfait d'essai récupéré avec succès",
+                        null,
+                        subscriptionService.getPlanCatalogCacheControl(),
+                        subscriptionService.getPlanCatalogETag()
                     );
                 })
                 .orElseGet(() -> {
@@ -156,18 +165,16 @@ public class SubscriptionController {
         log.info("GET /subscription/plans/with-geofencing - Fetching plans with geofencing");
 
         try {
-            // Pour l'instant, on filtre côté application
-            List<SubscriptionPlan> plans = subscriptionService.getAllActivePlans()
-                .stream()
-                .filter(plan -> Boolean.TRUE.equals(plan.getHasGeofencing()))
-                .toList();
+            List<SubscriptionPlan> plans = subscriptionService.getPlansWithFeature(SubscriptionFeature.GEOFENCING);
 
             log.info("Successfully fetched {} plans with geofencing", plans.size());
 
-            return ApiResponseUtil.success(
+            return ApiResponseUtil.cacheable(
                 plans,
                 "Forfaits avec géofencing récupérés avec succès",
-                plans.size()
+                plans.size(),
+                subscriptionService.getPlanCatalogCacheControl(),
+                subscriptionService.getPlanCatalogETag()
             );
         } catch (Exception e) {
             log.error("Error fetching plans with geofencing", e);
@@ -187,17 +194,16 @@ public class SubscriptionController {
         log.info("GET /subscription/plans/with-chat - Fetching plans with chat");
 
         try {
-            List<SubscriptionPlan> plans = subscriptionService.getAllActivePlans()
-                .stream()
-                .filter(plan -> Boolean.TRUE.equals(plan.getHasChat()))
-                .toList();
+            List<SubscriptionPlan> plans = subscriptionService.getPlansWithFeature(SubscriptionFeature.CHAT_SUPPORT);
 
             log.info("Successfully fetched {} plans with chat", plans.size());
 
-            return ApiResponseUtil.success(
+            return ApiResponseUtil.cacheable(
                 plans,
                 "Forfaits avec chat récupérés avec succès",
-                plans.size()
+                plans.size(),
+                subscriptionService.getPlanCatalogCacheControl(),
+                subscriptionService.getPlanCatalogETag()
             );
         } catch (Exception e) {
             log.error("Error fetching plans with chat", e);
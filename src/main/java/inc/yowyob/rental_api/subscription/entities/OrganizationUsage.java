@@ -0,0 +1,50 @@
+package inc.yowyob.rental_api.subscription.entities;
+
+import inc.yowyob.rental_api.core.enums.MeteredResource;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.cassandra.core.mapping.CassandraType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Compteurs d'utilisation d'une organisation (colonnes counter Cassandra)
+ */
+@Data
+@NoArgsConstructor
+@Table("organization_usage")
+public class OrganizationUsage {
+
+    @Id
+    @PrimaryKey("organization_id")
+    private UUID organizationId;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long agencies;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long vehicles;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long drivers;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long users;
+
+    /**
+     * Valeur du compteur d'une ressource
+     */
+    public long getCount(MeteredResource resource) {
+        Long value = switch (resource) {
+            case AGENCIES -> agencies;
+            case VEHICLES -> vehicles;
+            case DRIVERS -> drivers;
+            case USERS -> users;
+        };
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,18 @@
+package inc.yowyob.rental_api.subscription.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Publié lorsque le catalogue des forfaits a été rechargé avec un contenu différent
+ */
+@Getter
+public class SubscriptionPlanCatalogRefreshedEvent extends ApplicationEvent {
+
+    private final long version;
+
+    public SubscriptionPlanCatalogRefreshedEvent(Object source, long version) {
+        super(source);
+        this.version = version;
+    }
+}
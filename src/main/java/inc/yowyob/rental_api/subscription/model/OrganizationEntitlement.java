@@ -0,0 +1,68 @@
+package inc.yowyob.rental_api.subscription.model;
+
+import inc.yowyob.rental_api.core.enums.SubscriptionFeature;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Instantané immuable des droits d'une organisation : forfait actif,
+ * fonctionnalités (masque de {@link SubscriptionFeature}), limites et fenêtre de validité
+ */
+@Getter
+@Builder
+@ToString
+public class OrganizationEntitlement {
+
+    private final UUID organizationId;
+    private final UUID subscriptionId;
+    private final UUID planId;
+    private final String planName;
+    private final long featureMask;
+    private final int maxAgencies;
+    private final int maxVehicles;
+    private final int maxDrivers;
+    private final LocalDateTime validFrom;
+    private final LocalDateTime validUntil;
+    private final boolean trial;
+
+    /**
+     * Droits d'une organisation sans souscription active
+     */
+    public static OrganizationEntitlement none(UUID organizationId) {
+        return OrganizationEntitlement.builder()
+            .organizationId(organizationId)
+            .build();
+    }
+
+    /**
+     * Indique si l'organisation dispose d'une souscription
+     */
+    public boolean hasSubscription() {
+        return subscriptionId != null;
+    }
+
+    /**
+     * Vérifie si les droits sont valides à un instant donné
+     */
+    public boolean isValidAt(LocalDateTime instant) {
+        return hasSubscription()
+            && validFrom != null && validUntil != null
+            && instant.isAfter(validFrom)
+            && instant.isBefore(validUntil);
+    }
+
+    public boolean isValid() {
+        return isValidAt(LocalDateTime.now());
+    }
+
+    /**
+     * Vérifie si une fonctionnalité est incluse et les droits encore valides
+     */
+    public boolean hasFeature(SubscriptionFeature feature) {
+        return isValid() && feature.isIn(featureMask);
+    }
+}
@@ -0,0 +1,58 @@
+package inc.yowyob.rental_api.subscription.model;
+
+import inc.yowyob.rental_api.core.enums.MeteredResource;
+import inc.yowyob.rental_api.subscription.entities.OrganizationUsage;
+import lombok.Getter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Copie locale et immuable des compteurs d'utilisation d'une organisation
+ */
+public class OrganizationUsageSnapshot {
+
+    @Getter
+    private final UUID organizationId;
+    private final long[] counts;
+
+    private OrganizationUsageSnapshot(UUID organizationId, long[] counts) {
+        this.organizationId = organizationId;
+        this.counts = counts;
+    }
+
+    public static OrganizationUsageSnapshot of(UUID organizationId, OrganizationUsage usage) {
+        long[] counts = new long[MeteredResource.values().length];
+        if (usage != null) {
+            for (MeteredResource resource : MeteredResource.values()) {
+                counts[resource.ordinal()] = usage.getCount(resource);
+            }
+        }
+        return new OrganizationUsageSnapshot(organizationId, counts);
+    }
+
+    /**
+     * Valeur courante d'un compteur
+     */
+    public long get(MeteredResource resource) {
+        return counts[resource.ordinal()];
+    }
+
+    /**
+     * Nouvel instantané avec un compteur ajusté
+     */
+    public OrganizationUsageSnapshot plus(MeteredResource resource, long delta) {
+        long[] updated = counts.clone();
+        updated[resource.ordinal()] += delta;
+        return new OrganizationUsageSnapshot(organizationId, updated);
+    }
+
+    public Map<MeteredResource, Long> asMap() {
+        Map<MeteredResource, Long> map = new EnumMap<>(MeteredResource.class);
+        for (MeteredResource resource : MeteredResource.values()) {
+            map.put(resource, counts[resource.ordinal()]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,83 @@
+package inc.yowyob.rental_api.subscription.repository;
+
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import inc.yowyob.rental_api.core.enums.SubscriptionStatus;
+import inc.yowyob.rental_api.subscription.entities.OrganizationSubscription;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implémentation en mémoire de {@link OrganizationSubscriptionRepository} (profil perf-inmemory)
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemoryOrganizationSubscriptionRepository extends InMemoryCassandraRepository<OrganizationSubscription, UUID>
+    implements OrganizationSubscriptionRepository {
+
+    public InMemoryOrganizationSubscriptionRepository(LatencySimulator latencySimulator) {
+        super(OrganizationSubscription.class, OrganizationSubscription::getId, latencySimulator);
+    }
+
+    @Override
+    public Optional<OrganizationSubscription> findActiveByOrganizationId(UUID organizationId) {
+        return findFirstWhere(subscription -> Objects.equals(organizationId, subscription.getOrganizationId())
+            && isActive(subscription));
+    }
+
+    @Override
+    public List<OrganizationSubscription> findAllByOrganizationId(UUID organizationId) {
+        return findWhere(subscription -> Objects.equals(organizationId, subscription.getOrganizationId()));
+    }
+
+    @Override
+    public List<OrganizationSubscription> findAllByStatus(SubscriptionStatus status) {
+        return findWhere(subscription -> subscription.getStatus() == status);
+    }
+
+    @Override
+    public List<OrganizationSubscription> findExpiringSoon(LocalDateTime expirationDate) {
+        return findWhere(subscription -> le(subscription.getEndDate(), expirationDate) && isActive(subscription));
+    }
+
+    @Override
+    public List<OrganizationSubscription> findExpired(LocalDateTime now) {
+        return findWhere(subscription -> lt(subscription.getEndDate(), now) && isActive(subscription));
+    }
+
+    @Override
+    public List<OrganizationSubscription> findAllTrials() {
+        return findWhere(subscription -> isTrue(subscription.getIsTrial()));
+    }
+
+    @Override
+    public List<OrganizationSubscription> findActiveTrials() {
+        return findWhere(subscription -> isTrue(subscription.getIsTrial()) && isActive(subscription));
+    }
+
+    @Override
+    public List<OrganizationSubscription> findAllBySubscriptionPlanId(UUID subscriptionPlanId) {
+        return findWhere(subscription -> Objects.equals(subscriptionPlanId, subscription.getSubscriptionPlanId()));
+    }
+
+    @Override
+    public Long countActiveBySubscriptionPlanId(UUID subscriptionPlanId) {
+        return countWhere(subscription -> Objects.equals(subscriptionPlanId, subscription.getSubscriptionPlanId())
+            && isActive(subscription));
+    }
+
+    @Override
+    public List<OrganizationSubscription> findAllWithAutoRenewal() {
+        return findWhere(subscription -> isTrue(subscription.getAutoRenewal()) && isActive(subscription));
+    }
+
+    private static boolean isActive(OrganizationSubscription subscription) {
+        return subscription.getStatus() == SubscriptionStatus.ACTIVE;
+    }
+}
@@ -0,0 +1,41 @@
+package inc.yowyob.rental_api.subscription.repository;
+
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import inc.yowyob.rental_api.core.enums.MeteredResource;
+import inc.yowyob.rental_api.subscription.entities.OrganizationUsage;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Implémentation en mémoire de {@link OrganizationUsageRepository} (profil perf-inmemory)
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemoryOrganizationUsageRepository extends InMemoryCassandraRepository<OrganizationUsage, UUID>
+    implements OrganizationUsageRepository {
+
+    public InMemoryOrganizationUsageRepository(LatencySimulator latencySimulator) {
+        super(OrganizationUsage.class, OrganizationUsage::getOrganizationId, latencySimulator);
+    }
+
+    @Override
+    public void increment(UUID organizationId, MeteredResource resource, long delta) {
+        update(organizationId, key -> {
+            OrganizationUsage usage = new OrganizationUsage();
+            usage.setOrganizationId(key);
+            return usage;
+        }, usage -> {
+            long updated = usage.getCount(resource) + delta;
+            switch (resource) {
+                case AGENCIES -> usage.setAgencies(updated);
+                case VEHICLES -> usage.setVehicles(updated);
+                case DRIVERS -> usage.setDrivers(updated);
+                case USERS -> usage.setUsers(updated);
+            }
+            return usage;
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package inc.yowyob.rental_api.subscription.repository;
+
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import inc.yowyob.rental_api.subscription.entities.SubscriptionPlan;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implémentation en mémoire de {@link SubscriptionPlanRepository} (profil perf-inmemory)
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemorySubscriptionPlanRepository extends InMemoryCassandraRepository<SubscriptionPlan, UUID>
+    implements SubscriptionPlanRepository {
+
+    public InMemorySubscriptionPlanRepository(LatencySimulator latencySimulator) {
+        super(SubscriptionPlan.class, SubscriptionPlan::getId, latencySimulator);
+    }
+
+    @Override
+    public List<SubscriptionPlan> findAllActive() {
+        return findWhere(plan -> isTrue(plan.getIsActive()));
+    }
+
+    @Override
+    public Optional<SubscriptionPlan> findByName(String name) {
+        return findFirstWhere(plan -> Objects.equals(name, plan.getName()));
+    }
+
+    @Override
+    public List<SubscriptionPlan> findAllWithGeofencing() {
+        return findWhere(plan -> isTrue(plan.getHasGeofencing()) && isTrue(plan.getIsActive()));
+    }
+
+    @Override
+    public List<SubscriptionPlan> findAllWithChat() {
+        return findWhere(plan -> isTrue(plan.getHasChat()) && isTrue(plan.getIsActive()));
+    }
+
+    @Override
+    public List<SubscriptionPlan> findAllWithAdvancedReports() {
+        return findWhere(plan -> isTrue(plan.getHasAdvancedReports()) && isTrue(plan.getIsActive()));
+    }
+
+    @Override
+    public List<SubscriptionPlan> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        return findWhere(plan -> between(plan.getPrice(), minPrice, maxPrice) && isTrue(plan.getIsActive()));
+    }
+}
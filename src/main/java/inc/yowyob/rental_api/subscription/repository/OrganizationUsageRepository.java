@@ -0,0 +1,12 @@
+package inc.yowyob.rental_api.subscription.repository;
+
+import inc.yowyob.rental_api.subscription.entities.OrganizationUsage;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface OrganizationUsageRepository extends CassandraRepository<OrganizationUsage, UUID>,
+    OrganizationUsageRepositoryCustom {
+}
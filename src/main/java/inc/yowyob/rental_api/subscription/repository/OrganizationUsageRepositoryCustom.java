@@ -0,0 +1,16 @@
+package inc.yowyob.rental_api.subscription.repository;
+
+import inc.yowyob.rental_api.core.enums.MeteredResource;
+
+import java.util.UUID;
+
+/**
+ * Mises à jour des compteurs d'utilisation (les colonnes counter n'acceptent que des incréments)
+ */
+public interface OrganizationUsageRepositoryCustom {
+
+    /**
+     * Ajoute un delta (positif ou négatif) au compteur d'une ressource
+     */
+    void increment(UUID organizationId, MeteredResource resource, long delta);
+}
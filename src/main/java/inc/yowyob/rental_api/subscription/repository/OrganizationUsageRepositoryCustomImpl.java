@@ -0,0 +1,22 @@
+package inc.yowyob.rental_api.subscription.repository;
+
+import inc.yowyob.rental_api.core.enums.MeteredResource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.CassandraOperations;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class OrganizationUsageRepositoryCustomImpl implements OrganizationUsageRepositoryCustom {
+
+    private final CassandraOperations cassandraOperations;
+
+    @Override
+    public void increment(UUID organizationId, MeteredResource resource, long delta) {
+        String column = resource.getCode();
+        cassandraOperations.getCqlOperations().execute(
+            "UPDATE organization_usage SET " + column + " = " + column + " + ? WHERE organization_id = ?",
+            delta, organizationId
+        );
+    }
+}
@@ -0,0 +1,184 @@
+package inc.yowyob.rental_api.subscription.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import inc.yowyob.rental_api.common.cache.ManagedCache;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationBus;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationType;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.core.enums.SubscriptionFeature;
+import inc.yowyob.rental_api.subscription.entities.OrganizationSubscription;
+import inc.yowyob.rental_api.subscription.entities.SubscriptionPlan;
+import inc.yowyob.rental_api.subscription.event.SubscriptionPlanCatalogRefreshedEvent;
+import inc.yowyob.rental_api.subscription.model.OrganizationEntitlement;
+import inc.yowyob.rental_api.subscription.repository.OrganizationSubscriptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cache des droits par organisation.
+ * <p>
+ * Chaque entrée expire au plus tard à la date de fin de la souscription, de sorte qu'un
+ * abonnement arrivé à échéance n'est jamais servi depuis le cache. Les entrées sont
+ * invalidées explicitement lors d'une souscription, d'un renouvellement ou d'une annulation.
+ */
+@Slf4j
+@Component
+public class OrganizationEntitlementCache implements ManagedCache {
+
+    private final OrganizationSubscriptionRepository organizationSubscriptionRepository;
+    private final SubscriptionPlanCatalog subscriptionPlanCatalog;
+    private final Cache<UUID, OrganizationEntitlement> cache;
+
+    public OrganizationEntitlementCache(OrganizationSubscriptionRepository organizationSubscriptionRepository,
+                                        SubscriptionPlanCatalog subscriptionPlanCatalog,
+                                        AppProperties appProperties,
+                                        InvalidationBus invalidationBus) {
+        this.organizationSubscriptionRepository = organizationSubscriptionRepository;
+        this.subscriptionPlanCatalog = subscriptionPlanCatalog;
+
+        AppProperties.Subscription properties = appProperties.getSubscription();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getEntitlementCacheMaxSize())
+            .expireAfter(new EntitlementExpiry(
+                properties.getEntitlementCacheTtl(),
+                properties.getEntitlementNegativeCacheTtl()
+            ))
+            .recordStats()
+            .build();
+
+        invalidationBus.subscribe(InvalidationType.ORGANIZATION_ENTITLEMENT, key -> {
+            if (InvalidationBus.ALL_KEYS.equals(key)) {
+                invalidateAll();
+            } else {
+                invalidate(UUID.fromString(key));
+            }
+        });
+    }
+
+    /**
+     * Récupère les droits d'une organisation, depuis le cache ou la base
+     */
+    public OrganizationEntitlement get(UUID organizationId) {
+        return cache.get(organizationId, this::load);
+    }
+
+    /**
+     * Invalide les droits d'une organisation
+     */
+    public void invalidate(UUID organizationId) {
+        if (organizationId != null) {
+            log.debug("Invalidating entitlement snapshot for organization: {}", organizationId);
+            cache.invalidate(organizationId);
+        }
+    }
+
+    /**
+     * Invalide tous les droits en cache
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Les limites et fonctionnalités dépendent du forfait : un changement de catalogue invalide tout
+     */
+    @EventListener
+    public void onPlanCatalogRefreshed(SubscriptionPlanCatalogRefreshedEvent event) {
+        log.info("Subscription plan catalog changed (version {}), clearing entitlement snapshots", event.getVersion());
+        invalidateAll();
+    }
+
+    private OrganizationEntitlement load(UUID organizationId) {
+        log.debug("Loading entitlement snapshot for organization: {}", organizationId);
+
+        Optional<OrganizationSubscription> subscription =
+            organizationSubscriptionRepository.findActiveByOrganizationId(organizationId);
+        if (subscription.isEmpty() || !subscription.get().isActive()) {
+            return OrganizationEntitlement.none(organizationId);
+        }
+
+        OrganizationSubscription activeSubscription = subscription.get();
+        Optional<SubscriptionPlan> plan = subscriptionPlanCatalog.findById(activeSubscription.getSubscriptionPlanId());
+        if (plan.isEmpty()) {
+            log.warn("Subscription {} references unknown plan {}",
+                activeSubscription.getId(), activeSubscription.getSubscriptionPlanId());
+            return OrganizationEntitlement.none(organizationId);
+        }
+
+        SubscriptionPlan subscriptionPlan = plan.get();
+        return OrganizationEntitlement.builder()
+            .organizationId(organizationId)
+            .subscriptionId(activeSubscription.getId())
+            .planId(subscriptionPlan.getId())
+            .planName(subscriptionPlan.getName())
+            .featureMask(SubscriptionFeature.maskOf(SubscriptionPlanCatalog.featuresOf(subscriptionPlan)))
+            .maxAgencies(valueOrZero(subscriptionPlan.getMaxAgencies()))
+            .maxVehicles(valueOrZero(subscriptionPlan.getMaxVehicles()))
+            .maxDrivers(valueOrZero(subscriptionPlan.getMaxDrivers()))
+            .validFrom(activeSubscription.getStartDate())
+            .validUntil(activeSubscription.getEndDate())
+            .trial(Boolean.TRUE.equals(activeSubscription.getIsTrial()))
+            .build();
+    }
+
+    private static int valueOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * Expiration à la fin de la souscription, bornée par une durée maximale
+     */
+    private static final class EntitlementExpiry implements Expiry<UUID, OrganizationEntitlement> {
+
+        private final long maxTtlNanos;
+        private final long negativeTtlNanos;
+
+        private EntitlementExpiry(Duration maxTtl, Duration negativeTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(UUID key, OrganizationEntitlement value, long currentTime) {
+            if (!value.hasSubscription()) {
+                return negativeTtlNanos;
+            }
+            long untilEnd = Duration.between(LocalDateTime.now(), value.getValidUntil()).toNanos();
+            return Math.max(0L, Math.min(maxTtlNanos, untilEnd));
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, OrganizationEntitlement value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, OrganizationEntitlement value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    @Override
+    public String getCacheName() {
+        return "organization-entitlements";
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    public boolean evictOrganization(UUID organizationId) {
+        invalidate(organizationId);
+        return true;
+    }
+}
@@ -0,0 +1,272 @@
+package inc.yowyob.rental_api.subscription.service;
+
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationBus;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationType;
+import inc.yowyob.rental_api.common.cache.repository.CacheVersionRepository;
+import inc.yowyob.rental_api.core.enums.SubscriptionFeature;
+import inc.yowyob.rental_api.subscription.entities.SubscriptionPlan;
+import inc.yowyob.rental_api.subscription.event.SubscriptionPlanCatalogRefreshedEvent;
+import inc.yowyob.rental_api.subscription.repository.SubscriptionPlanRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Catalogue en mémoire des forfaits d'abonnement.
+ * <p>
+ * Les forfaits changent rarement : ils sont chargés une fois au démarrage, indexés par ID,
+ * par nom et par fonctionnalité, puis servis sans accès à la base. Toute écriture
+ * administrative incrémente la version du catalogue ; chaque instance compare
+ * périodiquement cette version (une lecture ponctuelle) et se recharge si elle a changé.
+ * <p>
+ * Les instances retournées sont partagées et ne doivent pas être modifiées par les appelants.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SubscriptionPlanCatalog {
+
+    public static final String CACHE_NAME = "subscription_plans";
+
+    private final SubscriptionPlanRepository subscriptionPlanRepository;
+    private final CacheVersionRepository cacheVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvalidationBus invalidationBus;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Les modifications publiées par un autre nœud déclenchent une vérification immédiate de la version
+     */
+    @PostConstruct
+    void registerInvalidationHandler() {
+        invalidationBus.subscribe(InvalidationType.SUBSCRIPTION_PLANS, key -> checkForUpdates());
+    }
+
+    /**
+     * Charge le catalogue une fois l'application démarrée (après l'initialisation des forfaits)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("Unable to load subscription plan catalog at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Vérifie si une autre instance a modifié les forfaits et recharge le catalogue si nécessaire
+     */
+    @Scheduled(
+        fixedDelayString = "${app.subscription.catalog-refresh-interval:PT30S}",
+        initialDelayString = "${app.subscription.catalog-refresh-interval:PT30S}"
+    )
+    public void checkForUpdates() {
+        try {
+            long currentVersion = cacheVersionRepository.getCurrentVersion(CACHE_NAME);
+            Snapshot current = snapshot;
+            if (current == null || current.version != currentVersion) {
+                log.info("Subscription plan catalog version changed ({} -> {}), reloading",
+                    current != null ? current.version : "none", currentVersion);
+                load(currentVersion);
+            }
+        } catch (Exception e) {
+            log.warn("Unable to check subscription plan catalog version, serving cached plans: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recharge le catalogue depuis la base
+     */
+    public synchronized void refresh() {
+        load(cacheVersionRepository.getCurrentVersion(CACHE_NAME));
+    }
+
+    /**
+     * Signale une modification des forfaits : incrémente la version partagée et recharge le catalogue local
+     */
+    public void markChanged() {
+        cacheVersionRepository.incrementVersion(CACHE_NAME);
+        refresh();
+    }
+
+    /**
+     * Récupère tous les forfaits actifs, triés par prix croissant
+     */
+    public List<SubscriptionPlan> getActivePlans() {
+        return current().activePlans;
+    }
+
+    /**
+     * Récupère un forfait par ID (actif ou non)
+     */
+    public Optional<SubscriptionPlan> findById(UUID planId) {
+        return Optional.ofNullable(current().plansById.get(planId));
+    }
+
+    /**
+     * Récupère un forfait par nom (insensible à la casse)
+     */
+    public Optional<SubscriptionPlan> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current().plansByName.get(name.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Récupère le forfait d'essai gratuit
+     */
+    public Optional<SubscriptionPlan> getTrialPlan() {
+        return findByName("GRATUIT");
+    }
+
+    /**
+     * Récupère les forfaits actifs incluant une fonctionnalité
+     */
+    public List<SubscriptionPlan> getActivePlansWithFeature(SubscriptionFeature feature) {
+        return current().activePlansByFeature.getOrDefault(feature, List.of());
+    }
+
+    /**
+     * Version du catalogue actuellement servi
+     */
+    public long getVersion() {
+        return current().version;
+    }
+
+    /**
+     * ETag du catalogue, stable tant que les forfaits ne changent pas
+     */
+    public String getETag() {
+        return current().eTag;
+    }
+
+    /**
+     * Fonctionnalités incluses dans un forfait, selon {@link SubscriptionPlan#hasFeature(String)}
+     */
+    public static Set<SubscriptionFeature> featuresOf(SubscriptionPlan plan) {
+        EnumSet<SubscriptionFeature> features = EnumSet.noneOf(SubscriptionFeature.class);
+        for (SubscriptionFeature feature : SubscriptionFeature.values()) {
+            if (plan.hasFeature(feature.getCode())) {
+                features.add(feature);
+            }
+        }
+        return features;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    refresh();
+                    current = snapshot;
+                }
+            }
+        }
+        return current;
+    }
+
+    private synchronized void load(long version) {
+        List<SubscriptionPlan> plans = subscriptionPlanRepository.findAll();
+        Snapshot loaded = Snapshot.of(version, plans);
+        Snapshot previous = snapshot;
+        snapshot = loaded;
+
+        log.info("Subscription plan catalog loaded: {} plans ({} active), version {}",
+            plans.size(), loaded.activePlans.size(), version);
+
+        if (previous != null && !previous.eTag.equals(loaded.eTag)) {
+            eventPublisher.publishEvent(new SubscriptionPlanCatalogRefreshedEvent(this, version));
+        }
+    }
+
+    /**
+     * Vue immuable du catalogue à une version donnée
+     */
+    private static final class Snapshot {
+
+        private final long version;
+        private final String eTag;
+        private final Map<UUID, SubscriptionPlan> plansById;
+        private final Map<String, SubscriptionPlan> plansByName;
+        private final List<SubscriptionPlan> activePlans;
+        private final Map<SubscriptionFeature, List<SubscriptionPlan>> activePlansByFeature;
+
+        private Snapshot(long version, String eTag, Map<UUID, SubscriptionPlan> plansById,
+                         Map<String, SubscriptionPlan> plansByName, List<SubscriptionPlan> activePlans,
+                         Map<SubscriptionFeature, List<SubscriptionPlan>> activePlansByFeature) {
+            this.version = version;
+            this.eTag = eTag;
+            this.plansById = plansById;
+            this.plansByName = plansByName;
+            this.activePlans = activePlans;
+            this.activePlansByFeature = activePlansByFeature;
+        }
+
+        private static Snapshot of(long version, List<SubscriptionPlan> plans) {
+            Map<UUID, SubscriptionPlan> byId = new HashMap<>();
+            Map<String, SubscriptionPlan> byName = new HashMap<>();
+            List<SubscriptionPlan> active = new ArrayList<>();
+
+            for (SubscriptionPlan plan : plans) {
+                byId.put(plan.getId(), plan);
+                if (Boolean.TRUE.equals(plan.getIsActive())) {
+                    active.add(plan);
+                }
+            }
+
+            active.sort(Comparator
+                .comparing(SubscriptionPlan::getPrice, Comparator.nullsLast(BigDecimal::compareTo))
+                .thenComparing(SubscriptionPlan::getName, Comparator.nullsLast(String::compareTo)));
+
+            // Un forfait actif l'emporte sur un forfait désactivé portant le même nom
+            for (SubscriptionPlan plan : plans) {
+                if (plan.getName() != null && !Boolean.TRUE.equals(plan.getIsActive())) {
+                    byName.putIfAbsent(plan.getName().toUpperCase(Locale.ROOT), plan);
+                }
+            }
+            for (SubscriptionPlan plan : active) {
+                if (plan.getName() != null) {
+                    byName.put(plan.getName().toUpperCase(Locale.ROOT), plan);
+                }
+            }
+
+            Map<SubscriptionFeature, List<SubscriptionPlan>> byFeature = new EnumMap<>(SubscriptionFeature.class);
+            for (SubscriptionPlan plan : active) {
+                for (SubscriptionFeature feature : featuresOf(plan)) {
+                    byFeature.computeIfAbsent(feature, f -> new ArrayList<>()).add(plan);
+                }
+            }
+            byFeature.replaceAll((feature, list) -> List.copyOf(list));
+
+            return new Snapshot(
+                version,
+                computeETag(version, plans),
+                Map.copyOf(byId),
+                Map.copyOf(byName),
+                List.copyOf(active),
+                Collections.unmodifiableMap(byFeature)
+            );
+        }
+
+        private static String computeETag(long version, List<SubscriptionPlan> plans) {
+            int hash = plans.stream()
+                .sorted(Comparator.comparing(SubscriptionPlan::getId))
+                .map(plan -> Objects.hash(plan.getId(), plan.getUpdatedAt(), plan.getIsActive()))
+                .reduce(1, (a, b) -> 31 * a + b);
+            return "plans-" + version + "-" + Integer.toHexString(hash);
+        }
+    }
+}
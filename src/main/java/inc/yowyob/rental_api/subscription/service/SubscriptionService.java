@@ -1,13 +1,20 @@
 package inc.yowyob.rental_api.subscription.service;
 
+import inc.yowyob.rental_api.core.enums.MeteredResource;
+import inc.yowyob.rental_api.core.enums.SubscriptionFeature;
 import inc.yowyob.rental_api.core.enums.SubscriptionStatus;
 import inc.yowyob.rental_api.subscription.entities.OrganizationSubscription;
 import inc.yowyob.rental_api.subscription.entities.SubscriptionPlan;
+import inc.yowyob.rental_api.subscription.model.OrganizationEntitlement;
 import inc.yowyob.rental_api.subscription.repository.OrganizationSubscriptionRepository;
 import inc.yowyob.rental_api.subscription.repository.SubscriptionPlanRepository;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationBus;
+import inc.yowyob.rental_api.common.concurrent.SingleFlight;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationType;
 import inc.yowyob.rental_api.config.AppProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -23,6 +30,10 @@ public class SubscriptionService {
 
     private final SubscriptionPlanRepository subscriptionPlanRepository;
     private final OrganizationSubscriptionRepository organizationSubscriptionRepository;
+    private final SubscriptionPlanCatalog subscriptionPlanCatalog;
+    private final OrganizationEntitlementCache organizationEntitlementCache;
+    private final UsageMeterService usageMeterService;
+    private final InvalidationBus invalidationBus;
     private final AppProperties appProperties;
 
     /**
@@ -30,7 +41,7 @@ public class SubscriptionService {
      */
     public List<SubscriptionPlan> getAllActivePlans() {
         log.debug("Fetching all active subscription plans");
-        return subscriptionPlanRepository.findAllActive();
+        return subscriptionPlanCatalog.getActivePlans();
     }
 
     /**
@@ -38,7 +49,7 @@ public class SubscriptionService {
      */
     public Optional<SubscriptionPlan> getPlanById(UUID planId) {
         log.debug("Fetching subscription plan with ID: {}", planId);
-        return subscriptionPlanRepository.findById(planId);
+        return subscriptionPlanCatalog.findById(planId);
     }
 
     /**
@@ -46,7 +57,43 @@ public class SubscriptionService {
      */
     public Optional<SubscriptionPlan> getTrialPlan() {
         log.debug("Fetching trial subscription plan");
-        return subscriptionPlanRepository.findTrialPlan();
+        return subscriptionPlanCatalog.getTrialPlan();
+    }
+
+    /**
+     * Récupère les plans actifs incluant une fonctionnalité
+     */
+    public List<SubscriptionPlan> getPlansWithFeature(SubscriptionFeature feature) {
+        log.debug("Fetching active subscription plans with feature: {}", feature);
+        return subscriptionPlanCatalog.getActivePlansWithFeature(feature);
+    }
+
+    /**
+     * Crée ou met à jour un plan d'abonnement et propage la modification du catalogue
+     */
+    public SubscriptionPlan savePlan(SubscriptionPlan plan) {
+        log.info("Saving subscription plan: {}", plan.getName());
+
+        plan.setUpdatedAt(LocalDateTime.now());
+        SubscriptionPlan saved = subscriptionPlanRepository.save(plan);
+        subscriptionPlanCatalog.markChanged();
+        invalidationBus.publish(InvalidationType.SUBSCRIPTION_PLANS, InvalidationBus.ALL_KEYS);
+
+        return saved;
+    }
+
+    /**
+     * ETag du catalogue des plans, utilisé pour les requêtes conditionnelles
+     */
+    public String getPlanCatalogETag() {
+        return subscriptionPlanCatalog.getETag();
+    }
+
+    /**
+     * Politique de cache HTTP des endpoints publics de plans
+     */
+    public CacheControl getPlanCatalogCacheControl() {
+        return CacheControl.maxAge(appProperties.getSubscription().getPlansCacheMaxAge()).cachePublic();
     }
 
     /**
@@ -66,7 +113,7 @@ public class SubscriptionService {
         }
 
         // Récupérer le plan
-        SubscriptionPlan plan = subscriptionPlanRepository.findById(planId)
+        SubscriptionPlan plan = getPlanById(planId)
             .orElseThrow(() -> new IllegalArgumentException("Subscription plan not found"));
 
         // Calculer les dates
@@ -91,6 +138,7 @@ public class SubscriptionService {
         }
 
         OrganizationSubscription saved = organizationSubscriptionRepository.save(subscription);
+        invalidationBus.publish(InvalidationType.ORGANIZATION_ENTITLEMENT, organizationId);
         log.info("Subscription created successfully with ID: {}", saved.getId());
 
         return saved;
@@ -111,6 +159,7 @@ public class SubscriptionService {
     /**
      * Récupère la souscription active d'une organisation
      */
+    @SingleFlight
     public Optional<OrganizationSubscription> getActiveSubscription(UUID organizationId) {
         log.debug("Fetching active subscription for organization: {}", organizationId);
         return organizationSubscriptionRepository.findActiveByOrganizationId(organizationId);
@@ -125,57 +174,84 @@ public class SubscriptionService {
             .orElse(false);
     }
 
+    /**
+     * Récupère l'instantané des droits d'une organisation (forfait, fonctionnalités, limites)
+     */
+    public OrganizationEntitlement getEntitlement(UUID organizationId) {
+        return organizationEntitlementCache.get(organizationId);
+    }
+
     /**
      * Vérifie si une fonctionnalité est disponible pour une organisation
      */
     public boolean hasFeature(UUID organizationId, String feature) {
         log.debug("Checking feature '{}' for organization: {}", feature, organizationId);
 
-        Optional<OrganizationSubscription> subscription = getActiveSubscription(organizationId);
-        if (subscription.isEmpty() || !subscription.get().isActive()) {
-            return false;
-        }
+        return SubscriptionFeature.fromCode(feature)
+            .map(subscriptionFeature -> hasFeature(organizationId, subscriptionFeature))
+            .orElse(false);
+    }
 
-        UUID planId = subscription.get().getSubscriptionPlanId();
-        Optional<SubscriptionPlan> plan = getPlanById(planId);
+    public boolean hasFeature(UUID organizationId, SubscriptionFeature feature) {
+        return getEntitlement(organizationId).hasFeature(feature);
+    }
+
+    /**
+     * Vérifie les limites de ressources pour une organisation à partir des compteurs d'utilisation
+     */
+    public boolean canCreateAgency(UUID organizationId) {
+        return checkResourceLimit(organizationId, MeteredResource.AGENCIES);
+    }
 
-        return plan.map(p -> p.hasFeature(feature)).orElse(false);
+    public boolean canCreateVehicle(UUID organizationId) {
+        return checkResourceLimit(organizationId, MeteredResource.VEHICLES);
+    }
+
+    public boolean canCreateDriver(UUID organizationId) {
+        return checkResourceLimit(organizationId, MeteredResource.DRIVERS);
     }
 
     /**
-     * Vérifie les limites de ressources pour une organisation
+     * Vérifie une limite à partir d'un nombre fourni par l'appelant
+     *
+     * @deprecated utiliser {@link #canCreateAgency(UUID)}, qui lit le compteur d'utilisation
      */
+    @Deprecated
     public boolean canCreateAgency(UUID organizationId, int currentCount) {
-        return checkResourceLimit(organizationId, "agencies", currentCount);
+        return checkResourceLimit(organizationId, MeteredResource.AGENCIES, currentCount);
     }
 
+    /**
+     * @deprecated utiliser {@link #canCreateVehicle(UUID)}, qui lit le compteur d'utilisation
+     */
+    @Deprecated
     public boolean canCreateVehicle(UUID organizationId, int currentCount) {
-        return checkResourceLimit(organizationId, "vehicles", currentCount);
+        return checkResourceLimit(organizationId, MeteredResource.VEHICLES, currentCount);
     }
 
+    /**
+     * @deprecated utiliser {@link #canCreateDriver(UUID)}, qui lit le compteur d'utilisation
+     */
+    @Deprecated
     public boolean canCreateDriver(UUID organizationId, int currentCount) {
-        return checkResourceLimit(organizationId, "drivers", currentCount);
+        return checkResourceLimit(organizationId, MeteredResource.DRIVERS, currentCount);
     }
 
-    private boolean checkResourceLimit(UUID organizationId, String resourceType, int currentCount) {
-        Optional<OrganizationSubscription> subscription = getActiveSubscription(organizationId);
-        if (subscription.isEmpty() || !subscription.get().isActive()) {
-            return false;
-        }
-
-        UUID planId = subscription.get().getSubscriptionPlanId();
-        Optional<SubscriptionPlan> plan = getPlanById(planId);
+    private boolean checkResourceLimit(UUID organizationId, MeteredResource resource) {
+        return checkResourceLimit(organizationId, resource, usageMeterService.getCount(organizationId, resource));
+    }
 
-        if (plan.isEmpty()) {
+    private boolean checkResourceLimit(UUID organizationId, MeteredResource resource, long currentCount) {
+        OrganizationEntitlement entitlement = getEntitlement(organizationId);
+        if (!entitlement.isValid()) {
             return false;
         }
 
-        SubscriptionPlan subscriptionPlan = plan.get();
-        return switch (resourceType) {
-            case "agencies" -> currentCount < subscriptionPlan.getMaxAgencies();
-            case "vehicles" -> currentCount < subscriptionPlan.getMaxVehicles();
-            case "drivers" -> currentCount < subscriptionPlan.getMaxDrivers();
-            default -> false;
+        return switch (resource) {
+            case AGENCIES -> currentCount < entitlement.getMaxAgencies();
+            case VEHICLES -> currentCount < entitlement.getMaxVehicles();
+            case DRIVERS -> currentCount < entitlement.getMaxDrivers();
+            default -> true;
         };
     }
 
@@ -200,6 +276,7 @@ public class SubscriptionService {
         subscription.setAmountPaid(amountPaid);
 
         OrganizationSubscription renewed = organizationSubscriptionRepository.save(subscription);
+        invalidationBus.publish(InvalidationType.ORGANIZATION_ENTITLEMENT, renewed.getOrganizationId());
         log.info("Subscription renewed successfully until: {}", renewed.getEndDate());
 
         return renewed;
@@ -216,6 +293,7 @@ public class SubscriptionService {
 
         subscription.cancel();
         organizationSubscriptionRepository.save(subscription);
+        invalidationBus.publish(InvalidationType.ORGANIZATION_ENTITLEMENT, subscription.getOrganizationId());
 
         log.info("Subscription cancelled successfully");
     }
@@ -223,6 +301,7 @@ public class SubscriptionService {
     /**
      * Trouve les souscriptions qui expirent bientôt
      */
+    @SingleFlight
     public List<OrganizationSubscription> findExpiringSoon(int days) {
         LocalDateTime expirationDate = LocalDateTime.now().plusDays(days);
         return organizationSubscriptionRepository.findExpiringSoon(expirationDate);
@@ -240,6 +319,7 @@ public class SubscriptionService {
         for (OrganizationSubscription subscription : expiredSubscriptions) {
             subscription.setStatus(SubscriptionStatus.EXPIRED);
             organizationSubscriptionRepository.save(subscription);
+            invalidationBus.publish(InvalidationType.ORGANIZATION_ENTITLEMENT, subscription.getOrganizationId());
         }
 
         log.info("Updated {} expired subscriptions", expiredSubscriptions.size());
@@ -0,0 +1,111 @@
+package inc.yowyob.rental_api.subscription.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import inc.yowyob.rental_api.common.cache.ManagedCache;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.core.enums.MeteredResource;
+import inc.yowyob.rental_api.subscription.model.OrganizationUsageSnapshot;
+import inc.yowyob.rental_api.subscription.repository.OrganizationUsageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Compteurs d'utilisation par organisation, maintenus de façon incrémentale
+ * à chaque création ou suppression de ressource.
+ * <p>
+ * Les compteurs sont persistés dans des colonnes counter Cassandra et mis en cache
+ * localement ; les incréments effectués sur ce nœud sont appliqués directement au cache.
+ * Les écarts éventuels (échec entre l'écriture métier et l'incrément, autres nœuds)
+ * sont absorbés par l'expiration du cache et corrigés par {@link UsageReconciliationJob}.
+ */
+@Slf4j
+@Service
+public class UsageMeterService implements ManagedCache {
+
+    private final OrganizationUsageRepository organizationUsageRepository;
+    private final Cache<UUID, OrganizationUsageSnapshot> cache;
+
+    public UsageMeterService(OrganizationUsageRepository organizationUsageRepository,
+                             AppProperties appProperties) {
+        this.organizationUsageRepository = organizationUsageRepository;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(appProperties.getUsage().getCacheMaxSize())
+            .expireAfterWrite(appProperties.getUsage().getCacheTtl())
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Récupère les compteurs d'une organisation
+     */
+    public OrganizationUsageSnapshot getUsage(UUID organizationId) {
+        return cache.get(organizationId, this::load);
+    }
+
+    /**
+     * Récupère la valeur d'un compteur
+     */
+    public long getCount(UUID organizationId, MeteredResource resource) {
+        return getUsage(organizationId).get(resource);
+    }
+
+    /**
+     * Enregistre la création d'une ressource
+     */
+    public void recordCreated(UUID organizationId, MeteredResource resource) {
+        adjust(organizationId, resource, 1);
+    }
+
+    /**
+     * Enregistre la suppression d'une ressource
+     */
+    public void recordDeleted(UUID organizationId, MeteredResource resource) {
+        adjust(organizationId, resource, -1);
+    }
+
+    /**
+     * Applique un delta à un compteur (utilisé aussi par la réconciliation)
+     */
+    public void adjust(UUID organizationId, MeteredResource resource, long delta) {
+        if (organizationId == null || delta == 0) {
+            return;
+        }
+
+        log.debug("Adjusting {} meter of organization {} by {}", resource.getCode(), organizationId, delta);
+        organizationUsageRepository.increment(organizationId, resource, delta);
+        cache.asMap().computeIfPresent(organizationId, (id, snapshot) -> snapshot.plus(resource, delta));
+    }
+
+    /**
+     * Invalide les compteurs en cache d'une organisation
+     */
+    public void invalidate(UUID organizationId) {
+        cache.invalidate(organizationId);
+    }
+
+    private OrganizationUsageSnapshot load(UUID organizationId) {
+        return OrganizationUsageSnapshot.of(
+            organizationId,
+            organizationUsageRepository.findById(organizationId).orElse(null)
+        );
+    }
+
+    @Override
+    public String getCacheName() {
+        return "organization-usage";
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    public boolean evictOrganization(UUID organizationId) {
+        invalidate(organizationId);
+        return true;
+    }
+}
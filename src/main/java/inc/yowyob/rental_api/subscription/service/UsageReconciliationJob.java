@@ -0,0 +1,164 @@
+package inc.yowyob.rental_api.subscription.service;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.core.enums.MeteredResource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Recalcule périodiquement les compteurs d'utilisation à partir des tables sources.
+ * <p>
+ * Les tables sont parcourues plage de tokens par plage de tokens, de sorte que chaque
+ * requête reste locale à un réplica et paginée, sans ALLOW FILTERING ni COUNT global.
+ * Seules les ressources disposant d'une table sont réconciliées.
+ * <p>
+ * Le parcours n'est pas un instantané : un compteur est relu après le parcours et n'est
+ * corrigé que s'il n'a pas bougé depuis la lecture initiale. Une organisation écrite
+ * pendant la passe est laissée à la suivante.
+ */
+@Slf4j
+@Component
+@Profile("!perf-inmemory")
+@RequiredArgsConstructor
+public class UsageReconciliationJob {
+
+    /**
+     * Table source et colonnes utilisées pour compter une ressource
+     */
+    private record ScanTarget(String table, String partitionKey, String organizationColumn) {
+    }
+
+    private static final Map<MeteredResource, ScanTarget> SCAN_TARGETS = Map.of(
+        MeteredResource.USERS, new ScanTarget("users", "id", "organizationid")
+    );
+
+    private final CqlSession cqlSession;
+    private final UsageMeterService usageMeterService;
+    private final AppProperties appProperties;
+
+    @Scheduled(cron = "${app.usage.reconciliation-cron:0 30 3 * * *}")
+    public void scheduledReconciliation() {
+        if (!appProperties.getUsage().isReconciliationEnabled()) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Usage meter reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Réconcilie tous les compteurs et retourne le nombre de compteurs corrigés
+     */
+    public int reconcile() {
+        log.info("Starting usage meter reconciliation");
+        long start = System.currentTimeMillis();
+
+        Map<UUID, Map<MeteredResource, Long>> stored = new HashMap<>();
+        scan("organization_usage", "organization_id",
+            "organization_id, " + String.join(", ", SCAN_TARGETS.keySet().stream().map(MeteredResource::getCode).toList()),
+            row -> {
+                Map<MeteredResource, Long> counters = new EnumMap<>(MeteredResource.class);
+                for (MeteredResource resource : SCAN_TARGETS.keySet()) {
+                    counters.put(resource, row.isNull(resource.getCode()) ? 0L : row.getLong(resource.getCode()));
+                }
+                stored.put(row.getUuid("organization_id"), counters);
+            });
+
+        int corrected = 0;
+        int skipped = 0;
+        for (Map.Entry<MeteredResource, ScanTarget> entry : SCAN_TARGETS.entrySet()) {
+            MeteredResource resource = entry.getKey();
+            ScanTarget target = entry.getValue();
+
+            Map<UUID, Long> actual = new HashMap<>();
+            scan(target.table(), target.partitionKey(), target.organizationColumn(), row -> {
+                UUID organizationId = row.getUuid(0);
+                if (organizationId != null) {
+                    actual.merge(organizationId, 1L, Long::sum);
+                }
+            });
+
+            Set<UUID> organizations = new HashSet<>(actual.keySet());
+            organizations.addAll(stored.keySet());
+
+            PreparedStatement counter = cqlSession.prepare(
+                "SELECT " + resource.getCode() + " FROM organization_usage WHERE organization_id = ?");
+            for (UUID organizationId : organizations) {
+                long expected = actual.getOrDefault(organizationId, 0L);
+                long before = stored.getOrDefault(organizationId, Map.of()).getOrDefault(resource, 0L);
+                if (expected == before) {
+                    continue;
+                }
+                // Relu après le parcours : le delta ne doit pas annuler une écriture concurrente
+                long current = readCounter(counter, organizationId);
+                if (current != before) {
+                    log.debug("Skipping {} meter of organization {}: written during reconciliation",
+                        resource.getCode(), organizationId);
+                    skipped++;
+                    continue;
+                }
+                log.info("Correcting {} meter of organization {}: {} -> {}",
+                    resource.getCode(), organizationId, current, expected);
+                usageMeterService.adjust(organizationId, resource, expected - current);
+                usageMeterService.invalidate(organizationId);
+                corrected++;
+            }
+        }
+
+        log.info("Usage meter reconciliation completed in {} ms, {} meters corrected, {} left to the next pass",
+            System.currentTimeMillis() - start, corrected, skipped);
+        return corrected;
+    }
+
+    private long readCounter(PreparedStatement counter, UUID organizationId) {
+        Row row = cqlSession.execute(counter.bind(organizationId)).one();
+        return row == null || row.isNull(0) ? 0L : row.getLong(0);
+    }
+
+    private void scan(String table, String partitionKey, String columns, Consumer<Row> consumer) {
+        int pageSize = appProperties.getUsage().getReconciliationPageSize();
+        Optional<TokenMap> tokenMap = cqlSession.getMetadata().getTokenMap();
+
+        if (tokenMap.isEmpty()) {
+            log.warn("Token metadata unavailable, falling back to a paged full scan of {}", table);
+            SimpleStatement statement = SimpleStatement.newInstance("SELECT " + columns + " FROM " + table)
+                .setPageSize(pageSize);
+            cqlSession.execute(statement).forEach(consumer);
+            return;
+        }
+
+        String select = "SELECT " + columns + " FROM " + table + " WHERE token(" + partitionKey + ") > ?";
+        PreparedStatement bounded = cqlSession.prepare(select + " AND token(" + partitionKey + ") <= ?");
+        PreparedStatement unbounded = cqlSession.prepare(select);
+
+        for (TokenRange range : tokenMap.get().getTokenRanges()) {
+            for (TokenRange subRange : range.unwrap()) {
+                BoundStatement statement;
+                if (subRange.getEnd().compareTo(subRange.getStart()) <= 0) {
+                    // Dernière portion de l'anneau : (start, +inf)
+                    statement = unbounded.bind().setToken(0, subRange.getStart());
+                } else {
+                    statement = bounded.bind()
+                        .setToken(0, subRange.getStart())
+                        .setToken(1, subRange.getEnd());
+                }
+                cqlSession.execute(statement.setPageSize(pageSize)).forEach(consumer);
+            }
+        }
+    }
+}
@@ -3,11 +3,11 @@ package inc.yowyob.rental_api.user.config;
 import inc.yowyob.rental_api.core.enums.UserStatus;
 import inc.yowyob.rental_api.core.enums.UserType;
 import inc.yowyob.rental_api.user.entities.User;
+import inc.yowyob.rental_api.user.repository.UserEmailRepository;
 import inc.yowyob.rental_api.user.repository.UserRepository;
+import inc.yowyob.rental_api.common.seed.SeedTask;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -18,24 +18,28 @@ import java.time.LocalDateTime;
  */
 @Slf4j
 @Component
-@Order(2) // Après SubscriptionDataInitializer
 @RequiredArgsConstructor
-public class UserDataInitializer implements CommandLineRunner {
+public class UserDataInitializer implements SeedTask {
 
     private final UserRepository userRepository;
+    private final UserEmailRepository userEmailRepository;
     private final PasswordEncoder passwordEncoder;
 
     @Override
-    public void run(String... args) throws Exception {
-        log.info("Initializing user data...");
+    public String getName() {
+        return "users";
+    }
 
-        try {
-            createSuperAdminUser();
-            log.info("User data initialization completed successfully.");
+    @Override
+    public int getVersion() {
+        return 1;
+    }
 
-        } catch (Exception e) {
-            log.error("Error during user data initialization: {}", e.getMessage(), e);
-        }
+    @Override
+    public void apply() {
+        log.info("Initializing user data...");
+        createSuperAdminUser();
+        log.info("User data initialization completed successfully.");
     }
 
     private void createSuperAdminUser() {
@@ -59,6 +63,7 @@ public class UserDataInitializer implements CommandLineRunner {
             admin.setUpdatedAt(LocalDateTime.now());
 
             userRepository.save(admin);
+            userEmailRepository.claim(adminEmail, admin.getId());
             log.info("Super admin user created successfully with email: {}", adminEmail);
         } else {
             log.info("Super admin user already exists. Skipping creation.");
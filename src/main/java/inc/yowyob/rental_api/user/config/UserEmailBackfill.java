@@ -0,0 +1,63 @@
+package inc.yowyob.rental_api.user.config;
+
+import inc.yowyob.rental_api.common.seed.SeedTask;
+import inc.yowyob.rental_api.user.entities.User;
+import inc.yowyob.rental_api.user.repository.UserEmailRepository;
+import inc.yowyob.rental_api.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+/**
+ * Réserve dans {@code user_emails} les emails des utilisateurs existants, pour que l'inscription
+ * et l'import en masse puissent dédoublonner par cette seule table
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserEmailBackfill implements SeedTask {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final UserEmailRepository userEmailRepository;
+
+    @Override
+    public String getName() {
+        return "user-email-lookup";
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void apply() {
+        long claimed = 0;
+        long conflicts = 0;
+        Pageable pageable = CassandraPageRequest.first(PAGE_SIZE);
+        while (true) {
+            Slice<User> page = userRepository.findAll(pageable);
+            for (User user : page) {
+                if (user.getEmail() == null) {
+                    continue;
+                }
+                if (userEmailRepository.claim(user.getEmail(), user.getId())) {
+                    claimed++;
+                } else {
+                    conflicts++;
+                    log.warn("Email {} of user {} is already reserved by another user", user.getEmail(), user.getId());
+                }
+            }
+            if (!page.hasNext()) {
+                break;
+            }
+            pageable = page.nextPageable();
+        }
+        log.info("User email lookup backfilled: {} emails reserved, {} conflicts", claimed, conflicts);
+    }
+}
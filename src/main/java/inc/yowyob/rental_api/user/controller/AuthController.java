@@ -1,5 +1,6 @@
 package inc.yowyob.rental_api.user.controller;
 
+import inc.yowyob.rental_api.common.cassandra.budget.DbCallBudget;
 import inc.yowyob.rental_api.common.response.ApiResponse;
 import inc.yowyob.rental_api.common.response.ApiResponseUtil;
 import inc.yowyob.rental_api.security.util.SecurityUtils;
@@ -52,6 +53,7 @@ public class AuthController {
         )
     })
     @PostMapping("/login")
+    @DbCallBudget(value = 3, maxPerQuery = 2) // Lecture par email (authentification puis service) et mise à jour du compte
     public ResponseEntity<ApiResponse<AuthResponseDto>> login(
         @Parameter(description = "Informations de connexion")
         @Valid @RequestBody LoginRequestDto loginRequest,
@@ -0,0 +1,119 @@
+package inc.yowyob.rental_api.user.controller;
+
+import inc.yowyob.rental_api.common.response.ApiResponse;
+import inc.yowyob.rental_api.common.response.ApiResponseUtil;
+import inc.yowyob.rental_api.security.annotations.RequireAllPermissions;
+import inc.yowyob.rental_api.security.annotations.RequireOrganizationAccess;
+import inc.yowyob.rental_api.security.annotations.RequirePermission;
+import inc.yowyob.rental_api.security.util.SecurityUtils;
+import inc.yowyob.rental_api.user.dto.UserImportReportDto;
+import inc.yowyob.rental_api.user.service.UserImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Import en masse des utilisateurs d'une organisation.
+ * <p>
+ * Le corps de la requête (CSV avec en-tête ou NDJSON) est traité pendant sa réception ; la
+ * réponse porte le bilan de l'import une fois toutes les lignes traitées.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/organizations/{organizationId}/users")
+@RequiredArgsConstructor
+@Tag(name = "User Import", description = "Import en masse des utilisateurs d'une organisation")
+public class UserImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final UserImportService importService;
+
+    @Operation(
+        summary = "Importer des utilisateurs",
+        description = "Crée les utilisateurs d'un fichier CSV (colonnes email, password, firstName, lastName, " +
+            "phone, roles séparés par |) ou NDJSON. Les emails déjà utilisés et les lignes invalides sont " +
+            "rejetés sans interrompre l'import."
+    )
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @RequireAllPermissions({"user_write", "user_manage_roles"})
+    @RequireOrganizationAccess
+    public ResponseEntity<ApiResponse<UserImportReportDto>> importUsers(
+        @Parameter(description = "ID de l'organisation")
+        @PathVariable UUID organizationId,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) {
+        UserImportService.Format format = MediaType.APPLICATION_NDJSON
+            .isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+            ? UserImportService.Format.NDJSON
+            : UserImportService.Format.CSV;
+        log.info("POST /organizations/{}/users/import - Importing users ({})", organizationId, format);
+
+        Optional<UserImportService.Permit> permit = importService.tryAcquire();
+        if (permit.isEmpty()) {
+            log.warn("User import for organization {} rejected: too many concurrent imports", organizationId);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(importService.getRetryAfterSeconds()));
+            return ApiResponseUtil.error("Trop d'imports en cours, veuillez réessayer plus tard",
+                HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+
+        try (UserImportService.Permit ignored = permit.get()) {
+            UserImportReportDto report = importService.importUsers(organizationId, format,
+                request.getInputStream(), SecurityUtils.getCurrentUserId());
+            return ApiResponseUtil.success(
+                report,
+                String.format("%d utilisateur(s) importé(s), %d ligne(s) rejetée(s)",
+                    report.getCreated(), report.getDuplicates() + report.getFailed())
+            );
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid user import for organization {}: {}", organizationId, e.getMessage());
+            return ApiResponseUtil.badRequest(e.getMessage());
+        } catch (IOException e) {
+            log.warn("User import for organization {} interrupted: {}", organizationId, e.getMessage());
+            return ApiResponseUtil.badRequest("Lecture du fichier interrompue");
+        } catch (Exception e) {
+            log.error("Error importing users for organization {}", organizationId, e);
+            return ApiResponseUtil.error(
+                "Erreur lors de l'import des utilisateurs",
+                HttpStatus.INTERNAL_SERVER_ERROR.value()
+            );
+        }
+    }
+
+    @Operation(
+        summary = "Suivre les imports",
+        description = "Avancement des imports en cours et bilan des imports récents de l'organisation"
+    )
+    @GetMapping("/imports")
+    @RequirePermission("user_read")
+    @RequireOrganizationAccess
+    public ResponseEntity<ApiResponse<List<UserImportReportDto>>> getImports(
+        @Parameter(description = "ID de l'organisation")
+        @PathVariable UUID organizationId
+    ) {
+        log.info("GET /organizations/{}/users/imports - Fetching user imports", organizationId);
+        return ApiResponseUtil.success(
+            importService.getImports(organizationId),
+            "Imports récupérés avec succès"
+        );
+    }
+}
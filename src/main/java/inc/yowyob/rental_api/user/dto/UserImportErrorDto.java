@@ -0,0 +1,23 @@
+package inc.yowyob.rental_api.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ligne rejetée par un import d'utilisateurs
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportErrorDto {
+
+    /**
+     * Numéro de ligne dans le fichier (en-tête CSV compris)
+     */
+    private long line;
+    private String email;
+    private String message;
+}
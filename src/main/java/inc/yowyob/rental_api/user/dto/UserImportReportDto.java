@@ -0,0 +1,40 @@
+package inc.yowyob.rental_api.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Avancement, puis bilan, d'un import d'utilisateurs
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportReportDto {
+
+    private UUID id;
+    private UUID organizationId;
+    private String format;
+    /**
+     * RUNNING, COMPLETED ou FAILED (flux interrompu : les lignes déjà traitées restent créées)
+     */
+    private String status;
+    private long rowsRead;
+    private long created;
+    private long duplicates;
+    private long failed;
+    private long rolesAssigned;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private Long durationMs;
+    /**
+     * Premières lignes rejetées, dans la limite configurée
+     */
+    private List<UserImportErrorDto> errors;
+}
@@ -0,0 +1,50 @@
+package inc.yowyob.rental_api.user.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ligne d'un import d'utilisateurs (CSV ou NDJSON) ; mêmes règles que l'inscription
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportRowDto {
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    private String email;
+
+    @NotBlank(message = "Password is required")
+    @Size(min = 8, message = "Password must be at least 8 characters")
+    @Pattern(regexp = "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d).*$",
+        message = "Password must contain at least one lowercase letter, one uppercase letter, and one number")
+    private String password;
+
+    @NotBlank(message = "First name is required")
+    @Size(min = 2, max = 50)
+    private String firstName;
+
+    @NotBlank(message = "Last name is required")
+    @Size(min = 2, max = 50)
+    private String lastName;
+
+    @Pattern(regexp = "^\\+?[1-9]\\d{1,14}$", message = "Phone number should be valid")
+    private String phone;
+
+    /**
+     * Noms des rôles de l'organisation à assigner
+     */
+    @Builder.Default
+    private List<String> roles = new ArrayList<>();
+}
@@ -0,0 +1,34 @@
+package inc.yowyob.rental_api.user.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Réservation d'une adresse email par un compte.
+ * L'email est la clé de partition : une insertion conditionnelle (LWT) garantit qu'une
+ * même adresse ne peut être attribuée qu'à un seul utilisateur, même en cas de requêtes concurrentes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("user_emails")
+public class UserEmail {
+
+    @Id
+    @PrimaryKey
+    private String email;
+
+    @Column("user_id")
+    private UUID userId;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+}
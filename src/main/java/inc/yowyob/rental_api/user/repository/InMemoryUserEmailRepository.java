@@ -0,0 +1,40 @@
+package inc.yowyob.rental_api.user.repository;
+
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import inc.yowyob.rental_api.user.entities.UserEmail;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implémentation en mémoire de {@link UserEmailRepository} (profil perf-inmemory)
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemoryUserEmailRepository extends InMemoryCassandraRepository<UserEmail, String>
+    implements UserEmailRepository {
+
+    public InMemoryUserEmailRepository(LatencySimulator latencySimulator) {
+        super(UserEmail.class, UserEmail::getEmail, latencySimulator);
+    }
+
+    @Override
+    public boolean claim(String email, UUID userId) {
+        AtomicBoolean claimed = new AtomicBoolean();
+        update(email, key -> new UserEmail(key, userId, LocalDateTime.now()), userEmail -> {
+            claimed.set(userId.equals(userEmail.getUserId()));
+            return userEmail;
+        });
+        return claimed.get();
+    }
+
+    @Override
+    public void release(String email, UUID userId) {
+        update(email, key -> null,
+            userEmail -> userEmail != null && userId.equals(userEmail.getUserId()) ? null : userEmail);
+    }
+}
@@ -0,0 +1,164 @@
+package inc.yowyob.rental_api.user.repository;
+
+import inc.yowyob.rental_api.common.inmemory.InMemoryCassandraRepository;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import inc.yowyob.rental_api.core.enums.UserStatus;
+import inc.yowyob.rental_api.core.enums.UserType;
+import inc.yowyob.rental_api.user.entities.User;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implémentation en mémoire de {@link UserRepository} (profil perf-inmemory)
+ */
+@Repository
+@Profile("perf-inmemory")
+public class InMemoryUserRepository extends InMemoryCassandraRepository<User, UUID> implements UserRepository {
+
+    public InMemoryUserRepository(LatencySimulator latencySimulator) {
+        super(User.class, User::getId, latencySimulator);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return findFirstWhere(user -> Objects.equals(email, user.getEmail()));
+    }
+
+    @Override
+    public Long countByEmail(String email) {
+        return countWhere(user -> Objects.equals(email, user.getEmail()));
+    }
+
+    @Override
+    public Optional<User> findByPhone(String phone) {
+        return findFirstWhere(user -> Objects.equals(phone, user.getPhone()));
+    }
+
+    @Override
+    public Long countByPhone(String phone) {
+        return countWhere(user -> Objects.equals(phone, user.getPhone()));
+    }
+
+    @Override
+    public List<User> findByOrganizationId(UUID organizationId) {
+        return findWhere(user -> Objects.equals(organizationId, user.getOrganizationId()));
+    }
+
+    @Override
+    public Slice<User> findByOrganizationId(UUID organizationId, Pageable pageable) {
+        return findSliceWhere(user -> Objects.equals(organizationId, user.getOrganizationId()), pageable);
+    }
+
+    @Override
+    public List<User> findByUserType(UserType userType) {
+        return findWhere(user -> user.getUserType() == userType);
+    }
+
+    @Override
+    public List<User> findByStatus(UserStatus status) {
+        return findWhere(user -> user.getStatus() == status);
+    }
+
+    @Override
+    public List<User> findAllOwners() {
+        return findByUserType(UserType.OWNER);
+    }
+
+    @Override
+    public List<User> findAllClients() {
+        return findByUserType(UserType.CLIENT);
+    }
+
+    @Override
+    public List<User> findActiveUsers() {
+        return findByStatus(UserStatus.ACTIVE);
+    }
+
+    @Override
+    public Optional<User> findByEmailVerificationToken(String token) {
+        return findFirstWhere(user -> Objects.equals(token, user.getEmailVerificationToken()));
+    }
+
+    @Override
+    public Optional<User> findByPasswordResetToken(String token) {
+        return findFirstWhere(user -> Objects.equals(token, user.getPasswordResetToken()));
+    }
+
+    @Override
+    public List<User> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return findWhere(user -> between(user.getCreatedAt(), startDate, endDate));
+    }
+
+    @Override
+    public List<User> findUsersWithFailedLoginAttempts() {
+        return findWhere(user -> gt(user.getFailedLoginAttempts(), 0));
+    }
+
+    @Override
+    public List<User> findLockedUsers(LocalDateTime now) {
+        return findWhere(user -> gt(user.getLockedUntil(), now));
+    }
+
+    @Override
+    public List<User> findUsersWithUnverifiedEmail() {
+        return findWhere(user -> isFalse(user.getEmailVerified()));
+    }
+
+    @Override
+    public List<User> findUsersWithUnverifiedPhone() {
+        return findWhere(user -> isFalse(user.getPhoneVerified()));
+    }
+
+    @Override
+    public List<User> findByOrganizationIdAndUserType(UUID organizationId, UserType userType) {
+        return findWhere(user -> Objects.equals(organizationId, user.getOrganizationId()) && user.getUserType() == userType);
+    }
+
+    @Override
+    public List<User> findOwnersByOrganizationId(UUID organizationId) {
+        return findByOrganizationIdAndUserType(organizationId, UserType.OWNER);
+    }
+
+    @Override
+    public List<User> findStaffByOrganizationId(UUID organizationId) {
+        return findByOrganizationIdAndUserType(organizationId, UserType.STAFF);
+    }
+
+    @Override
+    public List<User> findRecentlyLoggedInUsers(LocalDateTime since) {
+        return findWhere(user -> ge(user.getLastLoginAt(), since));
+    }
+
+    @Override
+    public Long countByUserType(UserType userType) {
+        return countWhere(user -> user.getUserType() == userType);
+    }
+
+    @Override
+    public Long countByStatus(UserStatus status) {
+        return countWhere(user -> user.getStatus() == status);
+    }
+
+    @Override
+    public Long countByOrganizationId(UUID organizationId) {
+        return countWhere(user -> Objects.equals(organizationId, user.getOrganizationId()));
+    }
+
+    @Override
+    public List<User> findCreatedSince(LocalDateTime since) {
+        return findWhere(user -> ge(user.getCreatedAt(), since));
+    }
+
+    @Override
+    public List<User> findSuperAdmins() {
+        return findByUserType(UserType.SUPER_ADMIN);
+    }
+}
@@ -0,0 +1,9 @@
+package inc.yowyob.rental_api.user.repository;
+
+import inc.yowyob.rental_api.user.entities.UserEmail;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserEmailRepository extends CassandraRepository<UserEmail, String>, UserEmailRepositoryCustom {
+}
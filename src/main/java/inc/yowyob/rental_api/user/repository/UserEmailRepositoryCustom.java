@@ -0,0 +1,21 @@
+package inc.yowyob.rental_api.user.repository;
+
+import java.util.UUID;
+
+/**
+ * Réservations d'email conditionnelles (insert/delete IF)
+ */
+public interface UserEmailRepositoryCustom {
+
+    /**
+     * Réserve un email pour un utilisateur ; idempotent si l'email lui est déjà réservé
+     *
+     * @return false si l'email est réservé par un autre utilisateur
+     */
+    boolean claim(String email, UUID userId);
+
+    /**
+     * Libère un email, uniquement s'il est réservé par cet utilisateur
+     */
+    void release(String email, UUID userId);
+}
@@ -0,0 +1,33 @@
+package inc.yowyob.rental_api.user.repository;
+
+import inc.yowyob.rental_api.user.entities.UserEmail;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.CassandraOperations;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class UserEmailRepositoryCustomImpl implements UserEmailRepositoryCustom {
+
+    private final CassandraOperations cassandraOperations;
+
+    @Override
+    public boolean claim(String email, UUID userId) {
+        boolean applied = cassandraOperations.getCqlOperations().execute(
+            "INSERT INTO user_emails (email, user_id, created_at) VALUES (?, ?, ?) IF NOT EXISTS",
+            email, userId, LocalDateTime.now()
+        );
+        if (applied) {
+            return true;
+        }
+        UserEmail existing = cassandraOperations.selectOneById(email, UserEmail.class);
+        return existing != null && userId.equals(existing.getUserId());
+    }
+
+    @Override
+    public void release(String email, UUID userId) {
+        cassandraOperations.getCqlOperations()
+            .execute("DELETE FROM user_emails WHERE email = ? IF user_id = ?", email, userId);
+    }
+}
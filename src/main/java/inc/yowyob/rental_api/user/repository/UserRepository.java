@@ -5,6 +5,8 @@ import inc.yowyob.rental_api.core.enums.UserType;
 import inc.yowyob.rental_api.user.entities.User;
 import org.springframework.data.cassandra.repository.CassandraRepository;
 import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -59,6 +61,12 @@ public interface UserRepository extends CassandraRepository<User, UUID> {
     @Query("SELECT * FROM users WHERE organization_id = ?0 ALLOW FILTERING")
     List<User> findByOrganizationId(UUID organizationId);
 
+    /**
+     * Parcourt les utilisateurs d'une organisation page par page (export)
+     */
+    @Query("SELECT * FROM users WHERE organizationid = ?0 ALLOW FILTERING")
+    Slice<User> findByOrganizationId(UUID organizationId, Pageable pageable);
+
     /**
      * Trouve les utilisateurs par type
      */
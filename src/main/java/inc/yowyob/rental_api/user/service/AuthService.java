@@ -1,10 +1,18 @@
 package inc.yowyob.rental_api.user.service;
 
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationBus;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationType;
+import inc.yowyob.rental_api.common.degraded.DegradedModeMonitor;
+import inc.yowyob.rental_api.common.jfr.PasswordHashEvent;
 import inc.yowyob.rental_api.config.AppProperties;
 import inc.yowyob.rental_api.core.enums.UserStatus;
+import inc.yowyob.rental_api.core.enums.UserType;
 import inc.yowyob.rental_api.security.jwt.JwtTokenProvider;
+import inc.yowyob.rental_api.security.model.UserPrincipal;
+import inc.yowyob.rental_api.security.service.LastKnownPrincipalCache;
 import inc.yowyob.rental_api.user.dto.*;
 import inc.yowyob.rental_api.user.entities.User;
+import inc.yowyob.rental_api.user.repository.UserEmailRepository;
 import inc.yowyob.rental_api.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +25,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -26,10 +36,14 @@ import java.util.UUID;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final UserEmailRepository userEmailRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
     private final AppProperties appProperties;
+    private final InvalidationBus invalidationBus;
+    private final DegradedModeMonitor degradedModeMonitor;
+    private final LastKnownPrincipalCache lastKnownPrincipalCache;
 
     /**
      * Authentifie un utilisateur
@@ -56,16 +70,18 @@ public class AuthService {
 
         try {
             // Authentifier
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                    loginRequest.getEmail(),
-                    loginRequest.getPassword()
-                )
-            );
+            Authentication authentication = authenticate(loginRequest.getEmail(), loginRequest.getPassword());
 
-            // Mettre à jour les informations de connexion
+            // Mettre à jour les informations de connexion, sans bloquer la connexion si la base refuse l'écriture
             user.updateLastLogin(ipAddress);
-            userRepository.save(user);
+            try {
+                userRepository.save(user);
+            } catch (RuntimeException e) {
+                if (!degradedModeMonitor.reportFailure(e)) {
+                    throw e;
+                }
+                log.warn("Last login of {} not recorded, database unavailable: {}", user.getEmail(), e.getMessage());
+            }
 
             // Générer les tokens
             String accessToken = jwtTokenProvider.generateToken(user);
@@ -79,6 +95,9 @@ public class AuthService {
             // Incrémenter les tentatives échouées
             user.incrementFailedLoginAttempts();
             userRepository.save(user);
+            if (user.isLocked()) {
+                invalidationBus.publish(InvalidationType.USER_ACCOUNT, user.getId());
+            }
 
             log.warn("Failed login attempt for email: {} (attempts: {})",
                 loginRequest.getEmail(), user.getFailedLoginAttempts());
@@ -94,15 +113,10 @@ public class AuthService {
     public AuthResponseDto register(RegisterRequestDto registerRequest) {
         log.info("Registration attempt for email: {}", registerRequest.getEmail());
 
-        // Vérifier si l'email existe déjà
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new IllegalArgumentException("Email is already registered");
-        }
-
         // Créer l'utilisateur
         User user = new User(
             registerRequest.getEmail(),
-            passwordEncoder.encode(registerRequest.getPassword()),
+            encodePassword(registerRequest.getPassword()),
             registerRequest.getFirstName(),
             registerRequest.getLastName(),
             registerRequest.getUserType()
@@ -110,12 +124,23 @@ public class AuthService {
 
         user.setPhone(registerRequest.getPhone());
 
+        // Réserver l'email : seule vérification d'unicité, partagée avec l'onboarding et les imports en masse
+        if (!userEmailRepository.claim(user.getEmail(), user.getId())) {
+            throw new IllegalArgumentException("Email is already registered");
+        }
+
         // Activer directement pour les clients, en attente pour les propriétaires
         if (registerRequest.getUserType().getCode().equals("client")) {
             user.setStatus(UserStatus.ACTIVE);
         }
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (RuntimeException e) {
+            userEmailRepository.release(user.getEmail(), user.getId());
+            throw e;
+        }
 
         // Générer les tokens
         String accessToken = jwtTokenProvider.generateToken(savedUser);
@@ -137,7 +162,7 @@ public class AuthService {
         }
 
         UUID userId = jwtTokenProvider.getUserIdFromToken(refreshToken);
-        User user = userRepository.findById(userId)
+        User user = loadForRefresh(userId, jwtTokenProvider.getEmailFromToken(refreshToken))
             .orElseThrow(() -> new BadCredentialsException("User not found"));
 
         if (!user.canLogin()) {
@@ -164,14 +189,15 @@ public class AuthService {
             .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         // Vérifier le mot de passe actuel
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if (!passwordMatches(currentPassword, user.getPassword())) {
             throw new BadCredentialsException("Current password is incorrect");
         }
 
         // Mettre à jour le mot de passe
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(encodePassword(newPassword));
         user.setUpdatedAt(java.time.LocalDateTime.now());
         userRepository.save(user);
+        invalidationBus.publish(InvalidationType.USER_ACCOUNT, userId);
 
         log.info("Password changed successfully for user: {}", userId);
     }
@@ -197,4 +223,100 @@ public class AuthService {
             .lastLoginAt(user.getLastLoginAt())
             .build();
     }
+
+    /**
+     * Charge l'utilisateur depuis la base ou, si elle est injoignable, depuis son dernier état connu
+     */
+    private Optional<User> loadForRefresh(UUID userId, String email) {
+        if (degradedModeMonitor.isDegraded()) {
+            Optional<User> snapshot = lastKnownUser(userId, email);
+            if (snapshot.isPresent()) {
+                return snapshot;
+            }
+        }
+
+        try {
+            Optional<User> user = userRepository.findById(userId);
+            degradedModeMonitor.reportSuccess();
+            return user;
+        } catch (RuntimeException e) {
+            if (degradedModeMonitor.reportFailure(e)) {
+                Optional<User> snapshot = lastKnownUser(userId, email);
+                if (snapshot.isPresent()) {
+                    return snapshot;
+                }
+            }
+            throw e;
+        }
+    }
+
+    private Optional<User> lastKnownUser(UUID userId, String email) {
+        Optional<UserPrincipal> snapshot = lastKnownPrincipalCache.get(email)
+            .filter(principal -> userId.equals(principal.getId()));
+        snapshot.ifPresent(principal -> degradedModeMonitor.recordStaleRead("refresh"));
+        return snapshot.map(AuthService::toUser);
+    }
+
+    /**
+     * Utilisateur reconstitué depuis son dernier état connu, pour émettre des jetons sans la base
+     */
+    private static User toUser(UserPrincipal principal) {
+        UserType userType = Arrays.stream(UserType.values())
+            .filter(type -> type.getCode().equals(principal.getUserType()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Unknown user type: " + principal.getUserType()));
+        User user = new User(principal.getEmail(), null, principal.getFirstName(), principal.getLastName(), userType);
+        user.setId(principal.getId());
+        user.setOrganizationId(principal.getOrganizationId());
+        user.setStatus(Arrays.stream(UserStatus.values())
+            .filter(status -> status.getCode().equals(principal.getStatus()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Unknown user status: " + principal.getStatus())));
+        if (!principal.isAccountNonLocked()) {
+            user.setLockedUntil(LocalDateTime.MAX);
+        }
+        return user;
+    }
+
+    /**
+     * Authentifie via l'AuthenticationManager (vérification BCrypt incluse)
+     */
+    private Authentication authenticate(String email, String password) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        boolean matched = false;
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(email, password));
+            matched = true;
+            return authentication;
+        } finally {
+            commit(event, PasswordHashEvent.AUTHENTICATE, matched);
+        }
+    }
+
+    private String encodePassword(String rawPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        String encoded = passwordEncoder.encode(rawPassword);
+        commit(event, PasswordHashEvent.ENCODE, true);
+        return encoded;
+    }
+
+    private boolean passwordMatches(String rawPassword, String encodedPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        boolean matched = passwordEncoder.matches(rawPassword, encodedPassword);
+        commit(event, PasswordHashEvent.VERIFY, matched);
+        return matched;
+    }
+
+    private static void commit(PasswordHashEvent event, String operation, boolean matched) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.matched = matched;
+            event.commit();
+        }
+    }
 }
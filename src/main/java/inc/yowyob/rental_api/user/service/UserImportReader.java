@@ -0,0 +1,271 @@
+package inc.yowyob.rental_api.user.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api.user.dto.UserImportRowDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lecture incrémentale d'un import d'utilisateurs : CSV (RFC 4180, ligne d'en-tête obligatoire)
+ * ou NDJSON (un objet JSON par ligne).
+ * <p>
+ * Le flux est lu ligne à ligne : seule la ligne courante est en mémoire, et une ligne plus longue
+ * que la limite configurée est rejetée sans être conservée. Une ligne mal formée produit une
+ * erreur propre à la ligne ; seul un en-tête CSV invalide interrompt la lecture.
+ */
+final class UserImportReader {
+
+    private static final String EMAIL = "email";
+    private static final String PASSWORD = "password";
+    private static final String FIRST_NAME = "firstname";
+    private static final String LAST_NAME = "lastname";
+    private static final String PHONE = "phone";
+    private static final String ROLES = "roles";
+    private static final List<String> REQUIRED_COLUMNS = List.of(EMAIL, PASSWORD, FIRST_NAME, LAST_NAME);
+
+    /**
+     * Ligne lue : ses données, ou l'erreur qui empêche de les lire
+     *
+     * @param line numéro de la première ligne physique de l'enregistrement
+     */
+    record Row(long line, UserImportRowDto data, String error) {
+    }
+
+    /**
+     * Enregistrement CSV brut
+     */
+    private record Record(long line, List<String> fields, String error) {
+    }
+
+    private final UserImportService.Format format;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final int maxLineLength;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private int columnCount;
+    private long line;
+
+    private UserImportReader(UserImportService.Format format, BufferedReader reader, ObjectMapper objectMapper,
+                             int maxLineLength) {
+        this.format = format;
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Ouvre le flux et, en CSV, lit la ligne d'en-tête
+     *
+     * @throws IllegalArgumentException si le fichier est vide ou si une colonne obligatoire manque
+     */
+    static UserImportReader open(UserImportService.Format format, InputStream input, ObjectMapper objectMapper,
+                                 int maxLineLength) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        skipByteOrderMark(reader);
+        UserImportReader importReader = new UserImportReader(format, reader, objectMapper, maxLineLength);
+        if (format == UserImportService.Format.CSV) {
+            importReader.readHeader();
+        }
+        return importReader;
+    }
+
+    /**
+     * Ligne suivante, lignes vides ignorées
+     *
+     * @return null en fin de flux
+     */
+    Row next() throws IOException {
+        return format == UserImportService.Format.CSV ? nextCsvRow() : nextJsonRow();
+    }
+
+    // ==================== CSV ====================
+
+    private void readHeader() throws IOException {
+        Record header;
+        do {
+            header = readRecord();
+        } while (header != null && header.error() == null && isBlank(header.fields()));
+        if (header == null) {
+            throw new IllegalArgumentException("Import file is empty");
+        }
+        if (header.error() != null) {
+            throw new IllegalArgumentException("Invalid CSV header: " + header.error());
+        }
+
+        List<String> fields = header.fields();
+        for (int i = 0; i < fields.size(); i++) {
+            columns.putIfAbsent(normalizeColumn(fields.get(i)), i);
+        }
+        columnCount = fields.size();
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Missing CSV columns: " + String.join(", ", missing));
+        }
+    }
+
+    private Row nextCsvRow() throws IOException {
+        Record record;
+        do {
+            record = readRecord();
+        } while (record != null && record.error() == null && isBlank(record.fields()));
+        if (record == null) {
+            return null;
+        }
+        if (record.error() != null) {
+            return new Row(record.line(), null, record.error());
+        }
+        if (record.fields().size() != columnCount) {
+            return new Row(record.line(), null,
+                "Expected " + columnCount + " columns, found " + record.fields().size());
+        }
+
+        String roles = field(record, ROLES);
+        UserImportRowDto row = UserImportRowDto.builder()
+            .email(field(record, EMAIL))
+            .password(field(record, PASSWORD))
+            .firstName(field(record, FIRST_NAME))
+            .lastName(field(record, LAST_NAME))
+            .phone(field(record, PHONE))
+            .roles(roles == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(roles.split("[|;]"))))
+            .build();
+        return new Row(record.line(), row, null);
+    }
+
+    /**
+     * Lit un enregistrement CSV ; un champ entre guillemets peut contenir virgules, sauts de
+     * ligne et guillemets doublés
+     *
+     * @return null en fin de flux
+     */
+    private Record readRecord() throws IOException {
+        long startLine = line + 1;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean empty = true;
+        int length = 0;
+
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                if (empty) {
+                    return null;
+                }
+                line++;
+                if (quoted) {
+                    return new Record(startLine, null, "Unterminated quoted field");
+                }
+                fields.add(field.toString());
+                break;
+            }
+            empty = false;
+
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        c = '"';
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                continue;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                continue;
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                break;
+            } else if (c == '\r') {
+                continue;
+            }
+
+            if (++length <= maxLineLength) {
+                field.append((char) c);
+            }
+        }
+        return length > maxLineLength
+            ? new Record(startLine, null, "Line exceeds " + maxLineLength + " characters")
+            : new Record(startLine, fields, null);
+    }
+
+    private String field(Record record, String column) {
+        Integer index = columns.get(column);
+        return index == null ? null : blankToNull(record.fields().get(index));
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        return fields.size() == 1 && fields.get(0).isBlank();
+    }
+
+    /**
+     * "First Name", "first_name" et "firstName" désignent la même colonne
+     */
+    private static String normalizeColumn(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+
+    // ==================== NDJSON ====================
+
+    private Row nextJsonRow() throws IOException {
+        while (true) {
+            long startLine = line + 1;
+            StringBuilder text = new StringBuilder();
+            int length = 0;
+            int c;
+            while ((c = reader.read()) != -1 && c != '\n') {
+                if (++length <= maxLineLength) {
+                    text.append((char) c);
+                }
+            }
+            if (c == -1 && length == 0) {
+                return null;
+            }
+            line++;
+
+            if (length > maxLineLength) {
+                return new Row(startLine, null, "Line exceeds " + maxLineLength + " characters");
+            }
+            if (text.toString().isBlank()) {
+                continue;
+            }
+            try {
+                return new Row(startLine, objectMapper.readValue(text.toString(), UserImportRowDto.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(startLine, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // ==================== UTILITAIRES ====================
+
+    private static void skipByteOrderMark(BufferedReader reader) throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
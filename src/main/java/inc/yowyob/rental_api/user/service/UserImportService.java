@@ -0,0 +1,546 @@
+package inc.yowyob.rental_api.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api.common.actuator.ExecutorMonitor;
+import inc.yowyob.rental_api.common.overload.ServiceOverloadedException;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.core.enums.MeteredResource;
+import inc.yowyob.rental_api.core.enums.UserStatus;
+import inc.yowyob.rental_api.core.enums.UserType;
+import inc.yowyob.rental_api.role.entities.Role;
+import inc.yowyob.rental_api.role.entities.UserRole;
+import inc.yowyob.rental_api.role.repository.RoleRepository;
+import inc.yowyob.rental_api.role.repository.UserRoleRepository;
+import inc.yowyob.rental_api.subscription.service.UsageMeterService;
+import inc.yowyob.rental_api.user.dto.UserImportErrorDto;
+import inc.yowyob.rental_api.user.dto.UserImportReportDto;
+import inc.yowyob.rental_api.user.dto.UserImportRowDto;
+import inc.yowyob.rental_api.user.entities.User;
+import inc.yowyob.rental_api.user.repository.UserEmailRepository;
+import inc.yowyob.rental_api.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Création en masse des utilisateurs d'une organisation à partir d'un flux CSV ou NDJSON.
+ * <p>
+ * Le corps de la requête est lu ligne à ligne pendant le traitement. Chaque ligne valide passe
+ * par trois étapes asynchrones : réservation de l'email dans {@code user_emails} (un doublon,
+ * dans le fichier comme en base, est rejeté sans lecture de la table des utilisateurs), hash du
+ * mot de passe sur un pool dimensionné pour le CPU, puis écriture de l'utilisateur et de ses
+ * rôles sur un pool d'entrées-sorties. Le nombre de lignes en cours est borné : une fois la
+ * limite atteinte, la lecture du flux attend, ce qui ralentit l'envoi du client plutôt que
+ * d'accumuler les lignes en mémoire.
+ * <p>
+ * L'avancement des imports en cours et récents est consultable sur ce nœud.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final String HASH_EXECUTOR = "user-import-hash";
+    private static final String WRITE_EXECUTOR = "user-import-write";
+    private static final String ASSIGNMENT_REASON = "Bulk import";
+    private static final int ROLE_PAGE_SIZE = 500;
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * Place réservée parmi les imports simultanés, rendue à la fermeture
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        }
+    }
+
+    /**
+     * État d'un import ; les compteurs sont mis à jour par les tâches asynchrones
+     */
+    private final class ImportJob {
+        private final UUID id = UUID.randomUUID();
+        private final UUID organizationId;
+        private final Format format;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final Semaphore inFlight = new Semaphore(properties.getMaxInFlight());
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong rolesAssigned = new AtomicLong();
+        private final Queue<UserImportErrorDto> errors = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger reportedErrors = new AtomicInteger();
+        private volatile Status status = Status.RUNNING;
+        private volatile LocalDateTime completedAt;
+        private volatile long durationMs;
+
+        private ImportJob(UUID organizationId, Format format) {
+            this.organizationId = organizationId;
+            this.format = format;
+        }
+
+        private void reject(long line, String email, String message, boolean duplicate) {
+            (duplicate ? duplicates : failed).incrementAndGet();
+            (duplicate ? duplicateRows : failedRows).increment();
+            if (reportedErrors.incrementAndGet() <= properties.getMaxReportedErrors()) {
+                errors.add(UserImportErrorDto.builder().line(line).email(email).message(message).build());
+            }
+        }
+
+        private UserImportReportDto toReport() {
+            List<UserImportErrorDto> sortedErrors = new ArrayList<>(errors);
+            sortedErrors.sort(Comparator.comparingLong(UserImportErrorDto::getLine));
+            return UserImportReportDto.builder()
+                .id(id)
+                .organizationId(organizationId)
+                .format(format.name())
+                .status(status.name())
+                .rowsRead(rowsRead.get())
+                .created(created.get())
+                .duplicates(duplicates.get())
+                .failed(failed.get())
+                .rolesAssigned(rolesAssigned.get())
+                .startedAt(startedAt)
+                .completedAt(completedAt)
+                .durationMs(completedAt != null ? durationMs : elapsedMs())
+                .errors(sortedErrors)
+                .build();
+        }
+
+        private long elapsedMs() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final UserEmailRepository userEmailRepository;
+    private final RoleRepository roleRepository;
+    private final UserRoleRepository userRoleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UsageMeterService usageMeterService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ExecutorMonitor executorMonitor;
+    private final AppProperties.UserImport properties;
+    private final Semaphore slots;
+    private final ThreadPoolExecutor hashExecutor;
+    private final ThreadPoolExecutor writeExecutor;
+    private final Map<UUID, ImportJob> imports = new ConcurrentHashMap<>();
+    private final Counter createdRows;
+    private final Counter duplicateRows;
+    private final Counter failedRows;
+
+    public UserImportService(UserRepository userRepository, UserEmailRepository userEmailRepository,
+                             RoleRepository roleRepository, UserRoleRepository userRoleRepository,
+                             PasswordEncoder passwordEncoder, UsageMeterService usageMeterService,
+                             Validator validator, ObjectMapper objectMapper, ExecutorMonitor executorMonitor,
+                             AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userEmailRepository = userEmailRepository;
+        this.roleRepository = roleRepository;
+        this.userRoleRepository = userRoleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.usageMeterService = usageMeterService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.executorMonitor = executorMonitor;
+        this.properties = appProperties.getUserImport();
+        this.slots = new Semaphore(Math.max(1, properties.getMaxConcurrent()));
+
+        // Chaque ligne en cours a au plus une tâche en file par pool : les files ne débordent pas
+        int queueCapacity = Math.max(1, properties.getMaxConcurrent()) * properties.getMaxInFlight();
+        this.hashExecutor = newExecutor(HASH_EXECUTOR, properties.getHashThreads(), queueCapacity);
+        this.writeExecutor = newExecutor(WRITE_EXECUTOR, properties.getWriteThreads(), queueCapacity);
+        executorMonitor.register(HASH_EXECUTOR, hashExecutor);
+        executorMonitor.register(WRITE_EXECUTOR, writeExecutor);
+
+        Gauge.builder("rental.user-import.active", slots, semaphore -> Math.max(1, properties.getMaxConcurrent()) - semaphore.availablePermits())
+            .description("User imports currently running")
+            .register(meterRegistry);
+        this.createdRows = rowCounter(meterRegistry, "created");
+        this.duplicateRows = rowCounter(meterRegistry, "duplicate");
+        this.failedRows = rowCounter(meterRegistry, "failed");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorMonitor.unregister(HASH_EXECUTOR);
+        executorMonitor.unregister(WRITE_EXECUTOR);
+        hashExecutor.shutdownNow();
+        writeExecutor.shutdownNow();
+    }
+
+    /**
+     * Réserve une place pour un import
+     *
+     * @return vide si le nombre maximal d'imports simultanés est atteint
+     */
+    public Optional<Permit> tryAcquire() {
+        return slots.tryAcquire() ? Optional.of(new Permit()) : Optional.empty();
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1, properties.getRetryAfter().toSeconds());
+    }
+
+    /**
+     * Importe les utilisateurs d'un flux ; rend la main une fois toutes les lignes traitées.
+     * Les lignes invalides ou en doublon sont rejetées sans interrompre l'import.
+     *
+     * @throws IllegalArgumentException si le fichier est vide ou si l'en-tête CSV est incomplet
+     */
+    public UserImportReportDto importUsers(UUID organizationId, Format format, InputStream input, UUID importedBy)
+        throws IOException {
+        purgeFinished();
+        UserImportReader reader = UserImportReader.open(format, input, objectMapper, properties.getMaxLineLength());
+        Map<String, Role> roles = loadRoles(organizationId);
+
+        ImportJob job = new ImportJob(organizationId, format);
+        imports.put(job.id, job);
+        log.info("User import {} started for organization {} ({})", job.id, organizationId, format);
+
+        Exception failure = null;
+        try {
+            UserImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                long rowsRead = job.rowsRead.incrementAndGet();
+                submit(job, row, roles, importedBy);
+                if (rowsRead % properties.getProgressInterval() == 0) {
+                    log.info("User import {}: {} rows read, {} created, {} duplicates, {} failed",
+                        job.id, rowsRead, job.created.get(), job.duplicates.get(), job.failed.get());
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+            log.warn("User import {} interrupted while reading the upload: {}", job.id, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+            log.warn("User import {} interrupted", job.id);
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            complete(job, failure);
+        }
+        return job.toReport();
+    }
+
+    /**
+     * Imports en cours et récents d'une organisation, sur ce nœud
+     */
+    public List<UserImportReportDto> getImports(UUID organizationId) {
+        purgeFinished();
+        return imports.values().stream()
+            .filter(job -> job.organizationId.equals(organizationId))
+            .sorted(Comparator.comparing((ImportJob job) -> job.startedAt).reversed())
+            .map(ImportJob::toReport)
+            .toList();
+    }
+
+    // ==================== TRAITEMENT D'UNE LIGNE ====================
+
+    /**
+     * Valide une ligne puis lance son traitement asynchrone ; attend si trop de lignes sont en cours
+     */
+    private void submit(ImportJob job, UserImportReader.Row row, Map<String, Role> organizationRoles,
+                        UUID importedBy) throws InterruptedException {
+        UserImportRowDto data = row.data();
+        if (data == null) {
+            job.reject(row.line(), null, row.error(), false);
+            return;
+        }
+        normalize(data);
+        String error = validate(data);
+        List<Role> roles = new ArrayList<>();
+        if (error == null) {
+            for (String roleName : new LinkedHashSet<>(data.getRoles())) {
+                Role role = organizationRoles.get(roleName.toLowerCase(Locale.ROOT));
+                if (role == null) {
+                    error = "Unknown role: " + roleName;
+                    break;
+                }
+                roles.add(role);
+            }
+        }
+        if (error != null) {
+            job.reject(row.line(), data.getEmail(), error, false);
+            return;
+        }
+
+        job.inFlight.acquire();
+        UUID userId = UUID.randomUUID();
+        AtomicBoolean claimed = new AtomicBoolean();
+        try {
+            CompletableFuture.supplyAsync(() -> withBackoff(() -> userEmailRepository.claim(data.getEmail(), userId)), writeExecutor)
+                .thenCompose(available -> {
+                    claimed.set(available);
+                    return available ? hash(data.getPassword()) : CompletableFuture.completedFuture(null);
+                })
+                .thenAcceptAsync(passwordHash -> {
+                    if (passwordHash != null) {
+                        persist(job, userId, data, passwordHash, roles, importedBy);
+                    }
+                }, writeExecutor)
+                .whenComplete((ignored, e) -> {
+                    try {
+                        if (e != null) {
+                            rollback(job, data.getEmail(), userId, claimed.get(), e);
+                            job.reject(row.line(), data.getEmail(), "Import failed: " + rootCause(e).getMessage(), false);
+                        } else if (!claimed.get()) {
+                            job.reject(row.line(), data.getEmail(), "Email is already registered", true);
+                        }
+                    } finally {
+                        job.inFlight.release();
+                    }
+                });
+        } catch (RejectedExecutionException e) {
+            job.inFlight.release();
+            job.reject(row.line(), data.getEmail(), "Import failed: server is shutting down", false);
+        }
+    }
+
+    /**
+     * Hash d'un mot de passe sur le pool dédié ; chaque ligne a son propre sel
+     */
+    private CompletableFuture<String> hash(String password) {
+        return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), hashExecutor);
+    }
+
+    /**
+     * Écrit l'utilisateur puis ses rôles ; un utilisateur nouveau n'a aucune permission en cache,
+     * aucune invalidation n'est donc publiée
+     */
+    private void persist(ImportJob job, UUID userId, UserImportRowDto data, String passwordHash,
+                         List<Role> roles, UUID importedBy) {
+        User user = new User(data.getEmail(), passwordHash, data.getFirstName(), data.getLastName(), UserType.STAFF);
+        user.setId(userId);
+        user.setOrganizationId(job.organizationId);
+        user.setPhone(data.getPhone());
+        user.setStatus(UserStatus.ACTIVE);
+        user.setCreatedBy(importedBy);
+        withBackoff(() -> userRepository.save(user));
+
+        List<UserRole> assigned = new ArrayList<>(roles.size());
+        try {
+            for (Role role : roles) {
+                UserRole userRole = new UserRole(userId, role.getId(), job.organizationId);
+                userRole.setAssignedBy(importedBy);
+                userRole.setAssignmentReason(ASSIGNMENT_REASON);
+                assigned.add(withBackoff(() -> userRoleRepository.save(userRole)));
+            }
+        } catch (RuntimeException e) {
+            assigned.forEach(userRole -> withBackoff(() -> {
+                userRoleRepository.delete(userRole);
+                return null;
+            }));
+            throw e;
+        }
+
+        job.created.incrementAndGet();
+        job.rolesAssigned.addAndGet(roles.size());
+        createdRows.increment();
+    }
+
+    /**
+     * Compensation d'une ligne en échec : supprime l'utilisateur s'il a été écrit et libère l'email
+     * (les rôles déjà assignés sont supprimés par {@link #persist})
+     */
+    private void rollback(ImportJob job, String email, UUID userId, boolean claimed, Throwable error) {
+        log.warn("User import {}: row for {} failed: {}", job.id, email, rootCause(error).getMessage());
+        if (!claimed) {
+            return;
+        }
+        try {
+            withBackoff(() -> {
+                userRepository.deleteById(userId);
+                userEmailRepository.release(email, userId);
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("User import {}: unable to roll back user {} ({}): {}", job.id, userId, email, e.getMessage());
+        }
+    }
+
+    /**
+     * Appel de repository ; un refus de la limite de concurrence, prononcé avant l'exécution, est
+     * retenté après une pause croissante qui ralentit d'autant l'import
+     */
+    private <T> T withBackoff(Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (ServiceOverloadedException e) {
+                if (attempt >= properties.getOverloadRetries()) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(properties.getOverloadBackoff().toMillis() * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static void normalize(UserImportRowDto data) {
+        data.setEmail(trimToNull(data.getEmail()));
+        data.setFirstName(trimToNull(data.getFirstName()));
+        data.setLastName(trimToNull(data.getLastName()));
+        data.setPhone(trimToNull(data.getPhone()));
+        List<String> roles = new ArrayList<>();
+        if (data.getRoles() != null) {
+            for (String role : data.getRoles()) {
+                String name = trimToNull(role);
+                if (name != null) {
+                    roles.add(name);
+                }
+            }
+        }
+        data.setRoles(roles);
+    }
+
+    /**
+     * Contraintes de la ligne, mêmes règles que l'inscription
+     *
+     * @return null si la ligne est valide
+     */
+    private String validate(UserImportRowDto data) {
+        Set<ConstraintViolation<UserImportRowDto>> violations = validator.validate(data);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .reduce((first, second) -> first + "; " + second)
+            .orElse(null);
+    }
+
+    // ==================== FIN D'IMPORT ====================
+
+    /**
+     * Attend les lignes en cours puis enregistre le bilan
+     */
+    private void complete(ImportJob job, Exception failure) {
+        job.inFlight.acquireUninterruptibly(properties.getMaxInFlight());
+        job.inFlight.release(properties.getMaxInFlight());
+
+        usageMeterService.adjust(job.organizationId, MeteredResource.USERS, job.created.get());
+        job.durationMs = job.elapsedMs();
+        job.completedAt = LocalDateTime.now();
+        job.status = failure == null ? Status.COMPLETED : Status.FAILED;
+
+        log.info("User import {} for organization {} {} in {} ms: {} rows, {} created, {} duplicates, {} failed",
+            job.id, job.organizationId, job.status, job.durationMs, job.rowsRead.get(), job.created.get(),
+            job.duplicates.get(), job.failed.get());
+    }
+
+    private void purgeFinished() {
+        LocalDateTime threshold = LocalDateTime.now().minus(properties.getRetention());
+        imports.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(threshold));
+    }
+
+    // ==================== UTILITAIRES ====================
+
+    /**
+     * Rôles actifs de l'organisation, par nom en minuscules
+     */
+    private Map<String, Role> loadRoles(UUID organizationId) {
+        Map<String, Role> roles = new HashMap<>();
+        Pageable pageable = CassandraPageRequest.first(ROLE_PAGE_SIZE);
+        while (true) {
+            Slice<Role> page = roleRepository.findByOrganizationId(organizationId, pageable);
+            for (Role role : page) {
+                if (Boolean.TRUE.equals(role.getIsActive())) {
+                    roles.putIfAbsent(role.getName().toLowerCase(Locale.ROOT), role);
+                }
+            }
+            if (!page.hasNext()) {
+                return roles;
+            }
+            pageable = page.nextPageable();
+        }
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("rental.user-import.rows")
+            .description("Rows processed by user imports")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static ThreadPoolExecutor newExecutor(String name, int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+}
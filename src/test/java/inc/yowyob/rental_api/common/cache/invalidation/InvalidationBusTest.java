@@ -0,0 +1,85 @@
+package inc.yowyob.rental_api.common.cache.invalidation;
+
+import inc.yowyob.rental_api.common.degraded.DegradedModeMonitor;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.role.dto.UserPermissionsDto;
+import inc.yowyob.rental_api.role.service.UserPermissionCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deux nœuds partageant un même transport en mémoire
+ */
+class InvalidationBusTest {
+
+    private final AppProperties appProperties = new AppProperties();
+    private final InMemoryInvalidationTransport transport = new InMemoryInvalidationTransport();
+    private InvalidationBus nodeA;
+    private InvalidationBus nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new InvalidationBus(transport);
+        nodeB = new InvalidationBus(transport);
+        nodeA.start();
+        nodeB.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    void eventIsAppliedOnceOnEveryNode() {
+        List<String> receivedByA = new ArrayList<>();
+        List<String> receivedByB = new ArrayList<>();
+        nodeA.subscribe(InvalidationType.USER_ACCOUNT, receivedByA::add);
+        nodeB.subscribe(InvalidationType.USER_ACCOUNT, receivedByB::add);
+
+        nodeA.publish(InvalidationType.USER_ACCOUNT, "user-1");
+        nodeB.publish(InvalidationType.USER_ACCOUNT, null);
+
+        assertThat(receivedByA).containsExactly("user-1", InvalidationBus.ALL_KEYS);
+        assertThat(receivedByB).containsExactly("user-1", InvalidationBus.ALL_KEYS);
+    }
+
+    @Test
+    void permissionChangeOnOneNodeEvictsTheOtherNodeCache() {
+        UserPermissionCache cacheA = permissionCache(nodeA);
+        UserPermissionCache cacheB = permissionCache(nodeB);
+        UUID userId = UUID.randomUUID();
+        UUID organizationId = UUID.randomUUID();
+        AtomicInteger loadsOnB = new AtomicInteger();
+        Supplier<UserPermissionsDto> loaderB = () -> {
+            loadsOnB.incrementAndGet();
+            return UserPermissionsDto.builder().userId(userId).organizationId(organizationId).build();
+        };
+
+        cacheA.get(userId, organizationId, () -> UserPermissionsDto.builder().userId(userId).build());
+        cacheB.get(userId, organizationId, loaderB);
+        cacheB.get(userId, organizationId, loaderB);
+        assertThat(loadsOnB).hasValue(1);
+
+        nodeA.publish(InvalidationType.USER_PERMISSIONS, userId);
+
+        cacheB.get(userId, organizationId, loaderB);
+        assertThat(loadsOnB).hasValue(2);
+    }
+
+    private UserPermissionCache permissionCache(InvalidationBus bus) {
+        return new UserPermissionCache(appProperties, bus,
+            new DegradedModeMonitor(appProperties, new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,147 @@
+package inc.yowyob.rental_api.common.cassandra.budget;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Nombre d'instructions Cassandra par endpoint, mesuré par {@link DbCallTraceFilter} sur les
+ * repositories en mémoire. Avec {@code app.db-budget.enforce=true}, un dépassement du budget
+ * déclaré par {@link DbCallBudget} fait échouer la requête.
+ */
+@ActiveProfiles("perf-inmemory")
+@ExtendWith(OutputCaptureExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "app.db-budget.enforce=true",
+    // Le brouillon d'onboarding n'est écrit qu'à la finalisation : décompte indépendant du délai
+    "app.onboarding.drafts.flush-delay=PT1M",
+    // Le mot de passe temporaire du propriétaire n'est communiqué que par ce journal
+    "logging.level.inc.yowyob.rental_api.onboarding.service.OnboardingSagaRunner=INFO"
+})
+class EndpointDbCallBudgetTest {
+
+    private static final String BASE = "/api/v1";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void loginReadsTheUserByEmailAndUpdatesIt() {
+        ResponseEntity<JsonNode> response = call(HttpMethod.POST, "/auth/login", null,
+            Map.of("email", "admin@rental-api.com", "password", "Admin123!"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertStatements(response, 3, "UserRepository.findByEmail=2", "UserRepository.save=1");
+    }
+
+    @Test
+    void onboardingAndOwnerPermissionsStayWithinTheirBudgets(CapturedOutput output) throws InterruptedException {
+        String email = "budget-" + UUID.randomUUID() + "@rental-api.com";
+
+        ResponseEntity<JsonNode> plans = call(HttpMethod.GET, "/onboarding/plans", null, null);
+        assertStatements(plans, 0);
+        String planId = plans.getBody().path("data").path(0).path("id").asText();
+
+        ResponseEntity<JsonNode> session = call(HttpMethod.POST, "/onboarding/session", null, null);
+        assertStatements(session, 1, "OnboardingSessionRepository.save=1");
+        String sessionId = session.getBody().path("data").path("id").asText();
+
+        ResponseEntity<JsonNode> ownerInfo = call(HttpMethod.PUT, "/onboarding/session/" + sessionId + "/owner-info", null,
+            Map.of("firstName", "Budget", "lastName", "Test", "email", email, "phone", "+237600000000",
+                "address", "Rue 1", "city", "Douala", "country", "CM", "idCardNumber", "123456789"));
+        assertThat(ownerInfo.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertStatements(ownerInfo, 2, "UserEmailRepository.existsById=1", "OnboardingSessionRepository.findById=1");
+
+        ResponseEntity<JsonNode> organizationInfo = call(HttpMethod.PUT,
+            "/onboarding/session/" + sessionId + "/organization-info", null,
+            Map.of("organizationName", "Budget Rentals", "organizationType", "SMALL_BUSINESS", "description", "x",
+                "address", "Rue 1", "city", "Douala", "country", "CM", "policies", Map.of()));
+        assertThat(organizationInfo.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertStatements(organizationInfo, 0);
+
+        ResponseEntity<JsonNode> complete = call(HttpMethod.POST, "/onboarding/session/" + sessionId + "/complete", null,
+            Map.of("subscriptionPlanId", planId, "paymentMethod", "MOMO", "paymentReference", "x",
+                "acceptTerms", true, "acceptPrivacyPolicy", true));
+        assertThat(complete.getStatusCode().is2xxSuccessful()).isTrue();
+        assertStatements(complete, 4, "OnboardingSessionRepository.updateChanged=1",
+            "OnboardingSagaRepository.insertIfAbsent=1");
+
+        String status = "RUNNING";
+        for (int i = 0; i < 100 && "RUNNING".equals(status); i++) {
+            Thread.sleep(50);
+            ResponseEntity<JsonNode> completion = call(HttpMethod.GET,
+                "/onboarding/session/" + sessionId + "/completion", null, null);
+            assertStatements(completion, 1, "OnboardingSagaRepository.findById=1");
+            status = completion.getBody().path("data").path("status").asText();
+        }
+        assertThat(status).isEqualTo("COMPLETED");
+
+        ResponseEntity<JsonNode> login = call(HttpMethod.POST, "/auth/login", null,
+            Map.of("email", email, "password", temporaryPassword(output, email)));
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertStatements(login, 3, "UserRepository.findByEmail=2", "UserRepository.save=1");
+        JsonNode auth = login.getBody().path("data");
+        String token = auth.path("accessToken").asText();
+        String userId = auth.path("userId").asText();
+        String organizationId = auth.path("organizationId").asText();
+
+        String permissionsPath = "/roles/user/" + userId + "/permissions?organizationId=" + organizationId;
+        ResponseEntity<JsonNode> coldPermissions = call(HttpMethod.GET, permissionsPath, token, null);
+        assertThat(coldPermissions.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertStatements(coldPermissions, 4, "UserRoleRepository.findValidByUserId=1",
+            "RoleRepository.findByOrganizationId=1");
+
+        // Permissions et catalogue viennent des caches : seule l'authentification lit la base
+        ResponseEntity<JsonNode> warmPermissions = call(HttpMethod.GET, permissionsPath, token, null);
+        assertStatements(warmPermissions, 1, "UserRepository.findByEmail=1");
+
+        ResponseEntity<JsonNode> userRoles = call(HttpMethod.GET, "/roles/user/" + userId, token, null);
+        assertThat(userRoles.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertStatements(userRoles, 2, "UserRoleRepository.findActiveByUserId=1");
+    }
+
+    private ResponseEntity<JsonNode> call(HttpMethod method, String path, String token, Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        return restTemplate.exchange(BASE + path, method, new HttpEntity<>(body, headers), JsonNode.class);
+    }
+
+    private static void assertStatements(ResponseEntity<?> response, int expected, String... queries) {
+        String detail = response.getHeaders().getFirst(DbCallTraceFilter.DETAIL_HEADER);
+        assertThat(response.getHeaders().getFirst(DbCallTraceFilter.STATEMENTS_HEADER))
+            .as("statements (%s)", detail)
+            .isEqualTo(String.valueOf(expected));
+        for (String query : queries) {
+            assertThat(detail).contains(query);
+        }
+    }
+
+    private static String temporaryPassword(CapturedOutput output, String email) {
+        Matcher matcher = Pattern.compile("Temporary password for " + Pattern.quote(email) + ": (\\S+)")
+            .matcher(output.getOut());
+        assertThat(matcher.find()).as("temporary password logged for %s", email).isTrue();
+        return matcher.group(1);
+    }
+}
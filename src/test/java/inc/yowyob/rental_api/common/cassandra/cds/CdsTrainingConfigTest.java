@@ -0,0 +1,35 @@
+package inc.yowyob.rental_api.common.cassandra.cds;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.mock;
+
+class CdsTrainingConfigTest {
+
+    @Test
+    void sessionIsStubbedOnlyForTheTrainingRun() {
+        InstantiationAwareBeanPostProcessor training = CdsTrainingConfig.cdsTrainingSessionPostProcessor(
+            new MockEnvironment().withProperty(CdsTrainingConfig.CONTEXT_EXIT_PROPERTY, "onRefresh"));
+        InstantiationAwareBeanPostProcessor runtime = CdsTrainingConfig.cdsTrainingSessionPostProcessor(new MockEnvironment());
+
+        Object session = training.postProcessBeforeInstantiation(CqlSession.class, "cassandraSession");
+
+        assertThat(CdsTrainingConfig.isTrainingSession(session)).isTrue();
+        assertThat(training.postProcessBeforeInstantiation(String.class, "other")).isNull();
+        assertThat(runtime.postProcessBeforeInstantiation(CqlSession.class, "cassandraSession")).isNull();
+        assertThat(CdsTrainingConfig.isTrainingSession(mock(CqlSession.class))).isFalse();
+    }
+
+    @Test
+    void trainingSessionRejectsStatements() {
+        CqlSession session = CdsTrainingConfig.trainingSession();
+
+        assertThat(session.getKeyspace()).isEmpty();
+        assertThatIllegalStateException().isThrownBy(() -> session.execute("SELECT release_version FROM system.local"));
+    }
+}
@@ -0,0 +1,132 @@
+package inc.yowyob.rental_api.common.cassandra.migration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.cassandra.config.CassandraEntityClassScanner;
+import org.springframework.data.cassandra.core.mapping.BasicCassandraPersistentEntity;
+import org.springframework.data.cassandra.core.mapping.CassandraMappingContext;
+import org.springframework.data.cassandra.core.mapping.CassandraPersistentProperty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Le schéma obtenu en rejouant les migrations doit contenir chaque colonne des entités mappées :
+ * une colonne ajoutée à une entité sans migration correspondante fait échouer le build, pas le
+ * premier déploiement.
+ */
+class SchemaMappingTest {
+
+    private static final String LOCATION = "classpath*:db/cassandra";
+
+    /**
+     * Somme de contrôle de V1 telle qu'appliquée en production : V1 ne change plus, toute évolution
+     * du schéma passe par un nouveau script
+     */
+    private static final int BASELINE_CHECKSUM = -1751458582;
+
+    private static final Pattern CREATE_TABLE =
+        Pattern.compile("(?is)CREATE\\s+TABLE\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?(?:\\w+\\.)?(\\w+)\\s*\\((.*)");
+    private static final Pattern ALTER_TABLE =
+        Pattern.compile("(?is)ALTER\\s+TABLE\\s+(?:\\w+\\.)?(\\w+)\\s+(ADD|DROP)\\s+(\\w+).*");
+
+    @Test
+    void migrationsDefineEveryMappedColumn() throws ClassNotFoundException {
+        Map<String, Set<String>> schema = replay(SchemaMigrationLoader.load(LOCATION));
+
+        CassandraMappingContext context = new CassandraMappingContext();
+        context.setInitialEntitySet(CassandraEntityClassScanner.scan("inc.yowyob.rental_api"));
+        context.afterPropertiesSet();
+
+        assertThat(context.getTableEntities()).isNotEmpty();
+        for (BasicCassandraPersistentEntity<?> entity : context.getTableEntities()) {
+            String table = entity.getTableName().asInternal();
+            assertThat(schema).as("table %s of %s", table, entity.getType().getSimpleName()).containsKey(table);
+
+            List<String> columns = new ArrayList<>();
+            for (CassandraPersistentProperty property : entity) {
+                columns.add(property.getRequiredColumnName().asInternal());
+            }
+            assertThat(schema.get(table))
+                .as("columns of %s mapped by %s", table, entity.getType().getSimpleName())
+                .containsAll(columns);
+        }
+    }
+
+    @Test
+    void baselineIsNeverEdited() {
+        SchemaMigration baseline = SchemaMigrationLoader.load(LOCATION).getFirst();
+
+        assertThat(baseline.version()).isEqualTo(1);
+        assertThat(baseline.checksum())
+            .as("%s is applied in production; add a V<n> script instead of editing it", baseline.script())
+            .isEqualTo(BASELINE_CHECKSUM);
+    }
+
+    /**
+     * Colonnes de chaque table après application des CREATE TABLE et ALTER TABLE ADD/DROP
+     */
+    private static Map<String, Set<String>> replay(List<SchemaMigration> migrations) {
+        Map<String, Set<String>> schema = new HashMap<>();
+        for (SchemaMigration migration : migrations) {
+            for (String statement : migration.statements()) {
+                Matcher create = CREATE_TABLE.matcher(statement);
+                Matcher alter = ALTER_TABLE.matcher(statement);
+                if (create.matches()) {
+                    schema.computeIfAbsent(lower(create.group(1)), table -> new LinkedHashSet<>())
+                        .addAll(columnsOf(create.group(2)));
+                } else if (alter.matches()) {
+                    Set<String> columns = schema.get(lower(alter.group(1)));
+                    assertThat(columns).as("%s alters an unknown table: %s", migration.script(), statement).isNotNull();
+                    if ("ADD".equalsIgnoreCase(alter.group(2))) {
+                        columns.add(lower(alter.group(3)));
+                    } else {
+                        columns.remove(lower(alter.group(3)));
+                    }
+                }
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Noms des colonnes d'une définition de table, jusqu'à la parenthèse fermante (options {@code WITH} ignorées)
+     */
+    private static List<String> columnsOf(String definitions) {
+        List<String> columns = new ArrayList<>();
+        int depth = 0;
+        StringBuilder current = new StringBuilder();
+        for (char c : definitions.toCharArray()) {
+            if (c == '<' || c == '(') {
+                depth++;
+            } else if (c == '>' || c == ')') {
+                depth--;
+            }
+            if ((c == ',' && depth == 0) || depth < 0) {
+                String definition = current.toString().strip();
+                if (!definition.isEmpty() && !definition.toUpperCase(Locale.ROOT).startsWith("PRIMARY KEY")) {
+                    columns.add(lower(definition.split("\\s+")[0]));
+                }
+                current.setLength(0);
+                if (depth < 0) {
+                    break;
+                }
+            } else {
+                current.append(c);
+            }
+        }
+        return columns;
+    }
+
+    private static String lower(String identifier) {
+        return identifier.toLowerCase(Locale.ROOT);
+    }
+}
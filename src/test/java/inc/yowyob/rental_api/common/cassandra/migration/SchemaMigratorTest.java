@@ -0,0 +1,58 @@
+package inc.yowyob.rental_api.common.cassandra.migration;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SchemaMigratorTest {
+
+    private final CqlSession session = mock(CqlSession.class);
+    private final TableMetadata table = mock(TableMetadata.class);
+
+    @BeforeEach
+    void setUp() {
+        Metadata metadata = mock(Metadata.class);
+        KeyspaceMetadata keyspace = mock(KeyspaceMetadata.class);
+        when(session.getKeyspace()).thenReturn(Optional.of(CqlIdentifier.fromCql("rental")));
+        when(session.getMetadata()).thenReturn(metadata);
+        when(metadata.getKeyspace(CqlIdentifier.fromCql("rental"))).thenReturn(Optional.of(keyspace));
+        when(keyspace.getTable(CqlIdentifier.fromCql("onboarding_sessions"))).thenReturn(Optional.of(table));
+        when(table.getColumn(CqlIdentifier.fromCql("ownerinfo"))).thenReturn(Optional.of(mock(ColumnMetadata.class)));
+        when(table.getColumn(CqlIdentifier.fromCql("completedsteps"))).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void columnAdditionIsSkippedOnlyWhenTheColumnExists() {
+        assertThat(SchemaMigrator.isExistingColumn(session, "ALTER TABLE onboarding_sessions ADD ownerinfo blob")).isTrue();
+        assertThat(SchemaMigrator.isExistingColumn(session, "alter table rental.onboarding_sessions\n  add ownerinfo blob"))
+            .isTrue();
+        assertThat(SchemaMigrator.isExistingColumn(session, "ALTER TABLE onboarding_sessions ADD completedsteps int")).isFalse();
+    }
+
+    @Test
+    void bookkeepingTablesAreLookedUpInTheSessionKeyspace() {
+        assertThat(SchemaMigrator.isExistingTable(session, "onboarding_sessions")).isTrue();
+        assertThat(SchemaMigrator.isExistingTable(session, "schema_migrations")).isFalse();
+
+        when(session.getKeyspace()).thenReturn(Optional.empty());
+        assertThat(SchemaMigrator.isExistingTable(session, "onboarding_sessions")).isFalse();
+    }
+
+    @Test
+    void otherStatementsAreAlwaysExecuted() {
+        assertThat(SchemaMigrator.isExistingColumn(session, "ALTER TABLE onboarding_sessions DROP ownerinfo")).isFalse();
+        assertThat(SchemaMigrator.isExistingColumn(session,
+            "CREATE TABLE IF NOT EXISTS onboarding_sessions (id uuid PRIMARY KEY, ownerinfo blob)")).isFalse();
+    }
+}
@@ -0,0 +1,76 @@
+package inc.yowyob.rental_api.common.concurrent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightAspectTest {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String name;
+    }
+
+    public static class ItemService {
+
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @SingleFlight
+        public List<Item> findItems(String owner) throws InterruptedException {
+            executions.incrementAndGet();
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new ArrayList<>(List.of(new Item(owner + "-1"), new Item(owner + "-2")));
+        }
+    }
+
+    @Test
+    void coalescedCallersReceiveTheirOwnCopy() throws Exception {
+        ItemService target = new ItemService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SingleFlightAspect(new SimpleMeterRegistry(), new AppProperties(), new ObjectMapper()));
+        ItemService service = factory.getProxy();
+
+        CompletableFuture<List<Item>> leader = CompletableFuture.supplyAsync(() -> call(service));
+        assertThat(target.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<List<Item>> follower = CompletableFuture.supplyAsync(() -> call(service));
+        Thread.sleep(200);
+        target.release.countDown();
+
+        List<Item> leaderItems = leader.get(5, TimeUnit.SECONDS);
+        List<Item> followerItems = follower.get(5, TimeUnit.SECONDS);
+
+        assertThat(target.executions).hasValue(1);
+        assertThat(followerItems).isEqualTo(leaderItems).isNotSameAs(leaderItems);
+        followerItems.get(0).setName("changed");
+        followerItems.add(new Item("extra"));
+        assertThat(leaderItems).extracting(Item::getName).containsExactly("owner-1", "owner-2");
+    }
+
+    private static List<Item> call(ItemService service) {
+        try {
+            return service.findItems("owner");
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
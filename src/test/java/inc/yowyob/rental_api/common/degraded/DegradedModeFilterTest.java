@@ -0,0 +1,48 @@
+package inc.yowyob.rental_api.common.degraded;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DegradedModeFilterTest {
+
+    private DegradedModeFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        DegradedModeMonitor monitor = new DegradedModeMonitor(appProperties, new SimpleMeterRegistry());
+        monitor.reportFailure(new DataAccessResourceFailureException("Cassandra unreachable"));
+        filter = new DegradedModeFilter(monitor, new ObjectMapper().findAndRegisterModules(), appProperties);
+    }
+
+    @Test
+    void loginAndRefreshAreAcceptedInDegradedMode() throws Exception {
+        assertThat(post("/api/v1/auth/login").getStatus()).isEqualTo(200);
+        assertThat(post("/api/v1/auth/refresh").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void otherWritesAreRejectedInDegradedMode() throws Exception {
+        MockHttpServletResponse response = post("/api/v1/roles");
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isNotNull();
+    }
+
+    private MockHttpServletResponse post(String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1" + path);
+        request.setContextPath("/api/v1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,75 @@
+package inc.yowyob.rental_api.common.overload;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 8, 160, 0.9, 2.0, 0.01);
+    private long clock;
+
+    @Test
+    void mixedTrafficDoesNotLowerTheLimit() {
+        for (int i = 0; i < 2_000; i++) {
+            sample("GET /roles/{roleId} 2xx", 1, 40);
+            sample("GET /organizations/{organizationId}/users 2xx", 120, 40);
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(40);
+        assertThat(limit.getBaselineMillis("GET /roles/{roleId} 2xx")).isCloseTo(1, offset(0.1));
+        assertThat(limit.getBaselineCount()).isEqualTo(2);
+    }
+
+    @Test
+    void slowdownOfOneEndpointLowersTheLimit() {
+        for (int i = 0; i < 100; i++) {
+            sample("GET /roles/{roleId} 2xx", 2, 20);
+        }
+        int before = limit.getLimit();
+
+        for (int i = 0; i < 100; i++) {
+            sample("GET /roles/{roleId} 2xx", 20, 20);
+        }
+
+        assertThat(limit.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    void limitGrowsBySquareRootPerWindowUnderPressure() {
+        for (int i = 0; i < 40; i++) {
+            sample("GET /roles/{roleId} 2xx", 2, 40);
+        }
+
+        // Environ √40 ≈ 6 de plus après une fenêtre de 40 échantillons, contre +1 en AIMD classique
+        assertThat(limit.getLimit()).isBetween(44, 47);
+    }
+
+    @Test
+    void limitDoesNotGrowWithoutPressure() {
+        for (int i = 0; i < 1_000; i++) {
+            sample("GET /roles/{roleId} 2xx", 2, 5);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(40);
+    }
+
+    @Test
+    void overloadIsAppliedOncePerWindow() {
+        long start = clock;
+        for (int i = 0; i < 10; i++) {
+            limit.onSample("GET /roles/{roleId} 2xx", start, start + 5 * MILLIS + i, 40, true);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(36);
+    }
+
+    private void sample(String key, long latencyMillis, int inFlight) {
+        long start = clock;
+        clock += latencyMillis * MILLIS;
+        limit.onSample(key, start, clock, inFlight, false);
+    }
+}
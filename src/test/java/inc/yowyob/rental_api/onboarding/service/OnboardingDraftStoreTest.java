@@ -0,0 +1,92 @@
+package inc.yowyob.rental_api.onboarding.service;
+
+import inc.yowyob.rental_api.common.actuator.ExecutorMonitor;
+import inc.yowyob.rental_api.common.inmemory.LatencySimulator;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.core.enums.OnboardingStep;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSession;
+import inc.yowyob.rental_api.onboarding.repository.InMemoryOnboardingSessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Deux nœuds qui modifient des champs différents d'une même session ne s'écrasent pas, et
+ * chacun voit les étapes de l'autre une fois son brouillon écrit
+ */
+class OnboardingDraftStoreTest {
+
+    private final AppProperties appProperties = new AppProperties();
+    private final InMemoryOnboardingSessionRepository repository =
+        new InMemoryOnboardingSessionRepository(new LatencySimulator(appProperties));
+
+    private final OnboardingDraftStore nodeA = newStore();
+    private final OnboardingDraftStore nodeB = newStore();
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    void flushWritesOnlyTheColumnsChangedByThisNode() {
+        OnboardingSession session = repository.save(new OnboardingSession());
+        LocalDateTime expiresAt = session.getExpiresAt();
+        ByteBuffer ownerInfo = ByteBuffer.wrap(new byte[]{1, 2, 3});
+
+        // Les deux nœuds chargent la même version avant d'écrire
+        nodeA.update(session.getId(), current -> {
+            current.updateOwnerInfo(ownerInfo);
+            return null;
+        });
+        nodeB.update(session.getId(), current -> {
+            current.extendExpiry(12);
+            return null;
+        });
+        nodeA.flush(session.getId());
+        nodeB.flush(session.getId());
+
+        OnboardingSession stored = repository.findById(session.getId()).orElseThrow();
+        assertThat(stored.getOwnerInfo()).isEqualTo(ownerInfo);
+        assertThat(stored.hasCompletedStep(OnboardingStep.OWNER_INFO)).isTrue();
+        assertThat(stored.getExpiresAt()).isEqualTo(expiresAt.plusHours(12));
+    }
+
+    @Test
+    void anotherNodeWaitsForTheDraftToBeWritten() {
+        OnboardingSession session = repository.save(new OnboardingSession());
+        nodeA.update(session.getId(), current -> {
+            current.updateOwnerInfo(ByteBuffer.wrap(new byte[]{1}));
+            return null;
+        });
+        CompletableFuture.runAsync(() -> nodeA.flush(session.getId()),
+            CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+
+        OnboardingSession stored = nodeB.awaitPersisted(session.getId(),
+            current -> current.hasCompletedStep(OnboardingStep.OWNER_INFO)).orElseThrow();
+
+        assertThat(stored.hasCompletedStep(OnboardingStep.OWNER_INFO)).isTrue();
+    }
+
+    @Test
+    void unchangedSessionIsNotWritten() {
+        OnboardingSession session = repository.save(new OnboardingSession());
+
+        assertThat(repository.updateChanged(session, session.copy())).isFalse();
+    }
+
+    private OnboardingDraftStore newStore() {
+        appProperties.getOnboarding().getDrafts().setFlushDelay(Duration.ofMinutes(1));
+        return new OnboardingDraftStore(repository, mock(ExecutorMonitor.class), appProperties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,128 @@
+package inc.yowyob.rental_api.onboarding.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api.common.actuator.ExecutorMonitor;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.core.enums.OnboardingFunnelMetric;
+import inc.yowyob.rental_api.onboarding.dto.OrganizationInfoDto;
+import inc.yowyob.rental_api.onboarding.dto.OwnerInfoDto;
+import inc.yowyob.rental_api.onboarding.dto.SubscriptionInfoDto;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSaga;
+import inc.yowyob.rental_api.onboarding.entities.OnboardingSession;
+import inc.yowyob.rental_api.onboarding.repository.OnboardingSagaRepository;
+import inc.yowyob.rental_api.onboarding.repository.OnboardingSessionRepository;
+import inc.yowyob.rental_api.subscription.entities.SubscriptionPlan;
+import inc.yowyob.rental_api.subscription.service.SubscriptionService;
+import inc.yowyob.rental_api.subscription.service.UsageMeterService;
+import inc.yowyob.rental_api.user.repository.UserEmailRepository;
+import inc.yowyob.rental_api.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Un nœud dont le bail a été repris s'arrête à sa prochaine écriture conditionnelle
+ */
+class OnboardingSagaRunnerTest {
+
+    private final OnboardingSagaRepository sagaRepository = mock(OnboardingSagaRepository.class);
+    private final OnboardingSessionRepository sessionRepository = mock(OnboardingSessionRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserEmailRepository userEmailRepository = mock(UserEmailRepository.class);
+    private final SubscriptionService subscriptionService = mock(SubscriptionService.class);
+    private final OnboardingAnalytics analytics = mock(OnboardingAnalytics.class);
+    private final OnboardingPayloadCodec payloadCodec = new OnboardingPayloadCodec(new ObjectMapper().findAndRegisterModules());
+
+    private OnboardingSagaRunner runner;
+    private OnboardingSaga saga;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        runner = new OnboardingSagaRunner(sagaRepository, sessionRepository, userRepository, userEmailRepository,
+            subscriptionService, mock(UsageMeterService.class), passwordEncoder, payloadCodec, analytics,
+            mock(ExecutorMonitor.class), new AppProperties());
+
+        UUID planId = UUID.randomUUID();
+        SubscriptionInfoDto subscriptionInfo = new SubscriptionInfoDto();
+        subscriptionInfo.setSubscriptionPlanId(planId);
+        saga = new OnboardingSaga(UUID.randomUUID(), "owner@rental-api.com", payloadCodec.encode(subscriptionInfo),
+            planId, runner.getNodeId(), runner.leaseUntil());
+
+        OwnerInfoDto ownerInfo = new OwnerInfoDto();
+        ownerInfo.setEmail(saga.getOwnerEmail());
+        OrganizationInfoDto organizationInfo = new OrganizationInfoDto();
+        organizationInfo.setOrganizationName("Lease Rentals");
+        OnboardingSession session = new OnboardingSession(true);
+        session.setId(saga.getSessionId());
+        session.updateOwnerInfo(payloadCodec.encode(ownerInfo));
+        session.updateOrganizationInfo(payloadCodec.encode(organizationInfo));
+
+        when(sagaRepository.findById(saga.getSessionId())).thenReturn(Optional.of(saga));
+        when(sessionRepository.findById(saga.getSessionId())).thenReturn(Optional.of(session));
+        when(userEmailRepository.claim(saga.getOwnerEmail(), saga.getOwnerUserId())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.shutdown();
+    }
+
+    @Test
+    void stopsWithoutCreatingTheOwnerWhenTheLeaseIsLost() {
+        SubscriptionPlan plan = new SubscriptionPlan();
+        plan.setName("BASIC");
+        when(subscriptionService.getPlanById(saga.getSubscriptionPlanId())).thenReturn(Optional.of(plan));
+        when(sagaRepository.updateIfLeaseOwner(any(), eq(runner.getNodeId()), any(Instant.class), any()))
+            .thenReturn(false);
+
+        runner.submit(saga.getSessionId());
+
+        verify(sagaRepository, timeout(2000)).updateIfLeaseOwner(eq(saga), eq(runner.getNodeId()), any(Instant.class), any());
+        verify(userRepository, after(200).never()).save(any());
+        verify(userEmailRepository, never()).release(anyString(), any());
+        verify(sagaRepository, never()).save(any());
+    }
+
+    @Test
+    void skipsCompensationWhenTheLeaseIsLost() {
+        when(subscriptionService.getPlanById(saga.getSubscriptionPlanId())).thenReturn(Optional.empty());
+        when(sagaRepository.updateIfLeaseOwner(any(), eq(runner.getNodeId()), any(Instant.class), any()))
+            .thenReturn(false);
+
+        runner.submit(saga.getSessionId());
+
+        verify(sagaRepository, timeout(2000)).updateIfLeaseOwner(eq(saga), eq(runner.getNodeId()), any(Instant.class), any());
+        verify(userEmailRepository, after(200).never()).release(anyString(), any());
+        verify(userRepository, never()).deleteById(any());
+        verify(analytics, never()).record(OnboardingFunnelMetric.FAILED);
+    }
+
+    @Test
+    void compensatesWhileStillHoldingTheLease() {
+        when(subscriptionService.getPlanById(saga.getSubscriptionPlanId())).thenReturn(Optional.empty());
+        when(sagaRepository.updateIfLeaseOwner(any(), eq(runner.getNodeId()), any(Instant.class), any()))
+            .thenReturn(true);
+
+        runner.submit(saga.getSessionId());
+
+        verify(userEmailRepository, timeout(2000)).release(saga.getOwnerEmail(), saga.getOwnerUserId());
+        verify(analytics, timeout(2000)).record(OnboardingFunnelMetric.FAILED);
+    }
+}
@@ -0,0 +1,67 @@
+package inc.yowyob.rental_api.role.service;
+
+import inc.yowyob.rental_api.common.cache.invalidation.InMemoryInvalidationTransport;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationBus;
+import inc.yowyob.rental_api.common.degraded.DegradedModeMonitor;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.role.dto.UserPermissionsDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPermissionCacheTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID organizationId = UUID.randomUUID();
+    private UserPermissionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        cache = new UserPermissionCache(appProperties,
+            new InvalidationBus(new InMemoryInvalidationTransport()),
+            new DegradedModeMonitor(appProperties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void entryWithoutExpiringAssignmentIsCached() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<UserPermissionsDto> loader = () -> {
+            loads.incrementAndGet();
+            return UserPermissionsDto.builder().userId(userId).organizationId(organizationId).build();
+        };
+
+        cache.get(userId, organizationId, loader);
+        cache.get(userId, organizationId, loader);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void entryExpiresWithTheEarliestAssignment() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<UserPermissionsDto> loader = () -> {
+            loads.incrementAndGet();
+            return UserPermissionsDto.builder()
+                .userId(userId)
+                .organizationId(organizationId)
+                .validUntil(LocalDateTime.now().plusNanos(200_000_000))
+                .build();
+        };
+
+        cache.get(userId, organizationId, loader);
+        cache.get(userId, organizationId, loader);
+        assertThat(loads).hasValue(1);
+
+        Thread.sleep(300);
+        cache.get(userId, organizationId, loader);
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,84 @@
+package inc.yowyob.rental_api.security.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Accès aux endpoints actuator : health public, tout le reste réservé au super administrateur,
+ * comme les statistiques d'onboarding
+ */
+@ActiveProfiles("perf-inmemory")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ActuatorSecurityTest {
+
+    private static final String[] ADMIN_ENDPOINTS = {
+        "/actuator/metrics",
+        "/actuator/rentalcaches",
+        "/actuator/rentalexecutors",
+        "/actuator/cassandrapool",
+        "/actuator/cassandraqueries",
+        "/api/v1/onboarding/stats/daily",
+        "/api/v1/onboarding/stats/funnel"
+    };
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void healthIsPublic() {
+        assertThat(get("/actuator/health", null).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void adminEndpointsAreForbiddenToOtherUsers() {
+        String email = "client-" + UUID.randomUUID() + "@rental-api.com";
+        ResponseEntity<JsonNode> registration = restTemplate.postForEntity("/api/v1/auth/register",
+            Map.of("email", email, "password", "Client123!", "firstName", "Client", "lastName", "Test",
+                "userType", "CLIENT", "acceptTerms", true), JsonNode.class);
+        assertThat(registration.getStatusCode().is2xxSuccessful()).isTrue();
+        String token = login(email, "Client123!");
+
+        for (String endpoint : ADMIN_ENDPOINTS) {
+            assertThat(get(endpoint, token).getStatusCode()).as(endpoint).isEqualTo(HttpStatus.FORBIDDEN);
+            assertThat(get(endpoint, null).getStatusCode().is4xxClientError()).as(endpoint).isTrue();
+        }
+    }
+
+    @Test
+    void adminEndpointsAreOpenToSuperAdmin() {
+        String token = login("admin@rental-api.com", "Admin123!");
+
+        for (String endpoint : ADMIN_ENDPOINTS) {
+            assertThat(get(endpoint, token).getStatusCode()).as(endpoint).isEqualTo(HttpStatus.OK);
+        }
+    }
+
+    private String login(String email, String password) {
+        ResponseEntity<JsonNode> response = restTemplate.postForEntity("/api/v1/auth/login",
+            Map.of("email", email, "password", password), JsonNode.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody().path("data").path("accessToken").asText();
+    }
+
+    private ResponseEntity<String> get(String path, String token) {
+        HttpHeaders headers = new HttpHeaders();
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
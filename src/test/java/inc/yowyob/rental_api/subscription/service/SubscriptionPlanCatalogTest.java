@@ -0,0 +1,34 @@
+package inc.yowyob.rental_api.subscription.service;
+
+import inc.yowyob.rental_api.core.enums.SubscriptionFeature;
+import inc.yowyob.rental_api.subscription.entities.SubscriptionPlan;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriptionPlanCatalogTest {
+
+    @Test
+    void featuresOfMatchesPlanFlagsOnly() {
+        SubscriptionPlan plan = new SubscriptionPlan();
+        plan.setHasChat(true);
+        plan.setHasApiAccess(true);
+
+        assertThat(SubscriptionPlanCatalog.featuresOf(plan))
+            .containsExactlyInAnyOrder(SubscriptionFeature.CHAT_SUPPORT, SubscriptionFeature.API_ACCESS);
+    }
+
+    @Test
+    void basicFeaturesAreNotGrantedImplicitly() {
+        SubscriptionPlan plan = new SubscriptionPlan();
+
+        assertThat(SubscriptionPlanCatalog.featuresOf(plan)).isEmpty();
+        for (SubscriptionFeature feature : EnumSet.allOf(SubscriptionFeature.class)) {
+            assertThat(SubscriptionPlanCatalog.featuresOf(plan).contains(feature))
+                .as(feature.getCode())
+                .isEqualTo(plan.hasFeature(feature.getCode()));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package inc.yowyob.rental_api.user.service;
+
+import inc.yowyob.rental_api.common.cache.invalidation.InMemoryInvalidationTransport;
+import inc.yowyob.rental_api.common.cache.invalidation.InvalidationBus;
+import inc.yowyob.rental_api.common.degraded.DegradedModeMonitor;
+import inc.yowyob.rental_api.config.AppProperties;
+import inc.yowyob.rental_api.core.enums.UserStatus;
+import inc.yowyob.rental_api.core.enums.UserType;
+import inc.yowyob.rental_api.security.jwt.JwtTokenProvider;
+import inc.yowyob.rental_api.security.model.UserPrincipal;
+import inc.yowyob.rental_api.security.service.LastKnownPrincipalCache;
+import inc.yowyob.rental_api.user.dto.AuthResponseDto;
+import inc.yowyob.rental_api.user.entities.User;
+import inc.yowyob.rental_api.user.repository.UserEmailRepository;
+import inc.yowyob.rental_api.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private AuthService authService;
+    private JwtTokenProvider jwtTokenProvider;
+    private LastKnownPrincipalCache lastKnownPrincipalCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getJwt().setSecret("test-secret-key-for-refresh-tokens-0123456789");
+        appProperties.getJwt().setExpiration(60_000);
+        appProperties.getJwt().setRefreshExpiration(600_000);
+        InvalidationBus invalidationBus = new InvalidationBus(new InMemoryInvalidationTransport());
+        jwtTokenProvider = new JwtTokenProvider(appProperties);
+        lastKnownPrincipalCache = new LastKnownPrincipalCache(appProperties, invalidationBus);
+        authService = new AuthService(userRepository, mock(UserEmailRepository.class), mock(PasswordEncoder.class),
+            jwtTokenProvider, mock(AuthenticationManager.class), appProperties, invalidationBus,
+            new DegradedModeMonitor(appProperties, new SimpleMeterRegistry()), lastKnownPrincipalCache);
+
+        user = new User("owner@rental-api.com", "hash", "Owner", "Test", UserType.STAFF);
+        user.setId(UUID.randomUUID());
+        user.setOrganizationId(UUID.randomUUID());
+        user.setStatus(UserStatus.ACTIVE);
+    }
+
+    @Test
+    void refreshIsServedFromLastKnownPrincipalWhenDatabaseIsDown() {
+        lastKnownPrincipalCache.put(UserPrincipal.create(user));
+        when(userRepository.findById(any())).thenThrow(new DataAccessResourceFailureException("Cassandra unreachable"));
+
+        AuthResponseDto response = authService.refreshToken(jwtTokenProvider.generateRefreshToken(user));
+
+        assertThat(response.getUserId()).isEqualTo(user.getId());
+        assertThat(response.getOrganizationId()).isEqualTo(user.getOrganizationId());
+        assertThat(jwtTokenProvider.getOrganizationIdFromToken(response.getAccessToken())).isEqualTo(user.getOrganizationId());
+    }
+
+    @Test
+    void refreshFailsWhenDatabaseIsDownAndUserIsUnknown() {
+        when(userRepository.findById(any())).thenThrow(new DataAccessResourceFailureException("Cassandra unreachable"));
+
+        assertThatThrownBy(() -> authService.refreshToken(jwtTokenProvider.generateRefreshToken(user)))
+            .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
+    @Test
+    void refreshRejectsSnapshotOfLockedAccount() {
+        user.lockAccount(1);
+        lastKnownPrincipalCache.put(UserPrincipal.create(user));
+        when(userRepository.findById(any())).thenThrow(new DataAccessResourceFailureException("Cassandra unreachable"));
+
+        assertThatThrownBy(() -> authService.refreshToken(jwtTokenProvider.generateRefreshToken(user)))
+            .isNotInstanceOf(BadCredentialsException.class)
+            .hasMessageContaining("not active");
+    }
+}